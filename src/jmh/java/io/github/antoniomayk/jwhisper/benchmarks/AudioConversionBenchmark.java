@@ -0,0 +1,117 @@
+package io.github.antoniomayk.jwhisper.benchmarks;
+
+import io.github.antoniomayk.jwhisper.audio.PcmKernels;
+import io.github.antoniomayk.jwhisper.utils.AudioUtils;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+import javax.sound.sampled.AudioFileFormat;
+import javax.sound.sampled.AudioFormat;
+import javax.sound.sampled.AudioInputStream;
+import javax.sound.sampled.AudioSystem;
+import javax.sound.sampled.UnsupportedAudioFileException;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the PCMS16 to PCMF32 conversion of {@link AudioUtils} for several clip lengths, from an
+ * in-memory stream and from a memory-mapped WAVE file, along with the bulk {@link PcmKernels}.
+ *
+ * <p>The forks resolve <b>jdk.incubator.vector</b>, so the Vector API kernel is measured. Append
+ * {@code -jvmArgsAppend -Djwhisper.vector=false} to the JMH arguments to measure the scalar one.
+ *
+ * @author Antonio Mayk
+ * @since 0.1
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "--add-modules=jdk.incubator.vector")
+@State(Scope.Thread)
+public class AudioConversionBenchmark {
+  private static final AudioFormat PCM_S16_MONO = new AudioFormat(16000, 16, 1, true, false);
+
+  @Param({"1", "30", "300"})
+  public int clipSeconds;
+
+  private byte[] pcmS16;
+  private short[] samples;
+  private float[] stereo;
+  private float[] pcmF32;
+  private Path wavFile;
+
+  @Setup(Level.Trial)
+  public void setUp() throws IOException {
+    final var frames = clipSeconds * (int) PCM_S16_MONO.getSampleRate();
+    final var buffer = ByteBuffer.allocate(frames * Short.BYTES).order(ByteOrder.LITTLE_ENDIAN);
+
+    for (var i = 0; i < frames; i++) {
+      buffer.putShort((short) (Math.sin(i * 2 * Math.PI * 440 / 16000) * Short.MAX_VALUE / 2));
+    }
+
+    pcmS16 = buffer.array();
+    samples = new short[frames];
+    buffer.flip().asShortBuffer().get(samples);
+    stereo = new float[frames * 2];
+    pcmF32 = new float[frames];
+    wavFile = Files.createTempFile("jwhisper-benchmark", ".wav");
+
+    try (var stream = newStream()) {
+      AudioSystem.write(stream, AudioFileFormat.Type.WAVE, wavFile.toFile());
+    }
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() throws IOException {
+    Files.deleteIfExists(wavFile);
+  }
+
+  @Benchmark
+  public float[] convertStream() throws IOException, UnsupportedAudioFileException {
+    try (var stream = newStream()) {
+      return AudioUtils.convertPcmS16MonoToPcmF32Mono(stream);
+    }
+  }
+
+  @Benchmark
+  public float[] convertMappedFile() throws IOException, UnsupportedAudioFileException {
+    return AudioUtils.convertPcmS16MonoToPcmF32Mono(wavFile);
+  }
+
+  @Benchmark
+  public float[] convertKernel() {
+    PcmKernels.convertPcmS16ToPcmF32(samples, 0, pcmF32, 0, samples.length);
+
+    return pcmF32;
+  }
+
+  @Benchmark
+  public float[] downmixStereo() {
+    PcmKernels.downmixStereo(stereo, 0, pcmF32, 0, pcmF32.length);
+
+    return pcmF32;
+  }
+
+  private AudioInputStream newStream() {
+    final InputStream bytes = new ByteArrayInputStream(pcmS16);
+
+    return new AudioInputStream(bytes, PCM_S16_MONO, pcmS16.length / Short.BYTES);
+  }
+}
@@ -0,0 +1,46 @@
+package io.github.antoniomayk.jwhisper.benchmarks;
+
+import io.github.antoniomayk.jwhisper.utils.AudioUtils;
+import io.github.antoniomayk.jwhisper.utils.ResourceLoaderUtils;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import javax.sound.sampled.AudioSystem;
+import javax.sound.sampled.UnsupportedAudioFileException;
+
+/**
+ * Shared fixtures of the benchmarks.
+ *
+ * <p>The model defaults to <b>ggml-tiny.en.bin</b> under the <b>GGML_MODELS</b> directory, and can
+ * be replaced with the <b>jwhisper.benchmark.model</b> system property.
+ *
+ * @author Antonio Mayk
+ * @since 0.1
+ */
+final class BenchmarkSupport {
+  private BenchmarkSupport() {}
+
+  static Path model() {
+    final var model = System.getProperty("jwhisper.benchmark.model");
+
+    if (model != null) {
+      return Paths.get(model);
+    }
+
+    final var models = System.getenv("GGML_MODELS");
+
+    if (models == null) {
+      throw new IllegalStateException("GGML_MODELS is not set.");
+    }
+
+    return Paths.get(models, "ggml-tiny.en.bin");
+  }
+
+  static float[] jfkSamples() throws IOException, UnsupportedAudioFileException {
+    final var wavFile = ResourceLoaderUtils.getResource(BenchmarkSupport.class, "samples/jfk.wav");
+
+    return AudioUtils.convertPcmS16MonoToPcmF32Mono(
+        AudioSystem.getAudioInputStream(new File(wavFile)));
+  }
+}
@@ -0,0 +1,81 @@
+package io.github.antoniomayk.jwhisper.benchmarks;
+
+import io.github.antoniomayk.jwhisper.Jwhisper;
+import io.github.antoniomayk.jwhisper.JwhisperContextParams;
+import io.github.antoniomayk.jwhisper.JwhisperModel;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Measures the cold start of a transcription: loading a model with its decoding state, through
+ * stdio or from a memory-mapped file, loading it without state, and allocating a decoding state
+ * over an already loaded model.
+ *
+ * @author Antonio Mayk
+ * @since 0.1
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 10)
+@Fork(1)
+@State(Scope.Thread)
+public class ContextInitBenchmark {
+  private Path model;
+  private JwhisperModel jwhisperModel;
+
+  @Setup(Level.Trial)
+  public void setUp() throws IOException {
+    model = BenchmarkSupport.model();
+    jwhisperModel = JwhisperModel.newInstance(model);
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() {
+    jwhisperModel.close();
+  }
+
+  @Benchmark
+  public void initContext(final Blackhole blackhole) throws IOException {
+    try (var jwhisper = Jwhisper.newInstance(model)) {
+      blackhole.consume(jwhisper);
+    }
+  }
+
+  @Benchmark
+  public void initContextMemoryMapped(final Blackhole blackhole) throws IOException {
+    final var contextParams = JwhisperContextParams.builder().memoryMapped(true).build();
+
+    try (var jwhisper = Jwhisper.newInstance(model, contextParams)) {
+      blackhole.consume(jwhisper);
+    }
+  }
+
+  @Benchmark
+  public void initModel(final Blackhole blackhole) throws IOException {
+    try (var loaded = JwhisperModel.newInstance(model)) {
+      blackhole.consume(loaded);
+    }
+  }
+
+  @Benchmark
+  public void initState(final Blackhole blackhole) {
+    try (var jwhisper = jwhisperModel.newJwhisper()) {
+      blackhole.consume(jwhisper);
+    }
+  }
+}
@@ -0,0 +1,111 @@
+package io.github.antoniomayk.jwhisper.benchmarks;
+
+import io.github.antoniomayk.jwhisper.Jwhisper;
+import io.github.antoniomayk.jwhisper.TranscriptionResult;
+import io.github.antoniomayk.jwhisper.jni.WhisperAbortFlag;
+import io.github.antoniomayk.jwhisper.jni.WhisperCpp;
+import io.github.antoniomayk.jwhisper.jni.WhisperFullParams;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+import javax.sound.sampled.UnsupportedAudioFileException;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the fixed cost of crossing the JNI boundary: field lookups on pointer wrappers, object
+ * construction and string conversion. Run it against two library builds to compare them.
+ *
+ * @author Antonio Mayk
+ * @since 0.1
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class JniOverheadBenchmark {
+  private static final int[] PROMPT_TOKENS = new int[64];
+
+  private WhisperFullParams whisperFullParams;
+  private WhisperAbortFlag whisperAbortFlag;
+  private Jwhisper jwhisper;
+
+  @Setup(Level.Trial)
+  public void setUp() throws IOException, UnsupportedAudioFileException {
+    whisperFullParams = WhisperCpp.whisperFullDefaultParamsByRef(0);
+    whisperAbortFlag = WhisperCpp.whisperAbortFlagInit();
+    jwhisper = Jwhisper.newInstance(BenchmarkSupport.model());
+    jwhisper.whisperFull(BenchmarkSupport.jfkSamples());
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() {
+    WhisperCpp.whisperFreeParams(whisperFullParams);
+    WhisperCpp.whisperAbortFlagFree(whisperAbortFlag);
+    jwhisper.close();
+  }
+
+  @Benchmark
+  public void paramsSetter() {
+    WhisperCpp.whisperFullParamsSetNoContext(whisperFullParams, true);
+  }
+
+  @Benchmark
+  public WhisperFullParams paramsAllocation() {
+    final var params = WhisperCpp.whisperFullDefaultParamsByRef(0);
+    WhisperCpp.whisperFreeParams(params);
+
+    return params;
+  }
+
+  @Benchmark
+  public int numberOfSegments() {
+    return jwhisper.whisperFullNumberOfSegments();
+  }
+
+  @Benchmark
+  public long segmentT0() {
+    return jwhisper.whisperFullGetSegmentT0(0);
+  }
+
+  @Benchmark
+  public String segmentText() {
+    return jwhisper.whisperFullGetSegmentText(0);
+  }
+
+  @Benchmark
+  public void promptTokensSetter() {
+    WhisperCpp.whisperFullParamsSetPromptTokens(whisperFullParams, PROMPT_TOKENS);
+  }
+
+  @Benchmark
+  public void abortFlagSetter() {
+    WhisperCpp.whisperAbortFlagSet(whisperAbortFlag, false);
+  }
+
+  @Benchmark
+  public int numberOfTokens() {
+    return jwhisper.whisperFullNumberOfTokens(0);
+  }
+
+  @Benchmark
+  public int tokenId() {
+    return jwhisper.whisperFullGetTokenId(0, 0);
+  }
+
+  @Benchmark
+  public TranscriptionResult segments() {
+    return jwhisper.whisperFullGetSegments();
+  }
+}
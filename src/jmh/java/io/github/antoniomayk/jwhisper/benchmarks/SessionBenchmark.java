@@ -0,0 +1,77 @@
+package io.github.antoniomayk.jwhisper.benchmarks;
+
+import io.github.antoniomayk.jwhisper.Jwhisper;
+import io.github.antoniomayk.jwhisper.JwhisperSession;
+import io.github.antoniomayk.jwhisper.SegmentBuffer;
+import io.github.antoniomayk.jwhisper.TranscriptionResult;
+import io.github.antoniomayk.jwhisper.audio.PcmKernels;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+import javax.sound.sampled.UnsupportedAudioFileException;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares the transcription of a short PCMS16 voice command, the first 2 seconds of the JFK
+ * sample, through a fresh sample array and {@link Jwhisper#transcribe(float[])} against a reused
+ * {@link JwhisperSession}. Run it with <b>-prof gc</b>: the <b>gc.alloc.rate.norm</b> figure is
+ * the amount of Java heap allocated per transcription.
+ *
+ * @author Antonio Mayk
+ * @since 0.1
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 5)
+@Fork(1)
+@State(Scope.Thread)
+public class SessionBenchmark {
+  private static final int COMMAND_SAMPLES = 2 * 16000;
+
+  private Jwhisper jwhisper;
+  private JwhisperSession session;
+  private short[] command;
+
+  @Setup(Level.Trial)
+  public void setUp() throws IOException, UnsupportedAudioFileException {
+    final var samples = BenchmarkSupport.jfkSamples();
+
+    command = new short[COMMAND_SAMPLES];
+
+    for (var i = 0; i < command.length; i++) {
+      command[i] = (short) Math.round(samples[i] * Short.MAX_VALUE);
+    }
+
+    jwhisper = Jwhisper.newInstance(BenchmarkSupport.model());
+    session = JwhisperSession.newInstance(jwhisper);
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() {
+    jwhisper.close();
+  }
+
+  @Benchmark
+  public TranscriptionResult transcribe() {
+    final var samples = new float[command.length];
+    PcmKernels.convertPcmS16ToPcmF32(command, 0, samples, 0, command.length);
+
+    return jwhisper.transcribe(samples);
+  }
+
+  @Benchmark
+  public SegmentBuffer session() {
+    return session.transcribePcmS16(command, 0, command.length);
+  }
+}
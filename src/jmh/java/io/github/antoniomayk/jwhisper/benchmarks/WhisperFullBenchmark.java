@@ -0,0 +1,90 @@
+package io.github.antoniomayk.jwhisper.benchmarks;
+
+import io.github.antoniomayk.jwhisper.jni.WhisperContext;
+import io.github.antoniomayk.jwhisper.jni.WhisperContextParams;
+import io.github.antoniomayk.jwhisper.jni.WhisperCpp;
+import io.github.antoniomayk.jwhisper.jni.WhisperFullParams;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+import javax.sound.sampled.UnsupportedAudioFileException;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the end-to-end transcription of the JFK sample for several thread counts. Besides the
+ * transcriptions per second, the <b>audioSeconds</b> counter reports the seconds of audio
+ * transcribed per second, the inverse of the real-time factor.
+ *
+ * @author Antonio Mayk
+ * @since 0.1
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 1, time = 10)
+@Measurement(iterations = 3, time = 10)
+@Fork(1)
+@State(Scope.Thread)
+public class WhisperFullBenchmark {
+  @Param({"1", "2", "4", "8"})
+  public int threads;
+
+  private WhisperContextParams whisperContextParams;
+  private WhisperContext whisperContext;
+  private WhisperFullParams whisperFullParams;
+  private float[] samples;
+
+  @Setup(Level.Trial)
+  public void setUp() throws IOException, UnsupportedAudioFileException {
+    whisperContextParams = WhisperCpp.whisperContextDefaultParamsByRef();
+    whisperContext =
+        WhisperCpp.whisperInitFromFileWithParams(
+            BenchmarkSupport.model().toString(), whisperContextParams);
+    whisperFullParams = WhisperCpp.whisperFullDefaultParamsByRef(0);
+    WhisperCpp.whisperFullParamsSetNThreads(whisperFullParams, threads);
+    samples = BenchmarkSupport.jfkSamples();
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() {
+    WhisperCpp.whisperFreeParams(whisperFullParams);
+    WhisperCpp.whisperFreeContextParams(whisperContextParams);
+    WhisperCpp.whisperFree(whisperContext);
+  }
+
+  @Benchmark
+  public int whisperFull(final AudioCounters counters) {
+    WhisperCpp.whisperFull(whisperContext, whisperFullParams, samples, samples.length);
+    counters.audioSeconds += samples.length / 16000.0;
+
+    return WhisperCpp.whisperFullNumberOfSegments(whisperContext);
+  }
+
+  /**
+   * Seconds of audio transcribed by a benchmark thread.
+   *
+   * @author Antonio Mayk
+   * @since 0.1
+   */
+  @AuxCounters(AuxCounters.Type.OPERATIONS)
+  @State(Scope.Thread)
+  public static class AudioCounters {
+    public double audioSeconds;
+
+    @Setup(Level.Iteration)
+    public void reset() {
+      audioSeconds = 0;
+    }
+  }
+}
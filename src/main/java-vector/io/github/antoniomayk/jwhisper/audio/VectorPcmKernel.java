@@ -0,0 +1,105 @@
+package io.github.antoniomayk.jwhisper.audio;
+
+import jdk.incubator.vector.FloatVector;
+import jdk.incubator.vector.IntVector;
+import jdk.incubator.vector.ShortVector;
+import jdk.incubator.vector.VectorShape;
+import jdk.incubator.vector.VectorShuffle;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * Conversion kernel using the incubating Vector API, at the preferred vector size of the platform.
+ * Lanes beyond the last full vector are converted by the scalar kernel.
+ *
+ * <p>This class is compiled from a separate source root with <b>jdk.incubator.vector</b>, and is
+ * only loaded by {@link PcmKernels} when that module is resolved at runtime.
+ *
+ * @author Antonio Mayk
+ * @since 0.1
+ */
+final class VectorPcmKernel implements PcmKernel {
+  private static final VectorSpecies<Float> FLOATS = FloatVector.SPECIES_PREFERRED;
+  private static final VectorSpecies<Short> SHORTS =
+      VectorSpecies.of(short.class, VectorShape.forBitSize(FLOATS.vectorBitSize() / 2));
+  private static final VectorSpecies<Integer> INTS =
+      VectorSpecies.of(int.class, FLOATS.vectorShape());
+  private static final VectorShuffle<Float> EVEN_LANES =
+      VectorShuffle.fromOp(FLOATS, lane -> 2 * lane);
+  private static final VectorShuffle<Float> ODD_LANES =
+      VectorShuffle.fromOp(FLOATS, lane -> 2 * lane + 1);
+
+  private final ScalarPcmKernel scalar = new ScalarPcmKernel();
+
+  VectorPcmKernel() {
+    if (FLOATS.length() < 4) {
+      throw new UnsupportedOperationException("Vectors are too small: " + FLOATS);
+    }
+  }
+
+  @Override
+  public void convertPcmS16ToPcmF32(
+      final short[] pcmS16,
+      final int sourceOffset,
+      final float[] pcmF32,
+      final int offset,
+      final int length) {
+    final var bound = FLOATS.loopBound(length);
+    final var positive = FloatVector.broadcast(FLOATS, 32767.0f);
+    final var negative = FloatVector.broadcast(FLOATS, 32768.0f);
+    var i = 0;
+
+    for (; i < bound; i += FLOATS.length()) {
+      final var samples =
+          (FloatVector)
+              ShortVector.fromArray(SHORTS, pcmS16, sourceOffset + i).castShape(FLOATS, 0);
+      final var divisors = positive.blend(negative, samples.lt(0.0f));
+
+      samples.div(divisors).intoArray(pcmF32, offset + i);
+    }
+
+    scalar.convertPcmS16ToPcmF32(pcmS16, sourceOffset + i, pcmF32, offset + i, length - i);
+  }
+
+  @Override
+  public void convertPcmS32ToPcmF32(
+      final int[] pcmS32,
+      final int sourceOffset,
+      final float[] pcmF32,
+      final int offset,
+      final int length) {
+    final var bound = FLOATS.loopBound(length);
+    var i = 0;
+
+    for (; i < bound; i += FLOATS.length()) {
+      final var samples =
+          (FloatVector) IntVector.fromArray(INTS, pcmS32, sourceOffset + i).castShape(FLOATS, 0);
+
+      samples.mul(0x1p-31f).intoArray(pcmF32, offset + i);
+    }
+
+    scalar.convertPcmS32ToPcmF32(pcmS32, sourceOffset + i, pcmF32, offset + i, length - i);
+  }
+
+  @Override
+  public void downmixStereo(
+      final float[] stereo,
+      final int sourceOffset,
+      final float[] mono,
+      final int offset,
+      final int frames) {
+    final var bound = FLOATS.loopBound(frames);
+    var i = 0;
+
+    for (; i < bound; i += FLOATS.length()) {
+      final var low = FloatVector.fromArray(FLOATS, stereo, sourceOffset + 2 * i);
+      final var high =
+          FloatVector.fromArray(FLOATS, stereo, sourceOffset + 2 * i + FLOATS.length());
+      final var left = low.rearrange(EVEN_LANES, high);
+      final var right = low.rearrange(ODD_LANES, high);
+
+      left.add(right).mul(0.5f).intoArray(mono, offset + i);
+    }
+
+    scalar.downmixStereo(stereo, sourceOffset + 2 * i, mono, offset + i, frames - i);
+  }
+}
@@ -0,0 +1,247 @@
+package io.github.antoniomayk.jwhisper;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+
+/**
+ * ChunkedTranscriber shortens the wall-clock time of long recordings by transcribing them as
+ * several chunks in parallel over a {@link JwhisperPool}.
+ *
+ * <p>The audio is cut at the quietest point near every chunk boundary, and each chunk extends past
+ * its cut points by an overlap, so that words at the boundaries are transcribed in full at least
+ * once. The chunk timestamps are offset onto the timeline of the whole recording, and a segment
+ * transcribed in an overlap is kept only from the chunk owning its midpoint.
+ *
+ * @author Antonio Mayk
+ * @since 0.1
+ */
+public class ChunkedTranscriber {
+  private static final int SAMPLE_RATE = 16000;
+  private static final int SAMPLES_PER_TIMESTAMP = SAMPLE_RATE / 100;
+  private static final int FRAME_SIZE = SAMPLE_RATE / 50;
+
+  private final JwhisperPool pool;
+  private final Options options;
+
+  private ChunkedTranscriber(final JwhisperPool pool, final Options options) {
+    this.pool = pool;
+    this.options = options;
+  }
+
+  /**
+   * Creates a chunked transcriber with the default options.
+   *
+   * @param pool the pool transcribing the chunks, not closed by the transcriber.
+   * @return a new chunked transcriber.
+   */
+  public static ChunkedTranscriber newInstance(final JwhisperPool pool) {
+    return newInstance(pool, Options.defaults());
+  }
+
+  /**
+   * Creates a chunked transcriber.
+   *
+   * @param pool the pool transcribing the chunks, not closed by the transcriber.
+   * @param options the chunking configuration.
+   * @return a new chunked transcriber.
+   */
+  public static ChunkedTranscriber newInstance(final JwhisperPool pool, final Options options) {
+    return new ChunkedTranscriber(pool, options);
+  }
+
+  /**
+   * Transcribes audio samples as parallel chunks, without blocking the calling thread. Cancelling
+   * the returned future cancels every chunk, and so does the failure of any chunk, which fails the
+   * returned future right away.
+   *
+   * @param samples an array of audio samples to be processed.
+   * @return a future completed with the segments of the whole recording, on its timeline.
+   */
+  public CompletableFuture<TranscriptionResult> transcribeAsync(final float[] samples) {
+    final var cuts = findCuts(samples, options);
+    final var overlap = toSamples(options.overlapMs());
+    final var chunks = new ArrayList<CompletableFuture<TranscriptionResult>>(cuts.length - 1);
+
+    for (var i = 0; i < cuts.length - 1; i++) {
+      final var start = Math.max(0, cuts[i] - overlap);
+      final var end = Math.min(samples.length, cuts[i + 1] + overlap);
+
+      chunks.add(pool.transcribeAsync(Arrays.copyOfRange(samples, start, end)));
+    }
+
+    final var merged =
+        CompletableFuture.allOf(chunks.toArray(CompletableFuture[]::new))
+            .thenApply(ignored -> merge(cuts, chunks));
+    final var unused =
+        merged.whenComplete(
+            (result, throwable) -> {
+              if (throwable != null) {
+                chunks.forEach(chunk -> chunk.cancel(true));
+              }
+            });
+
+    for (final var chunk : chunks) {
+      final var unusedChunk =
+          chunk.whenComplete(
+              (result, throwable) -> {
+                if (throwable != null) {
+                  merged.completeExceptionally(throwable);
+                }
+              });
+    }
+
+    return merged;
+  }
+
+  /**
+   * Transcribes audio samples as parallel chunks and waits for the result.
+   *
+   * @param samples an array of audio samples to be processed.
+   * @return the segments of the whole recording, on its timeline.
+   * @throws InterruptedException if interrupted while waiting; the chunks are cancelled.
+   * @throws RuntimeException if processing a chunk fails.
+   */
+  public TranscriptionResult transcribe(final float[] samples) throws InterruptedException {
+    final var future = transcribeAsync(samples);
+
+    try {
+      return future.get();
+    } catch (InterruptedException e) {
+      future.cancel(true);
+      throw e;
+    } catch (ExecutionException e) {
+      final var cause = e.getCause();
+
+      if (cause instanceof RuntimeException runtimeException) {
+        throw runtimeException;
+      }
+
+      if (cause instanceof Error error) {
+        throw error;
+      }
+
+      throw new IllegalStateException(cause);
+    }
+  }
+
+  static int[] findCuts(final float[] samples, final Options options) {
+    final var chunk = toSamples(options.chunkMs());
+    final var overlap = toSamples(options.overlapMs());
+    final var search = toSamples(options.searchMs());
+    final var cuts = new ArrayList<Integer>();
+
+    var last = 0;
+    cuts.add(last);
+
+    while (samples.length - last > chunk + chunk / 2) {
+      final var from = Math.max(last + 2 * overlap + FRAME_SIZE, last + chunk - search);
+      final var to = Math.min(samples.length - 2 * overlap - FRAME_SIZE, last + chunk + search);
+
+      last = quietestFrame(samples, from, Math.max(from, to));
+      cuts.add(last);
+    }
+
+    cuts.add(samples.length);
+
+    return cuts.stream().mapToInt(Integer::intValue).toArray();
+  }
+
+  private static int quietestFrame(final float[] samples, final int from, final int to) {
+    var quietest = from;
+    var quietestEnergy = Double.MAX_VALUE;
+
+    for (var start = from; start <= to; start += FRAME_SIZE) {
+      var energy = 0.0;
+
+      for (var i = start; i < start + FRAME_SIZE && i < samples.length; i++) {
+        energy += samples[i] * samples[i];
+      }
+
+      if (energy < quietestEnergy) {
+        quietestEnergy = energy;
+        quietest = start + FRAME_SIZE / 2;
+      }
+    }
+
+    return Math.min(quietest, to);
+  }
+
+  private TranscriptionResult merge(
+      final int[] cuts, final List<CompletableFuture<TranscriptionResult>> chunks) {
+    final var overlap = toSamples(options.overlapMs());
+    final var timestamps = new ArrayList<Long>();
+    final var offsets = new ArrayList<Integer>();
+    final var text = new ByteArrayOutputStream();
+
+    for (var i = 0; i < chunks.size(); i++) {
+      final var chunk = chunks.get(i).join();
+      final long offset = Math.max(0, cuts[i] - overlap) / SAMPLES_PER_TIMESTAMP;
+
+      for (var segment = 0; segment < chunk.segmentCount(); segment++) {
+        final var t0 = offset + chunk.segmentT0(segment);
+        final var t1 = offset + chunk.segmentT1(segment);
+        final var midpoint = (t0 + t1) / 2 * SAMPLES_PER_TIMESTAMP;
+        final var isLast = i == chunks.size() - 1;
+
+        if (midpoint < cuts[i] || (midpoint >= cuts[i + 1] && !isLast)) {
+          continue;
+        }
+
+        final var bytes = chunk.segmentText(segment).getBytes(StandardCharsets.UTF_8);
+
+        timestamps.add(t0);
+        timestamps.add(t1);
+        offsets.add(text.size());
+        text.write(bytes, 0, bytes.length);
+      }
+    }
+
+    offsets.add(text.size());
+
+    return new TranscriptionResult(
+        timestamps.stream().mapToLong(Long::longValue).toArray(),
+        text.toByteArray(),
+        offsets.stream().mapToInt(Integer::intValue).toArray());
+  }
+
+  private static int toSamples(final int milliseconds) {
+    return (int) ((long) milliseconds * SAMPLE_RATE / 1000);
+  }
+
+  /**
+   * Chunking configuration of a chunked transcriber.
+   *
+   * @param chunkMs target length of a chunk, in milliseconds.
+   * @param overlapMs audio shared by neighbouring chunks on each side of a cut, in milliseconds.
+   * @param searchMs distance from the target boundary searched for the quietest cut point, in
+   *     milliseconds.
+   */
+  public record Options(int chunkMs, int overlapMs, int searchMs) {
+
+    /**
+     * Validates the configuration.
+     *
+     * @throws IllegalArgumentException if the durations are inconsistent.
+     */
+    public Options {
+      if (chunkMs <= 0 || overlapMs < 0 || searchMs < 0 || chunkMs <= 4 * overlapMs) {
+        throw new IllegalArgumentException(
+            "Invalid chunks: chunk " + chunkMs + ", overlap " + overlapMs + ", search " + searchMs);
+      }
+    }
+
+    /**
+     * Default configuration: 2 minutes chunks overlapping by 2s, cut within 5s of the boundary.
+     *
+     * @return the default options.
+     */
+    public static Options defaults() {
+      return new Options(120000, 2000, 5000);
+    }
+  }
+}
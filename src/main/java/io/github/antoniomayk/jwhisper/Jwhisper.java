@@ -1,12 +1,32 @@
 package io.github.antoniomayk.jwhisper;
 
+import io.github.antoniomayk.jwhisper.audio.SpeechTimeline;
+import io.github.antoniomayk.jwhisper.audio.VoiceActivityDetector;
+import io.github.antoniomayk.jwhisper.exceptions.WhisperFullException;
+import io.github.antoniomayk.jwhisper.jni.WhisperAbortFlag;
+import io.github.antoniomayk.jwhisper.jni.WhisperBackend;
 import io.github.antoniomayk.jwhisper.jni.WhisperContext;
 import io.github.antoniomayk.jwhisper.jni.WhisperContextParams;
 import io.github.antoniomayk.jwhisper.jni.WhisperCpp;
 import io.github.antoniomayk.jwhisper.jni.WhisperFullParams;
+import io.github.antoniomayk.jwhisper.jni.WhisperState;
+import io.github.antoniomayk.jwhisper.metrics.JwhisperMetrics;
+import io.github.antoniomayk.jwhisper.metrics.TranscriptionMetrics;
+import io.github.antoniomayk.jwhisper.metrics.WhisperTimings;
 import java.io.IOException;
+import java.nio.ByteOrder;
+import java.nio.FloatBuffer;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Objects;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import org.jspecify.annotations.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 /**
  * Jwhisper is a Java wrapper for interacting with the WhisperCpp library. It provides methods to
@@ -16,28 +36,89 @@ import java.nio.file.Path;
  * @since 0.1
  */
 public class Jwhisper implements AutoCloseable {
+  private static final Logger LOGGER = LoggerFactory.getLogger(Jwhisper.class);
+  private static final int SAMPLE_RATE = 16000;
+  private static final int LANGUAGE_WINDOW = 30 * SAMPLE_RATE;
+  private static final int LANGUAGE_THREADS =
+      Math.min(4, Runtime.getRuntime().availableProcessors());
+  private static final WhisperBackend BACKEND = WhisperBackend.current();
 
   private final WhisperContext whisperContextPointer;
-  private final WhisperContextParams whisperContextParamsPointer;
-  private final WhisperFullParams whisperFullParamsPointer;
+  private final @Nullable WhisperContextParams whisperContextParamsPointer;
+  private final @Nullable WhisperState whisperStatePointer;
+  private final @Nullable JwhisperModel jwhisperModel;
+  private final WhisperAbortFlag whisperAbortFlagPointer;
+  private final Duration loadTime;
+  private final ReentrantReadWriteLock lifecycleLock = new ReentrantReadWriteLock();
+  private WhisperFullParams whisperFullParamsPointer;
+  private JwhisperParams fullParams = JwhisperParams.defaults();
 
-  private boolean isClosed = false;
+  private volatile boolean isAbortRequested = false;
+  private volatile boolean isClosed = false;
 
-  private Jwhisper(final String model) {
+  private Jwhisper(final Path model, final JwhisperContextParams contextParams)
+      throws IOException {
+    final var start = System.nanoTime();
+
+    final var contextParamsPointer = contextParams.newWhisperContextParams();
+
+    try {
+      whisperContextPointer = contextParams.initContext(model, contextParamsPointer, false);
+    } catch (IOException | RuntimeException e) {
+      WhisperCpp.whisperFreeContextParams(contextParamsPointer);
+      throw e;
+    }
+
+    whisperContextParamsPointer = contextParamsPointer;
+
+    loadTime = Duration.ofNanos(System.nanoTime() - start);
+    whisperAbortFlagPointer = WhisperCpp.whisperAbortFlagInit();
     whisperFullParamsPointer = WhisperCpp.whisperFullDefaultParamsByRef(0);
-    whisperContextParamsPointer = WhisperCpp.whisperContextDefaultParamsByRef();
-    whisperContextPointer =
-        WhisperCpp.whisperInitFromFileWithParams(model, whisperContextParamsPointer);
+    whisperStatePointer = null;
+    jwhisperModel = null;
+    JwhisperMetrics.current().recordModelLoad(loadTime);
+
+    LOGGER.debug("Loaded model {} in {} ms", model, loadTime.toMillis());
+  }
+
+  Jwhisper(
+      final JwhisperModel model,
+      final WhisperContext sharedContext,
+      final WhisperState ownedState,
+      final Duration stateInitTime) {
+    whisperAbortFlagPointer = WhisperCpp.whisperAbortFlagInit();
+    whisperFullParamsPointer = WhisperCpp.whisperFullDefaultParamsByRef(0);
+    whisperContextParamsPointer = null;
+    whisperContextPointer = sharedContext;
+    whisperStatePointer = ownedState;
+    jwhisperModel = model;
+    loadTime = stateInitTime;
   }
 
   /**
    * Initializes a Jwhisper instance by loading a GGML model file and configuring default
    * parameters.
    *
+   * <p>NOTE: Every instance holds its own copy of the model. Use {@link
+   * JwhisperModel#newJwhisper()} to share the weights between several instances.
+   *
    * @param ggmlModel the path to the GGML model file used for transcription.
-   * @throws IOException if the model file does not exist or is not readable.
+   * @throws IOException if the model file does not exist, is not readable or cannot be loaded.
    */
   public static Jwhisper newInstance(final Path ggmlModel) throws IOException {
+    return newInstance(ggmlModel, JwhisperContextParams.defaults());
+  }
+
+  /**
+   * Initializes a Jwhisper instance by loading a GGML model file with the given context params.
+   *
+   * @param ggmlModel the path to the GGML model file used for transcription.
+   * @param contextParams the context params and loading mode of the model.
+   * @throws IOException if the model file does not exist, is not readable or cannot be loaded.
+   * @see #newInstance(Path)
+   */
+  public static Jwhisper newInstance(
+      final Path ggmlModel, final JwhisperContextParams contextParams) throws IOException {
     if (!Files.exists(ggmlModel)) {
       throw new IOException("Model file does not exist: " + ggmlModel);
     }
@@ -46,7 +127,7 @@ public class Jwhisper implements AutoCloseable {
       throw new IOException("Model file is not readable: " + ggmlModel);
     }
 
-    return new Jwhisper(ggmlModel.toString());
+    return new Jwhisper(ggmlModel, contextParams);
   }
 
   /**
@@ -55,15 +136,264 @@ public class Jwhisper implements AutoCloseable {
    *
    * @param samples an array of audio samples to be processed.
    * @return the number of transcription segments generated.
+   * @throws CancellationException if the processing was aborted by {@link #abort()}.
    * @throws RuntimeException if processing the audio fails.
    */
   public int whisperFull(final float[] samples) {
+    final var readLock = readLockNotClosed();
+
+    try {
+      final var state = whisperStatePointer;
+      final var metrics = JwhisperMetrics.current();
+      final var start = startMetrics(metrics);
+
+      try {
+        WhisperCpp.whisperFullParamsSetAbortFlag(whisperFullParamsPointer, whisperAbortFlagPointer);
+
+        final int segments;
+
+        if (state == null) {
+          BACKEND.whisperFull(
+              whisperContextPointer, whisperFullParamsPointer, samples, samples.length);
+          segments = BACKEND.whisperFullNumberOfSegments(whisperContextPointer);
+        } else {
+          BACKEND.whisperFullWithState(
+              whisperContextPointer, state, whisperFullParamsPointer, samples, samples.length);
+          segments = BACKEND.whisperFullNumberOfSegmentsFromState(state);
+        }
+
+        recordMetrics(metrics, start, samples.length, segments);
+
+        return segments;
+      } catch (WhisperFullException e) {
+        throw abortedOr(e);
+      } finally {
+        clearAbort();
+      }
+    } finally {
+      readLock.unlock();
+    }
+  }
+
+  /**
+   * Processes the remaining audio samples of a direct buffer and returns the number of
+   * transcription segments. The samples are read in place, without being copied, and the buffer
+   * position is left untouched.
+   *
+   * @param samples a direct buffer of audio samples in native byte order.
+   * @return the number of transcription segments generated.
+   * @throws IllegalArgumentException if the buffer is not direct or not in native byte order.
+   * @throws CancellationException if the processing was aborted by {@link #abort()}.
+   * @throws RuntimeException if processing the audio fails.
+   */
+  public int whisperFull(final FloatBuffer samples) {
+    final var readLock = readLockNotClosed();
+
+    try {
+      if (!samples.isDirect()) {
+        throw new IllegalArgumentException("Samples buffer must be direct.");
+      }
+
+      if (samples.order() != ByteOrder.nativeOrder()) {
+        throw new IllegalArgumentException("Samples buffer must be in native byte order.");
+      }
+
+      final var state = whisperStatePointer;
+      final var metrics = JwhisperMetrics.current();
+      final var start = startMetrics(metrics);
+
+      try {
+        WhisperCpp.whisperFullParamsSetAbortFlag(whisperFullParamsPointer, whisperAbortFlagPointer);
+
+        final int segments;
+
+        if (state == null) {
+          BACKEND.whisperFullDirect(
+              whisperContextPointer,
+              whisperFullParamsPointer,
+              samples,
+              samples.position(),
+              samples.remaining());
+          segments = BACKEND.whisperFullNumberOfSegments(whisperContextPointer);
+        } else {
+          BACKEND.whisperFullWithStateDirect(
+              whisperContextPointer,
+              state,
+              whisperFullParamsPointer,
+              samples,
+              samples.position(),
+              samples.remaining());
+          segments = BACKEND.whisperFullNumberOfSegmentsFromState(state);
+        }
+
+        recordMetrics(metrics, start, samples.remaining(), segments);
+
+        return segments;
+      } catch (WhisperFullException e) {
+        throw abortedOr(e);
+      } finally {
+        clearAbort();
+      }
+    } finally {
+      readLock.unlock();
+    }
+  }
+
+  /**
+   * Processes audio samples using the loaded model and returns every transcription segment.
+   *
+   * @param samples an array of audio samples to be processed.
+   * @return the transcription segments generated.
+   * @throws CancellationException if the processing was aborted by {@link #abort()}.
+   * @throws RuntimeException if processing the audio fails.
+   */
+  public TranscriptionResult transcribe(final float[] samples) {
+    final var readLock = readLockNotClosed();
+
+    try {
+      whisperFull(samples);
+
+      return whisperFullGetSegments();
+    } finally {
+      readLock.unlock();
+    }
+  }
+
+  /**
+   * Transcribes only the speech regions found by a voice activity detector. The regions are
+   * concatenated and processed at once, and the segment timestamps are mapped back onto the
+   * timeline of the given samples.
+   *
+   * <p>NOTE: The segments retrieved afterwards by the other methods of this instance keep the
+   * timestamps of the concatenated audio.
+   *
+   * @param samples an array of audio samples to be processed.
+   * @param voiceActivityDetector the detector of the speech regions.
+   * @return the transcription segments generated, empty if no speech was found.
+   * @throws CancellationException if the processing was aborted by {@link #abort()}.
+   * @throws RuntimeException if processing the audio fails.
+   */
+  public TranscriptionResult transcribe(
+      final float[] samples, final VoiceActivityDetector voiceActivityDetector) {
     ensureNotClosed();
 
-    WhisperCpp.whisperFull(
-        whisperContextPointer, whisperFullParamsPointer, samples, samples.length);
+    final var timeline = SpeechTimeline.of(samples, voiceActivityDetector.detect(samples));
+
+    if (timeline.samples().length == 0) {
+      return TranscriptionResult.empty();
+    }
+
+    return transcribe(timeline.samples())
+        .mapTimestamps(timeline::toOriginalStart, timeline::toOriginalEnd);
+  }
+
+  /**
+   * Detects the spoken language from the first 30 seconds of audio samples. Only that window is
+   * converted to a spectrogram and run through the encoder, followed by a single decoder step, so
+   * it is much cheaper than a transcription. Multilingual models only.
+   *
+   * <p>NOTE: The spectrogram of this instance is replaced, but the segments of the last
+   * processing are kept.
+   *
+   * @param samples an array of audio samples; samples past the first 30 seconds are ignored.
+   * @return the most probable language and the probability of every language.
+   * @throws IllegalArgumentException if there are no samples.
+   * @throws RuntimeException if the spectrogram, the encoder or the detection fails.
+   */
+  public LanguageDetection detectLanguage(final float[] samples) {
+    final var readLock = readLockNotClosed();
+
+    try {
+      if (samples.length == 0) {
+        throw new IllegalArgumentException("Samples must not be empty.");
+      }
+
+      final var state = whisperStatePointer;
+      final var length = Math.min(samples.length, LANGUAGE_WINDOW);
+      final var probabilities = new float[WhisperCpp.whisperLangMaxId() + 1];
+      final int languageId;
+
+      if (state == null) {
+        WhisperCpp.whisperPcmToMel(whisperContextPointer, samples, length, LANGUAGE_THREADS);
+        languageId =
+            WhisperCpp.whisperLangAutoDetect(
+                whisperContextPointer, 0, LANGUAGE_THREADS, probabilities);
+      } else {
+        WhisperCpp.whisperPcmToMelWithState(
+            whisperContextPointer, state, samples, length, LANGUAGE_THREADS);
+        languageId =
+            WhisperCpp.whisperLangAutoDetectWithState(
+                whisperContextPointer, state, 0, LANGUAGE_THREADS, probabilities);
+      }
+
+      final var languages = new LinkedHashMap<String, Float>();
+
+      for (var id = 0; id < probabilities.length; id++) {
+        final var language = WhisperCpp.whisperLangStr(id);
+
+        if (language != null) {
+          languages.put(language, probabilities[id]);
+        }
+      }
+
+      return new LanguageDetection(
+          Objects.requireNonNull(WhisperCpp.whisperLangStr(languageId)),
+          probabilities[languageId],
+          languages);
+    } finally {
+      readLock.unlock();
+    }
+  }
+
+  /**
+   * Retrieves every transcription segment generated by the last processing in a single call.
+   *
+   * @return the transcription segments.
+   */
+  public TranscriptionResult whisperFullGetSegments() {
+    final var readLock = readLockNotClosed();
 
-    return WhisperCpp.whisperFullNumberOfSegments(whisperContextPointer);
+    try {
+      return BACKEND.whisperFullGetSegments(whisperContextPointer, whisperStatePointer);
+    } finally {
+      readLock.unlock();
+    }
+  }
+
+  /**
+   * Retrieves every token generated by the last processing in a single call, with its id,
+   * probability, timestamps and text. Token timestamps require {@link
+   * JwhisperParams#tokenTimestamps()}.
+   *
+   * @return the transcription tokens.
+   */
+  public TranscriptionTokens whisperFullGetTokens() {
+    final var readLock = readLockNotClosed();
+
+    try {
+      return WhisperCpp.whisperFullGetTokens(whisperContextPointer, whisperStatePointer);
+    } finally {
+      readLock.unlock();
+    }
+  }
+
+  /**
+   * Retrieves the number of transcription segments generated by the last processing.
+   *
+   * @return the number of transcription segments.
+   */
+  public int whisperFullNumberOfSegments() {
+    final var readLock = readLockNotClosed();
+
+    try {
+      final var state = whisperStatePointer;
+
+      return state == null
+          ? BACKEND.whisperFullNumberOfSegments(whisperContextPointer)
+          : BACKEND.whisperFullNumberOfSegmentsFromState(state);
+    } finally {
+      readLock.unlock();
+    }
   }
 
   /**
@@ -73,9 +403,17 @@ public class Jwhisper implements AutoCloseable {
    * @return the transcribed text for the specified segment.
    */
   public String whisperFullGetSegmentText(final int segmentIndex) {
-    ensureNotClosed();
+    final var readLock = readLockNotClosed();
+
+    try {
+      final var state = whisperStatePointer;
 
-    return WhisperCpp.whisperFullGetSegmentText(whisperContextPointer, segmentIndex);
+      return state == null
+          ? WhisperCpp.whisperFullGetSegmentText(whisperContextPointer, segmentIndex)
+          : WhisperCpp.whisperFullGetSegmentTextFromState(state, segmentIndex);
+    } finally {
+      readLock.unlock();
+    }
   }
 
   /**
@@ -85,9 +423,17 @@ public class Jwhisper implements AutoCloseable {
    * @return the start timestamp (T0) for the specified segment.
    */
   public long whisperFullGetSegmentT0(final int segmentIndex) {
-    ensureNotClosed();
+    final var readLock = readLockNotClosed();
+
+    try {
+      final var state = whisperStatePointer;
 
-    return WhisperCpp.whisperFullGetSegmentT0(whisperContextPointer, segmentIndex);
+      return state == null
+          ? WhisperCpp.whisperFullGetSegmentT0(whisperContextPointer, segmentIndex)
+          : WhisperCpp.whisperFullGetSegmentT0FromState(state, segmentIndex);
+    } finally {
+      readLock.unlock();
+    }
   }
 
   /**
@@ -97,26 +443,262 @@ public class Jwhisper implements AutoCloseable {
    * @return the end timestamp (T1) for the specified segment.
    */
   public long whisperFullGetSegmentT1(final int segmentIndex) {
-    ensureNotClosed();
+    final var readLock = readLockNotClosed();
+
+    try {
+      final var state = whisperStatePointer;
+
+      return state == null
+          ? WhisperCpp.whisperFullGetSegmentT1(whisperContextPointer, segmentIndex)
+          : WhisperCpp.whisperFullGetSegmentT1FromState(state, segmentIndex);
+    } finally {
+      readLock.unlock();
+    }
+  }
+
+  /**
+   * Retrieves the number of tokens of a specific transcription segment.
+   *
+   * @param segmentIndex the index of the transcription segment.
+   * @return the number of tokens for the specified segment.
+   */
+  public int whisperFullNumberOfTokens(final int segmentIndex) {
+    final var readLock = readLockNotClosed();
+
+    try {
+      final var state = whisperStatePointer;
+
+      return state == null
+          ? WhisperCpp.whisperFullNumberOfTokens(whisperContextPointer, segmentIndex)
+          : WhisperCpp.whisperFullNumberOfTokensFromState(state, segmentIndex);
+    } finally {
+      readLock.unlock();
+    }
+  }
+
+  /**
+   * Retrieves the id of a specific token of a transcription segment.
+   *
+   * @param segmentIndex the index of the transcription segment.
+   * @param tokenIndex the index of the token in the segment.
+   * @return the token id.
+   */
+  public int whisperFullGetTokenId(final int segmentIndex, final int tokenIndex) {
+    final var readLock = readLockNotClosed();
+
+    try {
+      final var state = whisperStatePointer;
+
+      return state == null
+          ? WhisperCpp.whisperFullGetTokenId(whisperContextPointer, segmentIndex, tokenIndex)
+          : WhisperCpp.whisperFullGetTokenIdFromState(state, segmentIndex, tokenIndex);
+    } finally {
+      readLock.unlock();
+    }
+  }
+
+  /**
+   * Requests the running processing to stop as soon as possible. It may be called from any thread;
+   * the aborted {@link #whisperFull(float[])} call throws a {@link CancellationException}. If no
+   * processing is running, the next one is aborted right away, unless {@link #resetFullParams()}
+   * is called first. Does nothing once the instance is closed.
+   */
+  public synchronized void abort() {
+    if (!isClosed) {
+      isAbortRequested = true;
+      WhisperCpp.whisperAbortFlagSet(whisperAbortFlagPointer, true);
+    }
+  }
+
+  /**
+   * Restores the full parameters used by {@link #whisperFull(float[])} to the library defaults,
+   * discarding any change made to them since this instance was created, and withdraws any pending
+   * {@link #abort()} request.
+   */
+  public void resetFullParams() {
+    setFullParams(JwhisperParams.defaults());
+  }
+
+  /**
+   * Replaces the full parameters used by {@link #whisperFull(float[])} with the library defaults of
+   * the given strategy, overridden by the given params, and withdraws any pending {@link #abort()}
+   * request.
+   *
+   * @param params the overrides of the library defaults.
+   * @throws IllegalArgumentException if the language of the params is unknown.
+   */
+  public void setFullParams(final JwhisperParams params) {
+    final var readLock = readLockNotClosed();
 
-    return WhisperCpp.whisperFullGetSegmentT1(whisperContextPointer, segmentIndex);
+    try {
+      final var whisperFullParams = params.newWhisperFullParams();
+
+      clearAbort();
+      WhisperCpp.whisperFreeParams(whisperFullParamsPointer);
+      whisperFullParamsPointer = whisperFullParams;
+      fullParams = params;
+    } finally {
+      readLock.unlock();
+    }
+  }
+
+  /**
+   * Retrieves how long this instance took to load its model, or to allocate its decoding state
+   * when it shares the model of a {@link JwhisperModel}.
+   *
+   * @return the load time.
+   */
+  public Duration loadTime() {
+    return loadTime;
+  }
+
+  /**
+   * Tells whether this instance has already been closed.
+   *
+   * @return true if {@link #close()} was called.
+   */
+  public boolean isClosed() {
+    return isClosed;
   }
 
   /**
    * Frees up resources associated with this Jwhisper instance. This includes the model, context
-   * parameters, and other resources.
+   * parameters, and other resources. Instances created by a {@link JwhisperModel} only free their
+   * own decoding state.
+   *
+   * <p>A running processing is aborted first, and the resources are freed once it has stopped. If
+   * another thread is already closing this instance, waits until it has finished.
+   *
+   * @throws IllegalStateException if called by a thread running a processing of this instance,
+   *     such as from a new segment callback.
    */
   @Override
   public void close() {
-    if (!isClosed) {
+    if (lifecycleLock.getReadHoldCount() > 0) {
+      throw new IllegalStateException("Resource cannot be closed while in use by this thread.");
+    }
+
+    final boolean wasClosed;
+
+    synchronized (this) {
+      wasClosed = isClosed;
+
+      if (!wasClosed) {
+        isClosed = true;
+        isAbortRequested = true;
+        WhisperCpp.whisperAbortFlagSet(whisperAbortFlagPointer, true);
+      }
+    }
+
+    final var writeLock = lifecycleLock.writeLock();
+    writeLock.lock();
+
+    try {
+      if (wasClosed) {
+        // Another thread is closing or has closed this instance; holding the write lock here
+        // waits for it to release the native resources before the caller frees anything shared.
+        return;
+      }
+
       WhisperCpp.whisperFreeParams(whisperFullParamsPointer);
-      WhisperCpp.whisperFreeContextParams(whisperContextParamsPointer);
-      WhisperCpp.whisperFree(whisperContextPointer);
+      WhisperCpp.whisperAbortFlagFree(whisperAbortFlagPointer);
+
+      final var state = whisperStatePointer;
+      final var contextParams = whisperContextParamsPointer;
+      final var model = jwhisperModel;
+
+      if (state != null && model != null) {
+        WhisperCpp.whisperFreeState(state);
+        model.unregister(this);
+      } else if (contextParams != null) {
+        WhisperCpp.whisperFreeContextParams(contextParams);
+        WhisperCpp.whisperFree(whisperContextPointer);
+      }
+    } finally {
+      writeLock.unlock();
+    }
+  }
+
+  WhisperFullParams whisperFullParams() {
+    ensureNotClosed();
+
+    return whisperFullParamsPointer;
+  }
+
+  JwhisperParams fullParams() {
+    ensureNotClosed();
+
+    return fullParams;
+  }
+
+  int whisperFullGetSegmentsInto(
+      final long[] timestamps, final int[] textOffsets, final byte[] text) {
+    final var readLock = readLockNotClosed();
 
-      isClosed = true;
+    try {
+      return WhisperCpp.whisperFullGetSegmentsInto(
+          whisperContextPointer, whisperStatePointer, timestamps, textOffsets, text);
+    } finally {
+      readLock.unlock();
     }
   }
 
+  private long startMetrics(final JwhisperMetrics metrics) {
+    if (metrics != JwhisperMetrics.noop() && whisperStatePointer == null) {
+      WhisperCpp.whisperResetTimings(whisperContextPointer);
+    }
+
+    return System.nanoTime();
+  }
+
+  private void recordMetrics(
+      final JwhisperMetrics metrics, final long start, final int samples, final int segments) {
+    if (metrics == JwhisperMetrics.noop()) {
+      return;
+    }
+
+    final var wallTime = Duration.ofNanos(System.nanoTime() - start);
+    final var audioDuration = Duration.ofNanos(samples * 1_000_000_000L / SAMPLE_RATE);
+    final var timings = new float[5];
+    final var whisperTimings =
+        whisperStatePointer == null && WhisperCpp.whisperGetTimings(whisperContextPointer, timings)
+            ? new WhisperTimings(timings[0], timings[1], timings[2], timings[3], timings[4])
+            : null;
+
+    metrics.recordTranscription(
+        new TranscriptionMetrics(audioDuration, wallTime, segments, whisperTimings));
+  }
+
+  private synchronized void clearAbort() {
+    if (!isClosed) {
+      isAbortRequested = false;
+      WhisperCpp.whisperAbortFlagSet(whisperAbortFlagPointer, false);
+    }
+  }
+
+  private RuntimeException abortedOr(final WhisperFullException e) {
+    if (!isAbortRequested) {
+      return e;
+    }
+
+    final var cancellation = new CancellationException("Processing was aborted.");
+    cancellation.initCause(e);
+
+    return cancellation;
+  }
+
+  private Lock readLockNotClosed() {
+    final var readLock = lifecycleLock.readLock();
+    readLock.lock();
+
+    if (isClosed) {
+      readLock.unlock();
+      throw new IllegalStateException("Resource is already closed.");
+    }
+
+    return readLock;
+  }
+
   private void ensureNotClosed() {
     if (isClosed) {
       throw new IllegalStateException("Resource is already closed.");
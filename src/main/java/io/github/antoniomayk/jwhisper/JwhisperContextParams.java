@@ -0,0 +1,244 @@
+package io.github.antoniomayk.jwhisper;
+
+import io.github.antoniomayk.jwhisper.jni.WhisperContext;
+import io.github.antoniomayk.jwhisper.jni.WhisperContextParams;
+import io.github.antoniomayk.jwhisper.jni.WhisperCpp;
+import java.io.IOException;
+import java.nio.file.Path;
+import org.jspecify.annotations.Nullable;
+
+/**
+ * JwhisperContextParams is an immutable set of <b>whisper_context_params</b> overrides, along with
+ * the way the model file is read. Fields left null keep the library default.
+ *
+ * <p>With {@link #memoryMapped()}, the model file is memory-mapped and read by whisper.cpp from
+ * the mapping instead of through stdio, whatever its size. Processes loading the same file on a
+ * host then read it from the shared page cache. The weights are still copied into the backend
+ * buffers of each context, so the resident memory of a loaded model is unchanged.
+ *
+ * @param useGpu the <b>use_gpu</b> field: offload the computation to the GPU backend, if any.
+ * @param flashAttn the <b>flash_attn</b> field: use flash attention kernels.
+ * @param gpuDevice the <b>gpu_device</b> field: index of the GPU device.
+ * @param dtwAlignmentHeads the <b>dtw_aheads_preset</b> field: alignment heads of the model, which
+ *     enable token timestamps computed by Dynamic Time Warping; null to disable them.
+ * @param memoryMapped true to load the model from a memory-mapped file.
+ * @author Antonio Mayk
+ * @since 0.1
+ */
+public record JwhisperContextParams(
+    @Nullable Boolean useGpu,
+    @Nullable Boolean flashAttn,
+    @Nullable Integer gpuDevice,
+    @Nullable AlignmentHeads dtwAlignmentHeads,
+    boolean memoryMapped) {
+  private static final JwhisperContextParams DEFAULTS = builder().build();
+
+  /**
+   * Validates the overrides.
+   *
+   * @throws IllegalArgumentException if the GPU device is negative.
+   */
+  public JwhisperContextParams {
+    if (gpuDevice != null && gpuDevice < 0) {
+      throw new IllegalArgumentException("Invalid gpuDevice: " + gpuDevice);
+    }
+  }
+
+  /**
+   * Retrieves the library defaults, reading the model file through stdio.
+   *
+   * @return the default params.
+   */
+  public static JwhisperContextParams defaults() {
+    return DEFAULTS;
+  }
+
+  /**
+   * Creates a builder of params without any override.
+   *
+   * @return a new builder.
+   */
+  public static Builder builder() {
+    return new Builder();
+  }
+
+  WhisperContextParams newWhisperContextParams() {
+    final var params = WhisperCpp.whisperContextDefaultParamsByRef();
+
+    if (useGpu != null) {
+      WhisperCpp.whisperContextParamsSetUseGpu(params, useGpu);
+    }
+
+    if (flashAttn != null) {
+      WhisperCpp.whisperContextParamsSetFlashAttn(params, flashAttn);
+    }
+
+    if (gpuDevice != null) {
+      WhisperCpp.whisperContextParamsSetGpuDevice(params, gpuDevice);
+    }
+
+    if (dtwAlignmentHeads != null) {
+      WhisperCpp.whisperContextParamsSetDtwTokenTimestamps(params, true);
+      WhisperCpp.whisperContextParamsSetDtwAheadsPreset(params, dtwAlignmentHeads.value);
+    }
+
+    return params;
+  }
+
+  WhisperContext initContext(
+      final Path model, final WhisperContextParams params, final boolean noState)
+      throws IOException {
+    final WhisperContext context;
+
+    if (memoryMapped) {
+      context =
+          noState
+              ? WhisperCpp.whisperInitFromMappedFileWithParamsNoState(model.toString(), params)
+              : WhisperCpp.whisperInitFromMappedFileWithParams(model.toString(), params);
+    } else {
+      context =
+          noState
+              ? WhisperCpp.whisperInitFromFileWithParamsNoState(model.toString(), params)
+              : WhisperCpp.whisperInitFromFileWithParams(model.toString(), params);
+    }
+
+    if (context.getPointer() == 0) {
+      throw new IOException("Failed to load model: " + model);
+    }
+
+    return context;
+  }
+
+  /**
+   * Alignment heads of a model used for DTW token timestamps, matching
+   * <b>whisper_alignment_heads_preset</b>. The preset must match the loaded model.
+   *
+   * @author Antonio Mayk
+   * @since 0.1
+   */
+  public enum AlignmentHeads {
+    /** Heads of tiny.en. */
+    TINY_EN(3),
+
+    /** Heads of tiny. */
+    TINY(4),
+
+    /** Heads of base.en. */
+    BASE_EN(5),
+
+    /** Heads of base. */
+    BASE(6),
+
+    /** Heads of small.en. */
+    SMALL_EN(7),
+
+    /** Heads of small. */
+    SMALL(8),
+
+    /** Heads of medium.en. */
+    MEDIUM_EN(9),
+
+    /** Heads of medium. */
+    MEDIUM(10),
+
+    /** Heads of large-v1. */
+    LARGE_V1(11),
+
+    /** Heads of large-v2. */
+    LARGE_V2(12),
+
+    /** Heads of large-v3. */
+    LARGE_V3(13),
+
+    /** Heads of large-v3-turbo. */
+    LARGE_V3_TURBO(14);
+
+    private final int value;
+
+    AlignmentHeads(final int value) {
+      this.value = value;
+    }
+  }
+
+  /**
+   * Builder of {@link JwhisperContextParams}.
+   *
+   * @author Antonio Mayk
+   * @since 0.1
+   */
+  public static final class Builder {
+    private @Nullable Boolean useGpu;
+    private @Nullable Boolean flashAttn;
+    private @Nullable Integer gpuDevice;
+    private @Nullable AlignmentHeads dtwAlignmentHeads;
+    private boolean memoryMapped = false;
+
+    private Builder() {}
+
+    /**
+     * Sets whether the computation is offloaded to the GPU backend.
+     *
+     * @param useGpu true to use the GPU, if the library was built with one.
+     * @return this builder.
+     */
+    public Builder useGpu(final boolean useGpu) {
+      this.useGpu = useGpu;
+      return this;
+    }
+
+    /**
+     * Sets whether flash attention kernels are used.
+     *
+     * @param flashAttn true to use flash attention.
+     * @return this builder.
+     */
+    public Builder flashAttn(final boolean flashAttn) {
+      this.flashAttn = flashAttn;
+      return this;
+    }
+
+    /**
+     * Sets the GPU device used.
+     *
+     * @param gpuDevice a non-negative device index.
+     * @return this builder.
+     */
+    public Builder gpuDevice(final int gpuDevice) {
+      this.gpuDevice = gpuDevice;
+      return this;
+    }
+
+    /**
+     * Enables token timestamps computed by Dynamic Time Warping over the given alignment heads.
+     *
+     * @param dtwAlignmentHeads the alignment heads matching the loaded model.
+     * @return this builder.
+     */
+    public Builder dtwAlignmentHeads(final AlignmentHeads dtwAlignmentHeads) {
+      this.dtwAlignmentHeads = dtwAlignmentHeads;
+      return this;
+    }
+
+    /**
+     * Sets whether the model is loaded from a memory-mapped file.
+     *
+     * @param memoryMapped true to map the model file.
+     * @return this builder.
+     */
+    public Builder memoryMapped(final boolean memoryMapped) {
+      this.memoryMapped = memoryMapped;
+      return this;
+    }
+
+    /**
+     * Creates the params.
+     *
+     * @return immutable params.
+     * @throws IllegalArgumentException if the GPU device is negative.
+     */
+    public JwhisperContextParams build() {
+      return new JwhisperContextParams(
+          useGpu, flashAttn, gpuDevice, dtwAlignmentHeads, memoryMapped);
+    }
+  }
+}
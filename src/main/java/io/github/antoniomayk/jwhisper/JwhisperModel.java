@@ -0,0 +1,155 @@
+package io.github.antoniomayk.jwhisper;
+
+import io.github.antoniomayk.jwhisper.jni.WhisperContext;
+import io.github.antoniomayk.jwhisper.jni.WhisperContextParams;
+import io.github.antoniomayk.jwhisper.jni.WhisperCpp;
+import io.github.antoniomayk.jwhisper.metrics.JwhisperMetrics;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * JwhisperModel holds the weights of a GGML model loaded once, without any decoding state, so that
+ * several {@link Jwhisper} instances can share it. Each of those instances owns a small decoding
+ * state and can run concurrently with the others.
+ *
+ * @author Antonio Mayk
+ * @since 0.1
+ */
+public class JwhisperModel implements AutoCloseable {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(JwhisperModel.class);
+
+  private final WhisperContext whisperContextPointer;
+  private final WhisperContextParams whisperContextParamsPointer;
+  private final Duration loadTime;
+  private final Set<Jwhisper> instances = ConcurrentHashMap.newKeySet();
+
+  private volatile boolean isClosed = false;
+
+  private JwhisperModel(final Path model, final JwhisperContextParams contextParams)
+      throws IOException {
+    final var start = System.nanoTime();
+
+    whisperContextParamsPointer = contextParams.newWhisperContextParams();
+
+    try {
+      whisperContextPointer = contextParams.initContext(model, whisperContextParamsPointer, true);
+    } catch (IOException | RuntimeException e) {
+      WhisperCpp.whisperFreeContextParams(whisperContextParamsPointer);
+      throw e;
+    }
+
+    loadTime = Duration.ofNanos(System.nanoTime() - start);
+    JwhisperMetrics.current().recordModelLoad(loadTime);
+
+    LOGGER.debug("Loaded model {} without state in {} ms", model, loadTime.toMillis());
+  }
+
+  /**
+   * Loads a GGML model file without allocating any decoding state.
+   *
+   * @param ggmlModel the path to the GGML model file used for transcription.
+   * @throws IOException if the model file does not exist, is not readable or cannot be loaded.
+   */
+  public static JwhisperModel newInstance(final Path ggmlModel) throws IOException {
+    return newInstance(ggmlModel, JwhisperContextParams.defaults());
+  }
+
+  /**
+   * Loads a GGML model file with the given context params, without allocating any decoding state.
+   *
+   * @param ggmlModel the path to the GGML model file used for transcription.
+   * @param contextParams the context params and loading mode of the model.
+   * @throws IOException if the model file does not exist, is not readable or cannot be loaded.
+   */
+  public static JwhisperModel newInstance(
+      final Path ggmlModel, final JwhisperContextParams contextParams) throws IOException {
+    if (!Files.exists(ggmlModel)) {
+      throw new IOException("Model file does not exist: " + ggmlModel);
+    }
+
+    if (!Files.isReadable(ggmlModel)) {
+      throw new IOException("Model file is not readable: " + ggmlModel);
+    }
+
+    return new JwhisperModel(ggmlModel, contextParams);
+  }
+
+  /**
+   * Creates a Jwhisper instance that shares this model and owns its own decoding state.
+   *
+   * @return a new Jwhisper instance bound to this model.
+   * @throws IllegalStateException if the model is closed, or the decoding state cannot be
+   *     allocated.
+   */
+  public synchronized Jwhisper newJwhisper() {
+    ensureNotClosed();
+
+    final var start = System.nanoTime();
+    final var whisperStatePointer = WhisperCpp.whisperInitState(whisperContextPointer);
+
+    if (whisperStatePointer.getPointer() == 0) {
+      throw new IllegalStateException("Failed to initialize state of model.");
+    }
+
+    final var jwhisper =
+        new Jwhisper(
+            this,
+            whisperContextPointer,
+            whisperStatePointer,
+            Duration.ofNanos(System.nanoTime() - start));
+    instances.add(jwhisper);
+    JwhisperMetrics.current().recordStateInit(jwhisper.loadTime());
+
+    return jwhisper;
+  }
+
+  /**
+   * Retrieves how long the model took to load.
+   *
+   * @return the load time.
+   */
+  public Duration loadTime() {
+    return loadTime;
+  }
+
+  /**
+   * Tells whether this model has already been closed.
+   *
+   * @return true if {@link #close()} was called.
+   */
+  public boolean isClosed() {
+    return isClosed;
+  }
+
+  /**
+   * Frees up the model weights. Every Jwhisper instance created by this model is closed first,
+   * aborting and waiting for any processing they are running.
+   */
+  @Override
+  public synchronized void close() {
+    if (!isClosed) {
+      isClosed = true;
+
+      instances.forEach(Jwhisper::close);
+      WhisperCpp.whisperFreeContextParams(whisperContextParamsPointer);
+      WhisperCpp.whisperFree(whisperContextPointer);
+    }
+  }
+
+  void unregister(final Jwhisper jwhisper) {
+    instances.remove(jwhisper);
+  }
+
+  private void ensureNotClosed() {
+    if (isClosed) {
+      throw new IllegalStateException("Resource is already closed.");
+    }
+  }
+}
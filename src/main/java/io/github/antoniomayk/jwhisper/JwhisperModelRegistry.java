@@ -0,0 +1,308 @@
+package io.github.antoniomayk.jwhisper;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.jspecify.annotations.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * JwhisperModelRegistry shares loaded {@link JwhisperModel}s, keyed by model file and context
+ * params. Models are loaded lazily on first use and reference counted by handle.
+ *
+ * <p>Models that no handle references stay resident until the memory budget is exceeded: the
+ * least recently used ones are then closed. The memory of a model is estimated from the size of
+ * its file. Models in use are never evicted, so the budget can be exceeded while they are held.
+ *
+ * @author Antonio Mayk
+ * @since 0.1
+ */
+public class JwhisperModelRegistry implements AutoCloseable {
+  private static final Logger LOGGER = LoggerFactory.getLogger(JwhisperModelRegistry.class);
+
+  private final long memoryBudget;
+  private final Map<Key, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+
+  private long usedMemory = 0;
+  private boolean isClosed = false;
+
+  private JwhisperModelRegistry(final long memoryBudget) {
+    this.memoryBudget = memoryBudget;
+  }
+
+  /**
+   * Creates an empty registry.
+   *
+   * @param memoryBudget the estimated memory, in bytes, that resident models may use.
+   * @return a new registry.
+   * @throws IllegalArgumentException if the budget is negative.
+   */
+  public static JwhisperModelRegistry newInstance(final long memoryBudget) {
+    if (memoryBudget < 0) {
+      throw new IllegalArgumentException("Memory budget must not be negative: " + memoryBudget);
+    }
+
+    return new JwhisperModelRegistry(memoryBudget);
+  }
+
+  /**
+   * Acquires a model loaded with the default context params.
+   *
+   * @param ggmlModel the path to the GGML model file.
+   * @return a handle that must be closed once the model is not used anymore.
+   * @throws IOException if the model file does not exist, is not readable or cannot be loaded.
+   * @see #acquire(Path, JwhisperContextParams)
+   */
+  public Handle acquire(final Path ggmlModel) throws IOException {
+    return acquire(ggmlModel, JwhisperContextParams.defaults());
+  }
+
+  /**
+   * Acquires a model, loading it if it is not resident. Concurrent acquisitions of the same model
+   * wait for a single load.
+   *
+   * <p>The model, and every Jwhisper instance created from it, may be closed by an eviction as soon
+   * as the handle is closed.
+   *
+   * @param ggmlModel the path to the GGML model file.
+   * @param contextParams the context params and loading mode of the model.
+   * @return a handle that must be closed once the model is not used anymore.
+   * @throws IOException if the model file does not exist, is not readable or cannot be loaded.
+   */
+  public Handle acquire(final Path ggmlModel, final JwhisperContextParams contextParams)
+      throws IOException {
+    final var key = new Key(ggmlModel.toAbsolutePath().normalize(), contextParams);
+    final Entry entry;
+
+    synchronized (this) {
+      ensureNotClosed();
+
+      entry = entries.computeIfAbsent(key, Entry::new);
+      entry.references++;
+    }
+
+    try {
+      final var model = entry.load();
+
+      return new Handle(entry, model);
+    } catch (IOException | RuntimeException e) {
+      release(entry);
+      throw e;
+    }
+  }
+
+  /**
+   * Loads the given models ahead of their first use, for instance at startup. They are left
+   * unreferenced, so they are subject to eviction.
+   *
+   * @param ggmlModels the paths to the GGML model files, loaded with default context params.
+   * @throws IOException if a model file does not exist, is not readable or cannot be loaded.
+   */
+  public void warmUp(final Path... ggmlModels) throws IOException {
+    for (final var ggmlModel : ggmlModels) {
+      warmUp(ggmlModel, JwhisperContextParams.defaults());
+    }
+  }
+
+  /**
+   * Loads the given model ahead of its first use. It is left unreferenced, so it is subject to
+   * eviction.
+   *
+   * @param ggmlModel the path to the GGML model file.
+   * @param contextParams the context params and loading mode of the model.
+   * @throws IOException if the model file does not exist, is not readable or cannot be loaded.
+   */
+  public void warmUp(final Path ggmlModel, final JwhisperContextParams contextParams)
+      throws IOException {
+    acquire(ggmlModel, contextParams).close();
+  }
+
+  /**
+   * Retrieves the amount of resident models.
+   *
+   * @return the amount of loaded models.
+   */
+  public synchronized int residentModels() {
+    return (int) entries.values().stream().filter(entry -> entry.size > 0).count();
+  }
+
+  /**
+   * Retrieves the estimated memory used by the resident models.
+   *
+   * @return the memory, in bytes.
+   */
+  public synchronized long usedMemory() {
+    return usedMemory;
+  }
+
+  /** Closes every resident model, including the ones still referenced by a handle. */
+  @Override
+  public void close() {
+    final var models = new ArrayList<JwhisperModel>();
+
+    synchronized (this) {
+      isClosed = true;
+
+      for (final var entry : entries.values()) {
+        final var model = entry.model;
+
+        if (model != null) {
+          models.add(model);
+        }
+      }
+
+      entries.clear();
+      usedMemory = 0;
+    }
+
+    models.forEach(JwhisperModel::close);
+  }
+
+  private boolean loaded(final Entry entry, final long size) {
+    final List<JwhisperModel> evicted;
+
+    synchronized (this) {
+      if (isClosed) {
+        return false;
+      }
+
+      entry.size = size;
+      usedMemory += size;
+      evicted = evict();
+    }
+
+    evicted.forEach(JwhisperModel::close);
+
+    return true;
+  }
+
+  private void release(final Entry entry) {
+    final List<JwhisperModel> evicted;
+
+    synchronized (this) {
+      entry.references--;
+
+      if (entry.references == 0 && entry.size == 0) {
+        entries.remove(entry.key, entry);
+      }
+
+      evicted = evict();
+    }
+
+    evicted.forEach(JwhisperModel::close);
+  }
+
+  // The evicted models are closed by the caller once the monitor is released, since closing a
+  // model waits for the transcriptions still running on it.
+  private List<JwhisperModel> evict() {
+    final var evicted = new ArrayList<JwhisperModel>();
+    final var iterator = entries.values().iterator();
+
+    while (usedMemory > memoryBudget && iterator.hasNext()) {
+      final var entry = iterator.next();
+      final var model = entry.model;
+
+      if (entry.references == 0 && model != null) {
+        iterator.remove();
+        usedMemory -= entry.size;
+        evicted.add(model);
+
+        LOGGER.debug("Evicted model {} ({} bytes)", entry.key.model(), entry.size);
+      }
+    }
+
+    return evicted;
+  }
+
+  private synchronized void ensureNotClosed() {
+    if (isClosed) {
+      throw new IllegalStateException("Resource is already closed.");
+    }
+  }
+
+  private record Key(Path model, JwhisperContextParams contextParams) {}
+
+  private final class Entry {
+    private final Key key;
+
+    private int references = 0;
+    private long size = 0;
+    private volatile @Nullable JwhisperModel model;
+
+    private Entry(final Key key) {
+      this.key = key;
+    }
+
+    private synchronized JwhisperModel load() throws IOException {
+      final var loadedModel = model;
+
+      if (loadedModel != null) {
+        return loadedModel;
+      }
+
+      final var newModel = JwhisperModel.newInstance(key.model(), key.contextParams());
+      final long size;
+
+      try {
+        size = Files.size(key.model());
+      } catch (IOException e) {
+        newModel.close();
+        throw e;
+      }
+
+      if (!loaded(this, size)) {
+        newModel.close();
+        throw new IllegalStateException("Resource is already closed.");
+      }
+
+      model = newModel;
+
+      return newModel;
+    }
+  }
+
+  /**
+   * Reference to a model of the registry. Closing the handle makes the model evictable once no
+   * other handle references it.
+   *
+   * @author Antonio Mayk
+   * @since 0.1
+   */
+  public final class Handle implements AutoCloseable {
+    private final Entry entry;
+    private final JwhisperModel model;
+    private final AtomicBoolean isReleased = new AtomicBoolean(false);
+
+    private Handle(final Entry entry, final JwhisperModel model) {
+      this.entry = entry;
+      this.model = model;
+    }
+
+    /**
+     * Retrieves the referenced model. It must not be used after the handle is closed.
+     *
+     * @return the loaded model.
+     */
+    public JwhisperModel model() {
+      if (isReleased.get()) {
+        throw new IllegalStateException("Handle is already released.");
+      }
+
+      return model;
+    }
+
+    /** Releases the reference to the model. */
+    @Override
+    public void close() {
+      if (isReleased.compareAndSet(false, true)) {
+        release(entry);
+      }
+    }
+  }
+}
@@ -0,0 +1,355 @@
+package io.github.antoniomayk.jwhisper;
+
+import io.github.antoniomayk.jwhisper.jni.WhisperCpp;
+import io.github.antoniomayk.jwhisper.jni.WhisperFullParams;
+import org.jspecify.annotations.Nullable;
+
+/**
+ * JwhisperParams is an immutable set of <b>whisper_full_params</b> overrides, applied over the
+ * library defaults of the chosen sampling strategy. Fields left null keep the library default.
+ *
+ * <p>Instances are created with {@link #builder()}:
+ *
+ * <pre>{@code
+ * final var params =
+ *     JwhisperParams.builder()
+ *         .strategy(JwhisperParams.Strategy.BEAM_SEARCH)
+ *         .beamSize(5)
+ *         .nThreads(4)
+ *         .language("en")
+ *         .build();
+ * }</pre>
+ *
+ * @param strategy the sampling strategy whose defaults are overridden.
+ * @param nThreads the <b>n_threads</b> field: number of threads used for the computation.
+ * @param beamSize the <b>beam_search.beam_size</b> field: number of beams of the beam search.
+ * @param bestOf the <b>greedy.best_of</b> field: number of candidates of the greedy sampling.
+ * @param audioCtx the <b>audio_ctx</b> field: audio context size, 0 for the model default.
+ * @param noContext the <b>no_context</b> field: do not prompt with the past transcription.
+ * @param singleSegment the <b>single_segment</b> field: force a single segment output.
+ * @param maxLen the <b>max_len</b> field: max segment length in characters, 0 for no limit.
+ * @param temperatureInc the <b>temperature_inc</b> field: temperature fallback step, 0 to disable.
+ * @param language the <b>language</b> field: spoken language, or "auto" for auto-detection.
+ * @param tokenTimestamps the <b>token_timestamps</b> field: compute the timestamps of every token.
+ * @author Antonio Mayk
+ * @since 0.1
+ */
+public record JwhisperParams(
+    Strategy strategy,
+    @Nullable Integer nThreads,
+    @Nullable Integer beamSize,
+    @Nullable Integer bestOf,
+    @Nullable Integer audioCtx,
+    @Nullable Boolean noContext,
+    @Nullable Boolean singleSegment,
+    @Nullable Integer maxLen,
+    @Nullable Float temperatureInc,
+    @Nullable String language,
+    @Nullable Boolean tokenTimestamps) {
+  private static final JwhisperParams DEFAULTS = builder().build();
+
+  /**
+   * Validates the overrides.
+   *
+   * @throws IllegalArgumentException if a numeric override is out of range.
+   */
+  public JwhisperParams {
+    checkAtLeast("nThreads", nThreads, 1);
+    checkAtLeast("beamSize", beamSize, 1);
+    checkAtLeast("bestOf", bestOf, 1);
+    checkAtLeast("audioCtx", audioCtx, 0);
+    checkAtLeast("maxLen", maxLen, 0);
+
+    if (temperatureInc != null && !(temperatureInc >= 0)) {
+      throw new IllegalArgumentException("Invalid temperatureInc: " + temperatureInc);
+    }
+  }
+
+  /**
+   * Retrieves the library defaults of the greedy strategy, without any override.
+   *
+   * @return the default params.
+   */
+  public static JwhisperParams defaults() {
+    return DEFAULTS;
+  }
+
+  /**
+   * Creates a builder of params using the greedy strategy and no override.
+   *
+   * @return a new builder.
+   */
+  public static Builder builder() {
+    return new Builder();
+  }
+
+  /**
+   * Creates a builder initialized with these params.
+   *
+   * @return a new builder.
+   */
+  public Builder toBuilder() {
+    final var builder = new Builder();
+
+    builder.strategy = strategy;
+    builder.nThreads = nThreads;
+    builder.beamSize = beamSize;
+    builder.bestOf = bestOf;
+    builder.audioCtx = audioCtx;
+    builder.noContext = noContext;
+    builder.singleSegment = singleSegment;
+    builder.maxLen = maxLen;
+    builder.temperatureInc = temperatureInc;
+    builder.language = language;
+    builder.tokenTimestamps = tokenTimestamps;
+
+    return builder;
+  }
+
+  WhisperFullParams newWhisperFullParams() {
+    final var params = WhisperCpp.whisperFullDefaultParamsByRef(strategy.value);
+
+    try {
+      applyTo(params);
+    } catch (RuntimeException e) {
+      WhisperCpp.whisperFreeParams(params);
+      throw e;
+    }
+
+    return params;
+  }
+
+  private void applyTo(final WhisperFullParams params) {
+    if (nThreads != null) {
+      WhisperCpp.whisperFullParamsSetNThreads(params, nThreads);
+    }
+
+    if (beamSize != null) {
+      WhisperCpp.whisperFullParamsSetBeamSize(params, beamSize);
+    }
+
+    if (bestOf != null) {
+      WhisperCpp.whisperFullParamsSetBestOf(params, bestOf);
+    }
+
+    if (audioCtx != null) {
+      WhisperCpp.whisperFullParamsSetAudioCtx(params, audioCtx);
+    }
+
+    if (noContext != null) {
+      WhisperCpp.whisperFullParamsSetNoContext(params, noContext);
+    }
+
+    if (singleSegment != null) {
+      WhisperCpp.whisperFullParamsSetSingleSegment(params, singleSegment);
+    }
+
+    if (maxLen != null) {
+      WhisperCpp.whisperFullParamsSetMaxLen(params, maxLen);
+    }
+
+    if (temperatureInc != null) {
+      WhisperCpp.whisperFullParamsSetTemperatureInc(params, temperatureInc);
+    }
+
+    if (language != null) {
+      WhisperCpp.whisperFullParamsSetLanguage(params, language);
+    }
+
+    if (tokenTimestamps != null) {
+      WhisperCpp.whisperFullParamsSetTokenTimestamps(params, tokenTimestamps);
+    }
+  }
+
+  private static void checkAtLeast(
+      final String name, final @Nullable Integer value, final int minimum) {
+    if (value != null && value < minimum) {
+      throw new IllegalArgumentException("Invalid " + name + ": " + value);
+    }
+  }
+
+  /**
+   * Sampling strategy of the decoder, matching <b>whisper_sampling_strategy</b>.
+   *
+   * @author Antonio Mayk
+   * @since 0.1
+   */
+  public enum Strategy {
+    /** Greedy decoding, the fastest. */
+    GREEDY(0),
+
+    /** Beam search decoding, slower but usually more accurate. */
+    BEAM_SEARCH(1);
+
+    private final int value;
+
+    Strategy(final int value) {
+      this.value = value;
+    }
+  }
+
+  /**
+   * Builder of {@link JwhisperParams}.
+   *
+   * @author Antonio Mayk
+   * @since 0.1
+   */
+  public static final class Builder {
+    private Strategy strategy = Strategy.GREEDY;
+    private @Nullable Integer nThreads;
+    private @Nullable Integer beamSize;
+    private @Nullable Integer bestOf;
+    private @Nullable Integer audioCtx;
+    private @Nullable Boolean noContext;
+    private @Nullable Boolean singleSegment;
+    private @Nullable Integer maxLen;
+    private @Nullable Float temperatureInc;
+    private @Nullable String language;
+    private @Nullable Boolean tokenTimestamps;
+
+    private Builder() {}
+
+    /**
+     * Sets the sampling strategy.
+     *
+     * @param strategy the sampling strategy.
+     * @return this builder.
+     */
+    public Builder strategy(final Strategy strategy) {
+      this.strategy = strategy;
+      return this;
+    }
+
+    /**
+     * Sets the number of threads used for the computation.
+     *
+     * @param nThreads a positive number of threads.
+     * @return this builder.
+     */
+    public Builder nThreads(final int nThreads) {
+      this.nThreads = nThreads;
+      return this;
+    }
+
+    /**
+     * Sets the number of beams of the beam search strategy.
+     *
+     * @param beamSize a positive number of beams.
+     * @return this builder.
+     */
+    public Builder beamSize(final int beamSize) {
+      this.beamSize = beamSize;
+      return this;
+    }
+
+    /**
+     * Sets the number of candidates of the greedy strategy.
+     *
+     * @param bestOf a positive number of candidates.
+     * @return this builder.
+     */
+    public Builder bestOf(final int bestOf) {
+      this.bestOf = bestOf;
+      return this;
+    }
+
+    /**
+     * Sets the audio context size. Smaller values are faster but less accurate.
+     *
+     * @param audioCtx the audio context size, 0 for the model default.
+     * @return this builder.
+     */
+    public Builder audioCtx(final int audioCtx) {
+      this.audioCtx = audioCtx;
+      return this;
+    }
+
+    /**
+     * Sets whether the past transcription is not used as prompt.
+     *
+     * @param noContext true to decode without context.
+     * @return this builder.
+     */
+    public Builder noContext(final boolean noContext) {
+      this.noContext = noContext;
+      return this;
+    }
+
+    /**
+     * Sets whether a single segment is generated.
+     *
+     * @param singleSegment true to force a single segment output.
+     * @return this builder.
+     */
+    public Builder singleSegment(final boolean singleSegment) {
+      this.singleSegment = singleSegment;
+      return this;
+    }
+
+    /**
+     * Sets the max segment length.
+     *
+     * @param maxLen the max length in characters, 0 for no limit.
+     * @return this builder.
+     */
+    public Builder maxLen(final int maxLen) {
+      this.maxLen = maxLen;
+      return this;
+    }
+
+    /**
+     * Sets the temperature increase applied when decoding fails.
+     *
+     * @param temperatureInc the temperature step, 0 to disable the fallback.
+     * @return this builder.
+     */
+    public Builder temperatureInc(final float temperatureInc) {
+      this.temperatureInc = temperatureInc;
+      return this;
+    }
+
+    /**
+     * Sets the spoken language.
+     *
+     * @param language a language code or name, such as "en" or "english", or "auto".
+     * @return this builder.
+     */
+    public Builder language(final String language) {
+      this.language = language;
+      return this;
+    }
+
+    /**
+     * Sets whether the timestamps of every token are computed, as retrieved by {@link
+     * Jwhisper#whisperFullGetTokens()}.
+     *
+     * @param tokenTimestamps true to compute token timestamps.
+     * @return this builder.
+     */
+    public Builder tokenTimestamps(final boolean tokenTimestamps) {
+      this.tokenTimestamps = tokenTimestamps;
+      return this;
+    }
+
+    /**
+     * Creates the params.
+     *
+     * @return immutable params.
+     * @throws IllegalArgumentException if a numeric override is out of range.
+     */
+    public JwhisperParams build() {
+      return new JwhisperParams(
+          strategy,
+          nThreads,
+          beamSize,
+          bestOf,
+          audioCtx,
+          noContext,
+          singleSegment,
+          maxLen,
+          temperatureInc,
+          language,
+          tokenTimestamps);
+    }
+  }
+}
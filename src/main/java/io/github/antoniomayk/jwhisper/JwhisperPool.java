@@ -0,0 +1,488 @@
+package io.github.antoniomayk.jwhisper;
+
+import io.github.antoniomayk.jwhisper.metrics.JwhisperMetrics;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import org.jspecify.annotations.Nullable;
+
+/**
+ * JwhisperPool owns a bounded set of {@link Jwhisper} instances and hands them out by lease, so
+ * that several threads can transcribe concurrently without sharing a whisper context.
+ *
+ * <p>Waiting threads are served in FIFO order. Every lease gets its instance with the pool full
+ * parameters, whatever the previous holder did with them.
+ *
+ * <p>Asynchronous transcriptions run on a dedicated set of platform threads, one per instance, so
+ * that the calling threads, virtual ones included, are never blocked inside a native call.
+ * Cancelling their future aborts the native processing and gives the instance back to the pool.
+ *
+ * @author Antonio Mayk
+ * @since 0.1
+ */
+public class JwhisperPool implements AutoCloseable {
+  private static final AtomicInteger THREAD_COUNTER = new AtomicInteger();
+
+  private final List<Jwhisper> instances;
+  private final Deque<Jwhisper> idleInstances;
+  private final ReentrantLock idleLock = new ReentrantLock(true);
+  private final Condition isInstanceIdle = idleLock.newCondition();
+  private final JwhisperParams params;
+  private final ExecutorService executor;
+
+  private volatile boolean isClosed = false;
+
+  private JwhisperPool(final List<Jwhisper> instances, final JwhisperParams params) {
+    this.instances = List.copyOf(instances);
+    this.params = params;
+    this.idleInstances = new ArrayDeque<>(instances);
+    this.executor =
+        Executors.newFixedThreadPool(
+            instances.size(),
+            runnable -> {
+              final var thread =
+                  new Thread(runnable, "jwhisper-" + THREAD_COUNTER.incrementAndGet());
+              thread.setDaemon(true);
+
+              return thread;
+            });
+  }
+
+  /**
+   * Initializes a pool of Jwhisper instances, each one loading its own copy of the GGML model.
+   *
+   * @param ggmlModel the path to the GGML model file used for transcription.
+   * @param size the amount of instances owned by the pool.
+   * @throws IOException if the model file does not exist or is not readable.
+   * @throws IllegalArgumentException if size is not positive.
+   */
+  public static JwhisperPool newInstance(final Path ggmlModel, final int size) throws IOException {
+    return newInstance(ggmlModel, size, JwhisperParams.defaults());
+  }
+
+  /**
+   * Initializes a pool of Jwhisper instances, each one loading its own copy of the GGML model.
+   *
+   * @param ggmlModel the path to the GGML model file used for transcription.
+   * @param size the amount of instances owned by the pool.
+   * @param params the full parameters every lease gets its instance with.
+   * @throws IOException if the model file does not exist or is not readable.
+   * @throws IllegalArgumentException if size is not positive or the params are invalid.
+   */
+  public static JwhisperPool newInstance(
+      final Path ggmlModel, final int size, final JwhisperParams params) throws IOException {
+    if (size <= 0) {
+      throw new IllegalArgumentException("Pool size must be positive: " + size);
+    }
+
+    final var instances = new ArrayList<Jwhisper>(size);
+
+    try {
+      for (var i = 0; i < size; i++) {
+        instances.add(Jwhisper.newInstance(ggmlModel));
+        instances.get(i).setFullParams(params);
+      }
+    } catch (IOException | RuntimeException e) {
+      instances.forEach(Jwhisper::close);
+      throw e;
+    }
+
+    return new JwhisperPool(instances, params);
+  }
+
+  /**
+   * Initializes a pool of Jwhisper instances sharing the weights of an already loaded model. Each
+   * instance only allocates its own decoding state. The model is not closed along with the pool.
+   *
+   * @param jwhisperModel the loaded model shared by every instance.
+   * @param size the amount of instances owned by the pool.
+   * @throws IllegalArgumentException if size is not positive.
+   */
+  public static JwhisperPool newInstance(final JwhisperModel jwhisperModel, final int size) {
+    return newInstance(jwhisperModel, size, JwhisperParams.defaults());
+  }
+
+  /**
+   * Initializes a pool of Jwhisper instances sharing the weights of an already loaded model. Each
+   * instance only allocates its own decoding state. The model is not closed along with the pool.
+   *
+   * @param jwhisperModel the loaded model shared by every instance.
+   * @param size the amount of instances owned by the pool.
+   * @param params the full parameters every lease gets its instance with.
+   * @throws IllegalArgumentException if size is not positive or the params are invalid.
+   */
+  public static JwhisperPool newInstance(
+      final JwhisperModel jwhisperModel, final int size, final JwhisperParams params) {
+    if (size <= 0) {
+      throw new IllegalArgumentException("Pool size must be positive: " + size);
+    }
+
+    final var instances = new ArrayList<Jwhisper>(size);
+
+    try {
+      for (var i = 0; i < size; i++) {
+        instances.add(jwhisperModel.newJwhisper());
+        instances.get(i).setFullParams(params);
+      }
+    } catch (RuntimeException e) {
+      instances.forEach(Jwhisper::close);
+      throw e;
+    }
+
+    return new JwhisperPool(instances, params);
+  }
+
+  /**
+   * Waits until an instance is available and leases it.
+   *
+   * @return a lease that must be closed to give the instance back to the pool.
+   * @throws InterruptedException if interrupted while waiting.
+   * @throws IllegalStateException if the pool is closed, before or while waiting.
+   */
+  public Lease acquire() throws InterruptedException {
+    final var start = System.nanoTime();
+    final var lease = take();
+
+    JwhisperMetrics.current().recordQueueWait(Duration.ofNanos(System.nanoTime() - start));
+
+    return lease;
+  }
+
+  /**
+   * Waits up to the given timeout until an instance is available and leases it.
+   *
+   * @param timeout how long to wait for an instance.
+   * @return a lease that must be closed to give the instance back to the pool.
+   * @throws InterruptedException if interrupted while waiting.
+   * @throws TimeoutException if no instance became available in time.
+   * @throws IllegalStateException if the pool is closed, before or while waiting.
+   */
+  public Lease acquire(final Duration timeout) throws InterruptedException, TimeoutException {
+    final var start = System.nanoTime();
+    final var jwhisper = poll(timeout.toNanos());
+
+    if (jwhisper == null) {
+      throw new TimeoutException("No Jwhisper instance available after " + timeout);
+    }
+
+    JwhisperMetrics.current().recordQueueWait(Duration.ofNanos(System.nanoTime() - start));
+
+    return new Lease(jwhisper);
+  }
+
+  /**
+   * Transcribes audio samples on the first available instance, without blocking the calling
+   * thread.
+   *
+   * <p>Cancelling the returned future, or completing it by any other means such as {@link
+   * CompletableFuture#orTimeout(long, TimeUnit)}, aborts the native processing if it already
+   * started and gives the instance back to the pool.
+   *
+   * @param samples an array of audio samples to be processed.
+   * @return a future completed with the transcription segments, or exceptionally if processing the
+   *     audio fails.
+   */
+  public CompletableFuture<TranscriptionResult> transcribeAsync(final float[] samples) {
+    return transcribeAsync(samples, params);
+  }
+
+  /**
+   * Transcribes audio samples on the first available instance with the given full parameters,
+   * without blocking the calling thread. The instance gets the pool parameters back afterwards.
+   *
+   * @param samples an array of audio samples to be processed.
+   * @param params the full parameters of this transcription only.
+   * @return a future completed with the transcription segments, or exceptionally if processing the
+   *     audio fails.
+   * @see #transcribeAsync(float[])
+   */
+  public CompletableFuture<TranscriptionResult> transcribeAsync(
+      final float[] samples, final JwhisperParams params) {
+    ensureNotClosed();
+
+    final var task = new TranscriptionTask(samples, params);
+    final var unused =
+        task.future.whenComplete(
+            (result, throwable) -> {
+              if (throwable != null) {
+                task.abort();
+              }
+            });
+
+    executor.execute(task);
+
+    return task.future;
+  }
+
+  /**
+   * Transcribes audio samples on the first available instance, waiting up to the given timeout for
+   * the result. The calling thread only waits for the result: if it is interrupted or the timeout
+   * elapses, the native processing is aborted.
+   *
+   * @param samples an array of audio samples to be processed.
+   * @param timeout how long to wait for the result, including the wait for an instance.
+   * @return the transcription segments generated.
+   * @throws InterruptedException if interrupted while waiting.
+   * @throws TimeoutException if the transcription did not complete in time.
+   * @throws RuntimeException if processing the audio fails.
+   */
+  public TranscriptionResult transcribe(final float[] samples, final Duration timeout)
+      throws InterruptedException, TimeoutException {
+    final var future = transcribeAsync(samples);
+
+    try {
+      return future.get(timeout.toNanos(), TimeUnit.NANOSECONDS);
+    } catch (InterruptedException | TimeoutException e) {
+      future.cancel(true);
+      throw e;
+    } catch (ExecutionException e) {
+      final var cause = e.getCause();
+
+      if (cause instanceof RuntimeException runtimeException) {
+        throw runtimeException;
+      }
+
+      if (cause instanceof Error error) {
+        throw error;
+      }
+
+      throw new IllegalStateException(cause);
+    }
+  }
+
+  /**
+   * Retrieves the amount of instances owned by the pool.
+   *
+   * @return the pool size.
+   */
+  public int size() {
+    return instances.size();
+  }
+
+  /**
+   * Retrieves the amount of instances that are not leased at the moment.
+   *
+   * @return the amount of idle instances.
+   */
+  public int available() {
+    idleLock.lock();
+
+    try {
+      return idleInstances.size();
+    } finally {
+      idleLock.unlock();
+    }
+  }
+
+  /**
+   * Frees up the idle instances immediately. Leased instances are freed as soon as their lease is
+   * closed. Threads waiting for an instance and pending asynchronous transcriptions fail with an
+   * {@link IllegalStateException}, running ones are left to complete.
+   */
+  @Override
+  public void close() {
+    final List<Jwhisper> closedInstances;
+
+    idleLock.lock();
+
+    try {
+      isClosed = true;
+      closedInstances = new ArrayList<>(idleInstances);
+      idleInstances.clear();
+      isInstanceIdle.signalAll();
+    } finally {
+      idleLock.unlock();
+    }
+
+    executor.shutdown();
+    closedInstances.forEach(Jwhisper::close);
+  }
+
+  private void release(final Jwhisper jwhisper) {
+    if (jwhisper.isClosed()) {
+      return;
+    }
+
+    if (!isClosed) {
+      jwhisper.setFullParams(params);
+    }
+
+    idleLock.lock();
+
+    try {
+      if (!isClosed) {
+        idleInstances.addLast(jwhisper);
+        isInstanceIdle.signal();
+
+        return;
+      }
+    } finally {
+      idleLock.unlock();
+    }
+
+    jwhisper.close();
+  }
+
+  private Lease take() throws InterruptedException {
+    idleLock.lock();
+
+    try {
+      while (idleInstances.isEmpty()) {
+        ensureNotClosed();
+        isInstanceIdle.await();
+      }
+
+      return new Lease(idleInstances.removeFirst());
+    } finally {
+      idleLock.unlock();
+    }
+  }
+
+  private @Nullable Jwhisper poll(final long timeoutNanos) throws InterruptedException {
+    var remainingNanos = timeoutNanos;
+
+    idleLock.lock();
+
+    try {
+      while (idleInstances.isEmpty()) {
+        ensureNotClosed();
+
+        if (remainingNanos <= 0) {
+          return null;
+        }
+
+        remainingNanos = isInstanceIdle.awaitNanos(remainingNanos);
+      }
+
+      return idleInstances.removeFirst();
+    } finally {
+      idleLock.unlock();
+    }
+  }
+
+  private void ensureNotClosed() {
+    if (isClosed) {
+      throw new IllegalStateException("Resource is already closed.");
+    }
+  }
+
+  private final class TranscriptionTask implements Runnable {
+    private final float[] samples;
+    private final JwhisperParams taskParams;
+    private final CompletableFuture<TranscriptionResult> future = new CompletableFuture<>();
+    private final long submitTime = System.nanoTime();
+
+    private @Nullable Jwhisper running;
+
+    private TranscriptionTask(final float[] samples, final JwhisperParams taskParams) {
+      this.samples = samples;
+      this.taskParams = taskParams;
+    }
+
+    @Override
+    public void run() {
+      if (future.isDone()) {
+        return;
+      }
+
+      try (var lease = take()) {
+        final var jwhisper = lease.jwhisper();
+
+        JwhisperMetrics.current().recordQueueWait(Duration.ofNanos(System.nanoTime() - submitTime));
+
+        if (!taskParams.equals(params)) {
+          jwhisper.setFullParams(taskParams);
+        }
+
+        if (start(jwhisper)) {
+          try {
+            future.complete(jwhisper.transcribe(samples));
+          } finally {
+            stop();
+          }
+        }
+      } catch (CancellationException e) {
+        future.cancel(false);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        future.completeExceptionally(e);
+      } catch (RuntimeException | Error e) {
+        future.completeExceptionally(e);
+      }
+    }
+
+    private synchronized boolean start(final Jwhisper jwhisper) {
+      if (future.isDone()) {
+        return false;
+      }
+
+      running = jwhisper;
+
+      return true;
+    }
+
+    private synchronized void stop() {
+      running = null;
+    }
+
+    private synchronized void abort() {
+      final var jwhisper = running;
+
+      if (jwhisper != null) {
+        jwhisper.abort();
+      }
+    }
+  }
+
+  /**
+   * Exclusive access to one of the pool instances. Closing the lease gives the instance back.
+   *
+   * @author Antonio Mayk
+   * @since 0.1
+   */
+  public final class Lease implements AutoCloseable {
+    private final Jwhisper jwhisper;
+    private final AtomicBoolean isReleased = new AtomicBoolean(false);
+
+    private Lease(final Jwhisper jwhisper) {
+      this.jwhisper = jwhisper;
+    }
+
+    /**
+     * Retrieves the leased instance. It must not be used after the lease is closed. Closing the
+     * instance itself removes it from the pool for good.
+     *
+     * @return the leased Jwhisper instance.
+     */
+    public Jwhisper jwhisper() {
+      if (isReleased.get()) {
+        throw new IllegalStateException("Lease is already released.");
+      }
+
+      return jwhisper;
+    }
+
+    /** Gives the instance back to the pool. */
+    @Override
+    public void close() {
+      if (isReleased.compareAndSet(false, true)) {
+        release(jwhisper);
+      }
+    }
+  }
+}
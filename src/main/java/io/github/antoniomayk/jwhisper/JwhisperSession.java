@@ -0,0 +1,164 @@
+package io.github.antoniomayk.jwhisper;
+
+import io.github.antoniomayk.jwhisper.audio.PcmKernels;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.FloatBuffer;
+import java.util.concurrent.CancellationException;
+
+/**
+ * JwhisperSession runs repeated transcriptions on a {@link Jwhisper} instance without producing
+ * garbage on the Java heap, for instance to transcribe thousands of short voice commands per
+ * minute.
+ *
+ * <p>The session owns an off-heap input buffer, read in place by whisper.cpp, and a {@link
+ * SegmentBuffer} refilled in place with the segments. Both only grow when a clip is longer, or
+ * produces more text, than any previous one. Segments are never converted into Java strings
+ * unless requested.
+ *
+ * <p>NOTE: A session is not thread-safe, and the segment buffer it returns is overwritten by its
+ * next transcription. Use {@link SegmentBuffer#toResult()} to keep the segments.
+ *
+ * @author Antonio Mayk
+ * @since 0.1
+ */
+public final class JwhisperSession {
+  /** Default input capacity, in samples: 30 seconds of audio at 16 kHz. */
+  public static final int DEFAULT_CAPACITY = 30 * 16000;
+
+  private final Jwhisper jwhisper;
+  private final SegmentBuffer segments = new SegmentBuffer();
+
+  private FloatBuffer input;
+  private float[] conversion = new float[0];
+
+  private JwhisperSession(final Jwhisper jwhisper, final int capacity) {
+    this.jwhisper = jwhisper;
+    this.input = allocateInput(capacity);
+  }
+
+  /**
+   * Creates a session with an input buffer of {@link #DEFAULT_CAPACITY} samples.
+   *
+   * @param jwhisper the instance running the transcriptions, not closed by the session.
+   * @return a new session.
+   */
+  public static JwhisperSession newInstance(final Jwhisper jwhisper) {
+    return newInstance(jwhisper, DEFAULT_CAPACITY);
+  }
+
+  /**
+   * Creates a session.
+   *
+   * @param jwhisper the instance running the transcriptions, not closed by the session.
+   * @param capacity the initial capacity of the input buffer, in samples.
+   * @return a new session.
+   * @throws IllegalArgumentException if the capacity is negative.
+   */
+  public static JwhisperSession newInstance(final Jwhisper jwhisper, final int capacity) {
+    if (capacity < 0) {
+      throw new IllegalArgumentException("Capacity must not be negative: " + capacity);
+    }
+
+    return new JwhisperSession(jwhisper, capacity);
+  }
+
+  /**
+   * Retrieves the input buffer, cleared and limited to the given amount of samples, so that a
+   * producer can write PCMF32 samples straight into it before calling {@link #transcribe()}.
+   *
+   * @param length the amount of samples about to be written.
+   * @return the direct input buffer, in native byte order.
+   */
+  public FloatBuffer input(final int length) {
+    if (length < 0) {
+      throw new IllegalArgumentException("Length must not be negative: " + length);
+    }
+
+    if (length > input.capacity()) {
+      input = allocateInput(Math.max(length, input.capacity() * 2));
+    }
+
+    input.clear().limit(length);
+
+    return input;
+  }
+
+  /**
+   * Transcribes the samples written into the buffer returned by {@link #input(int)}, from its
+   * first sample up to its limit.
+   *
+   * @return the segment buffer of this session, refilled with the segments generated.
+   * @throws CancellationException if the processing was aborted by {@link Jwhisper#abort()}.
+   * @throws RuntimeException if processing the audio fails.
+   */
+  public SegmentBuffer transcribe() {
+    input.position(0);
+
+    final var segmentCount = jwhisper.whisperFull(input);
+    segments.fill(jwhisper, segmentCount);
+
+    return segments;
+  }
+
+  /**
+   * Copies PCMF32 samples into the input buffer and transcribes them.
+   *
+   * @param samples source of the audio samples.
+   * @param offset index of the first sample transcribed.
+   * @param length amount of samples transcribed.
+   * @return the segment buffer of this session, refilled with the segments generated.
+   * @throws CancellationException if the processing was aborted by {@link Jwhisper#abort()}.
+   * @throws RuntimeException if processing the audio fails.
+   */
+  public SegmentBuffer transcribe(final float[] samples, final int offset, final int length) {
+    input(length).put(samples, offset, length);
+
+    return transcribe();
+  }
+
+  /**
+   * Converts PCMS16 samples into the input buffer and transcribes them, without the intermediate
+   * array allocated by {@link io.github.antoniomayk.jwhisper.utils.AudioUtils}.
+   *
+   * @param pcmS16 source of the PCMS16 Mono samples, at 16 kHz.
+   * @param offset index of the first sample transcribed.
+   * @param length amount of samples transcribed.
+   * @return the segment buffer of this session, refilled with the segments generated.
+   * @throws CancellationException if the processing was aborted by {@link Jwhisper#abort()}.
+   * @throws RuntimeException if processing the audio fails.
+   */
+  public SegmentBuffer transcribePcmS16(final short[] pcmS16, final int offset, final int length) {
+    if (length > conversion.length) {
+      conversion = new float[Math.max(length, conversion.length * 2)];
+    }
+
+    PcmKernels.convertPcmS16ToPcmF32(pcmS16, offset, conversion, 0, length);
+
+    return transcribe(conversion, 0, length);
+  }
+
+  /**
+   * Retrieves the segments of the last transcription of this session.
+   *
+   * @return the segment buffer of this session.
+   */
+  public SegmentBuffer segments() {
+    return segments;
+  }
+
+  /**
+   * Retrieves the instance running the transcriptions.
+   *
+   * @return the Jwhisper instance of this session.
+   */
+  public Jwhisper jwhisper() {
+    return jwhisper;
+  }
+
+  private static FloatBuffer allocateInput(final int capacity) {
+    return ByteBuffer.allocateDirect(capacity * Float.BYTES)
+        .order(ByteOrder.nativeOrder())
+        .asFloatBuffer();
+  }
+}
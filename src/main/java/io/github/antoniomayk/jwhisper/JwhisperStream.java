@@ -0,0 +1,312 @@
+package io.github.antoniomayk.jwhisper;
+
+import io.github.antoniomayk.jwhisper.jni.WhisperCpp;
+import io.github.antoniomayk.jwhisper.jni.WhisperNewSegmentCallback;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.FloatBuffer;
+import java.util.Arrays;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Flow;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.SubmissionPublisher;
+
+/**
+ * JwhisperStream transcribes audio while it is being recorded. PCMF32 Mono samples are pushed as
+ * they arrive and decoded over a sliding window every time a step worth of audio is available.
+ *
+ * <p>Segments are published as soon as whisper decodes them. Partial segments are superseded by
+ * the ones of the next window, until a window is finalized: its segments are published as final,
+ * a short tail of its audio is kept to mitigate word boundary issues, and its tokens become the
+ * prompt of the following windows.
+ *
+ * <p>Timestamps are relative to the first pushed sample, in the same units as {@link
+ * Jwhisper#whisperFullGetSegmentT0(int)}.
+ *
+ * @author Antonio Mayk
+ * @since 0.1
+ */
+public class JwhisperStream implements AutoCloseable {
+  private static final int SAMPLE_RATE = 16000;
+  private static final int SAMPLES_PER_TIMESTAMP = SAMPLE_RATE / 100;
+
+  private final Jwhisper jwhisper;
+  private final JwhisperParams previousParams;
+  private final Options options;
+  private final SubmissionPublisher<Segment> publisher;
+  private final WhisperNewSegmentCallback newSegmentCallback = this::onNewSegment;
+
+  private final int samplesStep;
+  private final int samplesKeep;
+  private final int samplesLength;
+  private final int windowsPerLine;
+
+  private final float[] stepSamples;
+  private final FloatBuffer window;
+
+  private int stepSize = 0;
+  private int oldOffset = 0;
+  private int oldLength = 0;
+  private long consumedSamples = 0;
+  private long windows = 0;
+  private boolean isLastWindowFinal = true;
+
+  private long windowOffset = 0;
+  private boolean isWindowFinal = false;
+  private int[] promptTokens = new int[0];
+
+  private boolean isClosed = false;
+
+  private JwhisperStream(final Jwhisper jwhisper, final Options options, final Executor executor) {
+    this.jwhisper = jwhisper;
+    this.previousParams = jwhisper.fullParams();
+    this.options = options;
+    this.publisher = new SubmissionPublisher<>(executor, Flow.defaultBufferSize());
+
+    samplesStep = toSamples(options.stepMs());
+    samplesKeep = toSamples(Math.min(options.keepMs(), options.stepMs()));
+    samplesLength = toSamples(options.lengthMs());
+    windowsPerLine = Math.max(1, options.lengthMs() / options.stepMs() - 1);
+
+    stepSamples = new float[samplesStep];
+    window =
+        ByteBuffer.allocateDirect((samplesKeep + samplesLength) * Float.BYTES)
+            .order(ByteOrder.nativeOrder())
+            .asFloatBuffer();
+  }
+
+  /**
+   * Starts a streaming session on the given instance, with the default options. Segments are
+   * delivered to subscribers on the common pool.
+   *
+   * @param jwhisper the instance used for decoding, not closed along with the stream.
+   * @return a new streaming session.
+   */
+  public static JwhisperStream newInstance(final Jwhisper jwhisper) {
+    return newInstance(jwhisper, Options.defaults(), ForkJoinPool.commonPool());
+  }
+
+  /**
+   * Starts a streaming session on the given instance.
+   *
+   * @param jwhisper the instance used for decoding, not closed along with the stream. It must not
+   *     be used by anything else until the stream is closed, which restores its full params.
+   * @param options the sliding window configuration.
+   * @param executor the executor delivering segments to subscribers.
+   * @return a new streaming session.
+   */
+  public static JwhisperStream newInstance(
+      final Jwhisper jwhisper, final Options options, final Executor executor) {
+    return new JwhisperStream(jwhisper, options, executor);
+  }
+
+  /**
+   * Retrieves the publisher of the decoded segments.
+   *
+   * @return the segments publisher, completed when the stream is closed.
+   */
+  public Flow.Publisher<Segment> segments() {
+    return publisher;
+  }
+
+  /**
+   * Pushes new audio samples. Every time a step worth of samples is available, the current window
+   * is decoded on the calling thread.
+   *
+   * @param samples PCMF32 Mono samples at 16 kHz.
+   * @param offset index of the first pushed sample.
+   * @param length amount of pushed samples.
+   * @throws RuntimeException if decoding a window fails.
+   */
+  public synchronized void push(final float[] samples, final int offset, final int length) {
+    ensureNotClosed();
+
+    if (offset < 0 || length < 0 || length > samples.length - offset) {
+      throw new IndexOutOfBoundsException("Invalid range: " + offset + ", " + length);
+    }
+
+    var pushed = 0;
+
+    while (pushed < length) {
+      final var count = Math.min(length - pushed, samplesStep - stepSize);
+
+      System.arraycopy(samples, offset + pushed, stepSamples, stepSize, count);
+      stepSize += count;
+      pushed += count;
+
+      if (stepSize == samplesStep) {
+        decodeWindow(false);
+      }
+    }
+  }
+
+  /**
+   * Pushes new audio samples.
+   *
+   * @param samples PCMF32 Mono samples at 16 kHz.
+   * @see #push(float[], int, int)
+   */
+  public void push(final float[] samples) {
+    push(samples, 0, samples.length);
+  }
+
+  /**
+   * Decodes the samples pushed since the last step, if any, and finalizes the current window.
+   *
+   * @throws RuntimeException if decoding the window fails.
+   */
+  public synchronized void flush() {
+    ensureNotClosed();
+
+    if (stepSize > 0 || !isLastWindowFinal) {
+      decodeWindow(true);
+    }
+  }
+
+  /**
+   * Completes the segments publisher and detaches the stream from its Jwhisper instance, restoring
+   * the full params the instance had when the stream started. Pending samples are discarded, call
+   * {@link #flush()} first to decode them.
+   */
+  @Override
+  public synchronized void close() {
+    if (!isClosed) {
+      isClosed = true;
+      publisher.close();
+
+      if (!jwhisper.isClosed()) {
+        jwhisper.setFullParams(previousParams);
+      }
+    }
+  }
+
+  private void decodeWindow(final boolean isForcedFinal) {
+    final var take = Math.min(oldLength, Math.max(0, samplesKeep + samplesLength - stepSize));
+
+    if (take > 0) {
+      window.put(0, window, oldOffset + oldLength - take, take);
+    }
+
+    window.position(take);
+    window.put(stepSamples, 0, stepSize);
+    window.flip();
+
+    consumedSamples += stepSize;
+    stepSize = 0;
+    windows++;
+
+    windowOffset = (consumedSamples - window.limit()) / SAMPLES_PER_TIMESTAMP;
+    isWindowFinal = isForcedFinal || windows % windowsPerLine == 0;
+
+    final var params = jwhisper.whisperFullParams();
+
+    WhisperCpp.whisperFullParamsSetNoContext(params, true);
+    WhisperCpp.whisperFullParamsSetSingleSegment(params, options.singleSegment());
+    WhisperCpp.whisperFullParamsSetPromptTokens(params, promptTokens);
+    WhisperCpp.whisperFullParamsSetNewSegmentCallback(params, newSegmentCallback);
+
+    final var segments = jwhisper.whisperFull(window);
+
+    if (isWindowFinal) {
+      final var keep = Math.min(samplesKeep, window.limit());
+
+      oldOffset = window.limit() - keep;
+      oldLength = keep;
+
+      if (options.keepContext()) {
+        promptTokens = collectTokens(segments);
+      }
+    } else {
+      oldOffset = 0;
+      oldLength = window.limit();
+    }
+
+    isLastWindowFinal = isWindowFinal;
+    window.clear();
+  }
+
+  private void onNewSegment(final int newSegments) {
+    final var segments = jwhisper.whisperFullNumberOfSegments();
+
+    for (var i = segments - newSegments; i < segments; i++) {
+      publisher.submit(
+          new Segment(
+              jwhisper.whisperFullGetSegmentText(i),
+              windowOffset + jwhisper.whisperFullGetSegmentT0(i),
+              windowOffset + jwhisper.whisperFullGetSegmentT1(i),
+              isWindowFinal));
+    }
+  }
+
+  private int[] collectTokens(final int segments) {
+    var tokens = new int[0];
+
+    for (var i = 0; i < segments; i++) {
+      final var count = jwhisper.whisperFullNumberOfTokens(i);
+      final var offset = tokens.length;
+
+      tokens = Arrays.copyOf(tokens, offset + count);
+
+      for (var j = 0; j < count; j++) {
+        tokens[offset + j] = jwhisper.whisperFullGetTokenId(i, j);
+      }
+    }
+
+    return tokens;
+  }
+
+  private void ensureNotClosed() {
+    if (isClosed) {
+      throw new IllegalStateException("Resource is already closed.");
+    }
+  }
+
+  private static int toSamples(final int milliseconds) {
+    return (int) ((long) milliseconds * SAMPLE_RATE / 1000);
+  }
+
+  /**
+   * A decoded segment of the stream.
+   *
+   * @param text the transcribed text.
+   * @param t0 the start timestamp, relative to the first pushed sample.
+   * @param t1 the end timestamp, relative to the first pushed sample.
+   * @param isFinal false if the segment will be superseded by the next window.
+   */
+  public record Segment(String text, long t0, long t1, boolean isFinal) {}
+
+  /**
+   * Sliding window configuration of a stream.
+   *
+   * @param stepMs audio decoded at once, in milliseconds.
+   * @param lengthMs length of the window, in milliseconds.
+   * @param keepMs audio kept from a finalized window, in milliseconds. Capped at stepMs.
+   * @param keepContext true to prompt the decoder with the tokens of the last finalized window.
+   * @param singleSegment true to decode a single segment per window.
+   */
+  public record Options(
+      int stepMs, int lengthMs, int keepMs, boolean keepContext, boolean singleSegment) {
+
+    /**
+     * Validates the configuration.
+     *
+     * @throws IllegalArgumentException if the durations are inconsistent.
+     */
+    public Options {
+      if (stepMs <= 0 || keepMs < 0 || lengthMs < stepMs) {
+        throw new IllegalArgumentException(
+            "Invalid stream window: step " + stepMs + ", length " + lengthMs + ", keep " + keepMs);
+      }
+    }
+
+    /**
+     * Default configuration: 3s steps over a 10s window, keeping 200ms of audio and the context
+     * between windows.
+     *
+     * @return the default options.
+     */
+    public static Options defaults() {
+      return new Options(3000, 10000, 200, true, true);
+    }
+  }
+}
@@ -0,0 +1,31 @@
+package io.github.antoniomayk.jwhisper;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Spoken language detected by {@link Jwhisper#detectLanguage(float[])}.
+ *
+ * @param language the code of the most probable language, e.g. "en".
+ * @param probability the probability of the detected language.
+ * @param probabilities the probability of every language by code, in language id order.
+ * @author Antonio Mayk
+ * @since 0.1
+ */
+public record LanguageDetection(
+    String language, float probability, Map<String, Float> probabilities) {
+
+  /**
+   * Copies the probabilities, keeping their order.
+   *
+   * @throws IllegalArgumentException if the detected language has no probability.
+   */
+  public LanguageDetection {
+    if (!probabilities.containsKey(language)) {
+      throw new IllegalArgumentException("Unknown detected language: " + language);
+    }
+
+    probabilities = Collections.unmodifiableMap(new LinkedHashMap<>(probabilities));
+  }
+}
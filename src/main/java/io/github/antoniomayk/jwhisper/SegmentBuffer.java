@@ -0,0 +1,134 @@
+package io.github.antoniomayk.jwhisper;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * SegmentBuffer is a reusable, mutable container of the segments generated by a transcription,
+ * refilled in place by every call of its {@link JwhisperSession}.
+ *
+ * <p>It has the same layout as {@link TranscriptionResult}, but its arrays are only reallocated
+ * when a transcription produces more segments or more text than any previous one, so reading the
+ * timestamps and copying the UTF-8 texts does not allocate in steady state. Only {@link
+ * #segmentText(int)} and {@link #toResult()} allocate.
+ *
+ * @author Antonio Mayk
+ * @since 0.1
+ */
+public final class SegmentBuffer {
+  private long[] timestamps = new long[0];
+  private int[] textOffsets = new int[] {0};
+  private byte[] text = new byte[0];
+  private int segmentCount = 0;
+
+  SegmentBuffer() {}
+
+  void fill(final Jwhisper jwhisper, final int segments) {
+    if (timestamps.length < segments * 2) {
+      timestamps = new long[Math.max(segments * 2, timestamps.length * 2)];
+      textOffsets = new int[timestamps.length / 2 + 1];
+    }
+
+    final var textSize = jwhisper.whisperFullGetSegmentsInto(timestamps, textOffsets, text);
+
+    if (textSize > text.length) {
+      text = new byte[Math.max(textSize, text.length * 2)];
+      jwhisper.whisperFullGetSegmentsInto(timestamps, textOffsets, text);
+    }
+
+    segmentCount = segments;
+  }
+
+  /**
+   * Retrieves the number of transcription segments.
+   *
+   * @return the number of segments.
+   */
+  public int segmentCount() {
+    return segmentCount;
+  }
+
+  /**
+   * Retrieves the start timestamp (T0) of a specific segment.
+   *
+   * @param segmentIndex the index of the segment.
+   * @return the start timestamp (T0) for the specified segment.
+   */
+  public long segmentT0(final int segmentIndex) {
+    return timestamps[checkIndex(segmentIndex) * 2];
+  }
+
+  /**
+   * Retrieves the end timestamp (T1) of a specific segment.
+   *
+   * @param segmentIndex the index of the segment.
+   * @return the end timestamp (T1) for the specified segment.
+   */
+  public long segmentT1(final int segmentIndex) {
+    return timestamps[checkIndex(segmentIndex) * 2 + 1];
+  }
+
+  /**
+   * Retrieves the size of the UTF-8 text of a specific segment.
+   *
+   * @param segmentIndex the index of the segment.
+   * @return the amount of bytes of the segment text.
+   */
+  public int segmentTextLength(final int segmentIndex) {
+    return textOffsets[checkIndex(segmentIndex) + 1] - textOffsets[segmentIndex];
+  }
+
+  /**
+   * Copies the UTF-8 text of a specific segment, without allocating.
+   *
+   * @param segmentIndex the index of the segment.
+   * @param destination the array receiving the text.
+   * @param offset index of the first byte written.
+   * @return the amount of bytes written.
+   * @throws IndexOutOfBoundsException if the text does not fit in the destination.
+   */
+  public int copySegmentText(final int segmentIndex, final byte[] destination, final int offset) {
+    final var length = segmentTextLength(segmentIndex);
+
+    System.arraycopy(text, textOffsets[segmentIndex], destination, offset, length);
+
+    return length;
+  }
+
+  /**
+   * Retrieves the text of a specific segment.
+   *
+   * @param segmentIndex the index of the segment.
+   * @return the transcribed text for the specified segment.
+   */
+  public String segmentText(final int segmentIndex) {
+    final var start = textOffsets[checkIndex(segmentIndex)];
+
+    return new String(text, start, textOffsets[segmentIndex + 1] - start, StandardCharsets.UTF_8);
+  }
+
+  /**
+   * Copies the segments into an immutable result, which outlives the next transcription.
+   *
+   * @return a snapshot of the segments.
+   */
+  public TranscriptionResult toResult() {
+    return new TranscriptionResult(
+        Arrays.copyOf(timestamps, segmentCount * 2),
+        Arrays.copyOf(text, textOffsets[segmentCount]),
+        Arrays.copyOf(textOffsets, segmentCount + 1));
+  }
+
+  @Override
+  public String toString() {
+    return "SegmentBuffer[segments=" + segmentCount + "]";
+  }
+
+  private int checkIndex(final int segmentIndex) {
+    if (segmentIndex < 0 || segmentIndex >= segmentCount) {
+      throw new IndexOutOfBoundsException("Segment index out of range: " + segmentIndex);
+    }
+
+    return segmentIndex;
+  }
+}
@@ -0,0 +1,159 @@
+package io.github.antoniomayk.jwhisper;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.function.LongUnaryOperator;
+
+/**
+ * TranscriptionResult is an immutable snapshot of the segments generated by a transcription,
+ * extracted at once instead of segment by segment.
+ *
+ * <p>Timestamps are stored as t0/t1 pairs, in the same units as {@link
+ * Jwhisper#whisperFullGetSegmentT0(int)}. Texts are stored as a single UTF-8 blob, decoded only
+ * when a segment text is requested.
+ *
+ * @author Antonio Mayk
+ * @since 0.1
+ */
+public final class TranscriptionResult {
+  private final long[] timestamps;
+  private final byte[] text;
+  private final int[] textOffsets;
+
+  /**
+   * Creates a result from its raw representation. The arrays are not copied and must not be
+   * modified afterwards.
+   *
+   * @param timestamps t0/t1 pairs, two entries per segment.
+   * @param text concatenated UTF-8 text of every segment.
+   * @param textOffsets start of each segment text in the blob, plus the blob length.
+   * @throws IllegalArgumentException if the arrays do not describe the same amount of segments.
+   */
+  public TranscriptionResult(final long[] timestamps, final byte[] text, final int[] textOffsets) {
+    if (textOffsets.length == 0
+        || timestamps.length != (textOffsets.length - 1) * 2
+        || textOffsets[textOffsets.length - 1] != text.length) {
+      throw new IllegalArgumentException("Inconsistent transcription result arrays.");
+    }
+
+    this.timestamps = timestamps;
+    this.text = text;
+    this.textOffsets = textOffsets;
+  }
+
+  /**
+   * Retrieves a result without any segment.
+   *
+   * @return an empty result.
+   */
+  public static TranscriptionResult empty() {
+    return new TranscriptionResult(new long[0], new byte[0], new int[] {0});
+  }
+
+  /**
+   * Retrieves the number of transcription segments.
+   *
+   * @return the number of segments.
+   */
+  public int segmentCount() {
+    return textOffsets.length - 1;
+  }
+
+  /**
+   * Retrieves the start timestamp (T0) of a specific segment.
+   *
+   * @param segmentIndex the index of the segment.
+   * @return the start timestamp (T0) for the specified segment.
+   */
+  public long segmentT0(final int segmentIndex) {
+    return timestamps[checkIndex(segmentIndex) * 2];
+  }
+
+  /**
+   * Retrieves the end timestamp (T1) of a specific segment.
+   *
+   * @param segmentIndex the index of the segment.
+   * @return the end timestamp (T1) for the specified segment.
+   */
+  public long segmentT1(final int segmentIndex) {
+    return timestamps[checkIndex(segmentIndex) * 2 + 1];
+  }
+
+  /**
+   * Retrieves the text of a specific segment.
+   *
+   * @param segmentIndex the index of the segment.
+   * @return the transcribed text for the specified segment.
+   */
+  public String segmentText(final int segmentIndex) {
+    final var start = textOffsets[checkIndex(segmentIndex)];
+    final var end = textOffsets[segmentIndex + 1];
+
+    return new String(text, start, end - start, StandardCharsets.UTF_8);
+  }
+
+  /**
+   * Retrieves the text of every segment, concatenated.
+   *
+   * @return the whole transcribed text.
+   */
+  public String text() {
+    return new String(text, StandardCharsets.UTF_8);
+  }
+
+  /**
+   * Creates a copy of this result with every timestamp moved to another timeline, for instance to
+   * undo an offset or a removal of silence. The texts are shared with this result.
+   *
+   * @param t0Mapper the mapping of the start timestamps.
+   * @param t1Mapper the mapping of the end timestamps.
+   * @return a result with the mapped timestamps.
+   */
+  public TranscriptionResult mapTimestamps(
+      final LongUnaryOperator t0Mapper, final LongUnaryOperator t1Mapper) {
+    final var mapped = new long[timestamps.length];
+
+    for (var i = 0; i < mapped.length; i += 2) {
+      mapped[i] = t0Mapper.applyAsLong(timestamps[i]);
+      mapped[i + 1] = t1Mapper.applyAsLong(timestamps[i + 1]);
+    }
+
+    return new TranscriptionResult(mapped, text, textOffsets);
+  }
+
+  @Override
+  public boolean equals(final Object other) {
+    if (this == other) {
+      return true;
+    }
+
+    if (!(other instanceof TranscriptionResult)) {
+      return false;
+    }
+
+    final var result = (TranscriptionResult) other;
+
+    return Arrays.equals(timestamps, result.timestamps)
+        && Arrays.equals(text, result.text)
+        && Arrays.equals(textOffsets, result.textOffsets);
+  }
+
+  @Override
+  public int hashCode() {
+    return 31 * (31 * Arrays.hashCode(timestamps) + Arrays.hashCode(text))
+        + Arrays.hashCode(textOffsets);
+  }
+
+  @Override
+  public String toString() {
+    return "TranscriptionResult[segments=" + segmentCount() + "]";
+  }
+
+  private int checkIndex(final int segmentIndex) {
+    if (segmentIndex < 0 || segmentIndex >= segmentCount()) {
+      throw new IndexOutOfBoundsException("Segment index out of range: " + segmentIndex);
+    }
+
+    return segmentIndex;
+  }
+}
@@ -0,0 +1,189 @@
+package io.github.antoniomayk.jwhisper;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * TranscriptionTokens is an immutable snapshot of the tokens generated by a transcription,
+ * extracted at once instead of token by token.
+ *
+ * <p>Tokens are indexed across the whole transcription, segment after segment; {@link
+ * #firstToken(int)} and {@link #tokenCount(int)} locate the tokens of a segment. Token timestamps
+ * are in the same units as {@link Jwhisper#whisperFullGetSegmentT0(int)}, and are only computed
+ * when {@link JwhisperParams#tokenTimestamps()} is set. DTW timestamps are only computed when the
+ * model was loaded with {@link JwhisperContextParams#dtwAlignmentHeads()}, and are -1 otherwise.
+ *
+ * @author Antonio Mayk
+ * @since 0.1
+ */
+public final class TranscriptionTokens {
+  private final int[] segmentOffsets;
+  private final int[] ids;
+  private final float[] probabilities;
+  private final long[] timestamps;
+  private final long[] dtwTimestamps;
+  private final byte[] text;
+  private final int[] textOffsets;
+
+  /**
+   * Creates tokens from their raw representation. The arrays are not copied and must not be
+   * modified afterwards.
+   *
+   * @param segmentOffsets index of the first token of each segment, plus the token count.
+   * @param ids the id of each token.
+   * @param probabilities the probability of each token.
+   * @param timestamps t0/t1 pairs, two entries per token.
+   * @param dtwTimestamps the DTW timestamp of each token.
+   * @param text concatenated UTF-8 text of every token.
+   * @param textOffsets start of each token text in the blob, plus the blob length.
+   * @throws IllegalArgumentException if the arrays do not describe the same amount of tokens.
+   */
+  public TranscriptionTokens(
+      final int[] segmentOffsets,
+      final int[] ids,
+      final float[] probabilities,
+      final long[] timestamps,
+      final long[] dtwTimestamps,
+      final byte[] text,
+      final int[] textOffsets) {
+    if (segmentOffsets.length == 0
+        || segmentOffsets[segmentOffsets.length - 1] != ids.length
+        || probabilities.length != ids.length
+        || timestamps.length != ids.length * 2
+        || dtwTimestamps.length != ids.length
+        || textOffsets.length != ids.length + 1
+        || textOffsets[ids.length] != text.length) {
+      throw new IllegalArgumentException("Inconsistent transcription tokens arrays.");
+    }
+
+    this.segmentOffsets = segmentOffsets;
+    this.ids = ids;
+    this.probabilities = probabilities;
+    this.timestamps = timestamps;
+    this.dtwTimestamps = dtwTimestamps;
+    this.text = text;
+    this.textOffsets = textOffsets;
+  }
+
+  /**
+   * Retrieves the number of transcription segments.
+   *
+   * @return the number of segments.
+   */
+  public int segmentCount() {
+    return segmentOffsets.length - 1;
+  }
+
+  /**
+   * Retrieves the number of tokens of the whole transcription.
+   *
+   * @return the number of tokens.
+   */
+  public int tokenCount() {
+    return ids.length;
+  }
+
+  /**
+   * Retrieves the number of tokens of a specific segment.
+   *
+   * @param segmentIndex the index of the segment.
+   * @return the number of tokens for the specified segment.
+   */
+  public int tokenCount(final int segmentIndex) {
+    return segmentOffsets[checkSegment(segmentIndex) + 1] - segmentOffsets[segmentIndex];
+  }
+
+  /**
+   * Retrieves the index of the first token of a specific segment.
+   *
+   * @param segmentIndex the index of the segment.
+   * @return the index of the first token for the specified segment.
+   */
+  public int firstToken(final int segmentIndex) {
+    return segmentOffsets[checkSegment(segmentIndex)];
+  }
+
+  /**
+   * Retrieves the id of a specific token.
+   *
+   * @param tokenIndex the index of the token.
+   * @return the token id.
+   */
+  public int tokenId(final int tokenIndex) {
+    return ids[checkToken(tokenIndex)];
+  }
+
+  /**
+   * Retrieves the probability of a specific token.
+   *
+   * @param tokenIndex the index of the token.
+   * @return the token probability.
+   */
+  public float tokenProbability(final int tokenIndex) {
+    return probabilities[checkToken(tokenIndex)];
+  }
+
+  /**
+   * Retrieves the start timestamp (T0) of a specific token.
+   *
+   * @param tokenIndex the index of the token.
+   * @return the start timestamp (T0) for the specified token.
+   */
+  public long tokenT0(final int tokenIndex) {
+    return timestamps[checkToken(tokenIndex) * 2];
+  }
+
+  /**
+   * Retrieves the end timestamp (T1) of a specific token.
+   *
+   * @param tokenIndex the index of the token.
+   * @return the end timestamp (T1) for the specified token.
+   */
+  public long tokenT1(final int tokenIndex) {
+    return timestamps[checkToken(tokenIndex) * 2 + 1];
+  }
+
+  /**
+   * Retrieves the DTW timestamp of a specific token.
+   *
+   * @param tokenIndex the index of the token.
+   * @return the DTW timestamp for the specified token, -1 if DTW is disabled.
+   */
+  public long tokenDtw(final int tokenIndex) {
+    return dtwTimestamps[checkToken(tokenIndex)];
+  }
+
+  /**
+   * Retrieves the text of a specific token. A character spanning several tokens is decoded as
+   * replacement characters; join the texts of a word before decoding it when that matters.
+   *
+   * @param tokenIndex the index of the token.
+   * @return the token text, which may be a special token such as [_BEG_].
+   */
+  public String tokenText(final int tokenIndex) {
+    final var start = textOffsets[checkToken(tokenIndex)];
+    final var end = textOffsets[tokenIndex + 1];
+
+    return new String(text, start, end - start, StandardCharsets.UTF_8);
+  }
+
+  @Override
+  public String toString() {
+    return "TranscriptionTokens[segments=" + segmentCount() + ", tokens=" + tokenCount() + "]";
+  }
+
+  private int checkSegment(final int segmentIndex) {
+    if (segmentIndex < 0 || segmentIndex >= segmentCount()) {
+      throw new IndexOutOfBoundsException("Segment index out of range: " + segmentIndex);
+    }
+
+    return segmentIndex;
+  }
+
+  private int checkToken(final int tokenIndex) {
+    if (tokenIndex < 0 || tokenIndex >= tokenCount()) {
+      throw new IndexOutOfBoundsException("Token index out of range: " + tokenIndex);
+    }
+
+    return tokenIndex;
+  }
+}
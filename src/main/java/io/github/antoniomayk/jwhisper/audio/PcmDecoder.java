@@ -0,0 +1,268 @@
+package io.github.antoniomayk.jwhisper.audio;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Objects;
+import javax.sound.sampled.AudioFormat;
+import javax.sound.sampled.UnsupportedAudioFileException;
+
+/**
+ * Decoder of interleaved integer or float PCM frames into PCMF32 Mono samples, at the source
+ * sample rate. Channels are downmixed by averaging them.
+ *
+ * <p>Supported sample formats are unsigned 8 bits, signed 8, 16, 24 and 32 bits, and 32 or 64 bits
+ * IEEE float, in either byte order. Decoding does not allocate, so a decoder can be fed chunk by
+ * chunk, typically before a {@link Resampler}.
+ *
+ * @author Antonio Mayk
+ * @since 0.1
+ */
+public final class PcmDecoder {
+  private static final int BLOCK_FRAMES = 1024;
+
+  private final SampleFormat sampleFormat;
+  private final int bytesPerSample;
+  private final int channels;
+  private final int sampleRate;
+  private final boolean isBigEndian;
+  private final boolean isBulk;
+  private final short[] shortBlock;
+  private final int[] intBlock;
+  private final float[] floatBlock;
+
+  private PcmDecoder(
+      final SampleFormat sampleFormat,
+      final int bytesPerSample,
+      final int channels,
+      final int sampleRate,
+      final boolean isBigEndian) {
+    this.sampleFormat = sampleFormat;
+    this.bytesPerSample = bytesPerSample;
+    this.channels = channels;
+    this.sampleRate = sampleRate;
+    this.isBigEndian = isBigEndian;
+    this.isBulk =
+        channels <= 2
+            && ((bytesPerSample == Short.BYTES && sampleFormat == SampleFormat.SIGNED)
+                || bytesPerSample == Integer.BYTES);
+
+    final var blockSamples = isBulk ? BLOCK_FRAMES * channels : 0;
+    final var isSigned = sampleFormat == SampleFormat.SIGNED;
+
+    this.shortBlock = new short[isSigned && bytesPerSample == Short.BYTES ? blockSamples : 0];
+    this.intBlock = new int[isSigned && bytesPerSample == Integer.BYTES ? blockSamples : 0];
+    this.floatBlock = new float[channels == 2 ? blockSamples : 0];
+  }
+
+  /**
+   * Creates a decoder of the given <b>javax.sound</b> format.
+   *
+   * @param audioFormat the format of the encoded frames.
+   * @return a new decoder.
+   * @throws UnsupportedAudioFileException if the encoding or the sample size is not supported.
+   */
+  public static PcmDecoder of(final AudioFormat audioFormat) throws UnsupportedAudioFileException {
+    final var encoding = audioFormat.getEncoding();
+    final var bits = audioFormat.getSampleSizeInBits();
+    final SampleFormat sampleFormat;
+
+    if (Objects.equals(encoding, AudioFormat.Encoding.PCM_SIGNED)) {
+      sampleFormat = bits == 8 ? SampleFormat.S8 : SampleFormat.SIGNED;
+    } else if (Objects.equals(encoding, AudioFormat.Encoding.PCM_UNSIGNED) && bits == 8) {
+      sampleFormat = SampleFormat.U8;
+    } else if (Objects.equals(encoding, AudioFormat.Encoding.PCM_FLOAT)) {
+      sampleFormat = SampleFormat.FLOAT;
+    } else {
+      throw new UnsupportedAudioFileException("Unsupported audio encoding: " + encoding);
+    }
+
+    return newDecoder(
+        sampleFormat,
+        bits,
+        audioFormat.getChannels(),
+        Math.round(audioFormat.getSampleRate()),
+        audioFormat.isBigEndian());
+  }
+
+  /**
+   * Creates a decoder of the samples of a WAVE file. 8 bits WAVE samples are unsigned.
+   *
+   * @param header the header of the WAVE file.
+   * @return a new decoder.
+   * @throws UnsupportedAudioFileException if the format tag or the sample size is not supported.
+   */
+  public static PcmDecoder of(final WavHeader header) throws UnsupportedAudioFileException {
+    final SampleFormat sampleFormat;
+
+    if (header.formatTag() == WavHeader.WAVE_FORMAT_PCM) {
+      sampleFormat = header.bitsPerSample() == 8 ? SampleFormat.U8 : SampleFormat.SIGNED;
+    } else if (header.formatTag() == WavHeader.WAVE_FORMAT_IEEE_FLOAT) {
+      sampleFormat = SampleFormat.FLOAT;
+    } else {
+      throw new UnsupportedAudioFileException("Unsupported WAVE format: " + header.formatTag());
+    }
+
+    return newDecoder(
+        sampleFormat, header.bitsPerSample(), header.channels(), header.sampleRate(), false);
+  }
+
+  private static PcmDecoder newDecoder(
+      final SampleFormat sampleFormat,
+      final int bits,
+      final int channels,
+      final int sampleRate,
+      final boolean isBigEndian)
+      throws UnsupportedAudioFileException {
+    final var isSupportedSize =
+        switch (sampleFormat) {
+          case U8, S8 -> bits == 8;
+          case SIGNED -> bits == 16 || bits == 24 || bits == 32;
+          case FLOAT -> bits == 32 || bits == 64;
+        };
+
+    if (!isSupportedSize) {
+      throw new UnsupportedAudioFileException("Unsupported sample size: " + bits + " bits");
+    }
+
+    if (channels <= 0 || sampleRate <= 0) {
+      throw new UnsupportedAudioFileException(
+          "Invalid audio format: " + channels + " channels at " + sampleRate + " Hz");
+    }
+
+    return new PcmDecoder(sampleFormat, bits / 8, channels, sampleRate, isBigEndian);
+  }
+
+  /**
+   * Retrieves the sample rate of the decoded samples.
+   *
+   * @return the amount of frames per second.
+   */
+  public int sampleRate() {
+    return sampleRate;
+  }
+
+  /**
+   * Retrieves the size of an encoded frame.
+   *
+   * @return the amount of bytes of a frame, all channels included.
+   */
+  public int frameSize() {
+    return bytesPerSample * channels;
+  }
+
+  /**
+   * Decodes up to length whole frames from a buffer, advancing its position past them. Trailing
+   * bytes of an incomplete frame are left in the buffer.
+   *
+   * <p>Mono and stereo 16 or 32 bits samples are converted in blocks by {@link PcmKernels}.
+   *
+   * @param source the encoded frames.
+   * @param pcmF32 destination of the PCMF32 Mono samples.
+   * @param offset index of the first sample written.
+   * @param length maximum amount of frames decoded.
+   * @return the amount of frames decoded.
+   */
+  public int decode(
+      final ByteBuffer source, final float[] pcmF32, final int offset, final int length) {
+    if (offset < 0 || length < 0 || length > pcmF32.length - offset) {
+      throw new IndexOutOfBoundsException("Invalid range: " + offset + ", " + length);
+    }
+
+    final var frames = Math.min(length, source.remaining() / frameSize());
+
+    if (isBulk) {
+      decodeBlocks(source, pcmF32, offset, frames);
+
+      return frames;
+    }
+
+    var position = source.position();
+
+    for (var frame = 0; frame < frames; frame++) {
+      var sum = 0.0f;
+
+      for (var channel = 0; channel < channels; channel++) {
+        sum += decodeSample(source, position);
+        position += bytesPerSample;
+      }
+
+      pcmF32[offset + frame] = channels == 1 ? sum : sum / channels;
+    }
+
+    source.position(position);
+
+    return frames;
+  }
+
+  private void decodeBlocks(
+      final ByteBuffer source, final float[] pcmF32, final int offset, final int frames) {
+    final var view =
+        source.slice().order(isBigEndian ? ByteOrder.BIG_ENDIAN : ByteOrder.LITTLE_ENDIAN);
+
+    for (var frame = 0; frame < frames; frame += BLOCK_FRAMES) {
+      final var count = Math.min(BLOCK_FRAMES, frames - frame);
+      final var samples = count * channels;
+      final var target = channels == 1 ? pcmF32 : floatBlock;
+      final var targetOffset = channels == 1 ? offset + frame : 0;
+
+      if (sampleFormat == SampleFormat.FLOAT) {
+        view.asFloatBuffer().get(target, targetOffset, samples);
+      } else if (bytesPerSample == Short.BYTES) {
+        view.asShortBuffer().get(shortBlock, 0, samples);
+        PcmKernels.convertPcmS16ToPcmF32(shortBlock, 0, target, targetOffset, samples);
+      } else {
+        view.asIntBuffer().get(intBlock, 0, samples);
+        PcmKernels.convertPcmS32ToPcmF32(intBlock, 0, target, targetOffset, samples);
+      }
+
+      view.position(view.position() + samples * bytesPerSample);
+
+      if (channels == 2) {
+        PcmKernels.downmixStereo(floatBlock, 0, pcmF32, offset + frame, count);
+      }
+    }
+
+    source.position(source.position() + frames * frameSize());
+  }
+
+  private float decodeSample(final ByteBuffer source, final int position) {
+    return switch (sampleFormat) {
+      case U8 -> ((source.get(position) & 0xFF) - 128) / 128.0f;
+      case S8 -> source.get(position) / 128.0f;
+      case SIGNED -> decodeSigned(readBits(source, position));
+      case FLOAT ->
+          bytesPerSample == Float.BYTES
+              ? Float.intBitsToFloat((int) readBits(source, position))
+              : (float) Double.longBitsToDouble(readBits(source, position));
+    };
+  }
+
+  private float decodeSigned(final long bits) {
+    final var shift = 64 - bytesPerSample * 8;
+    final var sample = bits << shift >> shift;
+
+    return switch (bytesPerSample) {
+      case 2 -> PcmKernels.convertPcmS16ToPcmF32((short) sample);
+      case 3 -> sample < 0 ? sample / 8388608.0f : sample / 8388607.0f;
+      default -> PcmKernels.convertPcmS32ToPcmF32((int) sample);
+    };
+  }
+
+  private long readBits(final ByteBuffer source, final int position) {
+    var bits = 0L;
+
+    for (var i = 0; i < bytesPerSample; i++) {
+      final var index = isBigEndian ? i : bytesPerSample - 1 - i;
+      bits = bits << 8 | (source.get(position + index) & 0xFF);
+    }
+
+    return bits;
+  }
+
+  private enum SampleFormat {
+    U8,
+    S8,
+    SIGNED,
+    FLOAT
+  }
+}
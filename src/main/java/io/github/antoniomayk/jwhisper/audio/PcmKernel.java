@@ -0,0 +1,18 @@
+package io.github.antoniomayk.jwhisper.audio;
+
+/**
+ * Bulk sample conversion kernel selected by {@link PcmKernels}. Implementations must produce the
+ * exact same values as {@link ScalarPcmKernel}.
+ *
+ * @author Antonio Mayk
+ * @since 0.1
+ */
+interface PcmKernel {
+  void convertPcmS16ToPcmF32(
+      short[] pcmS16, int sourceOffset, float[] pcmF32, int offset, int length);
+
+  void convertPcmS32ToPcmF32(
+      int[] pcmS32, int sourceOffset, float[] pcmF32, int offset, int length);
+
+  void downmixStereo(float[] stereo, int sourceOffset, float[] mono, int offset, int frames);
+}
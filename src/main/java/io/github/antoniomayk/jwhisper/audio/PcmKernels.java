@@ -0,0 +1,172 @@
+package io.github.antoniomayk.jwhisper.audio;
+
+import java.nio.ByteBuffer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Sample conversion kernels shared by the audio readers.
+ *
+ * <p>PCMS16 samples are scaled the same way as the <b>javax.sound</b> float conversion, so both
+ * paths produce identical PCMF32 values.
+ *
+ * <p>Bulk conversions run on a Vector API kernel when the <b>jdk.incubator.vector</b> module is
+ * resolved, that is when the JVM is started with {@code --add-modules jdk.incubator.vector}, and
+ * on a scalar kernel otherwise. Both kernels produce identical values. The system property
+ * {@code jwhisper.vector=false} forces the scalar kernel.
+ *
+ * @author Antonio Mayk
+ * @since 0.1
+ */
+public final class PcmKernels {
+  private static final Logger LOGGER = LoggerFactory.getLogger(PcmKernels.class);
+  private static final String VECTOR_MODULE = "jdk.incubator.vector";
+  private static final String VECTOR_KERNEL =
+      PcmKernels.class.getPackageName() + ".VectorPcmKernel";
+  private static final int BLOCK_SIZE = 1024;
+  private static final PcmKernel KERNEL = selectKernel();
+
+  private PcmKernels() {}
+
+  /**
+   * Checks if the bulk conversions run on the Vector API kernel.
+   *
+   * @return true if the vectorized kernel was selected.
+   */
+  public static boolean isVectorized() {
+    return !(KERNEL instanceof ScalarPcmKernel);
+  }
+
+  /**
+   * Converts a single PCMS16 sample to PCMF32.
+   *
+   * @param sample the signed 16 bits sample.
+   * @return the sample scaled to [-1, 1].
+   */
+  public static float convertPcmS16ToPcmF32(final short sample) {
+    return sample < 0 ? sample / 32768.0f : sample / 32767.0f;
+  }
+
+  /**
+   * Converts a single PCMS32 sample to PCMF32. Both signs are scaled by 2^31, since 2^31 - 1 has
+   * no exact float representation anyway.
+   *
+   * @param sample the signed 32 bits sample.
+   * @return the sample scaled to [-1, 1].
+   */
+  public static float convertPcmS32ToPcmF32(final int sample) {
+    return sample * 0x1p-31f;
+  }
+
+  /**
+   * Converts PCMS16 samples from a buffer, read in its byte order, into an array of PCMF32. The
+   * buffer position is advanced past the converted samples.
+   *
+   * @param pcmS16 source of the PCMS16 samples.
+   * @param pcmF32 destination of the PCMF32 samples.
+   * @param offset index of the first sample written.
+   * @param length amount of samples converted.
+   */
+  public static void convertPcmS16ToPcmF32(
+      final ByteBuffer pcmS16, final float[] pcmF32, final int offset, final int length) {
+    final var shorts = pcmS16.asShortBuffer();
+    final var block = new short[Math.min(length, BLOCK_SIZE)];
+
+    for (var i = 0; i < length; i += block.length) {
+      final var count = Math.min(block.length, length - i);
+
+      shorts.get(block, 0, count);
+      KERNEL.convertPcmS16ToPcmF32(block, 0, pcmF32, offset + i, count);
+    }
+
+    pcmS16.position(pcmS16.position() + length * Short.BYTES);
+  }
+
+  /**
+   * Converts an array of PCMS16 samples into an array of PCMF32.
+   *
+   * @param pcmS16 source of the PCMS16 samples.
+   * @param sourceOffset index of the first sample read.
+   * @param pcmF32 destination of the PCMF32 samples.
+   * @param offset index of the first sample written.
+   * @param length amount of samples converted.
+   */
+  public static void convertPcmS16ToPcmF32(
+      final short[] pcmS16,
+      final int sourceOffset,
+      final float[] pcmF32,
+      final int offset,
+      final int length) {
+    checkRange(pcmS16.length, sourceOffset, length);
+    checkRange(pcmF32.length, offset, length);
+    KERNEL.convertPcmS16ToPcmF32(pcmS16, sourceOffset, pcmF32, offset, length);
+  }
+
+  /**
+   * Converts an array of PCMS32 samples into an array of PCMF32.
+   *
+   * @param pcmS32 source of the PCMS32 samples.
+   * @param sourceOffset index of the first sample read.
+   * @param pcmF32 destination of the PCMF32 samples.
+   * @param offset index of the first sample written.
+   * @param length amount of samples converted.
+   */
+  public static void convertPcmS32ToPcmF32(
+      final int[] pcmS32,
+      final int sourceOffset,
+      final float[] pcmF32,
+      final int offset,
+      final int length) {
+    checkRange(pcmS32.length, sourceOffset, length);
+    checkRange(pcmF32.length, offset, length);
+    KERNEL.convertPcmS32ToPcmF32(pcmS32, sourceOffset, pcmF32, offset, length);
+  }
+
+  /**
+   * Downmixes interleaved stereo PCMF32 frames to PCMF32 Mono, averaging both channels.
+   *
+   * @param stereo source of the interleaved left and right samples.
+   * @param sourceOffset index of the first sample read.
+   * @param mono destination of the mono samples.
+   * @param offset index of the first sample written.
+   * @param frames amount of frames downmixed.
+   */
+  public static void downmixStereo(
+      final float[] stereo,
+      final int sourceOffset,
+      final float[] mono,
+      final int offset,
+      final int frames) {
+    checkRange(stereo.length, sourceOffset, 2 * frames);
+    checkRange(mono.length, offset, frames);
+    KERNEL.downmixStereo(stereo, sourceOffset, mono, offset, frames);
+  }
+
+  private static void checkRange(final int arrayLength, final int offset, final int length) {
+    if (offset < 0 || length < 0 || length > arrayLength - offset) {
+      throw new IndexOutOfBoundsException("Invalid range: " + offset + ", " + length);
+    }
+  }
+
+  private static PcmKernel selectKernel() {
+    final var isVectorModuleResolved = ModuleLayer.boot().findModule(VECTOR_MODULE).isPresent();
+
+    if (isVectorModuleResolved && !"false".equals(System.getProperty("jwhisper.vector"))) {
+      try {
+        final var kernel =
+            Class.forName(VECTOR_KERNEL)
+                .asSubclass(PcmKernel.class)
+                .getDeclaredConstructor()
+                .newInstance();
+
+        LOGGER.debug("Using the Vector API PCM kernel");
+
+        return kernel;
+      } catch (ReflectiveOperationException | LinkageError | RuntimeException e) {
+        LOGGER.debug("Vector API PCM kernel is unavailable, using the scalar one", e);
+      }
+    }
+
+    return new ScalarPcmKernel();
+  }
+}
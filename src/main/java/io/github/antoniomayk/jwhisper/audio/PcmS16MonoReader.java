@@ -0,0 +1,200 @@
+package io.github.antoniomayk.jwhisper.audio;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.FloatBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import javax.sound.sampled.UnsupportedAudioFileException;
+import org.jspecify.annotations.Nullable;
+
+/**
+ * Streaming reader of PCMS16 Mono samples that converts them to PCMF32 Mono into caller supplied
+ * buffers. Only a fixed size chunk is held in memory, whatever the length of the audio.
+ *
+ * <p>Samples are either pulled from a {@link ReadableByteChannel} carrying raw little-endian
+ * samples, or read in place from a memory-mapped WAVE file.
+ *
+ * @author Antonio Mayk
+ * @since 0.1
+ */
+public class PcmS16MonoReader implements AutoCloseable {
+  /** Default amount of frames read from the channel at once. */
+  public static final int DEFAULT_CHUNK_FRAMES = 16384;
+
+  private final @Nullable ReadableByteChannel channel;
+  private final ByteBuffer source;
+  private final long frameLength;
+
+  private boolean isEndOfStream = false;
+
+  private PcmS16MonoReader(
+      final @Nullable ReadableByteChannel channel,
+      final ByteBuffer source,
+      final long frameLength) {
+    this.channel = channel;
+    this.source = source;
+    this.frameLength = frameLength;
+  }
+
+  /**
+   * Creates a reader over a channel of raw little-endian PCMS16 Mono samples, without any header.
+   *
+   * @param channel the channel to read from, closed along with the reader.
+   * @return a reader using {@link #DEFAULT_CHUNK_FRAMES} chunks.
+   */
+  public static PcmS16MonoReader of(final ReadableByteChannel channel) {
+    return of(channel, DEFAULT_CHUNK_FRAMES);
+  }
+
+  /**
+   * Creates a reader over a channel of raw little-endian PCMS16 Mono samples, without any header.
+   *
+   * @param channel the channel to read from, closed along with the reader.
+   * @param chunkFrames the amount of frames read from the channel at once.
+   * @return a reader holding at most chunkFrames frames in memory.
+   * @throws IllegalArgumentException if chunkFrames is not positive.
+   */
+  public static PcmS16MonoReader of(final ReadableByteChannel channel, final int chunkFrames) {
+    if (chunkFrames <= 0) {
+      throw new IllegalArgumentException("Chunk frames must be positive: " + chunkFrames);
+    }
+
+    final var chunk =
+        ByteBuffer.allocateDirect(chunkFrames * Short.BYTES).order(ByteOrder.LITTLE_ENDIAN);
+
+    return new PcmS16MonoReader(channel, chunk.flip(), -1);
+  }
+
+  /**
+   * Creates a reader over a PCMS16 Mono WAVE file. The file is memory-mapped and its samples are
+   * converted in place, so no chunk is copied to the heap.
+   *
+   * @param wavFile the WAVE file to read from.
+   * @return a reader over the data chunk of the file.
+   * @throws IOException if an I/O error occurs.
+   * @throws UnsupportedAudioFileException if the file is not a PCMS16 Mono WAVE file.
+   */
+  public static PcmS16MonoReader open(final Path wavFile)
+      throws IOException, UnsupportedAudioFileException {
+    try (var fileChannel = FileChannel.open(wavFile, StandardOpenOption.READ)) {
+      if (fileChannel.size() > Integer.MAX_VALUE) {
+        throw new UnsupportedAudioFileException("The file is too large to be mapped: " + wavFile);
+      }
+
+      final var mapped = fileChannel.map(FileChannel.MapMode.READ_ONLY, 0, fileChannel.size());
+      final var header = WavHeader.parse(mapped);
+
+      if (!header.isPcmS16Mono()) {
+        throw new UnsupportedAudioFileException("The file should consist of PCMS16 wav format.");
+      }
+
+      final var data =
+          mapped
+              .position((int) header.dataOffset())
+              .limit((int) (header.dataOffset() + header.dataSize()))
+              .slice()
+              .order(ByteOrder.LITTLE_ENDIAN);
+
+      return new PcmS16MonoReader(null, data, header.dataSize() / Short.BYTES);
+    }
+  }
+
+  /**
+   * Retrieves the total amount of frames of the audio, when known upfront.
+   *
+   * @return the amount of frames, or -1 if the source is a channel.
+   */
+  public long frameLength() {
+    return frameLength;
+  }
+
+  /**
+   * Reads up to length frames into the given array.
+   *
+   * @param pcmF32 destination of the PCMF32 Mono frames.
+   * @param offset index of the first frame written.
+   * @param length maximum amount of frames written.
+   * @return the amount of frames read, or -1 at the end of the stream.
+   * @throws IOException if an I/O error occurs.
+   */
+  public int read(final float[] pcmF32, final int offset, final int length) throws IOException {
+    if (offset < 0 || length < 0 || length > pcmF32.length - offset) {
+      throw new IndexOutOfBoundsException("Invalid range: " + offset + ", " + length);
+    }
+
+    var frames = 0;
+
+    while (frames < length && fill()) {
+      final var count = Math.min(length - frames, source.remaining() / Short.BYTES);
+
+      PcmKernels.convertPcmS16ToPcmF32(source, pcmF32, offset + frames, count);
+      frames += count;
+    }
+
+    return frames == 0 && length > 0 ? -1 : frames;
+  }
+
+  /**
+   * Reads up to {@link FloatBuffer#remaining()} frames into the given buffer, advancing its
+   * position.
+   *
+   * @param pcmF32 destination of the PCMF32 Mono frames.
+   * @return the amount of frames read, or -1 at the end of the stream.
+   * @throws IOException if an I/O error occurs.
+   */
+  public int read(final FloatBuffer pcmF32) throws IOException {
+    final var length = pcmF32.remaining();
+    var frames = 0;
+
+    while (frames < length && fill()) {
+      final var count = Math.min(length - frames, source.remaining() / Short.BYTES);
+
+      for (var i = 0; i < count; i++) {
+        pcmF32.put(PcmKernels.convertPcmS16ToPcmF32(source.getShort()));
+      }
+
+      frames += count;
+    }
+
+    return frames == 0 && length > 0 ? -1 : frames;
+  }
+
+  /** Closes the underlying channel, if any. */
+  @Override
+  public void close() throws IOException {
+    final var readableChannel = channel;
+
+    if (readableChannel != null) {
+      readableChannel.close();
+    }
+  }
+
+  private boolean fill() throws IOException {
+    if (source.remaining() >= Short.BYTES) {
+      return true;
+    }
+
+    final var readableChannel = channel;
+
+    if (readableChannel == null || isEndOfStream) {
+      return false;
+    }
+
+    source.compact();
+
+    while (source.position() < Short.BYTES) {
+      if (readableChannel.read(source) < 0) {
+        isEndOfStream = true;
+        break;
+      }
+    }
+
+    source.flip();
+
+    return source.remaining() >= Short.BYTES;
+  }
+}
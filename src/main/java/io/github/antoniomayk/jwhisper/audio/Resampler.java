@@ -0,0 +1,271 @@
+package io.github.antoniomayk.jwhisper.audio;
+
+import java.util.Arrays;
+
+/**
+ * Streaming polyphase resampler of PCMF32 Mono samples, using a Kaiser windowed-sinc low-pass
+ * filter.
+ *
+ * <p>The conversion ratio is reduced to output/input = L/M. The filter is designed once for the
+ * upsampling rate L * input, low-passed below the lowest of both Nyquist frequencies, and split
+ * into L phases so that only the taps contributing to an output sample are computed. The filter
+ * delay is compensated, so the output is aligned with the input.
+ *
+ * <p>Samples are fed chunk by chunk through {@link #process}, and the filter tail is drained by
+ * {@link #flush}. Neither allocates: the history of the filter is kept in a fixed size ring.
+ *
+ * @author Antonio Mayk
+ * @since 0.1
+ */
+public final class Resampler {
+  /** Default filter length, in samples at the lowest of both rates. */
+  public static final int DEFAULT_TAPS = 32;
+
+  private static final int MAX_PHASES = 4096;
+  private static final double KAISER_BETA = 8.6;
+  private static final double ROLLOFF = 0.94;
+
+  private final int upsampling;
+  private final int downsampling;
+  private final int taps;
+  private final float[] coefficients;
+  private final float[] history;
+  private final int initialPhase;
+
+  private int historyPosition;
+  private int phase;
+  private long inputFrames;
+  private long outputFrames;
+
+  private Resampler(final int upsampling, final int downsampling, final int taps) {
+    this.upsampling = upsampling;
+    this.downsampling = downsampling;
+    this.taps = taps;
+    this.coefficients = designFilter(upsampling, downsampling, taps);
+    this.history = new float[taps * 2];
+    this.initialPhase = (upsampling * taps - 1) / 2 + upsampling;
+
+    reset();
+  }
+
+  /**
+   * Creates a resampler using a filter of {@link #DEFAULT_TAPS} taps.
+   *
+   * @param inputRate the sample rate of the input, in Hz.
+   * @param outputRate the sample rate of the output, in Hz.
+   * @return a new resampler.
+   * @throws IllegalArgumentException if a rate is not positive, or the reduced ratio needs more
+   *     than 4096 phases.
+   */
+  public static Resampler newInstance(final int inputRate, final int outputRate) {
+    return newInstance(inputRate, outputRate, DEFAULT_TAPS);
+  }
+
+  /**
+   * Creates a resampler.
+   *
+   * @param inputRate the sample rate of the input, in Hz.
+   * @param outputRate the sample rate of the output, in Hz.
+   * @param taps the filter length, in samples at the lowest of both rates. More taps give a
+   *     sharper filter.
+   * @return a new resampler.
+   * @throws IllegalArgumentException if a rate or the taps are not positive, or the reduced ratio
+   *     needs more than 4096 phases.
+   */
+  public static Resampler newInstance(final int inputRate, final int outputRate, final int taps) {
+    if (inputRate <= 0 || outputRate <= 0 || taps <= 0) {
+      throw new IllegalArgumentException(
+          "Invalid resampler: " + inputRate + " Hz to " + outputRate + " Hz, " + taps + " taps");
+    }
+
+    final var gcd = gcd(inputRate, outputRate);
+    final var upsampling = outputRate / gcd;
+    final var downsampling = inputRate / gcd;
+
+    if (upsampling > MAX_PHASES) {
+      throw new IllegalArgumentException(
+          "Unsupported resampling ratio: " + inputRate + " Hz to " + outputRate + " Hz");
+    }
+
+    final var phaseTaps = (int) (((long) taps * downsampling + upsampling - 1) / upsampling);
+
+    return new Resampler(upsampling, downsampling, Math.max(taps, phaseTaps));
+  }
+
+  /**
+   * Computes an upper bound of the amount of samples produced from the given input.
+   *
+   * @param inputFrames the amount of input samples.
+   * @return the capacity the output array needs.
+   */
+  public int maxOutputFrames(final int inputFrames) {
+    return (int) (((long) inputFrames * upsampling + downsampling - 1) / downsampling) + 1;
+  }
+
+  /**
+   * Resamples a chunk of samples.
+   *
+   * @param input source of the PCMF32 Mono samples.
+   * @param inputOffset index of the first sample read.
+   * @param inputLength amount of samples read.
+   * @param output destination of the resampled samples, with at least {@link
+   *     #maxOutputFrames(int)} free samples after outputOffset.
+   * @param outputOffset index of the first sample written.
+   * @return the amount of samples written.
+   */
+  public int process(
+      final float[] input,
+      final int inputOffset,
+      final int inputLength,
+      final float[] output,
+      final int outputOffset) {
+    if (inputOffset < 0 || inputLength < 0 || inputLength > input.length - inputOffset) {
+      throw new IndexOutOfBoundsException("Invalid range: " + inputOffset + ", " + inputLength);
+    }
+
+    if (outputOffset < 0 || maxOutputFrames(inputLength) > output.length - outputOffset) {
+      throw new IndexOutOfBoundsException("Output is too small: " + outputOffset);
+    }
+
+    if (upsampling == downsampling) {
+      System.arraycopy(input, inputOffset, output, outputOffset, inputLength);
+      inputFrames += inputLength;
+      outputFrames += inputLength;
+
+      return inputLength;
+    }
+
+    var written = 0;
+
+    for (var i = 0; i < inputLength; i++) {
+      written += push(input[inputOffset + i], output, outputOffset + written);
+    }
+
+    inputFrames += inputLength;
+
+    return written;
+  }
+
+  /**
+   * Drains the samples still delayed by the filter, once the whole input was processed. The
+   * resampler is then reset.
+   *
+   * @param output destination of the resampled samples, with at least {@link
+   *     #maxOutputFrames(int)} of {@link #taps()} free samples after outputOffset.
+   * @param outputOffset index of the first sample written.
+   * @return the amount of samples written.
+   */
+  public int flush(final float[] output, final int outputOffset) {
+    final var expected =
+        (inputFrames * upsampling + downsampling - 1) / downsampling - outputFrames;
+
+    if (outputOffset < 0 || expected > output.length - outputOffset) {
+      throw new IndexOutOfBoundsException("Output is too small: " + outputOffset);
+    }
+
+    var written = 0;
+
+    for (var i = 0; i <= taps && written < expected; i++) {
+      written += push(0.0f, output, outputOffset + written, (int) (expected - written));
+    }
+
+    reset();
+
+    return written;
+  }
+
+  /**
+   * Retrieves the amount of taps per phase.
+   *
+   * @return the length of every polyphase filter.
+   */
+  public int taps() {
+    return taps;
+  }
+
+  /** Clears the history of the filter, to resample an unrelated input. */
+  public void reset() {
+    Arrays.fill(history, 0.0f);
+    historyPosition = 0;
+    phase = initialPhase;
+    inputFrames = 0;
+    outputFrames = 0;
+  }
+
+  private int push(final float sample, final float[] output, final int offset) {
+    return push(sample, output, offset, Integer.MAX_VALUE);
+  }
+
+  private int push(final float sample, final float[] output, final int offset, final int limit) {
+    history[historyPosition] = sample;
+    history[historyPosition + taps] = sample;
+    historyPosition = historyPosition + 1 == taps ? 0 : historyPosition + 1;
+    phase -= upsampling;
+
+    var written = 0;
+
+    while (phase < upsampling && written < limit) {
+      final var base = phase * taps;
+      var sum = 0.0f;
+
+      for (var i = 0; i < taps; i++) {
+        sum += coefficients[base + i] * history[historyPosition + i];
+      }
+
+      output[offset + written++] = sum;
+      phase += downsampling;
+    }
+
+    outputFrames += written;
+
+    return written;
+  }
+
+  private static float[] designFilter(
+      final int upsampling, final int downsampling, final int taps) {
+    final var length = upsampling * taps;
+    final var center = (length - 1) / 2;
+    final var cutoff = ROLLOFF * 0.5 / Math.max(upsampling, downsampling);
+    final var prototype = new double[length];
+    var sum = 0.0;
+
+    for (var n = 0; n < length; n++) {
+      final double x = n - center;
+      final var angle = 2 * Math.PI * cutoff * x;
+      final var sinc = x == 0 ? 1.0 : Math.sin(angle) / angle;
+      final var window = x / (center + 1);
+
+      prototype[n] = sinc * bessel(KAISER_BETA * Math.sqrt(1 - window * window));
+      sum += prototype[n];
+    }
+
+    final var coefficients = new float[length];
+
+    for (var phase = 0; phase < upsampling; phase++) {
+      for (var i = 0; i < taps; i++) {
+        final var tap = taps - 1 - i;
+        final var coefficient = prototype[phase + tap * upsampling] * upsampling / sum;
+
+        coefficients[phase * taps + i] = (float) coefficient;
+      }
+    }
+
+    return coefficients;
+  }
+
+  private static double bessel(final double x) {
+    var sum = 1.0;
+    var term = 1.0;
+
+    for (var k = 1; k < 32; k++) {
+      term *= (x / (2 * k)) * (x / (2 * k));
+      sum += term;
+    }
+
+    return sum;
+  }
+
+  private static int gcd(final int a, final int b) {
+    return b == 0 ? a : gcd(b, a % b);
+  }
+}
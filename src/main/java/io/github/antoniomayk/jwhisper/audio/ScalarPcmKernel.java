@@ -0,0 +1,45 @@
+package io.github.antoniomayk.jwhisper.audio;
+
+/**
+ * Portable conversion kernel, one sample at a time.
+ *
+ * @author Antonio Mayk
+ * @since 0.1
+ */
+final class ScalarPcmKernel implements PcmKernel {
+  @Override
+  public void convertPcmS16ToPcmF32(
+      final short[] pcmS16,
+      final int sourceOffset,
+      final float[] pcmF32,
+      final int offset,
+      final int length) {
+    for (var i = 0; i < length; i++) {
+      pcmF32[offset + i] = PcmKernels.convertPcmS16ToPcmF32(pcmS16[sourceOffset + i]);
+    }
+  }
+
+  @Override
+  public void convertPcmS32ToPcmF32(
+      final int[] pcmS32,
+      final int sourceOffset,
+      final float[] pcmF32,
+      final int offset,
+      final int length) {
+    for (var i = 0; i < length; i++) {
+      pcmF32[offset + i] = PcmKernels.convertPcmS32ToPcmF32(pcmS32[sourceOffset + i]);
+    }
+  }
+
+  @Override
+  public void downmixStereo(
+      final float[] stereo,
+      final int sourceOffset,
+      final float[] mono,
+      final int offset,
+      final int frames) {
+    for (var i = 0; i < frames; i++) {
+      mono[offset + i] = (stereo[sourceOffset + 2 * i] + stereo[sourceOffset + 2 * i + 1]) * 0.5f;
+    }
+  }
+}
@@ -0,0 +1,32 @@
+package io.github.antoniomayk.jwhisper.audio;
+
+/**
+ * A range of samples holding speech.
+ *
+ * @param start index of the first sample of the region.
+ * @param end index following the last sample of the region.
+ * @author Antonio Mayk
+ * @since 0.1
+ */
+public record SpeechRegion(int start, int end) {
+
+  /**
+   * Validates the range.
+   *
+   * @throws IllegalArgumentException if the range is empty or negative.
+   */
+  public SpeechRegion {
+    if (start < 0 || end <= start) {
+      throw new IllegalArgumentException("Invalid speech region: " + start + ", " + end);
+    }
+  }
+
+  /**
+   * Retrieves the amount of samples of the region.
+   *
+   * @return the region length.
+   */
+  public int length() {
+    return end - start;
+  }
+}
@@ -0,0 +1,121 @@
+package io.github.antoniomayk.jwhisper.audio;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * SpeechTimeline concatenates the speech regions of a clip, so that only speech is transcribed,
+ * and maps the timestamps of the concatenated audio back onto the original clip.
+ *
+ * <p>Timestamps are expressed in whisper units of 10 milliseconds.
+ *
+ * @author Antonio Mayk
+ * @since 0.1
+ */
+public final class SpeechTimeline {
+  private static final int SAMPLES_PER_TIMESTAMP = 160;
+
+  private final float[] samples;
+  private final int[] originalStarts;
+  private final int[] compactStarts;
+
+  private SpeechTimeline(
+      final float[] samples, final int[] originalStarts, final int[] compactStarts) {
+    this.samples = samples;
+    this.originalStarts = originalStarts;
+    this.compactStarts = compactStarts;
+  }
+
+  /**
+   * Concatenates the given regions of a clip.
+   *
+   * @param samples PCMF32 Mono samples at 16 kHz.
+   * @param regions sorted, non-overlapping speech regions of the samples.
+   * @return the timeline of the concatenated regions.
+   * @throws IllegalArgumentException if the regions are not sorted or exceed the samples.
+   */
+  public static SpeechTimeline of(final float[] samples, final List<SpeechRegion> regions) {
+    final var originalStarts = new int[regions.size()];
+    final var compactStarts = new int[regions.size() + 1];
+    var previousEnd = 0;
+
+    for (var i = 0; i < regions.size(); i++) {
+      final var region = regions.get(i);
+
+      if (region.start() < previousEnd || region.end() > samples.length) {
+        throw new IllegalArgumentException("Invalid speech region: " + region);
+      }
+
+      originalStarts[i] = region.start();
+      compactStarts[i + 1] = compactStarts[i] + region.length();
+      previousEnd = region.end();
+    }
+
+    final var compact = new float[compactStarts[regions.size()]];
+
+    for (var i = 0; i < regions.size(); i++) {
+      System.arraycopy(
+          samples,
+          originalStarts[i],
+          compact,
+          compactStarts[i],
+          compactStarts[i + 1] - compactStarts[i]);
+    }
+
+    return new SpeechTimeline(compact, originalStarts, compactStarts);
+  }
+
+  /**
+   * Retrieves the concatenated speech samples.
+   *
+   * @return the samples of every region, in order.
+   */
+  public float[] samples() {
+    return samples;
+  }
+
+  /**
+   * Maps a start timestamp of the concatenated audio onto the original clip. A timestamp at the
+   * boundary of two regions maps to the start of the second one.
+   *
+   * @param timestamp a timestamp of the concatenated audio.
+   * @return the matching timestamp of the original clip.
+   */
+  public long toOriginalStart(final long timestamp) {
+    return toOriginal(timestamp, false);
+  }
+
+  /**
+   * Maps an end timestamp of the concatenated audio onto the original clip. A timestamp at the
+   * boundary of two regions maps to the end of the first one.
+   *
+   * @param timestamp a timestamp of the concatenated audio.
+   * @return the matching timestamp of the original clip.
+   */
+  public long toOriginalEnd(final long timestamp) {
+    return toOriginal(timestamp, true);
+  }
+
+  private long toOriginal(final long timestamp, final boolean isEnd) {
+    if (originalStarts.length == 0) {
+      return timestamp;
+    }
+
+    final var sample = Math.max(0, timestamp * SAMPLES_PER_TIMESTAMP);
+    final var last = originalStarts.length - 1;
+    final var key = (int) Math.min(sample, samples.length);
+    var region = Arrays.binarySearch(compactStarts, 0, last + 1, key);
+
+    if (region < 0) {
+      region = -region - 2;
+    } else if (isEnd && region > 0) {
+      region--;
+    }
+
+    region = Math.min(region, last);
+
+    final var original = originalStarts[region] + (sample - compactStarts[region]);
+
+    return Math.round((double) original / SAMPLES_PER_TIMESTAMP);
+  }
+}
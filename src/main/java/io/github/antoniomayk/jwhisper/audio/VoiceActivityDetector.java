@@ -0,0 +1,202 @@
+package io.github.antoniomayk.jwhisper.audio;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Energy and zero-crossing based voice activity detector for PCMF32 Mono samples at 16 kHz.
+ *
+ * <p>Samples are split into short frames. A frame is voiced when its RMS energy exceeds the noise
+ * floor of the clip, estimated as a low percentile of the frame energies, by a given ratio. Frames
+ * slightly below that threshold are still voiced when their zero-crossing rate is high, which keeps
+ * unvoiced consonants. Voiced frames are then merged across short pauses, short bursts are
+ * dropped, and every region is padded on both sides.
+ *
+ * <p>NOTE: Energy does not tell speech from music or steady noise. Hold music is only skipped when
+ * it is quieter than the speech of the clip.
+ *
+ * @author Antonio Mayk
+ * @since 0.1
+ */
+public final class VoiceActivityDetector {
+  private static final int SAMPLE_RATE = 16000;
+  private static final double NOISE_FLOOR_PERCENTILE = 0.1;
+
+  private final Options options;
+
+  private VoiceActivityDetector(final Options options) {
+    this.options = options;
+  }
+
+  /**
+   * Creates a detector with the default options.
+   *
+   * @return a new detector.
+   */
+  public static VoiceActivityDetector newInstance() {
+    return newInstance(Options.defaults());
+  }
+
+  /**
+   * Creates a detector.
+   *
+   * @param options the detection thresholds and durations.
+   * @return a new detector.
+   */
+  public static VoiceActivityDetector newInstance(final Options options) {
+    return new VoiceActivityDetector(options);
+  }
+
+  /**
+   * Finds the speech regions of the given samples.
+   *
+   * @param samples PCMF32 Mono samples at 16 kHz.
+   * @return the speech regions, sorted and non-overlapping.
+   */
+  public List<SpeechRegion> detect(final float[] samples) {
+    final var frameSize = toSamples(options.frameMs());
+    final var frames = samples.length / frameSize + (samples.length % frameSize == 0 ? 0 : 1);
+
+    if (frames == 0) {
+      return List.of();
+    }
+
+    final var energies = new float[frames];
+    final var crossings = new float[frames];
+
+    for (var frame = 0; frame < frames; frame++) {
+      final var start = frame * frameSize;
+      final var end = Math.min(samples.length, start + frameSize);
+      var energy = 0.0;
+      var crossing = 0;
+
+      for (var i = start; i < end; i++) {
+        energy += samples[i] * samples[i];
+
+        if (i > start && (samples[i] >= 0) != (samples[i - 1] >= 0)) {
+          crossing++;
+        }
+      }
+
+      energies[frame] = (float) Math.sqrt(energy / (end - start));
+      crossings[frame] = (float) crossing / (end - start);
+    }
+
+    final var sorted = energies.clone();
+    Arrays.sort(sorted);
+
+    final var noiseFloor = sorted[(int) ((frames - 1) * NOISE_FLOOR_PERCENTILE)];
+    final var threshold = Math.max(options.minEnergy(), noiseFloor * options.energyRatio());
+
+    final var voiced = new boolean[frames];
+
+    for (var frame = 0; frame < frames; frame++) {
+      voiced[frame] =
+          energies[frame] > threshold
+              || (energies[frame] > threshold / 2 && crossings[frame] > options.zcrThreshold());
+    }
+
+    return toRegions(voiced, frameSize, samples.length);
+  }
+
+  private List<SpeechRegion> toRegions(
+      final boolean[] voiced, final int frameSize, final int length) {
+    final var minSpeechFrames = Math.max(1, toSamples(options.minSpeechMs()) / frameSize);
+    final var minSilenceFrames = Math.max(1, toSamples(options.minSilenceMs()) / frameSize);
+    final var padding = toSamples(options.paddingMs());
+    final var regions = new ArrayList<SpeechRegion>();
+
+    var frame = 0;
+
+    while (frame < voiced.length) {
+      if (!voiced[frame]) {
+        frame++;
+        continue;
+      }
+
+      final var first = frame;
+      var last = frame;
+      var silence = 0;
+
+      while (++frame < voiced.length && silence < minSilenceFrames) {
+        if (voiced[frame]) {
+          last = frame;
+          silence = 0;
+        } else {
+          silence++;
+        }
+      }
+
+      frame = last + 1;
+
+      if (last - first + 1 < minSpeechFrames) {
+        continue;
+      }
+
+      final var start = Math.max(0, first * frameSize - padding);
+      final var end = Math.min(length, (last + 1) * frameSize + padding);
+
+      if (!regions.isEmpty() && regions.get(regions.size() - 1).end() >= start) {
+        final var previous = regions.remove(regions.size() - 1);
+        regions.add(new SpeechRegion(previous.start(), end));
+      } else {
+        regions.add(new SpeechRegion(start, end));
+      }
+    }
+
+    return List.copyOf(regions);
+  }
+
+  private static int toSamples(final int milliseconds) {
+    return (int) ((long) milliseconds * SAMPLE_RATE / 1000);
+  }
+
+  /**
+   * Detection configuration of a voice activity detector.
+   *
+   * @param frameMs length of the analysis frames, in milliseconds.
+   * @param energyRatio how many times louder than the noise floor a voiced frame is.
+   * @param minEnergy minimum RMS energy of a voiced frame, whatever the noise floor.
+   * @param zcrThreshold zero crossings per sample above which quieter frames are voiced.
+   * @param minSpeechMs shortest speech region kept, in milliseconds.
+   * @param minSilenceMs shortest pause splitting two speech regions, in milliseconds.
+   * @param paddingMs audio kept before and after every speech region, in milliseconds.
+   */
+  public record Options(
+      int frameMs,
+      float energyRatio,
+      float minEnergy,
+      float zcrThreshold,
+      int minSpeechMs,
+      int minSilenceMs,
+      int paddingMs) {
+
+    /**
+     * Validates the configuration.
+     *
+     * @throws IllegalArgumentException if a duration or threshold is out of range.
+     */
+    public Options {
+      if (frameMs <= 0
+          || !(energyRatio >= 1)
+          || !(minEnergy >= 0)
+          || !(zcrThreshold >= 0)
+          || minSpeechMs < 0
+          || minSilenceMs < 0
+          || paddingMs < 0) {
+        throw new IllegalArgumentException("Invalid voice activity detector options.");
+      }
+    }
+
+    /**
+     * Default configuration: 20ms frames, voiced 3 times above the noise floor, regions of at least
+     * 250ms split by pauses of at least 500ms and padded by 200ms.
+     *
+     * @return the default options.
+     */
+    public static Options defaults() {
+      return new Options(20, 3, 0.005f, 0.25f, 250, 500, 200);
+    }
+  }
+}
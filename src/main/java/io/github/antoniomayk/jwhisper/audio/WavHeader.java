@@ -0,0 +1,121 @@
+package io.github.antoniomayk.jwhisper.audio;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import javax.sound.sampled.UnsupportedAudioFileException;
+
+/**
+ * Layout of a RIFF/WAVE file: the sample format found in the <b>fmt</b> chunk and the location of
+ * the <b>data</b> chunk.
+ *
+ * @param formatTag the WAVE format tag, 1 for integer PCM and 3 for IEEE float.
+ * @param channels the amount of interleaved channels.
+ * @param sampleRate the amount of frames per second.
+ * @param bitsPerSample the size of a single channel sample.
+ * @param dataOffset the position of the first sample byte in the file.
+ * @param dataSize the amount of sample bytes.
+ * @author Antonio Mayk
+ * @since 0.1
+ */
+public record WavHeader(
+    int formatTag,
+    int channels,
+    int sampleRate,
+    int bitsPerSample,
+    long dataOffset,
+    long dataSize) {
+
+  public static final int WAVE_FORMAT_PCM = 1;
+  public static final int WAVE_FORMAT_IEEE_FLOAT = 3;
+  public static final int WAVE_FORMAT_EXTENSIBLE = 0xFFFE;
+
+  private static final int RIFF = 0x46464952;
+  private static final int WAVE = 0x45564157;
+  private static final int FMT = 0x20746d66;
+  private static final int DATA = 0x61746164;
+
+  /**
+   * Reads the header of a WAVE file, leaving the buffer position untouched.
+   *
+   * @param wav the file contents, at least up to the beginning of the data chunk.
+   * @return the parsed header.
+   * @throws UnsupportedAudioFileException if the contents are not a valid WAVE file.
+   */
+  public static WavHeader parse(final ByteBuffer wav) throws UnsupportedAudioFileException {
+    final var buffer = wav.duplicate().order(ByteOrder.LITTLE_ENDIAN);
+
+    if (buffer.remaining() < 12 || buffer.getInt() != RIFF) {
+      throw new UnsupportedAudioFileException("The file should be a RIFF file.");
+    }
+
+    buffer.getInt();
+
+    if (buffer.getInt() != WAVE) {
+      throw new UnsupportedAudioFileException("The file should be a WAVE file.");
+    }
+
+    var formatTag = -1;
+    var channels = 0;
+    var sampleRate = 0;
+    var bitsPerSample = 0;
+
+    while (buffer.remaining() >= 8) {
+      final var chunkId = buffer.getInt();
+      final var chunkSize = Integer.toUnsignedLong(buffer.getInt());
+      final var chunkStart = buffer.position();
+
+      if (chunkId == DATA) {
+        if (formatTag < 0) {
+          throw new UnsupportedAudioFileException("The fmt chunk should precede the data chunk.");
+        }
+
+        final var dataSize = Math.min(chunkSize, wav.limit() - (long) chunkStart);
+
+        return new WavHeader(
+            formatTag, channels, sampleRate, bitsPerSample, chunkStart, dataSize);
+      }
+
+      if (chunkId == FMT) {
+        if (chunkSize < 16) {
+          throw new UnsupportedAudioFileException("The fmt chunk is truncated.");
+        }
+
+        formatTag = Short.toUnsignedInt(buffer.getShort());
+        channels = Short.toUnsignedInt(buffer.getShort());
+        sampleRate = buffer.getInt();
+        buffer.getInt();
+        buffer.getShort();
+        bitsPerSample = Short.toUnsignedInt(buffer.getShort());
+
+        if (formatTag == WAVE_FORMAT_EXTENSIBLE && chunkSize >= 26) {
+          buffer.getShort();
+          buffer.getShort();
+          buffer.getInt();
+          formatTag = Short.toUnsignedInt(buffer.getShort());
+        }
+      }
+
+      final var nextChunk = chunkStart + chunkSize + (chunkSize & 1);
+
+      if (nextChunk > buffer.limit()) {
+        break;
+      }
+
+      buffer.position((int) nextChunk);
+    }
+
+    throw new UnsupportedAudioFileException("The file should contain a data chunk.");
+  }
+
+  /**
+   * Checks if the header describes PCMS16 Mono at 16 kHz, the format expected by whisper.
+   *
+   * @return true if all conditions matches.
+   */
+  public boolean isPcmS16Mono() {
+    return formatTag == WAVE_FORMAT_PCM
+        && channels == 1
+        && sampleRate == 16000
+        && bitsPerSample == 16;
+  }
+}
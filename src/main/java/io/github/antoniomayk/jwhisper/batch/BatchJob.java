@@ -0,0 +1,24 @@
+package io.github.antoniomayk.jwhisper.batch;
+
+import java.nio.file.Path;
+
+/**
+ * A WAVE file to be transcribed by a {@link BatchRunner}.
+ *
+ * @param wavFile the PCMS16 Mono WAVE file.
+ * @param priority jobs with a higher priority are transcribed first, when ordered by priority.
+ * @author Antonio Mayk
+ * @since 0.1
+ */
+public record BatchJob(Path wavFile, int priority) {
+
+  /**
+   * Creates a job with the default priority.
+   *
+   * @param wavFile the PCMS16 Mono WAVE file.
+   * @return a job of priority 0.
+   */
+  public static BatchJob of(final Path wavFile) {
+    return new BatchJob(wavFile, 0);
+  }
+}
@@ -0,0 +1,30 @@
+package io.github.antoniomayk.jwhisper.batch;
+
+import io.github.antoniomayk.jwhisper.TranscriptionResult;
+import org.jspecify.annotations.Nullable;
+
+/**
+ * Outcome of a {@link BatchJob}: either its transcription or the reason it failed.
+ *
+ * @param job the transcribed job.
+ * @param frames the amount of PCMF32 Mono frames transcribed, 0 if the audio could not be decoded.
+ * @param transcription the transcription segments, null if the job failed.
+ * @param failure the reason the job failed, null if it succeeded.
+ * @author Antonio Mayk
+ * @since 0.1
+ */
+public record BatchResult(
+    BatchJob job,
+    long frames,
+    @Nullable TranscriptionResult transcription,
+    @Nullable Throwable failure) {
+
+  /**
+   * Tells whether the job was transcribed.
+   *
+   * @return true if the transcription is available.
+   */
+  public boolean isSuccess() {
+    return transcription != null;
+  }
+}
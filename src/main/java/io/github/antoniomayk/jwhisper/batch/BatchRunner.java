@@ -0,0 +1,277 @@
+package io.github.antoniomayk.jwhisper.batch;
+
+import io.github.antoniomayk.jwhisper.JwhisperPool;
+import io.github.antoniomayk.jwhisper.utils.AudioUtils;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.PriorityBlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+import javax.sound.sampled.UnsupportedAudioFileException;
+import org.jspecify.annotations.Nullable;
+
+/**
+ * BatchRunner transcribes a large amount of WAVE files over a {@link JwhisperPool}.
+ *
+ * <p>Files are decoded on dedicated I/O threads while the pool instances transcribe the already
+ * decoded ones. At most {@link Options#queueCapacity()} files are in flight at any time: the
+ * submission of jobs blocks beyond that, which bounds the memory held by decoded audio. Among the
+ * decoded files waiting for an instance, the next one is chosen by {@link Options#order()}.
+ *
+ * <p>Results are handed to a {@link BatchSink} as soon as each file completes.
+ *
+ * @author Antonio Mayk
+ * @since 0.1
+ */
+public class BatchRunner {
+  private static final AtomicInteger THREAD_COUNTER = new AtomicInteger();
+
+  private final JwhisperPool pool;
+  private final Options options;
+
+  private BatchRunner(final JwhisperPool pool, final Options options) {
+    this.pool = pool;
+    this.options = options;
+  }
+
+  /**
+   * Creates a batch runner with the default options.
+   *
+   * @param pool the pool transcribing the files, not closed by the runner.
+   * @return a new batch runner.
+   */
+  public static BatchRunner newInstance(final JwhisperPool pool) {
+    return newInstance(pool, Options.defaults());
+  }
+
+  /**
+   * Creates a batch runner.
+   *
+   * @param pool the pool transcribing the files, not closed by the runner.
+   * @param options the scheduling configuration.
+   * @return a new batch runner.
+   */
+  public static BatchRunner newInstance(final JwhisperPool pool, final Options options) {
+    return new BatchRunner(pool, options);
+  }
+
+  /**
+   * Transcribes every job of the stream and waits until all of them complete. The stream is
+   * consumed lazily, as the transcription progresses.
+   *
+   * @param jobs the files to be transcribed.
+   * @param sink the receiver of the results.
+   * @return the throughput of the run.
+   * @throws IOException if the sink failed; the jobs already submitted are completed first.
+   * @throws InterruptedException if interrupted while waiting; running jobs are abandoned.
+   */
+  public BatchStats run(final Stream<BatchJob> jobs, final BatchSink sink)
+      throws IOException, InterruptedException {
+    final var run = new Run(sink);
+    final var start = System.nanoTime();
+
+    try {
+      final var iterator = jobs.iterator();
+
+      while (run.sinkFailure == null && iterator.hasNext()) {
+        final var job = iterator.next();
+
+        run.permits.acquire();
+        run.decoders.execute(() -> run.decode(job));
+      }
+
+      run.permits.acquire(options.queueCapacity());
+    } finally {
+      run.decoders.shutdownNow();
+      run.transcribers.shutdownNow();
+    }
+
+    final var sinkFailure = run.sinkFailure;
+
+    if (sinkFailure != null) {
+      throw sinkFailure;
+    }
+
+    return new BatchStats(
+        run.files.get(),
+        run.failures.get(),
+        run.audioFrames.get(),
+        Duration.ofNanos(System.nanoTime() - start));
+  }
+
+  private static Comparator<Decoded> comparator(final Order order) {
+    final Comparator<Decoded> bySequence = Comparator.comparingLong(decoded -> decoded.sequence);
+    final Comparator<Decoded> byLength = Comparator.comparingInt(decoded -> decoded.samples.length);
+
+    return switch (order) {
+      case PRIORITY ->
+          Comparator.comparingInt((Decoded decoded) -> decoded.job.priority())
+              .reversed()
+              .thenComparing(byLength)
+              .thenComparing(bySequence);
+      case SHORTEST_FIRST -> byLength.thenComparing(bySequence);
+      case FIFO -> bySequence;
+    };
+  }
+
+  private static ThreadFactory threadFactory(final String prefix) {
+    return runnable -> {
+      final var thread = new Thread(runnable, prefix + THREAD_COUNTER.incrementAndGet());
+      thread.setDaemon(true);
+
+      return thread;
+    };
+  }
+
+  private final class Run {
+    private final BatchSink sink;
+    private final Semaphore permits = new Semaphore(options.queueCapacity());
+    private final PriorityBlockingQueue<Decoded> decoded =
+        new PriorityBlockingQueue<>(options.queueCapacity(), comparator(options.order()));
+    private final ExecutorService decoders =
+        Executors.newFixedThreadPool(options.decoderThreads(), threadFactory("jwhisper-decoder-"));
+    private final ExecutorService transcribers =
+        Executors.newFixedThreadPool(pool.size(), threadFactory("jwhisper-batch-"));
+
+    private final AtomicLong sequence = new AtomicLong();
+    private final AtomicLong files = new AtomicLong();
+    private final AtomicLong failures = new AtomicLong();
+    private final AtomicLong audioFrames = new AtomicLong();
+
+    private volatile @Nullable IOException sinkFailure;
+
+    private Run(final BatchSink sink) {
+      this.sink = sink;
+    }
+
+    private void decode(final BatchJob job) {
+      try {
+        final var samples = AudioUtils.convertPcmS16MonoToPcmF32Mono(job.wavFile());
+
+        decoded.add(new Decoded(job, samples, sequence.getAndIncrement()));
+        transcribers.execute(this::transcribeNext);
+      } catch (IOException | UnsupportedAudioFileException | RuntimeException e) {
+        complete(new BatchResult(job, 0, null, e));
+      } catch (Error e) {
+        complete(new BatchResult(job, 0, null, e));
+        throw e;
+      }
+    }
+
+    private void transcribeNext() {
+      final var next = decoded.poll();
+
+      if (next == null) {
+        return;
+      }
+
+      BatchResult result;
+
+      try (var lease = pool.acquire()) {
+        final var transcription = lease.jwhisper().transcribe(next.samples);
+
+        result = new BatchResult(next.job, next.samples.length, transcription, null);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        result = new BatchResult(next.job, next.samples.length, null, e);
+      } catch (RuntimeException | Error e) {
+        result = new BatchResult(next.job, next.samples.length, null, e);
+      }
+
+      // Completing releases the permit of the job, so it must happen even when an Error is thrown.
+      complete(result);
+
+      if (result.failure() instanceof Error error) {
+        throw error;
+      }
+    }
+
+    private synchronized void complete(final BatchResult result) {
+      try {
+        if (result.isSuccess()) {
+          files.incrementAndGet();
+          audioFrames.addAndGet(result.frames());
+        } else {
+          failures.incrementAndGet();
+        }
+
+        if (sinkFailure == null) {
+          sink.accept(result);
+        }
+      } catch (IOException e) {
+        sinkFailure = e;
+      } finally {
+        permits.release();
+      }
+    }
+  }
+
+  private static final class Decoded {
+    private final BatchJob job;
+    private final float[] samples;
+    private final long sequence;
+
+    private Decoded(final BatchJob job, final float[] samples, final long sequence) {
+      this.job = job;
+      this.samples = samples;
+      this.sequence = sequence;
+    }
+  }
+
+  /**
+   * Order in which the decoded files are transcribed.
+   *
+   * @author Antonio Mayk
+   * @since 0.1
+   */
+  public enum Order {
+    /** Highest {@link BatchJob#priority()} first, then shortest clip first. */
+    PRIORITY,
+
+    /** Shortest clip first, regardless of the job priority. */
+    SHORTEST_FIRST,
+
+    /** Submission order. */
+    FIFO
+  }
+
+  /**
+   * Scheduling configuration of a batch runner.
+   *
+   * @param decoderThreads amount of threads decoding audio files.
+   * @param queueCapacity maximum amount of files submitted but not completed yet.
+   * @param order order in which the decoded files are transcribed.
+   */
+  public record Options(int decoderThreads, int queueCapacity, Order order) {
+
+    /**
+     * Validates the configuration.
+     *
+     * @throws IllegalArgumentException if a thread or queue size is not positive.
+     */
+    public Options {
+      if (decoderThreads <= 0 || queueCapacity <= 0) {
+        throw new IllegalArgumentException(
+            "Invalid batch options: decoder threads "
+                + decoderThreads
+                + ", queue capacity "
+                + queueCapacity);
+      }
+    }
+
+    /**
+     * Default configuration: 2 decoder threads, up to 16 files waiting, ordered by priority.
+     *
+     * @return the default options.
+     */
+    public static Options defaults() {
+      return new Options(2, 16, Order.PRIORITY);
+    }
+  }
+}
@@ -0,0 +1,22 @@
+package io.github.antoniomayk.jwhisper.batch;
+
+import java.io.IOException;
+
+/**
+ * Receives the results of a {@link BatchRunner} as soon as each job completes, in completion
+ * order. Calls are serialized, so implementations do not need to be thread-safe.
+ *
+ * @author Antonio Mayk
+ * @since 0.1
+ */
+@FunctionalInterface
+public interface BatchSink {
+
+  /**
+   * Handles the result of a job.
+   *
+   * @param result the completed job.
+   * @throws IOException if the result cannot be written; the batch stops submitting jobs.
+   */
+  void accept(BatchResult result) throws IOException;
+}
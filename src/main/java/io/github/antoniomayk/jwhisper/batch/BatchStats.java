@@ -0,0 +1,50 @@
+package io.github.antoniomayk.jwhisper.batch;
+
+import java.time.Duration;
+
+/**
+ * Throughput of a {@link BatchRunner} run.
+ *
+ * @param files the amount of transcribed files.
+ * @param failures the amount of files that could not be decoded or transcribed.
+ * @param audioFrames the amount of PCMF32 Mono frames transcribed, at 16 kHz.
+ * @param elapsed the wall-clock duration of the run.
+ * @author Antonio Mayk
+ * @since 0.1
+ */
+public record BatchStats(long files, long failures, long audioFrames, Duration elapsed) {
+  private static final double SAMPLE_RATE = 16000;
+
+  /**
+   * Retrieves the duration of the transcribed audio.
+   *
+   * @return the audio duration, in seconds.
+   */
+  public double audioSeconds() {
+    return audioFrames / SAMPLE_RATE;
+  }
+
+  /**
+   * Retrieves the amount of files transcribed per second of wall-clock time.
+   *
+   * @return the files throughput, 0 if no time elapsed.
+   */
+  public double filesPerSecond() {
+    return perSecond((double) files);
+  }
+
+  /**
+   * Retrieves the seconds of audio transcribed per second of wall-clock time.
+   *
+   * @return the audio throughput, 0 if no time elapsed.
+   */
+  public double audioSecondsPerSecond() {
+    return perSecond(audioSeconds());
+  }
+
+  private double perSecond(final double amount) {
+    final var seconds = elapsed.toNanos() / 1e9;
+
+    return seconds > 0 ? amount / seconds : 0;
+  }
+}
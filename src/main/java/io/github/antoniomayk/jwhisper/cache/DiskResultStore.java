@@ -0,0 +1,379 @@
+package io.github.antoniomayk.jwhisper.cache;
+
+import io.github.antoniomayk.jwhisper.TranscriptionResult;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.channels.OverlappingFileLockException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.zip.CRC32C;
+import org.jspecify.annotations.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Append-only on-disk store of transcription results, made of fixed size memory-mapped segment
+ * files. Records are appended to the newest segment, and the oldest segment is deleted once the
+ * store exceeds its size, so eviction is first-in first-out.
+ *
+ * <p>A record is laid out as its length, the CRC32C of the rest of the record, its key, its amount
+ * of segments and text length, then the timestamps, the text offsets and the text of the result.
+ * The length is written last, but the mapped pages may reach the disk in any order, so a record is
+ * only trusted once its checksum matches: a record torn by a crash is ignored when the segment
+ * files are scanned on open, and treated as missing when read.
+ *
+ * <p>The directory is owned by a single store at a time, across processes, through an exclusive
+ * lock on its lock file.
+ *
+ * @author Antonio Mayk
+ * @since 0.1
+ */
+final class DiskResultStore implements AutoCloseable {
+  private static final Logger LOGGER = LoggerFactory.getLogger(DiskResultStore.class);
+
+  private static final String SEGMENT_SUFFIX = ".seg";
+  private static final String LOCK_FILE = ".lock";
+  private static final int CHECKSUMMED_OFFSET = Integer.BYTES * 2;
+  private static final int HEADER_SIZE = CHECKSUMMED_OFFSET + Long.BYTES * 2 + Integer.BYTES * 2;
+
+  private final Path directory;
+  private final FileLock directoryLock;
+  private final int segmentSize;
+  private final int maxSegments;
+  private final Deque<SegmentFile> segmentFiles = new ArrayDeque<>();
+  private final Map<TranscriptionKey, Location> index = new HashMap<>();
+
+  private boolean isClosed = false;
+
+  private DiskResultStore(
+      final Path directory,
+      final FileLock directoryLock,
+      final int segmentSize,
+      final int maxSegments) {
+    this.directory = directory;
+    this.directoryLock = directoryLock;
+    this.segmentSize = segmentSize;
+    this.maxSegments = maxSegments;
+  }
+
+  static DiskResultStore open(final Path directory, final int segmentSize, final int maxSegments)
+      throws IOException {
+    Files.createDirectories(directory);
+
+    final var directoryLock = lock(directory);
+    final var store = new DiskResultStore(directory, directoryLock, segmentSize, maxSegments);
+
+    try {
+      store.load();
+    } catch (IOException | RuntimeException e) {
+      directoryLock.channel().close();
+      throw e;
+    }
+
+    return store;
+  }
+
+  synchronized @Nullable TranscriptionResult get(final TranscriptionKey key) {
+    final var location = index.get(key);
+
+    if (location == null) {
+      return null;
+    }
+
+    final var buffer = location.segmentFile().buffer;
+    var position = location.position();
+
+    if (!isRecord(buffer, position)) {
+      LOGGER.debug("Ignoring corrupted record at {} of {}", position, location.segmentFile().path);
+      index.remove(key);
+      return null;
+    }
+
+    position += CHECKSUMMED_OFFSET + Long.BYTES * 2;
+
+    final var segmentCount = buffer.getInt(position);
+    final var textLength = buffer.getInt(position + Integer.BYTES);
+    final var timestamps = new long[segmentCount * 2];
+    final var textOffsets = new int[segmentCount + 1];
+    final var text = new byte[textLength];
+
+    position += Integer.BYTES * 2;
+    buffer.slice(position, timestamps.length * Long.BYTES).asLongBuffer().get(timestamps);
+    position += timestamps.length * Long.BYTES;
+    buffer.slice(position, textOffsets.length * Integer.BYTES).asIntBuffer().get(textOffsets);
+    position += textOffsets.length * Integer.BYTES;
+    buffer.get(position, text);
+
+    for (var i = 0; i < segmentCount; i++) {
+      if (textOffsets[i] < 0 || textOffsets[i] > textOffsets[i + 1]) {
+        index.remove(key);
+        return null;
+      }
+    }
+
+    if (textOffsets[segmentCount] != textLength) {
+      index.remove(key);
+      return null;
+    }
+
+    return new TranscriptionResult(timestamps, text, textOffsets);
+  }
+
+  synchronized void put(final TranscriptionKey key, final TranscriptionResult result)
+      throws IOException {
+    ensureNotClosed();
+
+    final var segmentCount = result.segmentCount();
+    final var texts = new byte[segmentCount][];
+    var textLength = 0;
+
+    for (var i = 0; i < segmentCount; i++) {
+      texts[i] = result.segmentText(i).getBytes(StandardCharsets.UTF_8);
+      textLength += texts[i].length;
+    }
+
+    final var length = recordLength(segmentCount, textLength);
+
+    if (length > segmentSize) {
+      LOGGER.debug("Result of {} bytes does not fit in a segment file", length);
+      return;
+    }
+
+    if (length > segmentFiles.getLast().remaining()) {
+      roll();
+      evict();
+    }
+
+    final var segmentFile = segmentFiles.getLast();
+    final var buffer = segmentFile.buffer;
+    final var start = segmentFile.position;
+    var position = start + CHECKSUMMED_OFFSET;
+
+    buffer.putLong(position, key.audioHash());
+    buffer.putLong(position + Long.BYTES, key.configHash());
+    buffer.putInt(position + Long.BYTES * 2, segmentCount);
+    buffer.putInt(position + Long.BYTES * 2 + Integer.BYTES, textLength);
+    position += Long.BYTES * 2 + Integer.BYTES * 2;
+
+    for (var i = 0; i < segmentCount; i++) {
+      buffer.putLong(position, result.segmentT0(i));
+      buffer.putLong(position + Long.BYTES, result.segmentT1(i));
+      position += Long.BYTES * 2;
+    }
+
+    var textOffset = 0;
+
+    for (var i = 0; i <= segmentCount; i++) {
+      buffer.putInt(position, textOffset);
+      position += Integer.BYTES;
+      textOffset += i < segmentCount ? texts[i].length : 0;
+    }
+
+    for (final var segmentText : texts) {
+      buffer.put(position, segmentText);
+      position += segmentText.length;
+    }
+
+    buffer.putInt(start + Integer.BYTES, checksum(buffer, start, (int) length));
+    buffer.putInt(start, (int) length);
+    segmentFile.position = position;
+    index.put(key, new Location(segmentFile, start));
+  }
+
+  synchronized int size() {
+    return index.size();
+  }
+
+  @Override
+  public synchronized void close() {
+    if (!isClosed) {
+      isClosed = true;
+      segmentFiles.getLast().buffer.force();
+      segmentFiles.clear();
+      index.clear();
+
+      try {
+        directoryLock.channel().close();
+      } catch (IOException e) {
+        LOGGER.warn("Cannot release the lock of {}", directory, e);
+      }
+    }
+  }
+
+  private void load() throws IOException {
+    final var paths = new ArrayList<Path>();
+
+    try (final var files = Files.list(directory)) {
+      files
+          .filter(file -> file.getFileName().toString().endsWith(SEGMENT_SUFFIX))
+          .sorted()
+          .forEach(paths::add);
+    }
+
+    for (final var path : paths) {
+      final var fileName = path.getFileName().toString();
+      final long id;
+
+      try {
+        id = Long.parseLong(fileName.substring(0, fileName.length() - SEGMENT_SUFFIX.length()));
+      } catch (NumberFormatException e) {
+        LOGGER.warn("Ignoring unknown segment file {}", path);
+        continue;
+      }
+
+      if (!segmentFiles.isEmpty() && id <= segmentFiles.getLast().id) {
+        LOGGER.warn("Ignoring out of order segment file {}", path);
+        continue;
+      }
+
+      segmentFiles.add(scan(new SegmentFile(id, path, map(path, Files.size(path)))));
+    }
+
+    if (segmentFiles.isEmpty()) {
+      roll();
+    }
+
+    evict();
+  }
+
+  private SegmentFile scan(final SegmentFile segmentFile) {
+    final var buffer = segmentFile.buffer;
+    var position = 0;
+
+    while (isRecord(buffer, position)) {
+      final var length = buffer.getInt(position);
+
+      final var key =
+          new TranscriptionKey(
+              buffer.getLong(position + CHECKSUMMED_OFFSET),
+              buffer.getLong(position + CHECKSUMMED_OFFSET + Long.BYTES));
+
+      index.put(key, new Location(segmentFile, position));
+      position += length;
+    }
+
+    segmentFile.position = position;
+
+    return segmentFile;
+  }
+
+  private void roll() throws IOException {
+    final var id = segmentFiles.isEmpty() ? 0 : segmentFiles.getLast().id + 1;
+    final var path = directory.resolve(String.format("%016d%s", id, SEGMENT_SUFFIX));
+
+    if (!segmentFiles.isEmpty()) {
+      segmentFiles.getLast().buffer.force();
+    }
+
+    segmentFiles.add(new SegmentFile(id, path, map(path, segmentSize)));
+  }
+
+  private void evict() {
+    while (segmentFiles.size() > maxSegments) {
+      final var oldest = segmentFiles.removeFirst();
+
+      index.values().removeIf(location -> location.segmentFile() == oldest);
+
+      try {
+        Files.deleteIfExists(oldest.path);
+      } catch (IOException e) {
+        LOGGER.warn("Cannot delete evicted segment file {}", oldest.path, e);
+      }
+    }
+  }
+
+  private void ensureNotClosed() {
+    if (isClosed) {
+      throw new IllegalStateException("Resource is already closed.");
+    }
+  }
+
+  private static boolean isRecord(final MappedByteBuffer buffer, final int position) {
+    if (position > buffer.capacity() - HEADER_SIZE) {
+      return false;
+    }
+
+    final var length = buffer.getInt(position);
+    final var segmentCount = buffer.getInt(position + CHECKSUMMED_OFFSET + Long.BYTES * 2);
+    final var textLength =
+        buffer.getInt(position + CHECKSUMMED_OFFSET + Long.BYTES * 2 + Integer.BYTES);
+
+    return length >= HEADER_SIZE
+        && length <= buffer.capacity() - position
+        && segmentCount >= 0
+        && textLength >= 0
+        && recordLength(segmentCount, textLength) == length
+        && checksum(buffer, position, length) == buffer.getInt(position + Integer.BYTES);
+  }
+
+  private static int checksum(final MappedByteBuffer buffer, final int position, final int length) {
+    final var crc = new CRC32C();
+    crc.update(buffer.slice(position + CHECKSUMMED_OFFSET, length - CHECKSUMMED_OFFSET));
+
+    return (int) crc.getValue();
+  }
+
+  private static long recordLength(final int segmentCount, final int textLength) {
+    return (long) HEADER_SIZE
+        + (long) segmentCount * 2 * Long.BYTES
+        + (long) (segmentCount + 1) * Integer.BYTES
+        + textLength;
+  }
+
+  private static FileLock lock(final Path directory) throws IOException {
+    final var channel =
+        FileChannel.open(
+            directory.resolve(LOCK_FILE), StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+
+    try {
+      final var lock = channel.tryLock();
+
+      if (lock != null) {
+        return lock;
+      }
+    } catch (IOException | OverlappingFileLockException e) {
+      channel.close();
+      throw new IOException("Cache directory is already in use: " + directory, e);
+    }
+
+    channel.close();
+    throw new IOException("Cache directory is already in use: " + directory);
+  }
+
+  private static MappedByteBuffer map(final Path path, final long size) throws IOException {
+    try (final var channel =
+        FileChannel.open(
+            path, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+      return channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+    }
+  }
+
+  private record Location(SegmentFile segmentFile, int position) {}
+
+  private static final class SegmentFile {
+    private final long id;
+    private final Path path;
+    private final MappedByteBuffer buffer;
+
+    private int position = 0;
+
+    private SegmentFile(final long id, final Path path, final MappedByteBuffer buffer) {
+      this.id = id;
+      this.path = path;
+      this.buffer = buffer;
+    }
+
+    private int remaining() {
+      return buffer.capacity() - position;
+    }
+  }
+}
@@ -0,0 +1,210 @@
+package io.github.antoniomayk.jwhisper.cache;
+
+import io.github.antoniomayk.jwhisper.TranscriptionResult;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Supplier;
+import org.jspecify.annotations.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * TranscriptionCache keeps the results of transcriptions by {@link TranscriptionKey}, so that
+ * identical audio transcribed again with the same model and params, such as retried jobs or
+ * duplicated uploads, is answered without running the model.
+ *
+ * <p>Results are kept in a least recently used in-memory tier, backed by an optional on-disk tier
+ * of memory-mapped, append-only segment files that survives restarts. The oldest segment file is
+ * deleted once the on-disk tier exceeds its size.
+ *
+ * <pre>{@code
+ * final var key = TranscriptionKey.of(samples, modelId, params);
+ * final var result = cache.transcribe(key, () -> jwhisper.transcribe(samples));
+ * }</pre>
+ *
+ * @author Antonio Mayk
+ * @since 0.1
+ */
+public final class TranscriptionCache implements AutoCloseable {
+  private static final Logger LOGGER = LoggerFactory.getLogger(TranscriptionCache.class);
+
+  private static final long MIN_SEGMENT_SIZE = 64L * 1024;
+  private static final long MAX_SEGMENT_SIZE = 64L * 1024 * 1024;
+  private static final int SEGMENTS = 8;
+
+  private final Map<TranscriptionKey, TranscriptionResult> entries;
+  private final @Nullable DiskResultStore diskStore;
+
+  private long hits = 0;
+  private long misses = 0;
+  private boolean isClosed = false;
+
+  private TranscriptionCache(final int maxEntries, final @Nullable DiskResultStore diskStore) {
+    this.entries =
+        new LinkedHashMap<>(16, 0.75f, true) {
+          @Override
+          protected boolean removeEldestEntry(
+              final Map.Entry<TranscriptionKey, TranscriptionResult> eldest) {
+            return size() > maxEntries;
+          }
+        };
+    this.diskStore = diskStore;
+  }
+
+  /**
+   * Creates an in-memory cache.
+   *
+   * @param maxEntries the amount of results kept in memory.
+   * @return a new cache.
+   * @throws IllegalArgumentException if the amount of entries is negative.
+   */
+  public static TranscriptionCache newInstance(final int maxEntries) {
+    if (maxEntries < 0) {
+      throw new IllegalArgumentException("Max entries must not be negative: " + maxEntries);
+    }
+
+    return new TranscriptionCache(maxEntries, null);
+  }
+
+  /**
+   * Creates a cache backed by an on-disk tier. Results already stored in the directory are
+   * available right away. The directory is locked until the cache is closed, so it cannot be shared
+   * with another cache, even from another process.
+   *
+   * @param maxEntries the amount of results kept in memory.
+   * @param directory the directory of the segment files, created if needed.
+   * @param maxDiskSize the size, in bytes, of the segment files kept on disk.
+   * @return a new cache.
+   * @throws IllegalArgumentException if the amount of entries is negative, or the disk size is too
+   *     small to hold a segment file of 64 KiB.
+   * @throws IOException if the directory or its segment files cannot be read or created, or the
+   *     directory is already used by another cache.
+   */
+  public static TranscriptionCache newInstance(
+      final int maxEntries, final Path directory, final long maxDiskSize) throws IOException {
+    if (maxEntries < 0) {
+      throw new IllegalArgumentException("Max entries must not be negative: " + maxEntries);
+    }
+
+    if (maxDiskSize < MIN_SEGMENT_SIZE) {
+      throw new IllegalArgumentException("Max disk size is too small: " + maxDiskSize);
+    }
+
+    final var segmentSize =
+        Math.max(MIN_SEGMENT_SIZE, Math.min(MAX_SEGMENT_SIZE, maxDiskSize / SEGMENTS));
+    final var maxSegments = (int) Math.max(1, maxDiskSize / segmentSize);
+
+    return new TranscriptionCache(
+        maxEntries, DiskResultStore.open(directory, (int) segmentSize, maxSegments));
+  }
+
+  /**
+   * Retrieves a cached result, from memory or else from disk.
+   *
+   * @param key the key of the transcription.
+   * @return the cached result, or null if the transcription is not cached.
+   */
+  public synchronized @Nullable TranscriptionResult get(final TranscriptionKey key) {
+    ensureNotClosed();
+
+    var result = entries.get(key);
+
+    if (result == null && diskStore != null) {
+      result = diskStore.get(key);
+
+      if (result != null) {
+        entries.put(key, result);
+      }
+    }
+
+    if (result == null) {
+      misses++;
+    } else {
+      hits++;
+    }
+
+    return result;
+  }
+
+  /**
+   * Caches a result, in memory and on disk.
+   *
+   * @param key the key of the transcription.
+   * @param result the result of the transcription.
+   */
+  public synchronized void put(final TranscriptionKey key, final TranscriptionResult result) {
+    ensureNotClosed();
+
+    entries.put(key, result);
+
+    if (diskStore != null) {
+      try {
+        diskStore.put(key, result);
+      } catch (IOException e) {
+        LOGGER.warn("Cannot store the result on disk", e);
+      }
+    }
+  }
+
+  /**
+   * Retrieves a cached result, or runs and caches the transcription on a miss. The transcription
+   * runs outside of the lock of the cache, so concurrent misses of the same key may both run it.
+   *
+   * @param key the key of the transcription.
+   * @param transcription the transcription run on a miss, typically {@code () ->
+   *     jwhisper.transcribe(samples)}.
+   * @return the cached or transcribed result.
+   */
+  public TranscriptionResult transcribe(
+      final TranscriptionKey key, final Supplier<TranscriptionResult> transcription) {
+    final var cached = get(key);
+
+    if (cached != null) {
+      return cached;
+    }
+
+    final var result = transcription.get();
+    put(key, result);
+
+    return result;
+  }
+
+  /**
+   * Retrieves the amount of lookups answered by the cache.
+   *
+   * @return the amount of hits.
+   */
+  public synchronized long hits() {
+    return hits;
+  }
+
+  /**
+   * Retrieves the amount of lookups not answered by the cache.
+   *
+   * @return the amount of misses.
+   */
+  public synchronized long misses() {
+    return misses;
+  }
+
+  /** Clears the in-memory tier and flushes the on-disk tier. */
+  @Override
+  public synchronized void close() {
+    if (!isClosed) {
+      isClosed = true;
+      entries.clear();
+
+      if (diskStore != null) {
+        diskStore.close();
+      }
+    }
+  }
+
+  private void ensureNotClosed() {
+    if (isClosed) {
+      throw new IllegalStateException("Resource is already closed.");
+    }
+  }
+}
@@ -0,0 +1,101 @@
+package io.github.antoniomayk.jwhisper.cache;
+
+import io.github.antoniomayk.jwhisper.JwhisperParams;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Identity of a transcription in a {@link TranscriptionCache}: a 64 bits XXH64 hash of the audio
+ * samples, and a 64 bits hash of the model and of the decoding params that change the output of
+ * the transcription, which leaves out the number of threads.
+ *
+ * <p>The hashes are stable across runs, so that keys stay valid in the on-disk tier of the cache.
+ *
+ * @param audioHash the XXH64 hash of the little-endian bytes of the samples.
+ * @param configHash the hash of the model identity and decoding params.
+ * @author Antonio Mayk
+ * @since 0.1
+ */
+public record TranscriptionKey(long audioHash, long configHash) {
+  private static final long FNV_OFFSET_BASIS = 0xCBF29CE484222325L;
+  private static final long FNV_PRIME = 0x100000001B3L;
+
+  /**
+   * Creates the key of a transcription.
+   *
+   * @param samples the transcribed audio samples.
+   * @param modelId the identity of the model, see {@link #modelId(Path)}.
+   * @param params the decoding params of the transcription.
+   * @return the key of the transcription.
+   */
+  public static TranscriptionKey of(
+      final float[] samples, final String modelId, final JwhisperParams params) {
+    return of(samples, 0, samples.length, modelId, params);
+  }
+
+  /**
+   * Creates the key of the transcription of a range of samples.
+   *
+   * @param samples the transcribed audio samples.
+   * @param offset index of the first transcribed sample.
+   * @param length amount of transcribed samples.
+   * @param modelId the identity of the model, see {@link #modelId(Path)}.
+   * @param params the decoding params of the transcription.
+   * @return the key of the transcription.
+   */
+  public static TranscriptionKey of(
+      final float[] samples,
+      final int offset,
+      final int length,
+      final String modelId,
+      final JwhisperParams params) {
+    if (offset < 0 || length < 0 || length > samples.length - offset) {
+      throw new IndexOutOfBoundsException("Invalid range: " + offset + ", " + length);
+    }
+
+    final var config = config(modelId, params).getBytes(StandardCharsets.UTF_8);
+    var configHash = FNV_OFFSET_BASIS;
+
+    for (final var b : config) {
+      configHash = (configHash ^ (b & 0xFF)) * FNV_PRIME;
+    }
+
+    return new TranscriptionKey(Xxh64.hash(samples, offset, length, 0), configHash);
+  }
+
+  // Every field that changes the transcription, in a fixed order. The number of threads only
+  // changes the speed, so the same result is shared across thread counts.
+  private static String config(final String modelId, final JwhisperParams params) {
+    return String.join(
+        "\n",
+        modelId,
+        params.strategy().name(),
+        String.valueOf(params.beamSize()),
+        String.valueOf(params.bestOf()),
+        String.valueOf(params.audioCtx()),
+        String.valueOf(params.noContext()),
+        String.valueOf(params.singleSegment()),
+        String.valueOf(params.maxLen()),
+        String.valueOf(params.temperatureInc()),
+        String.valueOf(params.language()),
+        String.valueOf(params.tokenTimestamps()));
+  }
+
+  /**
+   * Derives the identity of a model from its file name, size and modification time, without
+   * reading its content.
+   *
+   * @param ggmlModel the path to the GGML model file.
+   * @return the identity of the model.
+   * @throws IOException if the attributes of the model file cannot be read.
+   */
+  public static String modelId(final Path ggmlModel) throws IOException {
+    return ggmlModel.getFileName()
+        + ":"
+        + Files.size(ggmlModel)
+        + ":"
+        + Files.getLastModifiedTime(ggmlModel).toMillis();
+  }
+}
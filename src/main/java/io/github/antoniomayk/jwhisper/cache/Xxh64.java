@@ -0,0 +1,83 @@
+package io.github.antoniomayk.jwhisper.cache;
+
+/**
+ * XXH64 hash of PCMF32 samples, computed over the little-endian bytes of the samples without
+ * copying them.
+ *
+ * @author Antonio Mayk
+ * @since 0.1
+ */
+final class Xxh64 {
+  private static final long PRIME_1 = 0x9E3779B185EBCA87L;
+  private static final long PRIME_2 = 0xC2B2AE3D27D4EB4FL;
+  private static final long PRIME_3 = 0x165667B19E3779F9L;
+  private static final long PRIME_4 = 0x85EBCA77C2B2AE63L;
+  private static final long PRIME_5 = 0x27D4EB2F165667C5L;
+
+  private Xxh64() {}
+
+  static long hash(final float[] samples, final int offset, final int length, final long seed) {
+    final var end = offset + length;
+    var index = offset;
+    long hash;
+
+    if (length >= 8) {
+      var v1 = seed + PRIME_1 + PRIME_2;
+      var v2 = seed + PRIME_2;
+      var v3 = seed;
+      var v4 = seed - PRIME_1;
+
+      for (; index <= end - 8; index += 8) {
+        v1 = round(v1, lane(samples, index));
+        v2 = round(v2, lane(samples, index + 2));
+        v3 = round(v3, lane(samples, index + 4));
+        v4 = round(v4, lane(samples, index + 6));
+      }
+
+      hash =
+          Long.rotateLeft(v1, 1)
+              + Long.rotateLeft(v2, 7)
+              + Long.rotateLeft(v3, 12)
+              + Long.rotateLeft(v4, 18);
+      hash = mergeRound(hash, v1);
+      hash = mergeRound(hash, v2);
+      hash = mergeRound(hash, v3);
+      hash = mergeRound(hash, v4);
+    } else {
+      hash = seed + PRIME_5;
+    }
+
+    hash += (long) length * Float.BYTES;
+
+    for (; index <= end - 2; index += 2) {
+      hash ^= round(0, lane(samples, index));
+      hash = Long.rotateLeft(hash, 27) * PRIME_1 + PRIME_4;
+    }
+
+    if (index < end) {
+      hash ^= (Float.floatToRawIntBits(samples[index]) & 0xFFFFFFFFL) * PRIME_1;
+      hash = Long.rotateLeft(hash, 23) * PRIME_2 + PRIME_3;
+    }
+
+    hash ^= hash >>> 33;
+    hash *= PRIME_2;
+    hash ^= hash >>> 29;
+    hash *= PRIME_3;
+    hash ^= hash >>> 32;
+
+    return hash;
+  }
+
+  private static long lane(final float[] samples, final int index) {
+    return (Float.floatToRawIntBits(samples[index]) & 0xFFFFFFFFL)
+        | (long) Float.floatToRawIntBits(samples[index + 1]) << 32;
+  }
+
+  private static long round(final long accumulator, final long input) {
+    return Long.rotateLeft(accumulator + input * PRIME_2, 31) * PRIME_1;
+  }
+
+  private static long mergeRound(final long hash, final long accumulator) {
+    return (hash ^ round(0, accumulator)) * PRIME_1 + PRIME_4;
+  }
+}
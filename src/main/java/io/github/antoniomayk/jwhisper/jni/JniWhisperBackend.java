@@ -0,0 +1,74 @@
+package io.github.antoniomayk.jwhisper.jni;
+
+import io.github.antoniomayk.jwhisper.TranscriptionResult;
+import java.nio.FloatBuffer;
+import org.jspecify.annotations.Nullable;
+
+/**
+ * Backend calling the {@link WhisperCpp} natives.
+ *
+ * @author Antonio Mayk
+ * @since 0.1
+ */
+final class JniWhisperBackend implements WhisperBackend {
+  @Override
+  public String name() {
+    return "jni";
+  }
+
+  @Override
+  public void whisperFull(
+      final WhisperContext ctx,
+      final WhisperFullParams params,
+      final float[] samples,
+      final int samplesSize) {
+    WhisperCpp.whisperFull(ctx, params, samples, samplesSize);
+  }
+
+  @Override
+  public void whisperFullDirect(
+      final WhisperContext ctx,
+      final WhisperFullParams params,
+      final FloatBuffer samples,
+      final int samplesOffset,
+      final int samplesSize) {
+    WhisperCpp.whisperFullDirect(ctx, params, samples, samplesOffset, samplesSize);
+  }
+
+  @Override
+  public void whisperFullWithState(
+      final WhisperContext ctx,
+      final WhisperState state,
+      final WhisperFullParams params,
+      final float[] samples,
+      final int samplesSize) {
+    WhisperCpp.whisperFullWithState(ctx, state, params, samples, samplesSize);
+  }
+
+  @Override
+  public void whisperFullWithStateDirect(
+      final WhisperContext ctx,
+      final WhisperState state,
+      final WhisperFullParams params,
+      final FloatBuffer samples,
+      final int samplesOffset,
+      final int samplesSize) {
+    WhisperCpp.whisperFullWithStateDirect(ctx, state, params, samples, samplesOffset, samplesSize);
+  }
+
+  @Override
+  public int whisperFullNumberOfSegments(final WhisperContext ctx) {
+    return WhisperCpp.whisperFullNumberOfSegments(ctx);
+  }
+
+  @Override
+  public int whisperFullNumberOfSegmentsFromState(final WhisperState state) {
+    return WhisperCpp.whisperFullNumberOfSegmentsFromState(state);
+  }
+
+  @Override
+  public TranscriptionResult whisperFullGetSegments(
+      final WhisperContext ctx, final @Nullable WhisperState state) {
+    return WhisperCpp.whisperFullGetSegments(ctx, state);
+  }
+}
@@ -0,0 +1,13 @@
+package io.github.antoniomayk.jwhisper.jni;
+
+/**
+ * Represents a native flag polled by the <b>abort_callback</b> of whisper_full_params.
+ *
+ * @author Antonio Mayk
+ * @since 0.1
+ */
+public class WhisperAbortFlag extends Cpointer {
+  public WhisperAbortFlag(long pointer) {
+    super(pointer);
+  }
+}
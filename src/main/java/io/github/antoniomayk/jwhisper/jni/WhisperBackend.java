@@ -0,0 +1,137 @@
+package io.github.antoniomayk.jwhisper.jni;
+
+import io.github.antoniomayk.jwhisper.TranscriptionResult;
+import io.github.antoniomayk.jwhisper.exceptions.WhisperFullException;
+import java.nio.FloatBuffer;
+import org.jspecify.annotations.Nullable;
+
+/**
+ * Binding of the calls made by every transcription: <b>whisper_full</b> and the retrieval of its
+ * segments. Contexts, states and params are still created and configured through {@link
+ * WhisperCpp}, and are shared by every backend.
+ *
+ * <p>The backend is chosen once, with the <b>jwhisper.backend</b> system property:
+ *
+ * <ul>
+ *   <li><b>jni</b>, the default: the {@link WhisperCpp} natives.
+ *   <li><b>ffm</b>: <b>java.lang.foreign</b> downcalls straight into whisper.h, which read direct
+ *       buffers in place without any JNI wrapper lookup. It needs JDK 22 or later, and the JVM
+ *       should be started with {@code --enable-native-access=ALL-UNNAMED}. On older JDKs, the JNI
+ *       backend is used instead. Params carrying a new segment callback are always run through
+ *       the JNI natives.
+ * </ul>
+ *
+ * <p>NOTE: This is an internal interface of Jwhisper, not meant to be implemented by users.
+ *
+ * @author Antonio Mayk
+ * @since 0.1
+ */
+public interface WhisperBackend {
+  /**
+   * Retrieves the backend selected by the <b>jwhisper.backend</b> system property.
+   *
+   * @return the backend in use.
+   */
+  static WhisperBackend current() {
+    return WhisperBackends.CURRENT;
+  }
+
+  /**
+   * Retrieves the name of the backend, as given to the <b>jwhisper.backend</b> system property.
+   *
+   * @return the backend name.
+   */
+  String name();
+
+  /**
+   * Same as {@link WhisperCpp#whisperFull(WhisperContext, WhisperFullParams, float[], int)}.
+   *
+   * @param ctx whisper_context pointer
+   * @param params whisper_full_params pointer
+   * @param samples audio samples
+   * @param samplesSize amount of samples
+   * @throws WhisperFullException if whisper_full fails
+   */
+  void whisperFull(WhisperContext ctx, WhisperFullParams params, float[] samples, int samplesSize);
+
+  /**
+   * Same as {@link WhisperCpp#whisperFullDirect(WhisperContext, WhisperFullParams, FloatBuffer,
+   * int, int)}.
+   *
+   * @param ctx whisper_context pointer
+   * @param params whisper_full_params pointer
+   * @param samples direct buffer of audio samples, in native byte order
+   * @param samplesOffset index of the first sample in the buffer
+   * @param samplesSize amount of samples
+   * @throws WhisperFullException if whisper_full fails
+   */
+  void whisperFullDirect(
+      WhisperContext ctx,
+      WhisperFullParams params,
+      FloatBuffer samples,
+      int samplesOffset,
+      int samplesSize);
+
+  /**
+   * Same as {@link WhisperCpp#whisperFullWithState(WhisperContext, WhisperState,
+   * WhisperFullParams, float[], int)}.
+   *
+   * @param ctx whisper_context pointer
+   * @param state whisper_state pointer
+   * @param params whisper_full_params pointer
+   * @param samples audio samples
+   * @param samplesSize amount of samples
+   * @throws WhisperFullException if whisper_full_with_state fails
+   */
+  void whisperFullWithState(
+      WhisperContext ctx,
+      WhisperState state,
+      WhisperFullParams params,
+      float[] samples,
+      int samplesSize);
+
+  /**
+   * Same as {@link WhisperCpp#whisperFullWithStateDirect(WhisperContext, WhisperState,
+   * WhisperFullParams, FloatBuffer, int, int)}.
+   *
+   * @param ctx whisper_context pointer
+   * @param state whisper_state pointer
+   * @param params whisper_full_params pointer
+   * @param samples direct buffer of audio samples, in native byte order
+   * @param samplesOffset index of the first sample in the buffer
+   * @param samplesSize amount of samples
+   * @throws WhisperFullException if whisper_full_with_state fails
+   */
+  void whisperFullWithStateDirect(
+      WhisperContext ctx,
+      WhisperState state,
+      WhisperFullParams params,
+      FloatBuffer samples,
+      int samplesOffset,
+      int samplesSize);
+
+  /**
+   * Same as {@link WhisperCpp#whisperFullNumberOfSegments(WhisperContext)}.
+   *
+   * @param ctx whisper_context pointer
+   * @return the number of segments
+   */
+  int whisperFullNumberOfSegments(WhisperContext ctx);
+
+  /**
+   * Same as {@link WhisperCpp#whisperFullNumberOfSegmentsFromState(WhisperState)}.
+   *
+   * @param state whisper_state pointer
+   * @return the number of segments
+   */
+  int whisperFullNumberOfSegmentsFromState(WhisperState state);
+
+  /**
+   * Same as {@link WhisperCpp#whisperFullGetSegments(WhisperContext, WhisperState)}.
+   *
+   * @param ctx whisper_context pointer
+   * @param state whisper_state pointer, or null to read from the context
+   * @return every segment of the last transcription
+   */
+  TranscriptionResult whisperFullGetSegments(WhisperContext ctx, @Nullable WhisperState state);
+}
@@ -0,0 +1,50 @@
+package io.github.antoniomayk.jwhisper.jni;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Selection of the {@link WhisperBackend} in use.
+ *
+ * <p>The FFM backend is compiled for JDK 22 from <b>src/main/java22</b>, only when the build runs
+ * on JDK 22 or later, so it is loaded reflectively and may be missing.
+ *
+ * @author Antonio Mayk
+ * @since 0.1
+ */
+final class WhisperBackends {
+  private static final Logger LOGGER = LoggerFactory.getLogger(WhisperBackends.class);
+  private static final String FFM_BACKEND =
+      WhisperBackends.class.getPackageName() + ".FfmWhisperBackend";
+  private static final int FFM_FEATURE = 22;
+
+  static final WhisperBackend CURRENT = load(System.getProperty("jwhisper.backend", "jni"));
+
+  private WhisperBackends() {}
+
+  static WhisperBackend load(final String name) {
+    if ("ffm".equals(name)) {
+      if (Runtime.version().feature() >= FFM_FEATURE) {
+        try {
+          final var backend =
+              Class.forName(FFM_BACKEND)
+                  .asSubclass(WhisperBackend.class)
+                  .getDeclaredConstructor()
+                  .newInstance();
+
+          LOGGER.debug("Using the FFM backend");
+
+          return backend;
+        } catch (ReflectiveOperationException | LinkageError | RuntimeException e) {
+          LOGGER.warn("FFM backend is unavailable, using the JNI one", e);
+        }
+      } else {
+        LOGGER.warn("FFM backend needs JDK {} or later, using the JNI one", FFM_FEATURE);
+      }
+    } else if (!"jni".equals(name)) {
+      throw new IllegalArgumentException("Unknown backend: " + name);
+    }
+
+    return new JniWhisperBackend();
+  }
+}
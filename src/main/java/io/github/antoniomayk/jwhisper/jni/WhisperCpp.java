@@ -1,8 +1,13 @@
 package io.github.antoniomayk.jwhisper.jni;
 
+import io.github.antoniomayk.jwhisper.TranscriptionResult;
+import io.github.antoniomayk.jwhisper.TranscriptionTokens;
 import io.github.antoniomayk.jwhisper.exceptions.WhisperFullException;
 import io.github.antoniomayk.jwhisper.utils.LibraryUtils;
 import io.github.antoniomayk.jwhisper.utils.ResourceLoaderUtils;
+import java.nio.ByteBuffer;
+import java.nio.FloatBuffer;
+import org.jspecify.annotations.Nullable;
 
 /**
  * JNI class for mapping the <b>whisper.h</b> header file.
@@ -12,8 +17,8 @@ import io.github.antoniomayk.jwhisper.utils.ResourceLoaderUtils;
  */
 public class WhisperCpp {
   static {
-    final var resourcePath = LibraryUtils.getLibraryResourcePath("jwhisper");
-    ResourceLoaderUtils.loadLibrary(WhisperCpp.class, resourcePath);
+    final var resourcePaths = LibraryUtils.getLibraryResourcePaths("jwhisper");
+    ResourceLoaderUtils.loadLibrary(WhisperCpp.class, resourcePaths);
   }
 
   private WhisperCpp() {}
@@ -37,6 +42,121 @@ public class WhisperCpp {
   public static native WhisperContext whisperInitFromFileWithParams(
       String pathModel, WhisperContextParams params);
 
+  /**
+   * Function for loading a ggml whisper model without allocating the decoding state. The state
+   * must be created with whisper_init_state and is required by the *_with_state functions. Return
+   * NULL on failure.
+   *
+   * <p>From <b>whisper.h</b>
+   *
+   * <pre>
+   * struct whisper_context *
+   * whisper_init_from_file_with_params_no_state(const char *path_model,
+   *                                             struct whisper_context_params params);
+   * </pre>
+   *
+   * @param pathModel model file path
+   * @param params whisper_context_params pointer
+   * @return a reference pointer to whisper_context
+   */
+  public static native WhisperContext whisperInitFromFileWithParamsNoState(
+      String pathModel, WhisperContextParams params);
+
+  /**
+   * Function for loading a ggml whisper model from a memory buffer. The buffer is only read
+   * during the call: the weights are copied to the backend buffers. Return NULL on failure.
+   *
+   * <p>From <b>whisper.h</b>
+   *
+   * <pre>
+   * struct whisper_context *
+   * whisper_init_from_buffer_with_params(void *buffer, size_t buffer_size,
+   *                                      struct whisper_context_params params);
+   * </pre>
+   *
+   * @param buffer direct buffer holding the model file
+   * @param offset index of the first byte of the model in the buffer
+   * @param size size of the model in bytes
+   * @param params whisper_context_params pointer
+   * @return a reference pointer to whisper_context
+   */
+  public static native WhisperContext whisperInitFromBufferWithParams(
+      ByteBuffer buffer, int offset, int size, WhisperContextParams params);
+
+  /**
+   * Function for loading a ggml whisper model from a memory buffer without allocating the decoding
+   * state. Return NULL on failure.
+   *
+   * <p>From <b>whisper.h</b>
+   *
+   * <pre>
+   * struct whisper_context *
+   * whisper_init_from_buffer_with_params_no_state(void *buffer, size_t buffer_size,
+   *                                               struct whisper_context_params params);
+   * </pre>
+   *
+   * @param buffer direct buffer holding the model file
+   * @param offset index of the first byte of the model in the buffer
+   * @param size size of the model in bytes
+   * @param params whisper_context_params pointer
+   * @return a reference pointer to whisper_context
+   */
+  public static native WhisperContext whisperInitFromBufferWithParamsNoState(
+      ByteBuffer buffer, int offset, int size, WhisperContextParams params);
+
+  /**
+   * Function for loading a ggml whisper model from a memory-mapped file. The mapping is read by a
+   * <b>whisper_model_loader</b> with 64-bit offsets, so the model may be larger than 2 GiB, and is
+   * released once the weights are copied to the backend buffers. Return NULL on failure.
+   *
+   * <p>From <b>whisper.h</b>
+   *
+   * <pre>
+   * struct whisper_context *
+   * whisper_init_with_params(struct whisper_model_loader *loader,
+   *                          struct whisper_context_params params);
+   * </pre>
+   *
+   * @param pathModel path to the model file
+   * @param params whisper_context_params pointer
+   * @return a reference pointer to whisper_context
+   */
+  public static native WhisperContext whisperInitFromMappedFileWithParams(
+      String pathModel, WhisperContextParams params);
+
+  /**
+   * Function for loading a ggml whisper model from a memory-mapped file without allocating the
+   * decoding state. Return NULL on failure.
+   *
+   * <p>From <b>whisper.h</b>
+   *
+   * <pre>
+   * struct whisper_context *
+   * whisper_init_with_params_no_state(struct whisper_model_loader *loader,
+   *                                   struct whisper_context_params params);
+   * </pre>
+   *
+   * @param pathModel path to the model file
+   * @param params whisper_context_params pointer
+   * @return a reference pointer to whisper_context
+   */
+  public static native WhisperContext whisperInitFromMappedFileWithParamsNoState(
+      String pathModel, WhisperContextParams params);
+
+  /**
+   * Allocates a decoding state for the given context. Several states can share the same context.
+   *
+   * <p>From <b>whisper.h</b>
+   *
+   * <pre>
+   * struct whisper_state *whisper_init_state(struct whisper_context *ctx);
+   * </pre>
+   *
+   * @param ctx whisper_context pointer
+   * @return a reference pointer to whisper_state
+   */
+  public static native WhisperState whisperInitState(WhisperContext ctx);
+
   /**
    * Frees all allocated memory.
    *
@@ -50,6 +170,19 @@ public class WhisperCpp {
    */
   public static native void whisperFree(WhisperContext ctx);
 
+  /**
+   * Frees all allocated memory.
+   *
+   * <p>From <b>whisper.h</b>
+   *
+   * <pre>
+   * void whisper_free_state(struct whisper_state *state);
+   * </pre>
+   *
+   * @param state whisper_state pointer
+   */
+  public static native void whisperFreeState(WhisperState state);
+
   /**
    * Frees all allocated memory.
    *
@@ -107,6 +240,61 @@ public class WhisperCpp {
    */
   public static native WhisperFullParams whisperFullDefaultParamsByRef(int strategy);
 
+  /**
+   * Size of <b>whisper_full_params</b> in the loaded library, for foreign calls passing it by
+   * value.
+   *
+   * @return sizeof(struct whisper_full_params)
+   */
+  public static native int whisperFullParamsSize();
+
+  /**
+   * Sets the <b>use_gpu</b> field: offload the computation to the GPU backend, if any.
+   *
+   * @param params whisper_context_params pointer
+   * @param useGpu new field value
+   */
+  public static native void whisperContextParamsSetUseGpu(
+      WhisperContextParams params, boolean useGpu);
+
+  /**
+   * Sets the <b>flash_attn</b> field: use flash attention kernels.
+   *
+   * @param params whisper_context_params pointer
+   * @param flashAttn new field value
+   */
+  public static native void whisperContextParamsSetFlashAttn(
+      WhisperContextParams params, boolean flashAttn);
+
+  /**
+   * Sets the <b>gpu_device</b> field: index of the GPU device used when use_gpu is set.
+   *
+   * @param params whisper_context_params pointer
+   * @param gpuDevice new field value
+   */
+  public static native void whisperContextParamsSetGpuDevice(
+      WhisperContextParams params, int gpuDevice);
+
+  /**
+   * Sets the <b>dtw_token_timestamps</b> field: compute token-level timestamps with Dynamic Time
+   * Warping on the cross-attention of the alignment heads.
+   *
+   * @param params whisper_context_params pointer
+   * @param dtwTokenTimestamps new field value
+   */
+  public static native void whisperContextParamsSetDtwTokenTimestamps(
+      WhisperContextParams params, boolean dtwTokenTimestamps);
+
+  /**
+   * Sets the <b>dtw_aheads_preset</b> field: the alignment heads used by DTW, a value of
+   * <b>whisper_alignment_heads_preset</b> matching the model.
+   *
+   * @param params whisper_context_params pointer
+   * @param dtwAheadsPreset new field value
+   */
+  public static native void whisperContextParamsSetDtwAheadsPreset(
+      WhisperContextParams params, int dtwAheadsPreset);
+
   /**
    * Run the entire model: PCM - log mel spectrogram - encoder - decoder - text Not thread safe for
    * same context. Uses the specified decoding strategy to obtain the text.
@@ -127,6 +315,85 @@ public class WhisperCpp {
       WhisperContext ctx, WhisperFullParams params, float[] samples, int samplesSize)
       throws WhisperFullException;
 
+  /**
+   * Same as {@link #whisperFull(WhisperContext, WhisperFullParams, float[], int)}, but reads the
+   * samples straight from the memory of a direct buffer, without copying them.
+   *
+   * <p>From <b>whisper.h</b>
+   *
+   * <pre>
+   * int whisper_full(struct whisper_context *ctx, struct whisper_full_params params,
+   *                  const float *samples, int n_samples);
+   * </pre>
+   *
+   * @param ctx whisper_context pointer
+   * @param params whisper_full_params pointer
+   * @param samples direct buffer of PCM32F audio wave in native byte order
+   * @param samplesOffset index of the first frame in the buffer
+   * @param samplesSize amount of frames in the audio wave
+   */
+  public static native void whisperFullDirect(
+      WhisperContext ctx,
+      WhisperFullParams params,
+      FloatBuffer samples,
+      int samplesOffset,
+      int samplesSize)
+      throws WhisperFullException;
+
+  /**
+   * Same as whisper_full, but stores the results in the given state instead of the context. Thread
+   * safe as long as each thread uses its own state.
+   *
+   * <p>From <b>whisper.h</b>
+   *
+   * <pre>
+   * int whisper_full_with_state(struct whisper_context *ctx, struct whisper_state *state,
+   *                             struct whisper_full_params params, const float *samples,
+   *                             int n_samples);
+   * </pre>
+   *
+   * @param ctx whisper_context pointer
+   * @param state whisper_state pointer
+   * @param params whisper_full_params pointer
+   * @param samples PCM32F audio wave array
+   * @param samplesSize amount of frames in the audio wave
+   */
+  public static native void whisperFullWithState(
+      WhisperContext ctx,
+      WhisperState state,
+      WhisperFullParams params,
+      float[] samples,
+      int samplesSize)
+      throws WhisperFullException;
+
+  /**
+   * Same as {@link #whisperFullWithState(WhisperContext, WhisperState, WhisperFullParams, float[],
+   * int)}, but reads the samples straight from the memory of a direct buffer, without copying them.
+   *
+   * <p>From <b>whisper.h</b>
+   *
+   * <pre>
+   * int whisper_full_with_state(struct whisper_context *ctx, struct whisper_state *state,
+   *                             struct whisper_full_params params, const float *samples,
+   *                             int n_samples);
+   * </pre>
+   *
+   * @param ctx whisper_context pointer
+   * @param state whisper_state pointer
+   * @param params whisper_full_params pointer
+   * @param samples direct buffer of PCM32F audio wave in native byte order
+   * @param samplesOffset index of the first frame in the buffer
+   * @param samplesSize amount of frames in the audio wave
+   */
+  public static native void whisperFullWithStateDirect(
+      WhisperContext ctx,
+      WhisperState state,
+      WhisperFullParams params,
+      FloatBuffer samples,
+      int samplesOffset,
+      int samplesSize)
+      throws WhisperFullException;
+
   /**
    * Number of generated text segments. A segment can be a few words, a sentence, or even a
    * paragraph.
@@ -187,4 +454,540 @@ public class WhisperCpp {
    * @return the segment end time
    */
   public static native long whisperFullGetSegmentT1(WhisperContext ctx, int segmentOffset);
+
+  /**
+   * Number of generated text segments stored in the given state.
+   *
+   * <p>From <b>whisper.h</b>
+   *
+   * <pre>
+   * int whisper_full_n_segments_from_state(struct whisper_state *state);
+   * </pre>
+   *
+   * @param state whisper_state pointer
+   * @return number of segmens
+   */
+  public static native int whisperFullNumberOfSegmentsFromState(WhisperState state);
+
+  /**
+   * Get the text of the specified segment stored in the given state.
+   *
+   * <p>From <b>whisper.h</b>
+   *
+   * <pre>
+   * const char *whisper_full_get_segment_text_from_state(struct whisper_state *state,
+   *                                                      int i_segment);
+   * </pre>
+   *
+   * @param state whisper_state pointer
+   * @param segmentOffset segment number
+   * @return the segment text
+   */
+  public static native String whisperFullGetSegmentTextFromState(
+      WhisperState state, int segmentOffset);
+
+  /**
+   * Get the start time of the specified segment stored in the given state.
+   *
+   * <p>From <b>whisper.h</b>
+   *
+   * <pre>
+   * int64_t whisper_full_get_segment_t0_from_state(struct whisper_state *state, int i_segment);
+   * </pre>
+   *
+   * @param state whisper_state pointer
+   * @param segmentOffset segment number
+   * @return the segment start time
+   */
+  public static native long whisperFullGetSegmentT0FromState(WhisperState state, int segmentOffset);
+
+  /**
+   * Get the end time of the specified segment stored in the given state.
+   *
+   * <p>From <b>whisper.h</b>
+   *
+   * <pre>
+   * int64_t whisper_full_get_segment_t1_from_state(struct whisper_state *state, int i_segment);
+   * </pre>
+   *
+   * @param state whisper_state pointer
+   * @param segmentOffset segment number
+   * @return the segment end time
+   */
+  public static native long whisperFullGetSegmentT1FromState(WhisperState state, int segmentOffset);
+
+  /**
+   * Get the text and the start and end times of every segment at once, from the given state or,
+   * when it is null, from the context. Equivalent to calling whisper_full_get_segment_text,
+   * whisper_full_get_segment_t0 and whisper_full_get_segment_t1 for each segment.
+   *
+   * <p>From <b>whisper.h</b>
+   *
+   * <pre>
+   * int whisper_full_n_segments(struct whisper_context *ctx);
+   * const char *whisper_full_get_segment_text(struct whisper_context *ctx, int i_segment);
+   * int64_t whisper_full_get_segment_t0(struct whisper_context * ctx, int i_segment);
+   * int64_t whisper_full_get_segment_t1(struct whisper_context * ctx, int i_segment);
+   * </pre>
+   *
+   * @param ctx whisper_context pointer
+   * @param state whisper_state pointer, or null to read from the context
+   * @return every segment of the last transcription
+   */
+  public static native TranscriptionResult whisperFullGetSegments(
+      WhisperContext ctx, @Nullable WhisperState state);
+
+  /**
+   * Copy the text and the start and end times of every segment into caller-owned arrays, from the
+   * given state or, when it is null, from the context. Unlike {@link #whisperFullGetSegments},
+   * nothing is allocated on the Java heap, so the arrays can be reused across transcriptions.
+   *
+   * <p>The timestamps and text offsets are always written. The text is written only when the whole
+   * of it fits: when the returned size exceeds the text array, the call must be repeated with a
+   * larger one.
+   *
+   * @param ctx whisper_context pointer
+   * @param state whisper_state pointer, or null to read from the context
+   * @param timestamps destination of the t0/t1 pairs, two entries per segment
+   * @param textOffsets destination of the start of each segment text, plus the text size
+   * @param text destination of the concatenated UTF-8 text of every segment
+   * @return the size of the text, in bytes
+   * @throws IllegalArgumentException if the timestamps or text offsets arrays are too small
+   */
+  public static native int whisperFullGetSegmentsInto(
+      WhisperContext ctx,
+      @Nullable WhisperState state,
+      long[] timestamps,
+      int[] textOffsets,
+      byte[] text);
+
+  /**
+   * Get the id, probability, timestamps and text of every token of every segment at once, from the
+   * given state or, when it is null, from the context. Equivalent to calling
+   * whisper_full_get_token_data and whisper_full_get_token_text for each token.
+   *
+   * <p>From <b>whisper.h</b>
+   *
+   * <pre>
+   * int whisper_full_n_tokens(struct whisper_context *ctx, int i_segment);
+   * whisper_token_data whisper_full_get_token_data(
+   *     struct whisper_context *ctx, int i_segment, int i_token);
+   * const char *whisper_full_get_token_text(
+   *     struct whisper_context *ctx, int i_segment, int i_token);
+   * </pre>
+   *
+   * @param ctx whisper_context pointer
+   * @param state whisper_state pointer, or null to read from the context
+   * @return every token of the last transcription
+   */
+  public static native TranscriptionTokens whisperFullGetTokens(
+      WhisperContext ctx, @Nullable WhisperState state);
+
+  /**
+   * Number of tokens of the specified segment.
+   *
+   * <p>From <b>whisper.h</b>
+   *
+   * <pre>
+   * int whisper_full_n_tokens(struct whisper_context *ctx, int i_segment);
+   * </pre>
+   *
+   * @param ctx whisper_context pointer
+   * @param segmentOffset segment number
+   * @return number of tokens
+   */
+  public static native int whisperFullNumberOfTokens(WhisperContext ctx, int segmentOffset);
+
+  /**
+   * Number of tokens of the specified segment stored in the given state.
+   *
+   * <p>From <b>whisper.h</b>
+   *
+   * <pre>
+   * int whisper_full_n_tokens_from_state(struct whisper_state *state, int i_segment);
+   * </pre>
+   *
+   * @param state whisper_state pointer
+   * @param segmentOffset segment number
+   * @return number of tokens
+   */
+  public static native int whisperFullNumberOfTokensFromState(
+      WhisperState state, int segmentOffset);
+
+  /**
+   * Get the token id of the specified token in the specified segment.
+   *
+   * <p>From <b>whisper.h</b>
+   *
+   * <pre>
+   * whisper_token whisper_full_get_token_id(struct whisper_context *ctx, int i_segment,
+   *                                         int i_token);
+   * </pre>
+   *
+   * @param ctx whisper_context pointer
+   * @param segmentOffset segment number
+   * @param tokenOffset token number
+   * @return the token id
+   */
+  public static native int whisperFullGetTokenId(
+      WhisperContext ctx, int segmentOffset, int tokenOffset);
+
+  /**
+   * Get the token id of the specified token in the specified segment stored in the given state.
+   *
+   * <p>From <b>whisper.h</b>
+   *
+   * <pre>
+   * whisper_token whisper_full_get_token_id_from_state(struct whisper_state *state,
+   *                                                    int i_segment, int i_token);
+   * </pre>
+   *
+   * @param state whisper_state pointer
+   * @param segmentOffset segment number
+   * @param tokenOffset token number
+   * @return the token id
+   */
+  public static native int whisperFullGetTokenIdFromState(
+      WhisperState state, int segmentOffset, int tokenOffset);
+
+  /**
+   * Sets the <b>no_context</b> field: do not use past transcription (if any) as initial prompt
+   * for the decoder.
+   *
+   * @param params whisper_full_params pointer
+   * @param noContext new field value
+   */
+  public static native void whisperFullParamsSetNoContext(
+      WhisperFullParams params, boolean noContext);
+
+  /**
+   * Sets the <b>single_segment</b> field: force single segment output (useful for streaming).
+   *
+   * @param params whisper_full_params pointer
+   * @param singleSegment new field value
+   */
+  public static native void whisperFullParamsSetSingleSegment(
+      WhisperFullParams params, boolean singleSegment);
+
+  /**
+   * Sets the <b>n_threads</b> field: number of threads used for the computation.
+   *
+   * @param params whisper_full_params pointer
+   * @param nThreads new field value
+   */
+  public static native void whisperFullParamsSetNThreads(WhisperFullParams params, int nThreads);
+
+  /**
+   * Sets the <b>beam_search.beam_size</b> field: number of beams of the beam search strategy.
+   *
+   * @param params whisper_full_params pointer
+   * @param beamSize new field value
+   */
+  public static native void whisperFullParamsSetBeamSize(WhisperFullParams params, int beamSize);
+
+  /**
+   * Sets the <b>greedy.best_of</b> field: number of candidates of the greedy strategy when
+   * sampling with a non-zero temperature.
+   *
+   * @param params whisper_full_params pointer
+   * @param bestOf new field value
+   */
+  public static native void whisperFullParamsSetBestOf(WhisperFullParams params, int bestOf);
+
+  /**
+   * Sets the <b>audio_ctx</b> field: overwrite the audio context size (0 = use default).
+   *
+   * @param params whisper_full_params pointer
+   * @param audioCtx new field value
+   */
+  public static native void whisperFullParamsSetAudioCtx(WhisperFullParams params, int audioCtx);
+
+  /**
+   * Sets the <b>max_len</b> field: max segment length in characters (0 = no limit).
+   *
+   * @param params whisper_full_params pointer
+   * @param maxLen new field value
+   */
+  public static native void whisperFullParamsSetMaxLen(WhisperFullParams params, int maxLen);
+
+  /**
+   * Sets the <b>token_timestamps</b> field: compute the t0/t1 timestamps of every token.
+   *
+   * @param params whisper_full_params pointer
+   * @param tokenTimestamps new field value
+   */
+  public static native void whisperFullParamsSetTokenTimestamps(
+      WhisperFullParams params, boolean tokenTimestamps);
+
+  /**
+   * Sets the <b>temperature_inc</b> field: temperature increase applied when decoding fails (0 =
+   * no fallback).
+   *
+   * @param params whisper_full_params pointer
+   * @param temperatureInc new field value
+   */
+  public static native void whisperFullParamsSetTemperatureInc(
+      WhisperFullParams params, float temperatureInc);
+
+  /**
+   * Sets the <b>language</b> field: spoken language, or "auto" for auto-detection. The field
+   * points to the static language table of whisper.cpp, so no string is retained.
+   *
+   * @param params whisper_full_params pointer
+   * @param language language code or name, such as "en" or "english", or "auto"
+   * @throws IllegalArgumentException if the language is unknown
+   */
+  public static native void whisperFullParamsSetLanguage(WhisperFullParams params, String language);
+
+  /**
+   * Sets the <b>prompt_tokens</b> and <b>prompt_n_tokens</b> fields: tokens to provide to the
+   * whisper decoder as initial prompt. The tokens are copied and released along with the params.
+   *
+   * @param params whisper_full_params pointer
+   * @param promptTokens token ids, empty to remove the prompt
+   */
+  public static native void whisperFullParamsSetPromptTokens(
+      WhisperFullParams params, int[] promptTokens);
+
+  /**
+   * Sets the <b>new_segment_callback</b> field. The callback is referenced until it is replaced
+   * or the params are freed. An exception thrown by the callback raises the abort flag of the
+   * params, if any, and is rethrown once whisper_full returns.
+   *
+   * @param params whisper_full_params pointer
+   * @param callback callback invoked for each new segment, null to remove it
+   */
+  public static native void whisperFullParamsSetNewSegmentCallback(
+      WhisperFullParams params, @Nullable WhisperNewSegmentCallback callback);
+
+  /**
+   * Tells whether the <b>new_segment_callback</b> field holds a callback set by {@link
+   * #whisperFullParamsSetNewSegmentCallback(WhisperFullParams, WhisperNewSegmentCallback)}. Such
+   * params must be run through these natives, which rethrow the exception of the callback.
+   *
+   * @param params whisper_full_params pointer
+   * @return true if a Java callback is set
+   */
+  public static native boolean whisperFullParamsHasNewSegmentCallback(WhisperFullParams params);
+
+  /**
+   * Allocates a cleared abort flag. It must be released with {@link
+   * #whisperAbortFlagFree(WhisperAbortFlag)}.
+   *
+   * @return a reference pointer to the abort flag
+   */
+  public static native WhisperAbortFlag whisperAbortFlagInit();
+
+  /**
+   * Frees the abort flag. It must not be referenced by any params anymore.
+   *
+   * @param flag abort flag pointer
+   */
+  public static native void whisperAbortFlagFree(WhisperAbortFlag flag);
+
+  /**
+   * Raises or clears the abort flag. Safe to call from any thread while whisper_full runs.
+   *
+   * @param flag abort flag pointer
+   * @param isAborted new flag value
+   */
+  public static native void whisperAbortFlagSet(WhisperAbortFlag flag, boolean isAborted);
+
+  /**
+   * Sets the <b>abort_callback</b> field to a callback polling the given flag: whisper_full stops
+   * computing and fails as soon as the flag is raised.
+   *
+   * @param params whisper_full_params pointer
+   * @param flag abort flag pointer, null to remove the callback
+   */
+  public static native void whisperFullParamsSetAbortFlag(
+      WhisperFullParams params, @Nullable WhisperAbortFlag flag);
+
+  /**
+   * Wraps the <b>whisper_get_timings</b> function: average timings of the runs of the default
+   * state of a context since the last reset, in milliseconds. Contexts initialized without state
+   * have no timings.
+   *
+   * @param context whisper_context pointer
+   * @param timings array of at least 5 elements receiving the sample, encode, decode, batch decode
+   *     and prompt timings, in that order
+   * @return false if the context has no default state, leaving the array untouched
+   */
+  public static native boolean whisperGetTimings(WhisperContext context, float[] timings);
+
+  /**
+   * Wraps the <b>whisper_reset_timings</b> function: clears the timings of the default state of a
+   * context.
+   *
+   * @param context whisper_context pointer
+   */
+  public static native void whisperResetTimings(WhisperContext context);
+
+  /**
+   * Converts RAW PCM audio to a log mel spectrogram, stored in the default state of the context.
+   *
+   * <p>From <b>whisper.h</b>
+   *
+   * <pre>
+   * int whisper_pcm_to_mel(struct whisper_context *ctx, const float *samples, int n_samples,
+   *                        int n_threads);
+   * </pre>
+   *
+   * @param ctx whisper_context pointer
+   * @param samples PCM32F audio wave array
+   * @param samplesSize amount of frames in the audio wave, copied from the start of samples
+   * @param nThreads amount of threads computing the spectrogram
+   * @throws IllegalArgumentException if samplesSize is negative or exceeds the samples length
+   */
+  public static native void whisperPcmToMel(
+      WhisperContext ctx, float[] samples, int samplesSize, int nThreads)
+      throws WhisperFullException;
+
+  /**
+   * Same as whisper_pcm_to_mel, but stores the spectrogram in the given state.
+   *
+   * <p>From <b>whisper.h</b>
+   *
+   * <pre>
+   * int whisper_pcm_to_mel_with_state(struct whisper_context *ctx, struct whisper_state *state,
+   *                                   const float *samples, int n_samples, int n_threads);
+   * </pre>
+   *
+   * @param ctx whisper_context pointer
+   * @param state whisper_state pointer
+   * @param samples PCM32F audio wave array
+   * @param samplesSize amount of frames in the audio wave, copied from the start of samples
+   * @param nThreads amount of threads computing the spectrogram
+   * @throws IllegalArgumentException if samplesSize is negative or exceeds the samples length
+   */
+  public static native void whisperPcmToMelWithState(
+      WhisperContext ctx, WhisperState state, float[] samples, int samplesSize, int nThreads)
+      throws WhisperFullException;
+
+  /**
+   * Runs the encoder on the log mel spectrogram of the default state of the context, starting at
+   * the given mel frame.
+   *
+   * <p>From <b>whisper.h</b>
+   *
+   * <pre>
+   * int whisper_encode(struct whisper_context *ctx, int offset, int n_threads);
+   * </pre>
+   *
+   * @param ctx whisper_context pointer
+   * @param offset index of the first mel frame, in 10 ms units
+   * @param nThreads amount of threads running the encoder
+   */
+  public static native void whisperEncode(WhisperContext ctx, int offset, int nThreads)
+      throws WhisperFullException;
+
+  /**
+   * Same as whisper_encode, but runs on the spectrogram of the given state.
+   *
+   * <p>From <b>whisper.h</b>
+   *
+   * <pre>
+   * int whisper_encode_with_state(struct whisper_context *ctx, struct whisper_state *state,
+   *                               int offset, int n_threads);
+   * </pre>
+   *
+   * @param ctx whisper_context pointer
+   * @param state whisper_state pointer
+   * @param offset index of the first mel frame, in 10 ms units
+   * @param nThreads amount of threads running the encoder
+   */
+  public static native void whisperEncodeWithState(
+      WhisperContext ctx, WhisperState state, int offset, int nThreads)
+      throws WhisperFullException;
+
+  /**
+   * Detects the spoken language from the log mel spectrogram of the default state of the
+   * context, by running the encoder on the 30 seconds window starting at the given offset and a
+   * single decoder step.
+   *
+   * <p>From <b>whisper.h</b>
+   *
+   * <pre>
+   * int whisper_lang_auto_detect(struct whisper_context *ctx, int offset_ms, int n_threads,
+   *                              float *lang_probs);
+   * </pre>
+   *
+   * @param ctx whisper_context pointer
+   * @param offsetMs start of the window, in milliseconds
+   * @param nThreads amount of threads running the encoder
+   * @param langProbs array of at least {@link #whisperLangMaxId()} + 1 elements receiving the
+   *     probability of every language, indexed by language id, or null
+   * @return the id of the most probable language
+   */
+  public static native int whisperLangAutoDetect(
+      WhisperContext ctx, int offsetMs, int nThreads, float @Nullable [] langProbs)
+      throws WhisperFullException;
+
+  /**
+   * Same as whisper_lang_auto_detect, but runs on the spectrogram of the given state.
+   *
+   * <p>From <b>whisper.h</b>
+   *
+   * <pre>
+   * int whisper_lang_auto_detect_with_state(struct whisper_context *ctx,
+   *                                         struct whisper_state *state, int offset_ms,
+   *                                         int n_threads, float *lang_probs);
+   * </pre>
+   *
+   * @param ctx whisper_context pointer
+   * @param state whisper_state pointer
+   * @param offsetMs start of the window, in milliseconds
+   * @param nThreads amount of threads running the encoder
+   * @param langProbs array of at least {@link #whisperLangMaxId()} + 1 elements receiving the
+   *     probability of every language, indexed by language id, or null
+   * @return the id of the most probable language
+   */
+  public static native int whisperLangAutoDetectWithState(
+      WhisperContext ctx,
+      WhisperState state,
+      int offsetMs,
+      int nThreads,
+      float @Nullable [] langProbs)
+      throws WhisperFullException;
+
+  /**
+   * Largest language id.
+   *
+   * <p>From <b>whisper.h</b>
+   *
+   * <pre>
+   * int whisper_lang_max_id(void);
+   * </pre>
+   *
+   * @return the largest language id
+   */
+  public static native int whisperLangMaxId();
+
+  /**
+   * Short code of a language, e.g. "de" for German.
+   *
+   * <p>From <b>whisper.h</b>
+   *
+   * <pre>
+   * const char *whisper_lang_str(int id);
+   * </pre>
+   *
+   * @param id the language id
+   * @return the language code, or null if the id is unknown
+   */
+  public static native @Nullable String whisperLangStr(int id);
+
+  /**
+   * Full name of a language, e.g. "german" for German.
+   *
+   * <p>From <b>whisper.h</b>
+   *
+   * <pre>
+   * const char *whisper_lang_str_full(int id);
+   * </pre>
+   *
+   * @param id the language id
+   * @return the language name, or null if the id is unknown
+   */
+  public static native @Nullable String whisperLangStrFull(int id);
 }
@@ -0,0 +1,26 @@
+package io.github.antoniomayk.jwhisper.jni;
+
+/**
+ * Callback invoked by <b>whisper_full</b> every time new segments are decoded.
+ *
+ * <p>From <b>whisper.h</b>
+ *
+ * <pre>
+ * typedef void (*whisper_new_segment_callback)(struct whisper_context *ctx,
+ *                                              struct whisper_state *state, int n_new,
+ *                                              void *user_data);
+ * </pre>
+ *
+ * @author Antonio Mayk
+ * @since 0.1
+ */
+@FunctionalInterface
+public interface WhisperNewSegmentCallback {
+  /**
+   * Called on the thread running <b>whisper_full</b>, right after the segments are added to the
+   * results. The last newSegments segments can be read from the context or state meanwhile.
+   *
+   * @param newSegments amount of segments decoded since the previous call.
+   */
+  void onNewSegment(int newSegments);
+}
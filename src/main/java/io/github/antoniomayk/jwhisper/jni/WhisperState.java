@@ -0,0 +1,13 @@
+package io.github.antoniomayk.jwhisper.jni;
+
+/**
+ * Represents a Whisper state, the mutable decoding data that can be detached from a context.
+ *
+ * @author Antonio Mayk
+ * @since 0.1
+ */
+public class WhisperState extends Cpointer {
+  public WhisperState(long pointer) {
+    super(pointer);
+  }
+}
@@ -0,0 +1,92 @@
+package io.github.antoniomayk.jwhisper.metrics;
+
+import java.time.Duration;
+
+/**
+ * Service provider interface receiving the measurements of Jwhisper: model and state
+ * initialization times, wait for a pooled instance, and every transcription. All methods do
+ * nothing by default, and are called on the thread that made the measurement, so implementations
+ * must be thread-safe and fast.
+ *
+ * <p>The implementation in use is the one passed to {@link #install(JwhisperMetrics)}, or else the
+ * first one found by {@link java.util.ServiceLoader} through a
+ * <b>META-INF/services/io.github.antoniomayk.jwhisper.metrics.JwhisperMetrics</b> entry, or else
+ * {@link #noop()}. For instance, a Micrometer adapter:
+ *
+ * <pre>{@code
+ * public final class MicrometerMetrics implements JwhisperMetrics {
+ *   private final MeterRegistry registry = Metrics.globalRegistry;
+ *
+ *   @Override
+ *   public void recordTranscription(final TranscriptionMetrics transcription) {
+ *     registry.timer("jwhisper.transcription").record(transcription.wallTime());
+ *     registry.summary("jwhisper.real.time.factor").record(transcription.realTimeFactor());
+ *     registry.summary("jwhisper.segments").record(transcription.segments());
+ *   }
+ *
+ *   @Override
+ *   public void recordQueueWait(final Duration waitTime) {
+ *     registry.timer("jwhisper.queue.wait").record(waitTime);
+ *   }
+ * }
+ * }</pre>
+ *
+ * @author Antonio Mayk
+ * @since 0.1
+ */
+public interface JwhisperMetrics {
+  /**
+   * Retrieves the implementation recording nothing.
+   *
+   * @return the no-op metrics.
+   */
+  static JwhisperMetrics noop() {
+    return MetricsHolder.NOOP;
+  }
+
+  /**
+   * Retrieves the implementation in use.
+   *
+   * @return the installed metrics, the one loaded as a service, or {@link #noop()}.
+   */
+  static JwhisperMetrics current() {
+    return MetricsHolder.metrics;
+  }
+
+  /**
+   * Replaces the implementation in use, for the whole JVM.
+   *
+   * @param metrics the metrics receiving the next measurements.
+   */
+  static void install(final JwhisperMetrics metrics) {
+    MetricsHolder.metrics = metrics;
+  }
+
+  /**
+   * Records the time taken to load a model and initialize its context.
+   *
+   * @param loadTime the model load time.
+   */
+  default void recordModelLoad(final Duration loadTime) {}
+
+  /**
+   * Records the time taken to initialize a state over a shared model.
+   *
+   * @param initTime the state initialization time.
+   */
+  default void recordStateInit(final Duration initTime) {}
+
+  /**
+   * Records the time spent waiting for an idle instance of a pool.
+   *
+   * @param waitTime the time from the request to the lease of an instance.
+   */
+  default void recordQueueWait(final Duration waitTime) {}
+
+  /**
+   * Records a successful transcription.
+   *
+   * @param transcription the measurements of the transcription.
+   */
+  default void recordTranscription(final TranscriptionMetrics transcription) {}
+}
@@ -0,0 +1,18 @@
+package io.github.antoniomayk.jwhisper.metrics;
+
+import java.util.ServiceLoader;
+
+/**
+ * Holder of the {@link JwhisperMetrics} in use, loaded on first access.
+ *
+ * @author Antonio Mayk
+ * @since 0.1
+ */
+final class MetricsHolder {
+  static final JwhisperMetrics NOOP = new JwhisperMetrics() {};
+
+  static volatile JwhisperMetrics metrics =
+      ServiceLoader.load(JwhisperMetrics.class).findFirst().orElse(NOOP);
+
+  private MetricsHolder() {}
+}
@@ -0,0 +1,28 @@
+package io.github.antoniomayk.jwhisper.metrics;
+
+import java.time.Duration;
+import org.jspecify.annotations.Nullable;
+
+/**
+ * Measurements of a single transcription.
+ *
+ * @param audioDuration the duration of the processed audio.
+ * @param wallTime the time spent in whisper_full.
+ * @param segments the number of segments generated.
+ * @param timings the internal timings of whisper.cpp, null for instances sharing a model, whose
+ *     states do not expose them.
+ * @author Antonio Mayk
+ * @since 0.1
+ */
+public record TranscriptionMetrics(
+    Duration audioDuration, Duration wallTime, int segments, @Nullable WhisperTimings timings) {
+
+  /**
+   * Computes the real-time factor of the transcription: below 1, it is faster than real time.
+   *
+   * @return the wall time divided by the audio duration, 0 for empty audio.
+   */
+  public double realTimeFactor() {
+    return audioDuration.isZero() ? 0 : (double) wallTime.toNanos() / audioDuration.toNanos();
+  }
+}
@@ -0,0 +1,16 @@
+package io.github.antoniomayk.jwhisper.metrics;
+
+/**
+ * Internal timings of whisper.cpp, as returned by <b>whisper_get_timings</b>. Each one is an
+ * average per operation over the last transcription, in milliseconds.
+ *
+ * @param sampleMs the time to sample a token.
+ * @param encodeMs the time of an encoder pass.
+ * @param decodeMs the time of a decoder pass.
+ * @param batchDecodeMs the time of a batched decoder pass.
+ * @param promptMs the time to process a prompt.
+ * @author Antonio Mayk
+ * @since 0.1
+ */
+public record WhisperTimings(
+    float sampleMs, float encodeMs, float decodeMs, float batchDecodeMs, float promptMs) {}
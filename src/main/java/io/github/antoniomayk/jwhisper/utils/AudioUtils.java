@@ -1,14 +1,25 @@
 package io.github.antoniomayk.jwhisper.utils;
 
+import io.github.antoniomayk.jwhisper.audio.PcmDecoder;
+import io.github.antoniomayk.jwhisper.audio.PcmS16MonoReader;
+import io.github.antoniomayk.jwhisper.audio.Resampler;
+import io.github.antoniomayk.jwhisper.audio.WavHeader;
 import java.io.IOException;
 import java.nio.ByteBuffer;
 import java.nio.ByteOrder;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
 import java.util.Objects;
 import javax.sound.sampled.AudioFormat;
 import javax.sound.sampled.AudioInputStream;
 import javax.sound.sampled.AudioSystem;
 import javax.sound.sampled.UnsupportedAudioFileException;
 import org.jspecify.annotations.NonNull;
+import org.jspecify.annotations.Nullable;
 
 /**
  * Utility class for basic audio conversions.
@@ -17,8 +28,7 @@ import org.jspecify.annotations.NonNull;
  * @since 0.1
  */
 public class AudioUtils {
-  private static final AudioFormat PCM_F32_MONO_FORMAT =
-      new AudioFormat(AudioFormat.Encoding.PCM_FLOAT, 16000, 32, 1, 4, 16000, false);
+  private static final int WHISPER_SAMPLE_RATE = 16000;
 
   private AudioUtils() {}
 
@@ -41,7 +51,8 @@ public class AudioUtils {
   /**
    * Converts a PCMS16 Mono stream to an array of PCMF32 Mono.
    *
-   * <p>NOTE: Use carefully since it will allocate all the sample data.
+   * <p>NOTE: Use carefully since it will allocate all the sample data. Prefer {@link
+   * PcmS16MonoReader} to convert long recordings chunk by chunk.
    *
    * @param pcmS16Stream audio input stream to be converted.
    * @return an array of PCM32F Mono.
@@ -54,19 +65,188 @@ public class AudioUtils {
       throw new UnsupportedAudioFileException("The file should consist of PCMS16 wav format.");
     }
 
-    final var pcmF32Stream = AudioSystem.getAudioInputStream(PCM_F32_MONO_FORMAT, pcmS16Stream);
-    final var pcmF32Bytes = pcmF32Stream.readAllBytes();
-    final var pcmF32ByteBuffer = ByteBuffer.wrap(pcmF32Bytes).order(ByteOrder.LITTLE_ENDIAN);
-    final var pcmF32Frames = pcmF32Bytes.length / 4;
-    final var pcmF32Array = new float[pcmF32Frames];
+    final var frameLength = pcmS16Stream.getFrameLength();
+    final var isFrameLengthKnown =
+        frameLength != AudioSystem.NOT_SPECIFIED && frameLength <= Integer.MAX_VALUE;
+
+    var pcmF32Array =
+        new float[isFrameLengthKnown ? (int) frameLength : PcmS16MonoReader.DEFAULT_CHUNK_FRAMES];
+    var frames = 0;
+
+    try (var reader = PcmS16MonoReader.of(Channels.newChannel(pcmS16Stream))) {
+      while (true) {
+        if (frames == pcmF32Array.length) {
+          if (isFrameLengthKnown) {
+            break;
+          }
+
+          pcmF32Array = Arrays.copyOf(pcmF32Array, pcmF32Array.length * 2);
+        }
 
-    for (var i = 0; i < pcmF32Frames; i++) {
-      pcmF32Array[i] = pcmF32ByteBuffer.getFloat();
+        final var read = reader.read(pcmF32Array, frames, pcmF32Array.length - frames);
+
+        if (read < 0) {
+          break;
+        }
+
+        frames += read;
+      }
     }
 
-    pcmF32Stream.close();
-    pcmS16Stream.close();
+    if (frames != pcmF32Array.length) {
+      pcmF32Array = Arrays.copyOf(pcmF32Array, frames);
+    }
 
     return pcmF32Array;
   }
+
+  /**
+   * Converts a PCMS16 Mono WAVE file to an array of PCMF32 Mono. The file is memory-mapped, so the
+   * only heap allocation is the returned array.
+   *
+   * @param wavFile WAVE file to be converted.
+   * @return an array of PCM32F Mono.
+   * @throws IOException if an I/O error occurs.
+   * @throws UnsupportedAudioFileException if the file does not match PCMS16 Mono format.
+   */
+  public static float[] convertPcmS16MonoToPcmF32Mono(@NonNull Path wavFile)
+      throws IOException, UnsupportedAudioFileException {
+    try (var reader = PcmS16MonoReader.open(wavFile)) {
+      final var pcmF32Array = new float[(int) reader.frameLength()];
+      var frames = 0;
+
+      while (frames < pcmF32Array.length) {
+        final var read = reader.read(pcmF32Array, frames, pcmF32Array.length - frames);
+
+        if (read < 0) {
+          break;
+        }
+
+        frames += read;
+      }
+
+      return frames == pcmF32Array.length ? pcmF32Array : Arrays.copyOf(pcmF32Array, frames);
+    }
+  }
+
+  /**
+   * Converts a stream of any integer or float PCM format to an array of PCMF32 Mono at 16 kHz, as
+   * expected by whisper. Channels are downmixed and the samples are resampled chunk by chunk, see
+   * {@link PcmDecoder} and {@link Resampler}.
+   *
+   * <p>NOTE: Use carefully since it will allocate all the sample data.
+   *
+   * @param audioStream audio input stream to be converted.
+   * @return an array of PCM32F Mono at 16 kHz.
+   * @throws IOException if an I/O error occurs.
+   * @throws UnsupportedAudioFileException if the encoding or the sample size is not supported.
+   */
+  public static float[] convertToPcmF32Mono(@NonNull AudioInputStream audioStream)
+      throws IOException, UnsupportedAudioFileException {
+    final var audioFormat = audioStream.getFormat();
+
+    if (isPcmS16Mono(audioFormat)) {
+      return convertPcmS16MonoToPcmF32Mono(audioStream);
+    }
+
+    final var decoder = PcmDecoder.of(audioFormat);
+    final var source =
+        ByteBuffer.allocate(PcmS16MonoReader.DEFAULT_CHUNK_FRAMES * decoder.frameSize());
+
+    try (var channel = Channels.newChannel(audioStream)) {
+      return convert(decoder, audioStream.getFrameLength(), source.flip(), channel);
+    }
+  }
+
+  /**
+   * Converts a WAVE file of any integer or float PCM format to an array of PCMF32 Mono at 16 kHz.
+   * The file is memory-mapped and converted chunk by chunk.
+   *
+   * @param wavFile WAVE file to be converted.
+   * @return an array of PCM32F Mono at 16 kHz.
+   * @throws IOException if an I/O error occurs.
+   * @throws UnsupportedAudioFileException if the format tag or the sample size is not supported.
+   */
+  public static float[] convertToPcmF32Mono(@NonNull Path wavFile)
+      throws IOException, UnsupportedAudioFileException {
+    final ByteBuffer data;
+    final WavHeader header;
+
+    try (var fileChannel = FileChannel.open(wavFile, StandardOpenOption.READ)) {
+      if (fileChannel.size() > Integer.MAX_VALUE) {
+        throw new UnsupportedAudioFileException("The file is too large to be mapped: " + wavFile);
+      }
+
+      final var mapped = fileChannel.map(FileChannel.MapMode.READ_ONLY, 0, fileChannel.size());
+
+      header = WavHeader.parse(mapped);
+      data =
+          mapped
+              .position((int) header.dataOffset())
+              .limit((int) (header.dataOffset() + header.dataSize()))
+              .slice()
+              .order(ByteOrder.LITTLE_ENDIAN);
+    }
+
+    if (header.isPcmS16Mono()) {
+      return convertPcmS16MonoToPcmF32Mono(wavFile);
+    }
+
+    final var decoder = PcmDecoder.of(header);
+
+    return convert(decoder, header.dataSize() / decoder.frameSize(), data, null);
+  }
+
+  private static float[] convert(
+      final PcmDecoder decoder,
+      final long frameLength,
+      final ByteBuffer source,
+      final @Nullable ReadableByteChannel channel)
+      throws IOException {
+    final var resampler = Resampler.newInstance(decoder.sampleRate(), WHISPER_SAMPLE_RATE);
+    final var decoded = new float[PcmS16MonoReader.DEFAULT_CHUNK_FRAMES];
+    final var isFrameLengthKnown =
+        frameLength != AudioSystem.NOT_SPECIFIED && frameLength < Integer.MAX_VALUE / 4;
+
+    var pcmF32Array =
+        new float[
+            isFrameLengthKnown
+                ? resampler.maxOutputFrames((int) frameLength)
+                : PcmS16MonoReader.DEFAULT_CHUNK_FRAMES];
+    var frames = 0;
+    var isEndOfStream = false;
+
+    while (true) {
+      if (channel != null && !isEndOfStream && source.remaining() < decoder.frameSize()) {
+        source.compact();
+        isEndOfStream = channel.read(source) < 0;
+        source.flip();
+      }
+
+      final var count = decoder.decode(source, decoded, 0, decoded.length);
+
+      if (count == 0) {
+        if (channel == null || isEndOfStream) {
+          break;
+        }
+
+        continue;
+      }
+
+      pcmF32Array = ensureCapacity(pcmF32Array, frames + resampler.maxOutputFrames(count));
+      frames += resampler.process(decoded, 0, count, pcmF32Array, frames);
+    }
+
+    pcmF32Array =
+        ensureCapacity(pcmF32Array, frames + resampler.maxOutputFrames(resampler.taps()));
+    frames += resampler.flush(pcmF32Array, frames);
+
+    return frames == pcmF32Array.length ? pcmF32Array : Arrays.copyOf(pcmF32Array, frames);
+  }
+
+  private static float[] ensureCapacity(final float[] array, final int capacity) {
+    return capacity <= array.length
+        ? array
+        : Arrays.copyOf(array, Math.max(capacity, array.length * 2));
+  }
 }
@@ -1,7 +1,15 @@
 package io.github.antoniomayk.jwhisper.utils;
 
 import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
 import java.util.Locale;
+import java.util.Set;
+import java.util.stream.Collectors;
 import org.jspecify.annotations.Nullable;
 
 /**
@@ -11,6 +19,12 @@ import org.jspecify.annotations.Nullable;
  * @since 0.1
  */
 public class LibraryUtils {
+  /** System property forcing the CPU variant of the native libraries, e.g. <b>generic</b>. */
+  public static final String VARIANT_PROPERTY = "jwhisper.variant";
+
+  private static final Set<String> AVX2_FLAGS = Set.of("avx", "avx2", "fma", "f16c");
+  private static final Set<String> AVX512_FLAGS =
+      Set.of("avx512f", "avx512cd", "avx512vl", "avx512dq", "avx512bw");
 
   private LibraryUtils() {
     // Private constructor to prevent instantiation
@@ -54,4 +68,107 @@ public class LibraryUtils {
 
     return String.join(File.separator, os + "_" + arch, libPrefix + libName + libExtension);
   }
+
+  /**
+   * Generates the resource paths of the CPU variants of a native library, best first, followed by
+   * the path of the library itself as a fallback. The variants are picked from the flags of the
+   * running CPU.
+   *
+   * @param libName The name of the library without any prefix or extension.
+   * @return the candidate resource paths, in loading order.
+   * @throws UnsupportedOperationException If the current operating system is not supported.
+   * @see #getLibraryResourcePaths(String, Set)
+   */
+  public static List<String> getLibraryResourcePaths(@Nullable String libName) {
+    return getLibraryResourcePaths(libName, getCpuFlags());
+  }
+
+  /**
+   * Generates the resource paths of the CPU variants of a native library, best first, followed by
+   * the path of the library itself as a fallback.
+   *
+   * <p>On x86-64, the <b>avx512</b> variant needs the AVX-512 F, CD, VL, DQ and BW extensions, and
+   * the <b>avx2</b> variant needs AVX, AVX2, FMA and F16C. The <b>generic</b> variant runs on any
+   * x86-64 CPU. Other architectures have no variant. The {@value #VARIANT_PROPERTY} system
+   * property overrides the detection.
+   *
+   * @param libName The name of the library without any prefix or extension.
+   * @param cpuFlags the flags of the CPU, as listed by <b>/proc/cpuinfo</b>.
+   * @return the candidate resource paths, in loading order.
+   * @throws UnsupportedOperationException If the current operating system is not supported.
+   */
+  public static List<String> getLibraryResourcePaths(
+      @Nullable String libName, final Set<String> cpuFlags) {
+    final var libPath = getLibraryResourcePath(libName);
+    final var paths = new ArrayList<String>();
+
+    for (final var variant : getLibraryVariants(cpuFlags)) {
+      paths.add(getLibraryResourcePath(libName + "-" + variant));
+    }
+
+    paths.add(libPath);
+
+    return List.copyOf(paths);
+  }
+
+  /**
+   * Retrieves the flags of the running CPU.
+   *
+   * @return the flags listed by <b>/proc/cpuinfo</b>, or an empty set when they are unknown.
+   */
+  public static Set<String> getCpuFlags() {
+    final var cpuInfo = Path.of("/proc/cpuinfo");
+
+    if (!Files.isReadable(cpuInfo)) {
+      return Set.of();
+    }
+
+    try (final var lines = Files.lines(cpuInfo)) {
+      return parseCpuFlags(lines.toList());
+    } catch (IOException | RuntimeException e) {
+      return Set.of();
+    }
+  }
+
+  static Set<String> parseCpuFlags(final List<String> cpuInfo) {
+    for (final var line : cpuInfo) {
+      final var separator = line.indexOf(':');
+
+      if (separator > 0 && line.substring(0, separator).trim().equals("flags")) {
+        return Arrays.stream(line.substring(separator + 1).trim().split("\\s+"))
+            .filter(flag -> !flag.isEmpty())
+            .collect(Collectors.toUnmodifiableSet());
+      }
+    }
+
+    return Set.of();
+  }
+
+  static List<String> getLibraryVariants(final Set<String> cpuFlags) {
+    final var forcedVariant = System.getProperty(VARIANT_PROPERTY);
+
+    if (forcedVariant != null && !forcedVariant.isEmpty()) {
+      return List.of(forcedVariant);
+    }
+
+    final var arch = System.getProperty("os.arch").toLowerCase(Locale.ROOT);
+
+    if (!arch.equals("amd64") && !arch.equals("x86_64")) {
+      return List.of();
+    }
+
+    final var variants = new ArrayList<String>();
+
+    if (cpuFlags.containsAll(AVX2_FLAGS)) {
+      if (cpuFlags.containsAll(AVX512_FLAGS)) {
+        variants.add("avx512");
+      }
+
+      variants.add("avx2");
+    }
+
+    variants.add("generic");
+
+    return List.copyOf(variants);
+  }
 }
@@ -1,7 +1,24 @@
 package io.github.antoniomayk.jwhisper.utils;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.net.JarURLConnection;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.channels.FileChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
 import java.util.MissingResourceException;
+import java.util.zip.CRC32;
+import java.util.zip.CheckedInputStream;
 import org.jspecify.annotations.NonNull;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 /**
  * Basic utility class to load resource files.
@@ -10,6 +27,13 @@ import org.jspecify.annotations.NonNull;
  * @since 0.1
  */
 public class ResourceLoaderUtils {
+  private static final Logger LOGGER = LoggerFactory.getLogger(ResourceLoaderUtils.class);
+
+  /** System property overriding the directory native libraries are extracted to. */
+  public static final String CACHE_PROPERTY = "jwhisper.library.cache";
+
+  private static final Object EXTRACTION_LOCK = new Object();
+
   private ResourceLoaderUtils() {}
 
   /**
@@ -35,12 +59,205 @@ public class ResourceLoaderUtils {
   /**
    * Loads the native library specified by the libPath argument in the resources folder.
    *
+   * <p>A library packaged in a JAR is extracted once to the library cache, see {@link
+   * #getLibraryCache()}, and reused by later loads, including from other processes.
+   *
    * @param clazz reference class to look for.
    * @param libPath library location.
+   * @throws MissingResourceException if the library is not found.
+   * @throws UncheckedIOException if the library cannot be extracted.
    */
   public static void loadLibrary(@NonNull final Class<?> clazz, @NonNull final String libPath) {
-    final var absolutePath = getResource(clazz, libPath);
+    final var resourceUrl = clazz.getClassLoader().getResource(libPath);
+
+    if (resourceUrl == null) {
+      throw new MissingResourceException(
+          "Resource not found '" + libPath + "'.", clazz.getName(), libPath);
+    }
+
+    final Path library;
+
+    try {
+      library =
+          "file".equals(resourceUrl.getProtocol())
+              ? Path.of(resourceUrl.toURI())
+              : extractLibrary(resourceUrl, getLibraryCache());
+    } catch (IOException e) {
+      throw new UncheckedIOException("Cannot extract library '" + libPath + "'.", e);
+    } catch (URISyntaxException e) {
+      throw new IllegalArgumentException("Invalid library location '" + resourceUrl + "'.", e);
+    }
+
+    System.load(library.toAbsolutePath().toString());
+  }
+
+  /**
+   * Retrieves the directory native libraries are extracted to: the {@value #CACHE_PROPERTY}
+   * system property if set, or <b>jwhisper</b> in the user cache directory.
+   *
+   * @return the library cache directory.
+   */
+  @NonNull
+  public static Path getLibraryCache() {
+    final var cache = System.getProperty(CACHE_PROPERTY);
+
+    if (cache != null && !cache.isEmpty()) {
+      return Path.of(cache);
+    }
+
+    final var xdgCache = System.getenv("XDG_CACHE_HOME");
+
+    if (xdgCache != null && !xdgCache.isEmpty()) {
+      return Path.of(xdgCache, "jwhisper");
+    }
+
+    return Path.of(System.getProperty("user.home"), ".cache", "jwhisper");
+  }
+
+  /**
+   * Extracts a library to a subdirectory of the cache named after the CRC-32 and size of its
+   * content, so that every build of the library gets its own file. Both are read from the JAR
+   * entry, without reading the library itself. An extracted library is only reused once its own
+   * CRC-32 matches, so that a modified or truncated file is extracted again.
+   *
+   * <p>Extractions are serialized by a lock file of the subdirectory, across threads and
+   * processes, and the library is written to a temporary file atomically renamed once complete:
+   * a library present in the cache is always whole.
+   */
+  static Path extractLibrary(final URL resourceUrl, final Path cache) throws IOException {
+    final var checksum = checksum(resourceUrl);
+    final var path = resourceUrl.getPath();
+    final var fileName = path.substring(path.lastIndexOf('/') + 1);
+    final var directory = cache.resolve(String.format("%08x-%d", checksum.crc(), checksum.size()));
+    final var library = directory.resolve(fileName);
+
+    if (isExtracted(library, checksum)) {
+      return library;
+    }
+
+    Files.createDirectories(directory);
+
+    synchronized (EXTRACTION_LOCK) {
+      try (final var lockChannel =
+              FileChannel.open(
+                  directory.resolve(".lock"), StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+          final var lock = lockChannel.lock()) {
+        if (isExtracted(library, checksum)) {
+          return library;
+        }
+
+        final var temporary = Files.createTempFile(directory, fileName, ".tmp");
+
+        try {
+          try (final var inputStream =
+              new CheckedInputStream(resourceUrl.openStream(), new CRC32())) {
+            final var size =
+                Files.copy(inputStream, temporary, StandardCopyOption.REPLACE_EXISTING);
+
+            if (!checksum.equals(new Checksum(size, inputStream.getChecksum().getValue()))) {
+              throw new IOException("Library changed while being extracted: " + resourceUrl);
+            }
+          }
 
-    System.load(absolutePath);
+          move(temporary, library);
+        } finally {
+          Files.deleteIfExists(temporary);
+        }
+      }
+    }
+
+    return library;
+  }
+
+  private static Checksum checksum(final URL resourceUrl) throws IOException {
+    final var connection = resourceUrl.openConnection();
+
+    if (connection instanceof JarURLConnection jarConnection) {
+      final var entry = jarConnection.getJarEntry();
+
+      if (entry != null && entry.getSize() >= 0 && entry.getCrc() >= 0) {
+        return new Checksum(entry.getSize(), entry.getCrc());
+      }
+    }
+
+    try (final var inputStream = new CheckedInputStream(connection.getInputStream(), new CRC32())) {
+      final var size = inputStream.transferTo(OutputStream.nullOutputStream());
+
+      return new Checksum(size, inputStream.getChecksum().getValue());
+    }
+  }
+
+  private static boolean isExtracted(final Path library, final Checksum checksum)
+      throws IOException {
+    if (!Files.isRegularFile(library) || Files.size(library) != checksum.size()) {
+      return false;
+    }
+
+    try (final var inputStream =
+        new CheckedInputStream(Files.newInputStream(library), new CRC32())) {
+      inputStream.transferTo(OutputStream.nullOutputStream());
+
+      if (inputStream.getChecksum().getValue() != checksum.crc()) {
+        LOGGER.warn("Library {} does not match its checksum, extracting it again", library);
+        return false;
+      }
+    }
+
+    return true;
+  }
+
+  private static void move(final Path source, final Path target) throws IOException {
+    try {
+      Files.move(source, target, StandardCopyOption.ATOMIC_MOVE);
+    } catch (AtomicMoveNotSupportedException e) {
+      Files.move(source, target, StandardCopyOption.REPLACE_EXISTING);
+    }
+  }
+
+  /**
+   * Loads the first native library of the libPaths argument found in the resources folder, for
+   * instance the best CPU variant of a library available. A library that cannot be linked, such
+   * as one depending on a shared library missing from the system, is skipped for the next one.
+   *
+   * @param clazz reference class to look for.
+   * @param libPaths candidate library locations, in loading order.
+   * @return the location of the loaded library.
+   * @throws MissingResourceException if none of the libraries is found.
+   * @throws UnsatisfiedLinkError if none of the libraries found can be linked, with the errors of
+   *     the other libraries suppressed.
+   */
+  @NonNull
+  public static String loadLibrary(
+      @NonNull final Class<?> clazz, @NonNull final List<String> libPaths) {
+    UnsatisfiedLinkError linkError = null;
+
+    for (final var libPath : libPaths) {
+      if (clazz.getClassLoader().getResource(libPath) == null) {
+        continue;
+      }
+
+      try {
+        loadLibrary(clazz, libPath);
+
+        return libPath;
+      } catch (UnsatisfiedLinkError e) {
+        LOGGER.warn("Cannot link library '{}', trying the next one", libPath, e);
+
+        if (linkError == null) {
+          linkError = e;
+        } else {
+          linkError.addSuppressed(e);
+        }
+      }
+    }
+
+    if (linkError != null) {
+      throw linkError;
+    }
+
+    throw new MissingResourceException(
+        "Resources not found " + libPaths + ".", clazz.getName(), String.join(",", libPaths));
   }
+
+  private record Checksum(long size, long crc) {}
 }
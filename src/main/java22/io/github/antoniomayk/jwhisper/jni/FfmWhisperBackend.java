@@ -0,0 +1,356 @@
+package io.github.antoniomayk.jwhisper.jni;
+
+import static java.lang.foreign.ValueLayout.ADDRESS;
+import static java.lang.foreign.ValueLayout.JAVA_BYTE;
+import static java.lang.foreign.ValueLayout.JAVA_FLOAT;
+import static java.lang.foreign.ValueLayout.JAVA_INT;
+import static java.lang.foreign.ValueLayout.JAVA_LONG;
+
+import io.github.antoniomayk.jwhisper.TranscriptionResult;
+import io.github.antoniomayk.jwhisper.exceptions.WhisperFullException;
+import java.lang.foreign.Arena;
+import java.lang.foreign.FunctionDescriptor;
+import java.lang.foreign.Linker;
+import java.lang.foreign.MemoryLayout;
+import java.lang.foreign.MemorySegment;
+import java.lang.foreign.SymbolLookup;
+import java.lang.invoke.MethodHandle;
+import java.nio.FloatBuffer;
+import java.util.Arrays;
+import org.jspecify.annotations.Nullable;
+
+/**
+ * Backend calling whisper.h through <b>java.lang.foreign</b> downcalls, resolved in the library
+ * loaded by {@link WhisperCpp}.
+ *
+ * <p>The pointers held by the {@link Cpointer} wrappers are used as they are, so contexts, states
+ * and params keep being created, configured and freed by the JNI glue. <b>whisper_full_params</b>
+ * is passed by value as an opaque struct of the size reported by the library: every ABI supported
+ * by the linker passes structs larger than 16 bytes in memory, whatever their fields.
+ *
+ * <p>Params carrying a new segment callback are run by the {@link JniWhisperBackend} instead: the
+ * callback calls back into Java through JNI, and the exception it may throw is only rethrown when
+ * a JNI native returns, never by a downcall.
+ *
+ * <p>Direct buffers are read in place. Heap arrays are copied into a confined arena, since pinning
+ * them for the whole transcription would stall the garbage collector. The short getters are
+ * critical downcalls, which skip the thread state transition.
+ *
+ * <p>Downcalls and {@code reinterpret} are restricted methods: the JVM must be started with
+ * <b>--enable-native-access=ALL-UNNAMED</b>.
+ *
+ * @author Antonio Mayk
+ * @since 0.1
+ */
+@SuppressWarnings("restricted")
+final class FfmWhisperBackend implements WhisperBackend {
+  private static final Linker LINKER = Linker.nativeLinker();
+  private static final Linker.Option CRITICAL = Linker.Option.critical(false);
+
+  private final JniWhisperBackend jni = new JniWhisperBackend();
+  private final MethodHandle whisperFull;
+  private final MethodHandle whisperFullWithState;
+  private final MethodHandle whisperFullNSegments;
+  private final MethodHandle whisperFullNSegmentsFromState;
+  private final MethodHandle whisperFullGetSegmentT0;
+  private final MethodHandle whisperFullGetSegmentT0FromState;
+  private final MethodHandle whisperFullGetSegmentT1;
+  private final MethodHandle whisperFullGetSegmentT1FromState;
+  private final MethodHandle whisperFullGetSegmentText;
+  private final MethodHandle whisperFullGetSegmentTextFromState;
+  private final MethodHandle strlen;
+  private final long fullParamsSize;
+
+  FfmWhisperBackend() {
+    fullParamsSize = WhisperCpp.whisperFullParamsSize();
+
+    final var fullParams =
+        MemoryLayout.structLayout(
+            MemoryLayout.sequenceLayout(fullParamsSize / JAVA_LONG.byteSize(), JAVA_LONG));
+    final var lookup = SymbolLookup.loaderLookup();
+
+    whisperFull =
+        downcall(
+            lookup,
+            "whisper_full",
+            FunctionDescriptor.of(JAVA_INT, ADDRESS, fullParams, ADDRESS, JAVA_INT));
+    whisperFullWithState =
+        downcall(
+            lookup,
+            "whisper_full_with_state",
+            FunctionDescriptor.of(JAVA_INT, ADDRESS, ADDRESS, fullParams, ADDRESS, JAVA_INT));
+    whisperFullNSegments =
+        downcall(
+            lookup,
+            "whisper_full_n_segments",
+            FunctionDescriptor.of(JAVA_INT, ADDRESS),
+            CRITICAL);
+    whisperFullNSegmentsFromState =
+        downcall(
+            lookup,
+            "whisper_full_n_segments_from_state",
+            FunctionDescriptor.of(JAVA_INT, ADDRESS),
+            CRITICAL);
+    whisperFullGetSegmentT0 =
+        downcall(
+            lookup,
+            "whisper_full_get_segment_t0",
+            FunctionDescriptor.of(JAVA_LONG, ADDRESS, JAVA_INT),
+            CRITICAL);
+    whisperFullGetSegmentT0FromState =
+        downcall(
+            lookup,
+            "whisper_full_get_segment_t0_from_state",
+            FunctionDescriptor.of(JAVA_LONG, ADDRESS, JAVA_INT),
+            CRITICAL);
+    whisperFullGetSegmentT1 =
+        downcall(
+            lookup,
+            "whisper_full_get_segment_t1",
+            FunctionDescriptor.of(JAVA_LONG, ADDRESS, JAVA_INT),
+            CRITICAL);
+    whisperFullGetSegmentT1FromState =
+        downcall(
+            lookup,
+            "whisper_full_get_segment_t1_from_state",
+            FunctionDescriptor.of(JAVA_LONG, ADDRESS, JAVA_INT),
+            CRITICAL);
+    whisperFullGetSegmentText =
+        downcall(
+            lookup,
+            "whisper_full_get_segment_text",
+            FunctionDescriptor.of(ADDRESS, ADDRESS, JAVA_INT),
+            CRITICAL);
+    whisperFullGetSegmentTextFromState =
+        downcall(
+            lookup,
+            "whisper_full_get_segment_text_from_state",
+            FunctionDescriptor.of(ADDRESS, ADDRESS, JAVA_INT),
+            CRITICAL);
+    strlen =
+        downcall(
+            LINKER.defaultLookup(), "strlen", FunctionDescriptor.of(JAVA_LONG, ADDRESS), CRITICAL);
+  }
+
+  @Override
+  public String name() {
+    return "ffm";
+  }
+
+  @Override
+  public void whisperFull(
+      final WhisperContext ctx,
+      final WhisperFullParams params,
+      final float[] samples,
+      final int samplesSize) {
+    if (WhisperCpp.whisperFullParamsHasNewSegmentCallback(params)) {
+      jni.whisperFull(ctx, params, samples, samplesSize);
+      return;
+    }
+
+    try (var arena = Arena.ofConfined()) {
+      full(pointer(ctx), null, params, copy(arena, samples, samplesSize), samplesSize);
+    }
+  }
+
+  @Override
+  public void whisperFullDirect(
+      final WhisperContext ctx,
+      final WhisperFullParams params,
+      final FloatBuffer samples,
+      final int samplesOffset,
+      final int samplesSize) {
+    if (WhisperCpp.whisperFullParamsHasNewSegmentCallback(params)) {
+      jni.whisperFullDirect(ctx, params, samples, samplesOffset, samplesSize);
+      return;
+    }
+
+    full(pointer(ctx), null, params, slice(samples, samplesOffset, samplesSize), samplesSize);
+  }
+
+  @Override
+  public void whisperFullWithState(
+      final WhisperContext ctx,
+      final WhisperState state,
+      final WhisperFullParams params,
+      final float[] samples,
+      final int samplesSize) {
+    if (WhisperCpp.whisperFullParamsHasNewSegmentCallback(params)) {
+      jni.whisperFullWithState(ctx, state, params, samples, samplesSize);
+      return;
+    }
+
+    try (var arena = Arena.ofConfined()) {
+      full(pointer(ctx), pointer(state), params, copy(arena, samples, samplesSize), samplesSize);
+    }
+  }
+
+  @Override
+  public void whisperFullWithStateDirect(
+      final WhisperContext ctx,
+      final WhisperState state,
+      final WhisperFullParams params,
+      final FloatBuffer samples,
+      final int samplesOffset,
+      final int samplesSize) {
+    if (WhisperCpp.whisperFullParamsHasNewSegmentCallback(params)) {
+      jni.whisperFullWithStateDirect(ctx, state, params, samples, samplesOffset, samplesSize);
+      return;
+    }
+
+    full(
+        pointer(ctx),
+        pointer(state),
+        params,
+        slice(samples, samplesOffset, samplesSize),
+        samplesSize);
+  }
+
+  @Override
+  public int whisperFullNumberOfSegments(final WhisperContext ctx) {
+    try {
+      return (int) whisperFullNSegments.invokeExact(pointer(ctx));
+    } catch (Throwable e) {
+      throw rethrow(e);
+    }
+  }
+
+  @Override
+  public int whisperFullNumberOfSegmentsFromState(final WhisperState state) {
+    try {
+      return (int) whisperFullNSegmentsFromState.invokeExact(pointer(state));
+    } catch (Throwable e) {
+      throw rethrow(e);
+    }
+  }
+
+  @Override
+  public TranscriptionResult whisperFullGetSegments(
+      final WhisperContext ctx, final @Nullable WhisperState state) {
+    final var source = state != null ? pointer(state) : pointer(ctx);
+    final var isState = state != null;
+
+    try {
+      final var segments =
+          isState
+              ? (int) whisperFullNSegmentsFromState.invokeExact(source)
+              : (int) whisperFullNSegments.invokeExact(source);
+      final var timestamps = new long[segments * 2];
+      final var textOffsets = new int[segments + 1];
+      var text = new byte[0];
+
+      for (var i = 0; i < segments; i++) {
+        timestamps[i * 2] =
+            isState
+                ? (long) whisperFullGetSegmentT0FromState.invokeExact(source, i)
+                : (long) whisperFullGetSegmentT0.invokeExact(source, i);
+        timestamps[i * 2 + 1] =
+            isState
+                ? (long) whisperFullGetSegmentT1FromState.invokeExact(source, i)
+                : (long) whisperFullGetSegmentT1.invokeExact(source, i);
+
+        final var segmentText =
+            isState
+                ? (MemorySegment) whisperFullGetSegmentTextFromState.invokeExact(source, i)
+                : (MemorySegment) whisperFullGetSegmentText.invokeExact(source, i);
+        final var length = (int) (long) strlen.invokeExact(segmentText);
+        final var offset = textOffsets[i];
+
+        if (offset + length > text.length) {
+          text = Arrays.copyOf(text, Math.max(offset + length, text.length * 2));
+        }
+
+        MemorySegment.copy(segmentText.reinterpret(length), JAVA_BYTE, 0, text, offset, length);
+        textOffsets[i + 1] = offset + length;
+      }
+
+      return new TranscriptionResult(
+          timestamps, Arrays.copyOf(text, textOffsets[segments]), textOffsets);
+    } catch (Throwable e) {
+      throw rethrow(e);
+    }
+  }
+
+  private void full(
+      final MemorySegment ctx,
+      final @Nullable MemorySegment state,
+      final WhisperFullParams params,
+      final MemorySegment samples,
+      final int samplesSize) {
+    final var fullParams = MemorySegment.ofAddress(params.getPointer()).reinterpret(fullParamsSize);
+    final int result;
+
+    try {
+      if (state == null) {
+        result = (int) whisperFull.invokeExact(ctx, fullParams, samples, samplesSize);
+      } else {
+        result =
+            (int) whisperFullWithState.invokeExact(ctx, state, fullParams, samples, samplesSize);
+      }
+    } catch (Throwable e) {
+      throw rethrow(e);
+    }
+
+    if (result < 0) {
+      throw new WhisperFullException(errorMessage(result));
+    }
+  }
+
+  private static MemorySegment copy(final Arena arena, final float[] samples, final int size) {
+    final var segment = arena.allocate(JAVA_FLOAT, size);
+    MemorySegment.copy(samples, 0, segment, JAVA_FLOAT, 0, size);
+
+    return segment;
+  }
+
+  private static MemorySegment slice(final FloatBuffer samples, final int offset, final int size) {
+    if (!samples.isDirect() || offset < 0 || size < 0 || offset + size > samples.capacity()) {
+      throw new IllegalArgumentException("Invalid direct samples buffer");
+    }
+
+    return MemorySegment.ofBuffer(samples.duplicate().clear())
+        .asSlice(offset * JAVA_FLOAT.byteSize(), size * JAVA_FLOAT.byteSize());
+  }
+
+  private static MemorySegment pointer(final Cpointer cpointer) {
+    return MemorySegment.ofAddress(cpointer.getPointer());
+  }
+
+  private static MethodHandle downcall(
+      final SymbolLookup lookup,
+      final String name,
+      final FunctionDescriptor descriptor,
+      final Linker.Option... options) {
+    final var symbol =
+        lookup
+            .find(name)
+            .orElseThrow(() -> new UnsatisfiedLinkError("Symbol not found: " + name));
+
+    return LINKER.downcallHandle(symbol, descriptor, options);
+  }
+
+  private static String errorMessage(final int result) {
+    return switch (result) {
+      case -2 -> "Failed to compute log mel spectrogram";
+      case -3 -> "Failed to auto-detect language";
+      case -4 -> "Too many decoders requested";
+      case -5 -> "Audio context is larger than maximum allowed";
+      case -6 -> "Failed to encode";
+      case -7 -> "Failed for self-attention cache";
+      case -8, -9 -> "Failed to decode";
+      default -> "Unknown error";
+    };
+  }
+
+  private static RuntimeException rethrow(final Throwable throwable) {
+    if (throwable instanceof RuntimeException runtimeException) {
+      return runtimeException;
+    }
+
+    if (throwable instanceof Error error) {
+      throw error;
+    }
+
+    return new IllegalStateException(throwable);
+  }
+}
@@ -3,23 +3,212 @@
 
 #include <io_github_antoniomayk_jwhisper_jni_WhisperCpp.h>
 
+#include <fcntl.h>
+#include <sys/mman.h>
+#include <sys/stat.h>
+#include <unistd.h>
+
+#include <algorithm>
+#include <atomic>
+#include <cstring>
 #include <iostream>
+#include <memory>
+#include <string>
 #include <unordered_map>
+#include <vector>
+
+namespace cache {
+
+// Classes, fields and methods used by the glue code, resolved once in
+// JNI_OnLoad. Classes are held as global references so that the IDs stay
+// valid until the library is unloaded.
+JavaVM *jvm = nullptr;
+
+jclass j_cls_whisper_context = nullptr;
+jclass j_cls_whisper_context_params = nullptr;
+jclass j_cls_whisper_full_params = nullptr;
+jclass j_cls_whisper_state = nullptr;
+jclass j_cls_whisper_abort_flag = nullptr;
+jclass j_cls_transcription_result = nullptr;
+jclass j_cls_transcription_tokens = nullptr;
+jclass j_cls_whisper_full_exception = nullptr;
+jclass j_cls_illegal_argument_exception = nullptr;
+
+jfieldID j_fid_cpointer_pointer = nullptr;
+
+jmethodID j_mid_whisper_context_init = nullptr;
+jmethodID j_mid_whisper_context_params_init = nullptr;
+jmethodID j_mid_whisper_full_params_init = nullptr;
+jmethodID j_mid_whisper_state_init = nullptr;
+jmethodID j_mid_whisper_abort_flag_init = nullptr;
+jmethodID j_mid_transcription_result_init = nullptr;
+jmethodID j_mid_transcription_tokens_init = nullptr;
+jmethodID j_mid_new_segment_callback_on_new_segment = nullptr;
+
+jclass find_global_class(JNIEnv *env, const char *name) {
+  auto j_cls = env->FindClass(name);
+
+  if (j_cls == nullptr) {
+    return nullptr;
+  }
+
+  auto j_global_cls = (jclass)env->NewGlobalRef(j_cls);
+  env->DeleteLocalRef(j_cls);
+
+  return j_global_cls;
+}
+
+bool load(JNIEnv *env) {
+  j_cls_whisper_context = find_global_class(
+      env, "io/github/antoniomayk/jwhisper/jni/WhisperContext");
+  j_cls_whisper_context_params = find_global_class(
+      env, "io/github/antoniomayk/jwhisper/jni/WhisperContextParams");
+  j_cls_whisper_full_params = find_global_class(
+      env, "io/github/antoniomayk/jwhisper/jni/WhisperFullParams");
+  j_cls_whisper_state = find_global_class(
+      env, "io/github/antoniomayk/jwhisper/jni/WhisperState");
+  j_cls_whisper_abort_flag = find_global_class(
+      env, "io/github/antoniomayk/jwhisper/jni/WhisperAbortFlag");
+  j_cls_transcription_result = find_global_class(
+      env, "io/github/antoniomayk/jwhisper/TranscriptionResult");
+  j_cls_transcription_tokens = find_global_class(
+      env, "io/github/antoniomayk/jwhisper/TranscriptionTokens");
+  j_cls_whisper_full_exception = find_global_class(
+      env, "io/github/antoniomayk/jwhisper/exceptions/WhisperFullException");
+  j_cls_illegal_argument_exception =
+      find_global_class(env, "java/lang/IllegalArgumentException");
+
+  auto j_cls_cpointer =
+      env->FindClass("io/github/antoniomayk/jwhisper/jni/Cpointer");
+  auto j_cls_new_segment_callback = env->FindClass(
+      "io/github/antoniomayk/jwhisper/jni/WhisperNewSegmentCallback");
+
+  if (j_cls_whisper_context == nullptr ||
+      j_cls_whisper_context_params == nullptr ||
+      j_cls_whisper_full_params == nullptr || j_cls_whisper_state == nullptr ||
+      j_cls_whisper_abort_flag == nullptr ||
+      j_cls_transcription_result == nullptr ||
+      j_cls_transcription_tokens == nullptr ||
+      j_cls_whisper_full_exception == nullptr ||
+      j_cls_illegal_argument_exception == nullptr ||
+      j_cls_cpointer == nullptr || j_cls_new_segment_callback == nullptr) {
+    return false;
+  }
+
+  j_fid_cpointer_pointer = env->GetFieldID(j_cls_cpointer, "pointer", "J");
+
+  j_mid_whisper_context_init =
+      env->GetMethodID(j_cls_whisper_context, "<init>", "(J)V");
+  j_mid_whisper_context_params_init =
+      env->GetMethodID(j_cls_whisper_context_params, "<init>", "(J)V");
+  j_mid_whisper_full_params_init =
+      env->GetMethodID(j_cls_whisper_full_params, "<init>", "(J)V");
+  j_mid_whisper_state_init =
+      env->GetMethodID(j_cls_whisper_state, "<init>", "(J)V");
+  j_mid_whisper_abort_flag_init =
+      env->GetMethodID(j_cls_whisper_abort_flag, "<init>", "(J)V");
+  j_mid_transcription_result_init =
+      env->GetMethodID(j_cls_transcription_result, "<init>", "([J[B[I)V");
+  j_mid_transcription_tokens_init = env->GetMethodID(
+      j_cls_transcription_tokens, "<init>", "([I[I[F[J[J[B[I)V");
+  j_mid_new_segment_callback_on_new_segment =
+      env->GetMethodID(j_cls_new_segment_callback, "onNewSegment", "(I)V");
+
+  env->DeleteLocalRef(j_cls_cpointer);
+  env->DeleteLocalRef(j_cls_new_segment_callback);
+
+  return !env->ExceptionCheck();
+}
+
+void unload(JNIEnv *env) {
+  jclass *j_classes[] = {&j_cls_whisper_context,
+                         &j_cls_whisper_context_params,
+                         &j_cls_whisper_full_params,
+                         &j_cls_whisper_state,
+                         &j_cls_whisper_abort_flag,
+                         &j_cls_transcription_result,
+                         &j_cls_transcription_tokens,
+                         &j_cls_whisper_full_exception,
+                         &j_cls_illegal_argument_exception};
+
+  for (auto j_cls : j_classes) {
+    if (*j_cls != nullptr) {
+      env->DeleteGlobalRef(*j_cls);
+      *j_cls = nullptr;
+    }
+  }
+}
+
+} // namespace cache
+
+JNIEXPORT jint JNICALL JNI_OnLoad(JavaVM *vm, void *) {
+  JNIEnv *env = nullptr;
+
+  if (vm->GetEnv((void **)&env, JNI_VERSION_1_8) != JNI_OK ||
+      !cache::load(env)) {
+    return JNI_ERR;
+  }
+
+  cache::jvm = vm;
+
+  return JNI_VERSION_1_8;
+}
+
+JNIEXPORT void JNICALL JNI_OnUnload(JavaVM *vm, void *) {
+  JNIEnv *env = nullptr;
+
+  if (vm->GetEnv((void **)&env, JNI_VERSION_1_8) == JNI_OK) {
+    cache::unload(env);
+  }
+
+  cache::jvm = nullptr;
+}
 
 namespace util {
 
 template <typename T>
 T *cast_j_cpointer_to_pointer(JNIEnv *env, jobject j_cpointer) {
-  auto j_cls = env->GetObjectClass(j_cpointer);
-  auto j_fid = env->GetFieldID(j_cls, "pointer", "J");
-  return (T *)env->GetLongField(j_cpointer, j_fid);
+  return (T *)env->GetLongField(j_cpointer, cache::j_fid_cpointer_pointer);
 }
 
 template <typename T>
 T cast_j_cpointer_to_value(JNIEnv *env, jobject j_cpointer) {
-  auto j_cls = env->GetObjectClass(j_cpointer);
-  auto j_fid = env->GetFieldID(j_cls, "pointer", "J");
-  return *(T *)env->GetLongField(j_cpointer, j_fid);
+  return *(T *)env->GetLongField(j_cpointer, cache::j_fid_cpointer_pointer);
+}
+
+void throw_new(JNIEnv *env, jclass j_cls, const char *message) {
+  if (!env->ExceptionCheck()) {
+    env->ThrowNew(j_cls, message);
+  }
+}
+
+jintArray new_int_array(JNIEnv *env, const std::vector<jint> &values) {
+  auto j_array = env->NewIntArray((jsize)values.size());
+  env->SetIntArrayRegion(j_array, 0, (jsize)values.size(), values.data());
+
+  return j_array;
+}
+
+jlongArray new_long_array(JNIEnv *env, const std::vector<jlong> &values) {
+  auto j_array = env->NewLongArray((jsize)values.size());
+  env->SetLongArrayRegion(j_array, 0, (jsize)values.size(), values.data());
+
+  return j_array;
+}
+
+jfloatArray new_float_array(JNIEnv *env, const std::vector<jfloat> &values) {
+  auto j_array = env->NewFloatArray((jsize)values.size());
+  env->SetFloatArrayRegion(j_array, 0, (jsize)values.size(), values.data());
+
+  return j_array;
+}
+
+jbyteArray new_byte_array(JNIEnv *env, const std::string &values) {
+  auto j_array = env->NewByteArray((jsize)values.size());
+  env->SetByteArrayRegion(j_array, 0, (jsize)values.size(),
+                          (const jbyte *)values.data());
+
+  return j_array;
 }
 
 std::string get_whisper_full_error_message(int errorCode) {
@@ -41,6 +230,211 @@ std::string get_whisper_full_error_message(int errorCode) {
   return "Unknown error";
 }
 
+const float *get_direct_samples(JNIEnv *env, jobject j_samples,
+                                jint j_offset, jint j_n_samples) {
+  auto samples = (const float *)env->GetDirectBufferAddress(j_samples);
+  auto capacity = env->GetDirectBufferCapacity(j_samples);
+
+  if (samples == nullptr || j_offset < 0 || j_n_samples < 0 ||
+      (jlong)j_offset + j_n_samples > capacity) {
+    throw_new(env, cache::j_cls_illegal_argument_exception,
+              "Invalid direct samples buffer");
+    return nullptr;
+  }
+
+  return samples + j_offset;
+}
+
+bool copy_array_samples(JNIEnv *env, jfloatArray j_samples, jint j_n_samples,
+                        std::vector<float> &samples) {
+  if (j_n_samples < 0 || j_n_samples > env->GetArrayLength(j_samples)) {
+    throw_new(env, cache::j_cls_illegal_argument_exception,
+              "Invalid samples array");
+    return false;
+  }
+
+  samples.resize(j_n_samples);
+  env->GetFloatArrayRegion(j_samples, 0, j_n_samples, samples.data());
+
+  return true;
+}
+
+void *get_direct_model_buffer(JNIEnv *env, jobject j_buffer, jint j_offset,
+                              jint j_size) {
+  auto buffer = (char *)env->GetDirectBufferAddress(j_buffer);
+  auto capacity = env->GetDirectBufferCapacity(j_buffer);
+
+  if (buffer == nullptr || j_offset < 0 || j_size < 0 ||
+      (jlong)j_offset + j_size > capacity) {
+    throw_new(env, cache::j_cls_illegal_argument_exception,
+              "Invalid direct model buffer");
+    return nullptr;
+  }
+
+  return buffer + j_offset;
+}
+
+struct mapped_model {
+  char *data;
+  size_t size;
+  size_t offset;
+};
+
+size_t mapped_model_read(void *ctx, void *output, size_t read_size) {
+  auto model = (mapped_model *)ctx;
+  auto size = std::min(read_size, model->size - model->offset);
+
+  std::memcpy(output, model->data + model->offset, size);
+  model->offset += size;
+
+  return size;
+}
+
+bool mapped_model_eof(void *ctx) {
+  auto model = (mapped_model *)ctx;
+
+  return model->offset >= model->size;
+}
+
+void mapped_model_close(void *ctx) {
+  auto model = (mapped_model *)ctx;
+
+  if (model->data != nullptr) {
+    munmap(model->data, model->size);
+    model->data = nullptr;
+  }
+}
+
+// Loads the model through a whisper_model_loader reading a shared mapping of
+// the file with size_t offsets, so it is not bound to the jint size of a
+// direct buffer. The mapping is released once the weights have been copied.
+struct whisper_context *
+init_from_mapped_file(const char *path_model,
+                      struct whisper_context_params params, bool no_state) {
+  auto fd = open(path_model, O_RDONLY);
+
+  if (fd < 0) {
+    return nullptr;
+  }
+
+  struct stat file_stat;
+  auto size = fstat(fd, &file_stat) == 0 ? (size_t)file_stat.st_size : 0;
+  auto data = size > 0 ? mmap(nullptr, size, PROT_READ, MAP_SHARED, fd, 0)
+                       : MAP_FAILED;
+
+  ::close(fd);
+
+  if (data == MAP_FAILED) {
+    return nullptr;
+  }
+
+  madvise(data, size, MADV_SEQUENTIAL);
+
+  mapped_model model{(char *)data, size, 0};
+  whisper_model_loader loader{&model, mapped_model_read, mapped_model_eof,
+                              mapped_model_close};
+
+  auto ctx = no_state ? whisper_init_with_params_no_state(&loader, params)
+                      : whisper_init_with_params(&loader, params);
+
+  mapped_model_close(&model);
+
+  return ctx;
+}
+
+bool is_aborted(void *user_data) {
+  return ((std::atomic<bool> *)user_data)->load(std::memory_order_relaxed);
+}
+
+struct new_segment_callback {
+  jobject j_callback;
+  struct whisper_full_params *params;
+};
+
+void on_new_segment(struct whisper_context *, struct whisper_state *,
+                    int n_new, void *user_data) {
+  JNIEnv *env = nullptr;
+
+  if (cache::jvm == nullptr ||
+      cache::jvm->GetEnv((void **)&env, JNI_VERSION_1_8) != JNI_OK ||
+      env->ExceptionCheck()) {
+    return;
+  }
+
+  auto callback = (new_segment_callback *)user_data;
+  auto params = callback->params;
+  auto abort_flag = params->abort_callback == is_aborted
+                        ? (std::atomic<bool> *)params->abort_callback_user_data
+                        : nullptr;
+
+  env->CallVoidMethod(callback->j_callback,
+                      cache::j_mid_new_segment_callback_on_new_segment,
+                      (jint)n_new);
+
+  // The exception stays pending until whisper_full returns, so the decoding
+  // is aborted instead of calling back again for nothing.
+  if (env->ExceptionCheck() && abort_flag != nullptr) {
+    abort_flag->store(true, std::memory_order_relaxed);
+  }
+}
+
+void clear_new_segment_callback(JNIEnv *env,
+                                struct whisper_full_params *params) {
+  if (params->new_segment_callback == on_new_segment &&
+      params->new_segment_callback_user_data != nullptr) {
+    auto callback =
+        (new_segment_callback *)params->new_segment_callback_user_data;
+
+    env->DeleteGlobalRef(callback->j_callback);
+    delete callback;
+  }
+
+  params->new_segment_callback = nullptr;
+  params->new_segment_callback_user_data = nullptr;
+}
+
+void clear_prompt_tokens(struct whisper_full_params *params) {
+  delete[] params->prompt_tokens;
+
+  params->prompt_tokens = nullptr;
+  params->prompt_n_tokens = 0;
+}
+
+void throw_whisper_full_exception(JNIEnv *env, int result) {
+  std::string errorMessage = get_whisper_full_error_message(result);
+  throw_new(env, cache::j_cls_whisper_full_exception, errorMessage.c_str());
+}
+
+template <typename Detect>
+jint lang_auto_detect(JNIEnv *env, jfloatArray j_lang_probs, Detect detect) {
+  std::vector<float> lang_probs;
+
+  if (j_lang_probs != nullptr) {
+    lang_probs.resize(whisper_lang_max_id() + 1);
+
+    if (env->GetArrayLength(j_lang_probs) < (jsize)lang_probs.size()) {
+      throw_new(env, cache::j_cls_illegal_argument_exception,
+                "Language probabilities array is too small");
+      return -1;
+    }
+  }
+
+  auto lang_id = detect(lang_probs.empty() ? nullptr : lang_probs.data());
+
+  if (lang_id < 0) {
+    throw_new(env, cache::j_cls_whisper_full_exception,
+              "Failed to auto-detect language");
+    return lang_id;
+  }
+
+  if (j_lang_probs != nullptr) {
+    env->SetFloatArrayRegion(j_lang_probs, 0, (jsize)lang_probs.size(),
+                             lang_probs.data());
+  }
+
+  return lang_id;
+}
+
 } // namespace util
 
 JNIEXPORT jobject JNICALL
@@ -50,11 +444,8 @@ Java_io_github_antoniomayk_jwhisper_jni_WhisperCpp_whisperInitFromFileWithParams
   auto params = util::cast_j_cpointer_to_value<struct whisper_context_params>(
       env, j_params);
 
-  auto j_cls =
-      env->FindClass("Lio/github/antoniomayk/jwhisper/jni/WhisperContext;");
-  auto j_mid = env->GetMethodID(j_cls, "<init>", "(J)V");
   auto j_obj = env->NewObject(
-      j_cls, j_mid,
+      cache::j_cls_whisper_context, cache::j_mid_whisper_context_init,
       (jlong)whisper_init_from_file_with_params(path_model, params));
 
   env->ReleaseStringUTFChars(j_path_model, path_model);
@@ -62,6 +453,101 @@ Java_io_github_antoniomayk_jwhisper_jni_WhisperCpp_whisperInitFromFileWithParams
   return j_obj;
 }
 
+JNIEXPORT jobject JNICALL
+Java_io_github_antoniomayk_jwhisper_jni_WhisperCpp_whisperInitFromFileWithParamsNoState(
+    JNIEnv *env, jclass, jstring j_path_model, jobject j_params) {
+  auto path_model = env->GetStringUTFChars(j_path_model, nullptr);
+  auto params = util::cast_j_cpointer_to_value<struct whisper_context_params>(
+      env, j_params);
+
+  auto j_obj = env->NewObject(
+      cache::j_cls_whisper_context, cache::j_mid_whisper_context_init,
+      (jlong)whisper_init_from_file_with_params_no_state(path_model, params));
+
+  env->ReleaseStringUTFChars(j_path_model, path_model);
+
+  return j_obj;
+}
+
+JNIEXPORT jobject JNICALL
+Java_io_github_antoniomayk_jwhisper_jni_WhisperCpp_whisperInitFromBufferWithParams(
+    JNIEnv *env, jclass, jobject j_buffer, jint j_offset, jint j_size,
+    jobject j_params) {
+  auto buffer = util::get_direct_model_buffer(env, j_buffer, j_offset, j_size);
+
+  if (buffer == nullptr) {
+    return nullptr;
+  }
+
+  auto params = util::cast_j_cpointer_to_value<struct whisper_context_params>(
+      env, j_params);
+
+  return env->NewObject(
+      cache::j_cls_whisper_context, cache::j_mid_whisper_context_init,
+      (jlong)whisper_init_from_buffer_with_params(buffer, (size_t)j_size, params));
+}
+
+JNIEXPORT jobject JNICALL
+Java_io_github_antoniomayk_jwhisper_jni_WhisperCpp_whisperInitFromBufferWithParamsNoState(
+    JNIEnv *env, jclass, jobject j_buffer, jint j_offset, jint j_size,
+    jobject j_params) {
+  auto buffer = util::get_direct_model_buffer(env, j_buffer, j_offset, j_size);
+
+  if (buffer == nullptr) {
+    return nullptr;
+  }
+
+  auto params = util::cast_j_cpointer_to_value<struct whisper_context_params>(
+      env, j_params);
+
+  return env->NewObject(
+      cache::j_cls_whisper_context, cache::j_mid_whisper_context_init,
+      (jlong)whisper_init_from_buffer_with_params_no_state(buffer, (size_t)j_size, params));
+}
+
+JNIEXPORT jobject JNICALL
+Java_io_github_antoniomayk_jwhisper_jni_WhisperCpp_whisperInitFromMappedFileWithParams(
+    JNIEnv *env, jclass, jstring j_path_model, jobject j_params) {
+  auto path_model = env->GetStringUTFChars(j_path_model, nullptr);
+  auto params = util::cast_j_cpointer_to_value<struct whisper_context_params>(
+      env, j_params);
+
+  auto j_obj = env->NewObject(
+      cache::j_cls_whisper_context, cache::j_mid_whisper_context_init,
+      (jlong)util::init_from_mapped_file(path_model, params, false));
+
+  env->ReleaseStringUTFChars(j_path_model, path_model);
+
+  return j_obj;
+}
+
+JNIEXPORT jobject JNICALL
+Java_io_github_antoniomayk_jwhisper_jni_WhisperCpp_whisperInitFromMappedFileWithParamsNoState(
+    JNIEnv *env, jclass, jstring j_path_model, jobject j_params) {
+  auto path_model = env->GetStringUTFChars(j_path_model, nullptr);
+  auto params = util::cast_j_cpointer_to_value<struct whisper_context_params>(
+      env, j_params);
+
+  auto j_obj = env->NewObject(
+      cache::j_cls_whisper_context, cache::j_mid_whisper_context_init,
+      (jlong)util::init_from_mapped_file(path_model, params, true));
+
+  env->ReleaseStringUTFChars(j_path_model, path_model);
+
+  return j_obj;
+}
+
+JNIEXPORT jobject JNICALL
+Java_io_github_antoniomayk_jwhisper_jni_WhisperCpp_whisperInitState(
+    JNIEnv *env, jclass, jobject j_ctx) {
+  auto ctx =
+      util::cast_j_cpointer_to_pointer<struct whisper_context>(env, j_ctx);
+
+  return env->NewObject(cache::j_cls_whisper_state,
+                        cache::j_mid_whisper_state_init,
+                        (jlong)whisper_init_state(ctx));
+}
+
 JNIEXPORT void JNICALL
 Java_io_github_antoniomayk_jwhisper_jni_WhisperCpp_whisperFree(JNIEnv *env,
                                                                jclass,
@@ -70,12 +556,24 @@ Java_io_github_antoniomayk_jwhisper_jni_WhisperCpp_whisperFree(JNIEnv *env,
       util::cast_j_cpointer_to_pointer<struct whisper_context>(env, j_ctx));
 }
 
+JNIEXPORT void JNICALL
+Java_io_github_antoniomayk_jwhisper_jni_WhisperCpp_whisperFreeState(
+    JNIEnv *env, jclass, jobject j_state) {
+  whisper_free_state(
+      util::cast_j_cpointer_to_pointer<struct whisper_state>(env, j_state));
+}
+
 JNIEXPORT void JNICALL
 Java_io_github_antoniomayk_jwhisper_jni_WhisperCpp_whisperFreeParams(
     JNIEnv *env, jclass, jobject j_params) {
-  whisper_free_params(
+  auto params =
       util::cast_j_cpointer_to_pointer<struct whisper_full_params>(env,
-                                                                   j_params));
+                                                                   j_params);
+
+  util::clear_new_segment_callback(env, params);
+  util::clear_prompt_tokens(params);
+
+  whisper_free_params(params);
 }
 
 JNIEXPORT void JNICALL
@@ -89,10 +587,8 @@ Java_io_github_antoniomayk_jwhisper_jni_WhisperCpp_whisperFreeContextParams(
 JNIEXPORT jobject JNICALL
 Java_io_github_antoniomayk_jwhisper_jni_WhisperCpp_whisperContextDefaultParamsByRef(
     JNIEnv *env, jclass) {
-  auto j_cls = env->FindClass(
-      "Lio/github/antoniomayk/jwhisper/jni/WhisperContextParams;");
-  auto j_mid = env->GetMethodID(j_cls, "<init>", "(J)V");
-  return env->NewObject(j_cls, j_mid,
+  return env->NewObject(cache::j_cls_whisper_context_params,
+                        cache::j_mid_whisper_context_params_init,
                         (jlong)whisper_context_default_params_by_ref());
 }
 
@@ -100,13 +596,17 @@ JNIEXPORT jobject JNICALL
 Java_io_github_antoniomayk_jwhisper_jni_WhisperCpp_whisperFullDefaultParamsByRef(
     JNIEnv *env, jclass, jint j_strategy) {
   auto strategy = (enum whisper_sampling_strategy)j_strategy;
-  auto j_cls =
-      env->FindClass("Lio/github/antoniomayk/jwhisper/jni/WhisperFullParams;");
-  auto j_mid = env->GetMethodID(j_cls, "<init>", "(J)V");
-  return env->NewObject(j_cls, j_mid,
+  return env->NewObject(cache::j_cls_whisper_full_params,
+                        cache::j_mid_whisper_full_params_init,
                         (jlong)whisper_full_default_params_by_ref(strategy));
 }
 
+JNIEXPORT jint JNICALL
+Java_io_github_antoniomayk_jwhisper_jni_WhisperCpp_whisperFullParamsSize(
+    JNIEnv *, jclass) {
+  return (jint)sizeof(struct whisper_full_params);
+}
+
 JNIEXPORT void JNICALL
 Java_io_github_antoniomayk_jwhisper_jni_WhisperCpp_whisperFull(
     JNIEnv *env, jclass, jobject j_ctx, jobject j_params, jfloatArray j_samples,
@@ -120,24 +620,85 @@ Java_io_github_antoniomayk_jwhisper_jni_WhisperCpp_whisperFull(
   auto result = whisper_full(ctx, params, samples, n_samples);
 
   if (result < 0) {
-    std::string errorMessage = util::get_whisper_full_error_message(result);
-    env->ThrowNew(
-        env->FindClass(
-            "Lio/github/antoniomayk/jwhisper/exceptions/WhisperFullException;"),
-        errorMessage.c_str());
+    util::throw_whisper_full_exception(env, result);
+  }
+
+  env->ReleaseFloatArrayElements(j_samples, samples, JNI_ABORT);
+}
+
+JNIEXPORT void JNICALL
+Java_io_github_antoniomayk_jwhisper_jni_WhisperCpp_whisperFullDirect(
+    JNIEnv *env, jclass, jobject j_ctx, jobject j_params, jobject j_samples,
+    jint j_offset, jint j_n_samples) {
+  auto ctx =
+      util::cast_j_cpointer_to_pointer<struct whisper_context>(env, j_ctx);
+  auto params =
+      util::cast_j_cpointer_to_value<struct whisper_full_params>(env, j_params);
+  auto samples =
+      util::get_direct_samples(env, j_samples, j_offset, j_n_samples);
+
+  if (samples == nullptr) {
+    return;
+  }
+
+  auto result = whisper_full(ctx, params, samples, j_n_samples);
+
+  if (result < 0) {
+    util::throw_whisper_full_exception(env, result);
+  }
+}
+
+JNIEXPORT void JNICALL
+Java_io_github_antoniomayk_jwhisper_jni_WhisperCpp_whisperFullWithState(
+    JNIEnv *env, jclass, jobject j_ctx, jobject j_state, jobject j_params,
+    jfloatArray j_samples, jint j_n_samples) {
+  auto ctx =
+      util::cast_j_cpointer_to_pointer<struct whisper_context>(env, j_ctx);
+  auto state =
+      util::cast_j_cpointer_to_pointer<struct whisper_state>(env, j_state);
+  auto params =
+      util::cast_j_cpointer_to_value<struct whisper_full_params>(env, j_params);
+  auto samples = env->GetFloatArrayElements(j_samples, nullptr);
+  auto n_samples = j_n_samples;
+  auto result = whisper_full_with_state(ctx, state, params, samples, n_samples);
+
+  if (result < 0) {
+    util::throw_whisper_full_exception(env, result);
+  }
+
+  env->ReleaseFloatArrayElements(j_samples, samples, JNI_ABORT);
+}
+
+JNIEXPORT void JNICALL
+Java_io_github_antoniomayk_jwhisper_jni_WhisperCpp_whisperFullWithStateDirect(
+    JNIEnv *env, jclass, jobject j_ctx, jobject j_state, jobject j_params,
+    jobject j_samples, jint j_offset, jint j_n_samples) {
+  auto ctx =
+      util::cast_j_cpointer_to_pointer<struct whisper_context>(env, j_ctx);
+  auto state =
+      util::cast_j_cpointer_to_pointer<struct whisper_state>(env, j_state);
+  auto params =
+      util::cast_j_cpointer_to_value<struct whisper_full_params>(env, j_params);
+  auto samples =
+      util::get_direct_samples(env, j_samples, j_offset, j_n_samples);
+
+  if (samples == nullptr) {
+    return;
   }
 
-  env->ReleaseFloatArrayElements(j_samples, samples, 0);
+  auto result =
+      whisper_full_with_state(ctx, state, params, samples, j_n_samples);
+
+  if (result < 0) {
+    util::throw_whisper_full_exception(env, result);
+  }
 }
 
 JNIEXPORT jint JNICALL
 Java_io_github_antoniomayk_jwhisper_jni_WhisperCpp_whisperFullNumberOfSegments(
     JNIEnv *env, jclass, jobject j_ctx) {
-  auto j_cls_whisper_context = env->GetObjectClass(j_ctx);
-  auto j_fid_whisper_context_pointer =
-      env->GetFieldID(j_cls_whisper_context, "pointer", "J");
-  auto ctx = (struct whisper_context *)env->GetLongField(
-      j_ctx, j_fid_whisper_context_pointer);
+  auto ctx =
+      util::cast_j_cpointer_to_pointer<struct whisper_context>(env, j_ctx);
 
   return whisper_full_n_segments(ctx);
 }
@@ -173,3 +734,640 @@ Java_io_github_antoniomayk_jwhisper_jni_WhisperCpp_whisperFullGetSegmentT1(
 
   return whisper_full_get_segment_t1(ctx, i_segment);
 }
+
+JNIEXPORT jint JNICALL
+Java_io_github_antoniomayk_jwhisper_jni_WhisperCpp_whisperFullNumberOfSegmentsFromState(
+    JNIEnv *env, jclass, jobject j_state) {
+  auto state =
+      util::cast_j_cpointer_to_pointer<struct whisper_state>(env, j_state);
+
+  return whisper_full_n_segments_from_state(state);
+}
+
+JNIEXPORT jstring JNICALL
+Java_io_github_antoniomayk_jwhisper_jni_WhisperCpp_whisperFullGetSegmentTextFromState(
+    JNIEnv *env, jclass, jobject j_state, jint j_i_segment) {
+  auto state =
+      util::cast_j_cpointer_to_pointer<struct whisper_state>(env, j_state);
+  auto i_segment = j_i_segment;
+
+  auto segment_text = whisper_full_get_segment_text_from_state(state, i_segment);
+
+  return env->NewStringUTF(segment_text);
+}
+
+JNIEXPORT jlong JNICALL
+Java_io_github_antoniomayk_jwhisper_jni_WhisperCpp_whisperFullGetSegmentT0FromState(
+    JNIEnv *env, jclass, jobject j_state, jint j_i_segment) {
+  auto state =
+      util::cast_j_cpointer_to_pointer<struct whisper_state>(env, j_state);
+  auto i_segment = j_i_segment;
+
+  return whisper_full_get_segment_t0_from_state(state, i_segment);
+}
+
+JNIEXPORT jlong JNICALL
+Java_io_github_antoniomayk_jwhisper_jni_WhisperCpp_whisperFullGetSegmentT1FromState(
+    JNIEnv *env, jclass, jobject j_state, jint j_i_segment) {
+  auto state =
+      util::cast_j_cpointer_to_pointer<struct whisper_state>(env, j_state);
+  auto i_segment = j_i_segment;
+
+  return whisper_full_get_segment_t1_from_state(state, i_segment);
+}
+
+JNIEXPORT jobject JNICALL
+Java_io_github_antoniomayk_jwhisper_jni_WhisperCpp_whisperFullGetSegments(
+    JNIEnv *env, jclass, jobject j_ctx, jobject j_state) {
+  auto ctx =
+      util::cast_j_cpointer_to_pointer<struct whisper_context>(env, j_ctx);
+  auto state =
+      j_state != nullptr
+          ? util::cast_j_cpointer_to_pointer<struct whisper_state>(env, j_state)
+          : nullptr;
+  auto n_segments = state != nullptr ? whisper_full_n_segments_from_state(state)
+                                     : whisper_full_n_segments(ctx);
+
+  std::vector<jlong> timestamps(n_segments * 2);
+  std::vector<jint> text_offsets(n_segments + 1);
+  std::string text;
+
+  for (int i = 0; i < n_segments; i++) {
+    if (state != nullptr) {
+      timestamps[i * 2] = whisper_full_get_segment_t0_from_state(state, i);
+      timestamps[i * 2 + 1] = whisper_full_get_segment_t1_from_state(state, i);
+      text.append(whisper_full_get_segment_text_from_state(state, i));
+    } else {
+      timestamps[i * 2] = whisper_full_get_segment_t0(ctx, i);
+      timestamps[i * 2 + 1] = whisper_full_get_segment_t1(ctx, i);
+      text.append(whisper_full_get_segment_text(ctx, i));
+    }
+
+    text_offsets[i + 1] = (jint)text.size();
+  }
+
+  auto j_timestamps = env->NewLongArray(n_segments * 2);
+  env->SetLongArrayRegion(j_timestamps, 0, n_segments * 2, timestamps.data());
+
+  auto j_text = env->NewByteArray((jsize)text.size());
+  env->SetByteArrayRegion(j_text, 0, (jsize)text.size(),
+                          (const jbyte *)text.data());
+
+  auto j_text_offsets = env->NewIntArray(n_segments + 1);
+  env->SetIntArrayRegion(j_text_offsets, 0, n_segments + 1,
+                         text_offsets.data());
+
+  return env->NewObject(cache::j_cls_transcription_result,
+                        cache::j_mid_transcription_result_init, j_timestamps,
+                        j_text, j_text_offsets);
+}
+
+JNIEXPORT jint JNICALL
+Java_io_github_antoniomayk_jwhisper_jni_WhisperCpp_whisperFullGetSegmentsInto(
+    JNIEnv *env, jclass, jobject j_ctx, jobject j_state,
+    jlongArray j_timestamps, jintArray j_text_offsets, jbyteArray j_text) {
+  auto ctx =
+      util::cast_j_cpointer_to_pointer<struct whisper_context>(env, j_ctx);
+  auto state =
+      j_state != nullptr
+          ? util::cast_j_cpointer_to_pointer<struct whisper_state>(env, j_state)
+          : nullptr;
+  auto n_segments = state != nullptr ? whisper_full_n_segments_from_state(state)
+                                     : whisper_full_n_segments(ctx);
+
+  if (env->GetArrayLength(j_timestamps) < n_segments * 2 ||
+      env->GetArrayLength(j_text_offsets) < n_segments + 1) {
+    util::throw_new(env, cache::j_cls_illegal_argument_exception,
+                    "Segment arrays are too small");
+    return 0;
+  }
+
+  auto text_capacity = env->GetArrayLength(j_text);
+  jint text_size = 0;
+
+  env->SetIntArrayRegion(j_text_offsets, 0, 1, &text_size);
+
+  for (int i = 0; i < n_segments; i++) {
+    jlong timestamps[2];
+    const char *text;
+
+    if (state != nullptr) {
+      timestamps[0] = whisper_full_get_segment_t0_from_state(state, i);
+      timestamps[1] = whisper_full_get_segment_t1_from_state(state, i);
+      text = whisper_full_get_segment_text_from_state(state, i);
+    } else {
+      timestamps[0] = whisper_full_get_segment_t0(ctx, i);
+      timestamps[1] = whisper_full_get_segment_t1(ctx, i);
+      text = whisper_full_get_segment_text(ctx, i);
+    }
+
+    auto length = (jint)std::strlen(text);
+
+    if (text_size + length <= text_capacity) {
+      env->SetByteArrayRegion(j_text, text_size, length, (const jbyte *)text);
+    }
+
+    text_size += length;
+
+    env->SetLongArrayRegion(j_timestamps, i * 2, 2, timestamps);
+    env->SetIntArrayRegion(j_text_offsets, i + 1, 1, &text_size);
+  }
+
+  return text_size;
+}
+
+JNIEXPORT jobject JNICALL
+Java_io_github_antoniomayk_jwhisper_jni_WhisperCpp_whisperFullGetTokens(
+    JNIEnv *env, jclass, jobject j_ctx, jobject j_state) {
+  auto ctx =
+      util::cast_j_cpointer_to_pointer<struct whisper_context>(env, j_ctx);
+  auto state =
+      j_state != nullptr
+          ? util::cast_j_cpointer_to_pointer<struct whisper_state>(env, j_state)
+          : nullptr;
+  auto n_segments = state != nullptr ? whisper_full_n_segments_from_state(state)
+                                     : whisper_full_n_segments(ctx);
+
+  std::vector<jint> segment_offsets(n_segments + 1);
+  std::vector<jint> ids;
+  std::vector<jfloat> probabilities;
+  std::vector<jlong> timestamps;
+  std::vector<jlong> dtw_timestamps;
+  std::vector<jint> text_offsets(1);
+  std::string text;
+
+  for (int i = 0; i < n_segments; i++) {
+    auto n_tokens = state != nullptr ? whisper_full_n_tokens_from_state(state, i)
+                                     : whisper_full_n_tokens(ctx, i);
+
+    for (int j = 0; j < n_tokens; j++) {
+      auto data = state != nullptr
+                      ? whisper_full_get_token_data_from_state(state, i, j)
+                      : whisper_full_get_token_data(ctx, i, j);
+
+      ids.push_back(data.id);
+      probabilities.push_back(data.p);
+      timestamps.push_back(data.t0);
+      timestamps.push_back(data.t1);
+      dtw_timestamps.push_back(data.t_dtw);
+      text.append(state != nullptr
+                      ? whisper_full_get_token_text_from_state(ctx, state, i, j)
+                      : whisper_full_get_token_text(ctx, i, j));
+      text_offsets.push_back((jint)text.size());
+    }
+
+    segment_offsets[i + 1] = (jint)ids.size();
+  }
+
+  return env->NewObject(
+      cache::j_cls_transcription_tokens, cache::j_mid_transcription_tokens_init,
+      util::new_int_array(env, segment_offsets), util::new_int_array(env, ids),
+      util::new_float_array(env, probabilities),
+      util::new_long_array(env, timestamps),
+      util::new_long_array(env, dtw_timestamps),
+      util::new_byte_array(env, text), util::new_int_array(env, text_offsets));
+}
+
+JNIEXPORT jint JNICALL
+Java_io_github_antoniomayk_jwhisper_jni_WhisperCpp_whisperFullNumberOfTokens(
+    JNIEnv *env, jclass, jobject j_ctx, jint j_i_segment) {
+  auto ctx =
+      util::cast_j_cpointer_to_pointer<struct whisper_context>(env, j_ctx);
+
+  return whisper_full_n_tokens(ctx, j_i_segment);
+}
+
+JNIEXPORT jint JNICALL
+Java_io_github_antoniomayk_jwhisper_jni_WhisperCpp_whisperFullNumberOfTokensFromState(
+    JNIEnv *env, jclass, jobject j_state, jint j_i_segment) {
+  auto state =
+      util::cast_j_cpointer_to_pointer<struct whisper_state>(env, j_state);
+
+  return whisper_full_n_tokens_from_state(state, j_i_segment);
+}
+
+JNIEXPORT jint JNICALL
+Java_io_github_antoniomayk_jwhisper_jni_WhisperCpp_whisperFullGetTokenId(
+    JNIEnv *env, jclass, jobject j_ctx, jint j_i_segment, jint j_i_token) {
+  auto ctx =
+      util::cast_j_cpointer_to_pointer<struct whisper_context>(env, j_ctx);
+
+  return whisper_full_get_token_id(ctx, j_i_segment, j_i_token);
+}
+
+JNIEXPORT jint JNICALL
+Java_io_github_antoniomayk_jwhisper_jni_WhisperCpp_whisperFullGetTokenIdFromState(
+    JNIEnv *env, jclass, jobject j_state, jint j_i_segment, jint j_i_token) {
+  auto state =
+      util::cast_j_cpointer_to_pointer<struct whisper_state>(env, j_state);
+
+  return whisper_full_get_token_id_from_state(state, j_i_segment, j_i_token);
+}
+
+JNIEXPORT void JNICALL
+Java_io_github_antoniomayk_jwhisper_jni_WhisperCpp_whisperContextParamsSetUseGpu(
+    JNIEnv *env, jclass, jobject j_params, jboolean j_use_gpu) {
+  auto params =
+      util::cast_j_cpointer_to_pointer<struct whisper_context_params>(env,
+                                                                      j_params);
+
+  params->use_gpu = j_use_gpu;
+}
+
+JNIEXPORT void JNICALL
+Java_io_github_antoniomayk_jwhisper_jni_WhisperCpp_whisperContextParamsSetFlashAttn(
+    JNIEnv *env, jclass, jobject j_params, jboolean j_flash_attn) {
+  auto params =
+      util::cast_j_cpointer_to_pointer<struct whisper_context_params>(env,
+                                                                      j_params);
+
+  params->flash_attn = j_flash_attn;
+}
+
+JNIEXPORT void JNICALL
+Java_io_github_antoniomayk_jwhisper_jni_WhisperCpp_whisperContextParamsSetGpuDevice(
+    JNIEnv *env, jclass, jobject j_params, jint j_gpu_device) {
+  auto params =
+      util::cast_j_cpointer_to_pointer<struct whisper_context_params>(env,
+                                                                      j_params);
+
+  params->gpu_device = j_gpu_device;
+}
+
+JNIEXPORT void JNICALL
+Java_io_github_antoniomayk_jwhisper_jni_WhisperCpp_whisperContextParamsSetDtwTokenTimestamps(
+    JNIEnv *env, jclass, jobject j_params, jboolean j_dtw_token_timestamps) {
+  auto params =
+      util::cast_j_cpointer_to_pointer<struct whisper_context_params>(env,
+                                                                      j_params);
+
+  params->dtw_token_timestamps = j_dtw_token_timestamps;
+}
+
+JNIEXPORT void JNICALL
+Java_io_github_antoniomayk_jwhisper_jni_WhisperCpp_whisperContextParamsSetDtwAheadsPreset(
+    JNIEnv *env, jclass, jobject j_params, jint j_dtw_aheads_preset) {
+  auto params =
+      util::cast_j_cpointer_to_pointer<struct whisper_context_params>(env,
+                                                                      j_params);
+
+  params->dtw_aheads_preset =
+      (enum whisper_alignment_heads_preset)j_dtw_aheads_preset;
+}
+
+JNIEXPORT void JNICALL
+Java_io_github_antoniomayk_jwhisper_jni_WhisperCpp_whisperFullParamsSetNoContext(
+    JNIEnv *env, jclass, jobject j_params, jboolean j_no_context) {
+  auto params =
+      util::cast_j_cpointer_to_pointer<struct whisper_full_params>(env,
+                                                                   j_params);
+
+  params->no_context = j_no_context;
+}
+
+JNIEXPORT void JNICALL
+Java_io_github_antoniomayk_jwhisper_jni_WhisperCpp_whisperFullParamsSetSingleSegment(
+    JNIEnv *env, jclass, jobject j_params, jboolean j_single_segment) {
+  auto params =
+      util::cast_j_cpointer_to_pointer<struct whisper_full_params>(env,
+                                                                   j_params);
+
+  params->single_segment = j_single_segment;
+}
+
+JNIEXPORT void JNICALL
+Java_io_github_antoniomayk_jwhisper_jni_WhisperCpp_whisperFullParamsSetNThreads(
+    JNIEnv *env, jclass, jobject j_params, jint j_n_threads) {
+  auto params =
+      util::cast_j_cpointer_to_pointer<struct whisper_full_params>(env,
+                                                                   j_params);
+
+  params->n_threads = j_n_threads;
+}
+
+JNIEXPORT void JNICALL
+Java_io_github_antoniomayk_jwhisper_jni_WhisperCpp_whisperFullParamsSetBeamSize(
+    JNIEnv *env, jclass, jobject j_params, jint j_beam_size) {
+  auto params =
+      util::cast_j_cpointer_to_pointer<struct whisper_full_params>(env,
+                                                                   j_params);
+
+  params->beam_search.beam_size = j_beam_size;
+}
+
+JNIEXPORT void JNICALL
+Java_io_github_antoniomayk_jwhisper_jni_WhisperCpp_whisperFullParamsSetBestOf(
+    JNIEnv *env, jclass, jobject j_params, jint j_best_of) {
+  auto params =
+      util::cast_j_cpointer_to_pointer<struct whisper_full_params>(env,
+                                                                   j_params);
+
+  params->greedy.best_of = j_best_of;
+}
+
+JNIEXPORT void JNICALL
+Java_io_github_antoniomayk_jwhisper_jni_WhisperCpp_whisperFullParamsSetAudioCtx(
+    JNIEnv *env, jclass, jobject j_params, jint j_audio_ctx) {
+  auto params =
+      util::cast_j_cpointer_to_pointer<struct whisper_full_params>(env,
+                                                                   j_params);
+
+  params->audio_ctx = j_audio_ctx;
+}
+
+JNIEXPORT void JNICALL
+Java_io_github_antoniomayk_jwhisper_jni_WhisperCpp_whisperFullParamsSetMaxLen(
+    JNIEnv *env, jclass, jobject j_params, jint j_max_len) {
+  auto params =
+      util::cast_j_cpointer_to_pointer<struct whisper_full_params>(env,
+                                                                   j_params);
+
+  params->max_len = j_max_len;
+}
+
+JNIEXPORT void JNICALL
+Java_io_github_antoniomayk_jwhisper_jni_WhisperCpp_whisperFullParamsSetTokenTimestamps(
+    JNIEnv *env, jclass, jobject j_params, jboolean j_token_timestamps) {
+  auto params =
+      util::cast_j_cpointer_to_pointer<struct whisper_full_params>(env,
+                                                                   j_params);
+
+  params->token_timestamps = j_token_timestamps;
+}
+
+JNIEXPORT void JNICALL
+Java_io_github_antoniomayk_jwhisper_jni_WhisperCpp_whisperFullParamsSetTemperatureInc(
+    JNIEnv *env, jclass, jobject j_params, jfloat j_temperature_inc) {
+  auto params =
+      util::cast_j_cpointer_to_pointer<struct whisper_full_params>(env,
+                                                                   j_params);
+
+  params->temperature_inc = j_temperature_inc;
+}
+
+JNIEXPORT void JNICALL
+Java_io_github_antoniomayk_jwhisper_jni_WhisperCpp_whisperFullParamsSetLanguage(
+    JNIEnv *env, jclass, jobject j_params, jstring j_language) {
+  auto params =
+      util::cast_j_cpointer_to_pointer<struct whisper_full_params>(env,
+                                                                   j_params);
+  auto language = env->GetStringUTFChars(j_language, nullptr);
+
+  if (std::string(language) == "auto") {
+    params->language = "auto";
+  } else {
+    auto id = whisper_lang_id(language);
+
+    if (id < 0) {
+      std::string errorMessage = std::string("Unknown language: ") + language;
+      util::throw_new(env, cache::j_cls_illegal_argument_exception,
+                      errorMessage.c_str());
+    } else {
+      params->language = whisper_lang_str(id);
+    }
+  }
+
+  env->ReleaseStringUTFChars(j_language, language);
+}
+
+JNIEXPORT void JNICALL
+Java_io_github_antoniomayk_jwhisper_jni_WhisperCpp_whisperFullParamsSetPromptTokens(
+    JNIEnv *env, jclass, jobject j_params, jintArray j_prompt_tokens) {
+  auto params =
+      util::cast_j_cpointer_to_pointer<struct whisper_full_params>(env,
+                                                                   j_params);
+  auto n_prompt_tokens = env->GetArrayLength(j_prompt_tokens);
+
+  util::clear_prompt_tokens(params);
+
+  if (n_prompt_tokens > 0) {
+    auto prompt_tokens = new whisper_token[n_prompt_tokens];
+    env->GetIntArrayRegion(j_prompt_tokens, 0, n_prompt_tokens,
+                           (jint *)prompt_tokens);
+
+    params->prompt_tokens = prompt_tokens;
+    params->prompt_n_tokens = n_prompt_tokens;
+  }
+}
+
+JNIEXPORT void JNICALL
+Java_io_github_antoniomayk_jwhisper_jni_WhisperCpp_whisperFullParamsSetNewSegmentCallback(
+    JNIEnv *env, jclass, jobject j_params, jobject j_callback) {
+  auto params =
+      util::cast_j_cpointer_to_pointer<struct whisper_full_params>(env,
+                                                                   j_params);
+
+  util::clear_new_segment_callback(env, params);
+
+  if (j_callback != nullptr) {
+    params->new_segment_callback = util::on_new_segment;
+    params->new_segment_callback_user_data =
+        new util::new_segment_callback{env->NewGlobalRef(j_callback), params};
+  }
+}
+
+JNIEXPORT jboolean JNICALL
+Java_io_github_antoniomayk_jwhisper_jni_WhisperCpp_whisperFullParamsHasNewSegmentCallback(
+    JNIEnv *env, jclass, jobject j_params) {
+  auto params =
+      util::cast_j_cpointer_to_pointer<struct whisper_full_params>(env,
+                                                                   j_params);
+
+  return params->new_segment_callback == util::on_new_segment;
+}
+
+JNIEXPORT jobject JNICALL
+Java_io_github_antoniomayk_jwhisper_jni_WhisperCpp_whisperAbortFlagInit(
+    JNIEnv *env, jclass) {
+  return env->NewObject(cache::j_cls_whisper_abort_flag,
+                        cache::j_mid_whisper_abort_flag_init,
+                        (jlong) new std::atomic<bool>(false));
+}
+
+JNIEXPORT void JNICALL
+Java_io_github_antoniomayk_jwhisper_jni_WhisperCpp_whisperAbortFlagFree(
+    JNIEnv *env, jclass, jobject j_flag) {
+  delete util::cast_j_cpointer_to_pointer<std::atomic<bool>>(env, j_flag);
+}
+
+JNIEXPORT void JNICALL
+Java_io_github_antoniomayk_jwhisper_jni_WhisperCpp_whisperAbortFlagSet(
+    JNIEnv *env, jclass, jobject j_flag, jboolean j_is_aborted) {
+  auto flag = util::cast_j_cpointer_to_pointer<std::atomic<bool>>(env, j_flag);
+
+  flag->store(j_is_aborted, std::memory_order_relaxed);
+}
+
+JNIEXPORT void JNICALL
+Java_io_github_antoniomayk_jwhisper_jni_WhisperCpp_whisperFullParamsSetAbortFlag(
+    JNIEnv *env, jclass, jobject j_params, jobject j_flag) {
+  auto params =
+      util::cast_j_cpointer_to_pointer<struct whisper_full_params>(env,
+                                                                   j_params);
+
+  if (j_flag != nullptr) {
+    params->abort_callback = util::is_aborted;
+    params->abort_callback_user_data =
+        util::cast_j_cpointer_to_pointer<std::atomic<bool>>(env, j_flag);
+  } else {
+    params->abort_callback = nullptr;
+    params->abort_callback_user_data = nullptr;
+  }
+}
+
+JNIEXPORT jboolean JNICALL
+Java_io_github_antoniomayk_jwhisper_jni_WhisperCpp_whisperGetTimings(
+    JNIEnv *env, jclass, jobject j_ctx, jfloatArray j_timings) {
+  auto ctx =
+      util::cast_j_cpointer_to_pointer<struct whisper_context>(env, j_ctx);
+
+  if (env->GetArrayLength(j_timings) < 5) {
+    util::throw_new(env, cache::j_cls_illegal_argument_exception,
+                    "Timings array is too small");
+    return JNI_FALSE;
+  }
+
+  std::unique_ptr<whisper_timings> timings(whisper_get_timings(ctx));
+
+  if (timings == nullptr) {
+    return JNI_FALSE;
+  }
+
+  const jfloat values[] = {timings->sample_ms, timings->encode_ms,
+                           timings->decode_ms, timings->batchd_ms,
+                           timings->prompt_ms};
+
+  env->SetFloatArrayRegion(j_timings, 0, 5, values);
+
+  return JNI_TRUE;
+}
+
+JNIEXPORT void JNICALL
+Java_io_github_antoniomayk_jwhisper_jni_WhisperCpp_whisperResetTimings(
+    JNIEnv *env, jclass, jobject j_ctx) {
+  auto ctx =
+      util::cast_j_cpointer_to_pointer<struct whisper_context>(env, j_ctx);
+
+  whisper_reset_timings(ctx);
+}
+
+JNIEXPORT void JNICALL
+Java_io_github_antoniomayk_jwhisper_jni_WhisperCpp_whisperPcmToMel(
+    JNIEnv *env, jclass, jobject j_ctx, jfloatArray j_samples,
+    jint j_n_samples, jint j_n_threads) {
+  auto ctx =
+      util::cast_j_cpointer_to_pointer<struct whisper_context>(env, j_ctx);
+  std::vector<float> samples;
+
+  if (!util::copy_array_samples(env, j_samples, j_n_samples, samples)) {
+    return;
+  }
+
+  auto result =
+      whisper_pcm_to_mel(ctx, samples.data(), j_n_samples, j_n_threads);
+
+  if (result != 0) {
+    util::throw_new(env, cache::j_cls_whisper_full_exception,
+                    "Failed to compute log mel spectrogram");
+  }
+}
+
+JNIEXPORT void JNICALL
+Java_io_github_antoniomayk_jwhisper_jni_WhisperCpp_whisperPcmToMelWithState(
+    JNIEnv *env, jclass, jobject j_ctx, jobject j_state,
+    jfloatArray j_samples, jint j_n_samples, jint j_n_threads) {
+  auto ctx =
+      util::cast_j_cpointer_to_pointer<struct whisper_context>(env, j_ctx);
+  auto state =
+      util::cast_j_cpointer_to_pointer<struct whisper_state>(env, j_state);
+  std::vector<float> samples;
+
+  if (!util::copy_array_samples(env, j_samples, j_n_samples, samples)) {
+    return;
+  }
+
+  auto result = whisper_pcm_to_mel_with_state(ctx, state, samples.data(),
+                                              j_n_samples, j_n_threads);
+
+  if (result != 0) {
+    util::throw_new(env, cache::j_cls_whisper_full_exception,
+                    "Failed to compute log mel spectrogram");
+  }
+}
+
+JNIEXPORT void JNICALL
+Java_io_github_antoniomayk_jwhisper_jni_WhisperCpp_whisperEncode(
+    JNIEnv *env, jclass, jobject j_ctx, jint j_offset, jint j_n_threads) {
+  auto ctx =
+      util::cast_j_cpointer_to_pointer<struct whisper_context>(env, j_ctx);
+
+  if (whisper_encode(ctx, j_offset, j_n_threads) != 0) {
+    util::throw_new(env, cache::j_cls_whisper_full_exception,
+                    "Failed to encode");
+  }
+}
+
+JNIEXPORT void JNICALL
+Java_io_github_antoniomayk_jwhisper_jni_WhisperCpp_whisperEncodeWithState(
+    JNIEnv *env, jclass, jobject j_ctx, jobject j_state, jint j_offset,
+    jint j_n_threads) {
+  auto ctx =
+      util::cast_j_cpointer_to_pointer<struct whisper_context>(env, j_ctx);
+  auto state =
+      util::cast_j_cpointer_to_pointer<struct whisper_state>(env, j_state);
+
+  if (whisper_encode_with_state(ctx, state, j_offset, j_n_threads) != 0) {
+    util::throw_new(env, cache::j_cls_whisper_full_exception,
+                    "Failed to encode");
+  }
+}
+
+JNIEXPORT jint JNICALL
+Java_io_github_antoniomayk_jwhisper_jni_WhisperCpp_whisperLangAutoDetect(
+    JNIEnv *env, jclass, jobject j_ctx, jint j_offset_ms, jint j_n_threads,
+    jfloatArray j_lang_probs) {
+  auto ctx =
+      util::cast_j_cpointer_to_pointer<struct whisper_context>(env, j_ctx);
+
+  return util::lang_auto_detect(env, j_lang_probs, [&](float *lang_probs) {
+    return whisper_lang_auto_detect(ctx, j_offset_ms, j_n_threads, lang_probs);
+  });
+}
+
+JNIEXPORT jint JNICALL
+Java_io_github_antoniomayk_jwhisper_jni_WhisperCpp_whisperLangAutoDetectWithState(
+    JNIEnv *env, jclass, jobject j_ctx, jobject j_state, jint j_offset_ms,
+    jint j_n_threads, jfloatArray j_lang_probs) {
+  auto ctx =
+      util::cast_j_cpointer_to_pointer<struct whisper_context>(env, j_ctx);
+  auto state =
+      util::cast_j_cpointer_to_pointer<struct whisper_state>(env, j_state);
+
+  return util::lang_auto_detect(env, j_lang_probs, [&](float *lang_probs) {
+    return whisper_lang_auto_detect_with_state(ctx, state, j_offset_ms,
+                                               j_n_threads, lang_probs);
+  });
+}
+
+JNIEXPORT jint JNICALL
+Java_io_github_antoniomayk_jwhisper_jni_WhisperCpp_whisperLangMaxId(JNIEnv *,
+                                                                    jclass) {
+  return whisper_lang_max_id();
+}
+
+JNIEXPORT jstring JNICALL
+Java_io_github_antoniomayk_jwhisper_jni_WhisperCpp_whisperLangStr(JNIEnv *env,
+                                                                  jclass,
+                                                                  jint j_id) {
+  auto lang = whisper_lang_str(j_id);
+
+  return lang != nullptr ? env->NewStringUTF(lang) : nullptr;
+}
+
+JNIEXPORT jstring JNICALL
+Java_io_github_antoniomayk_jwhisper_jni_WhisperCpp_whisperLangStrFull(
+    JNIEnv *env, jclass, jint j_id) {
+  auto lang = whisper_lang_str_full(j_id);
+
+  return lang != nullptr ? env->NewStringUTF(lang) : nullptr;
+}
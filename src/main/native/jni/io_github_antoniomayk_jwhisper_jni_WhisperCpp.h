@@ -15,6 +15,54 @@ extern "C" {
 JNIEXPORT jobject JNICALL Java_io_github_antoniomayk_jwhisper_jni_WhisperCpp_whisperInitFromFileWithParams
   (JNIEnv *, jclass, jstring, jobject);
 
+/*
+ * Class:     io_github_antoniomayk_jwhisper_jni_WhisperCpp
+ * Method:    whisperInitFromFileWithParamsNoState
+ * Signature: (Ljava/lang/String;Lio/github/antoniomayk/jwhisper/jni/WhisperContextParams;)Lio/github/antoniomayk/jwhisper/jni/WhisperContext;
+ */
+JNIEXPORT jobject JNICALL Java_io_github_antoniomayk_jwhisper_jni_WhisperCpp_whisperInitFromFileWithParamsNoState
+  (JNIEnv *, jclass, jstring, jobject);
+
+/*
+ * Class:     io_github_antoniomayk_jwhisper_jni_WhisperCpp
+ * Method:    whisperInitFromBufferWithParams
+ * Signature: (Ljava/nio/ByteBuffer;IILio/github/antoniomayk/jwhisper/jni/WhisperContextParams;)Lio/github/antoniomayk/jwhisper/jni/WhisperContext;
+ */
+JNIEXPORT jobject JNICALL Java_io_github_antoniomayk_jwhisper_jni_WhisperCpp_whisperInitFromBufferWithParams
+  (JNIEnv *, jclass, jobject, jint, jint, jobject);
+
+/*
+ * Class:     io_github_antoniomayk_jwhisper_jni_WhisperCpp
+ * Method:    whisperInitFromBufferWithParamsNoState
+ * Signature: (Ljava/nio/ByteBuffer;IILio/github/antoniomayk/jwhisper/jni/WhisperContextParams;)Lio/github/antoniomayk/jwhisper/jni/WhisperContext;
+ */
+JNIEXPORT jobject JNICALL Java_io_github_antoniomayk_jwhisper_jni_WhisperCpp_whisperInitFromBufferWithParamsNoState
+  (JNIEnv *, jclass, jobject, jint, jint, jobject);
+
+/*
+ * Class:     io_github_antoniomayk_jwhisper_jni_WhisperCpp
+ * Method:    whisperInitFromMappedFileWithParams
+ * Signature: (Ljava/lang/String;Lio/github/antoniomayk/jwhisper/jni/WhisperContextParams;)Lio/github/antoniomayk/jwhisper/jni/WhisperContext;
+ */
+JNIEXPORT jobject JNICALL Java_io_github_antoniomayk_jwhisper_jni_WhisperCpp_whisperInitFromMappedFileWithParams
+  (JNIEnv *, jclass, jstring, jobject);
+
+/*
+ * Class:     io_github_antoniomayk_jwhisper_jni_WhisperCpp
+ * Method:    whisperInitFromMappedFileWithParamsNoState
+ * Signature: (Ljava/lang/String;Lio/github/antoniomayk/jwhisper/jni/WhisperContextParams;)Lio/github/antoniomayk/jwhisper/jni/WhisperContext;
+ */
+JNIEXPORT jobject JNICALL Java_io_github_antoniomayk_jwhisper_jni_WhisperCpp_whisperInitFromMappedFileWithParamsNoState
+  (JNIEnv *, jclass, jstring, jobject);
+
+/*
+ * Class:     io_github_antoniomayk_jwhisper_jni_WhisperCpp
+ * Method:    whisperInitState
+ * Signature: (Lio/github/antoniomayk/jwhisper/jni/WhisperContext;)Lio/github/antoniomayk/jwhisper/jni/WhisperState;
+ */
+JNIEXPORT jobject JNICALL Java_io_github_antoniomayk_jwhisper_jni_WhisperCpp_whisperInitState
+  (JNIEnv *, jclass, jobject);
+
 /*
  * Class:     io_github_antoniomayk_jwhisper_jni_WhisperCpp
  * Method:    whisperFree
@@ -23,6 +71,14 @@ JNIEXPORT jobject JNICALL Java_io_github_antoniomayk_jwhisper_jni_WhisperCpp_whi
 JNIEXPORT void JNICALL Java_io_github_antoniomayk_jwhisper_jni_WhisperCpp_whisperFree
   (JNIEnv *, jclass, jobject);
 
+/*
+ * Class:     io_github_antoniomayk_jwhisper_jni_WhisperCpp
+ * Method:    whisperFreeState
+ * Signature: (Lio/github/antoniomayk/jwhisper/jni/WhisperState;)V
+ */
+JNIEXPORT void JNICALL Java_io_github_antoniomayk_jwhisper_jni_WhisperCpp_whisperFreeState
+  (JNIEnv *, jclass, jobject);
+
 /*
  * Class:     io_github_antoniomayk_jwhisper_jni_WhisperCpp
  * Method:    whisperFreeParams
@@ -55,6 +111,54 @@ JNIEXPORT jobject JNICALL Java_io_github_antoniomayk_jwhisper_jni_WhisperCpp_whi
 JNIEXPORT jobject JNICALL Java_io_github_antoniomayk_jwhisper_jni_WhisperCpp_whisperFullDefaultParamsByRef
   (JNIEnv *, jclass, jint);
 
+/*
+ * Class:     io_github_antoniomayk_jwhisper_jni_WhisperCpp
+ * Method:    whisperFullParamsSize
+ * Signature: ()I
+ */
+JNIEXPORT jint JNICALL Java_io_github_antoniomayk_jwhisper_jni_WhisperCpp_whisperFullParamsSize
+  (JNIEnv *, jclass);
+
+/*
+ * Class:     io_github_antoniomayk_jwhisper_jni_WhisperCpp
+ * Method:    whisperContextParamsSetUseGpu
+ * Signature: (Lio/github/antoniomayk/jwhisper/jni/WhisperContextParams;Z)V
+ */
+JNIEXPORT void JNICALL Java_io_github_antoniomayk_jwhisper_jni_WhisperCpp_whisperContextParamsSetUseGpu
+  (JNIEnv *, jclass, jobject, jboolean);
+
+/*
+ * Class:     io_github_antoniomayk_jwhisper_jni_WhisperCpp
+ * Method:    whisperContextParamsSetFlashAttn
+ * Signature: (Lio/github/antoniomayk/jwhisper/jni/WhisperContextParams;Z)V
+ */
+JNIEXPORT void JNICALL Java_io_github_antoniomayk_jwhisper_jni_WhisperCpp_whisperContextParamsSetFlashAttn
+  (JNIEnv *, jclass, jobject, jboolean);
+
+/*
+ * Class:     io_github_antoniomayk_jwhisper_jni_WhisperCpp
+ * Method:    whisperContextParamsSetGpuDevice
+ * Signature: (Lio/github/antoniomayk/jwhisper/jni/WhisperContextParams;I)V
+ */
+JNIEXPORT void JNICALL Java_io_github_antoniomayk_jwhisper_jni_WhisperCpp_whisperContextParamsSetGpuDevice
+  (JNIEnv *, jclass, jobject, jint);
+
+/*
+ * Class:     io_github_antoniomayk_jwhisper_jni_WhisperCpp
+ * Method:    whisperContextParamsSetDtwTokenTimestamps
+ * Signature: (Lio/github/antoniomayk/jwhisper/jni/WhisperContextParams;Z)V
+ */
+JNIEXPORT void JNICALL Java_io_github_antoniomayk_jwhisper_jni_WhisperCpp_whisperContextParamsSetDtwTokenTimestamps
+  (JNIEnv *, jclass, jobject, jboolean);
+
+/*
+ * Class:     io_github_antoniomayk_jwhisper_jni_WhisperCpp
+ * Method:    whisperContextParamsSetDtwAheadsPreset
+ * Signature: (Lio/github/antoniomayk/jwhisper/jni/WhisperContextParams;I)V
+ */
+JNIEXPORT void JNICALL Java_io_github_antoniomayk_jwhisper_jni_WhisperCpp_whisperContextParamsSetDtwAheadsPreset
+  (JNIEnv *, jclass, jobject, jint);
+
 /*
  * Class:     io_github_antoniomayk_jwhisper_jni_WhisperCpp
  * Method:    whisperFull
@@ -63,6 +167,30 @@ JNIEXPORT jobject JNICALL Java_io_github_antoniomayk_jwhisper_jni_WhisperCpp_whi
 JNIEXPORT void JNICALL Java_io_github_antoniomayk_jwhisper_jni_WhisperCpp_whisperFull
   (JNIEnv *, jclass, jobject, jobject, jfloatArray, jint);
 
+/*
+ * Class:     io_github_antoniomayk_jwhisper_jni_WhisperCpp
+ * Method:    whisperFullDirect
+ * Signature: (Lio/github/antoniomayk/jwhisper/jni/WhisperContext;Lio/github/antoniomayk/jwhisper/jni/WhisperFullParams;Ljava/nio/FloatBuffer;II)V
+ */
+JNIEXPORT void JNICALL Java_io_github_antoniomayk_jwhisper_jni_WhisperCpp_whisperFullDirect
+  (JNIEnv *, jclass, jobject, jobject, jobject, jint, jint);
+
+/*
+ * Class:     io_github_antoniomayk_jwhisper_jni_WhisperCpp
+ * Method:    whisperFullWithState
+ * Signature: (Lio/github/antoniomayk/jwhisper/jni/WhisperContext;Lio/github/antoniomayk/jwhisper/jni/WhisperState;Lio/github/antoniomayk/jwhisper/jni/WhisperFullParams;[FI)V
+ */
+JNIEXPORT void JNICALL Java_io_github_antoniomayk_jwhisper_jni_WhisperCpp_whisperFullWithState
+  (JNIEnv *, jclass, jobject, jobject, jobject, jfloatArray, jint);
+
+/*
+ * Class:     io_github_antoniomayk_jwhisper_jni_WhisperCpp
+ * Method:    whisperFullWithStateDirect
+ * Signature: (Lio/github/antoniomayk/jwhisper/jni/WhisperContext;Lio/github/antoniomayk/jwhisper/jni/WhisperState;Lio/github/antoniomayk/jwhisper/jni/WhisperFullParams;Ljava/nio/FloatBuffer;II)V
+ */
+JNIEXPORT void JNICALL Java_io_github_antoniomayk_jwhisper_jni_WhisperCpp_whisperFullWithStateDirect
+  (JNIEnv *, jclass, jobject, jobject, jobject, jobject, jint, jint);
+
 /*
  * Class:     io_github_antoniomayk_jwhisper_jni_WhisperCpp
  * Method:    whisperFullNumberOfSegments
@@ -95,6 +223,318 @@ JNIEXPORT jlong JNICALL Java_io_github_antoniomayk_jwhisper_jni_WhisperCpp_whisp
 JNIEXPORT jlong JNICALL Java_io_github_antoniomayk_jwhisper_jni_WhisperCpp_whisperFullGetSegmentT1
   (JNIEnv *, jclass, jobject, jint);
 
+/*
+ * Class:     io_github_antoniomayk_jwhisper_jni_WhisperCpp
+ * Method:    whisperFullNumberOfSegmentsFromState
+ * Signature: (Lio/github/antoniomayk/jwhisper/jni/WhisperState;)I
+ */
+JNIEXPORT jint JNICALL Java_io_github_antoniomayk_jwhisper_jni_WhisperCpp_whisperFullNumberOfSegmentsFromState
+  (JNIEnv *, jclass, jobject);
+
+/*
+ * Class:     io_github_antoniomayk_jwhisper_jni_WhisperCpp
+ * Method:    whisperFullGetSegmentTextFromState
+ * Signature: (Lio/github/antoniomayk/jwhisper/jni/WhisperState;I)Ljava/lang/String;
+ */
+JNIEXPORT jstring JNICALL Java_io_github_antoniomayk_jwhisper_jni_WhisperCpp_whisperFullGetSegmentTextFromState
+  (JNIEnv *, jclass, jobject, jint);
+
+/*
+ * Class:     io_github_antoniomayk_jwhisper_jni_WhisperCpp
+ * Method:    whisperFullGetSegmentT0FromState
+ * Signature: (Lio/github/antoniomayk/jwhisper/jni/WhisperState;I)J
+ */
+JNIEXPORT jlong JNICALL Java_io_github_antoniomayk_jwhisper_jni_WhisperCpp_whisperFullGetSegmentT0FromState
+  (JNIEnv *, jclass, jobject, jint);
+
+/*
+ * Class:     io_github_antoniomayk_jwhisper_jni_WhisperCpp
+ * Method:    whisperFullGetSegmentT1FromState
+ * Signature: (Lio/github/antoniomayk/jwhisper/jni/WhisperState;I)J
+ */
+JNIEXPORT jlong JNICALL Java_io_github_antoniomayk_jwhisper_jni_WhisperCpp_whisperFullGetSegmentT1FromState
+  (JNIEnv *, jclass, jobject, jint);
+
+/*
+ * Class:     io_github_antoniomayk_jwhisper_jni_WhisperCpp
+ * Method:    whisperFullGetSegments
+ * Signature: (Lio/github/antoniomayk/jwhisper/jni/WhisperContext;Lio/github/antoniomayk/jwhisper/jni/WhisperState;)Lio/github/antoniomayk/jwhisper/TranscriptionResult;
+ */
+JNIEXPORT jobject JNICALL Java_io_github_antoniomayk_jwhisper_jni_WhisperCpp_whisperFullGetSegments
+  (JNIEnv *, jclass, jobject, jobject);
+
+/*
+ * Class:     io_github_antoniomayk_jwhisper_jni_WhisperCpp
+ * Method:    whisperFullGetSegmentsInto
+ * Signature: (Lio/github/antoniomayk/jwhisper/jni/WhisperContext;Lio/github/antoniomayk/jwhisper/jni/WhisperState;[J[I[B)I
+ */
+JNIEXPORT jint JNICALL Java_io_github_antoniomayk_jwhisper_jni_WhisperCpp_whisperFullGetSegmentsInto
+  (JNIEnv *, jclass, jobject, jobject, jlongArray, jintArray, jbyteArray);
+
+/*
+ * Class:     io_github_antoniomayk_jwhisper_jni_WhisperCpp
+ * Method:    whisperFullGetTokens
+ * Signature: (Lio/github/antoniomayk/jwhisper/jni/WhisperContext;Lio/github/antoniomayk/jwhisper/jni/WhisperState;)Lio/github/antoniomayk/jwhisper/TranscriptionTokens;
+ */
+JNIEXPORT jobject JNICALL Java_io_github_antoniomayk_jwhisper_jni_WhisperCpp_whisperFullGetTokens
+  (JNIEnv *, jclass, jobject, jobject);
+
+/*
+ * Class:     io_github_antoniomayk_jwhisper_jni_WhisperCpp
+ * Method:    whisperFullNumberOfTokens
+ * Signature: (Lio/github/antoniomayk/jwhisper/jni/WhisperContext;I)I
+ */
+JNIEXPORT jint JNICALL Java_io_github_antoniomayk_jwhisper_jni_WhisperCpp_whisperFullNumberOfTokens
+  (JNIEnv *, jclass, jobject, jint);
+
+/*
+ * Class:     io_github_antoniomayk_jwhisper_jni_WhisperCpp
+ * Method:    whisperFullNumberOfTokensFromState
+ * Signature: (Lio/github/antoniomayk/jwhisper/jni/WhisperState;I)I
+ */
+JNIEXPORT jint JNICALL Java_io_github_antoniomayk_jwhisper_jni_WhisperCpp_whisperFullNumberOfTokensFromState
+  (JNIEnv *, jclass, jobject, jint);
+
+/*
+ * Class:     io_github_antoniomayk_jwhisper_jni_WhisperCpp
+ * Method:    whisperFullGetTokenId
+ * Signature: (Lio/github/antoniomayk/jwhisper/jni/WhisperContext;II)I
+ */
+JNIEXPORT jint JNICALL Java_io_github_antoniomayk_jwhisper_jni_WhisperCpp_whisperFullGetTokenId
+  (JNIEnv *, jclass, jobject, jint, jint);
+
+/*
+ * Class:     io_github_antoniomayk_jwhisper_jni_WhisperCpp
+ * Method:    whisperFullGetTokenIdFromState
+ * Signature: (Lio/github/antoniomayk/jwhisper/jni/WhisperState;II)I
+ */
+JNIEXPORT jint JNICALL Java_io_github_antoniomayk_jwhisper_jni_WhisperCpp_whisperFullGetTokenIdFromState
+  (JNIEnv *, jclass, jobject, jint, jint);
+
+/*
+ * Class:     io_github_antoniomayk_jwhisper_jni_WhisperCpp
+ * Method:    whisperFullParamsSetNoContext
+ * Signature: (Lio/github/antoniomayk/jwhisper/jni/WhisperFullParams;Z)V
+ */
+JNIEXPORT void JNICALL Java_io_github_antoniomayk_jwhisper_jni_WhisperCpp_whisperFullParamsSetNoContext
+  (JNIEnv *, jclass, jobject, jboolean);
+
+/*
+ * Class:     io_github_antoniomayk_jwhisper_jni_WhisperCpp
+ * Method:    whisperFullParamsSetSingleSegment
+ * Signature: (Lio/github/antoniomayk/jwhisper/jni/WhisperFullParams;Z)V
+ */
+JNIEXPORT void JNICALL Java_io_github_antoniomayk_jwhisper_jni_WhisperCpp_whisperFullParamsSetSingleSegment
+  (JNIEnv *, jclass, jobject, jboolean);
+
+/*
+ * Class:     io_github_antoniomayk_jwhisper_jni_WhisperCpp
+ * Method:    whisperFullParamsSetNThreads
+ * Signature: (Lio/github/antoniomayk/jwhisper/jni/WhisperFullParams;I)V
+ */
+JNIEXPORT void JNICALL Java_io_github_antoniomayk_jwhisper_jni_WhisperCpp_whisperFullParamsSetNThreads
+  (JNIEnv *, jclass, jobject, jint);
+
+/*
+ * Class:     io_github_antoniomayk_jwhisper_jni_WhisperCpp
+ * Method:    whisperFullParamsSetBeamSize
+ * Signature: (Lio/github/antoniomayk/jwhisper/jni/WhisperFullParams;I)V
+ */
+JNIEXPORT void JNICALL Java_io_github_antoniomayk_jwhisper_jni_WhisperCpp_whisperFullParamsSetBeamSize
+  (JNIEnv *, jclass, jobject, jint);
+
+/*
+ * Class:     io_github_antoniomayk_jwhisper_jni_WhisperCpp
+ * Method:    whisperFullParamsSetBestOf
+ * Signature: (Lio/github/antoniomayk/jwhisper/jni/WhisperFullParams;I)V
+ */
+JNIEXPORT void JNICALL Java_io_github_antoniomayk_jwhisper_jni_WhisperCpp_whisperFullParamsSetBestOf
+  (JNIEnv *, jclass, jobject, jint);
+
+/*
+ * Class:     io_github_antoniomayk_jwhisper_jni_WhisperCpp
+ * Method:    whisperFullParamsSetAudioCtx
+ * Signature: (Lio/github/antoniomayk/jwhisper/jni/WhisperFullParams;I)V
+ */
+JNIEXPORT void JNICALL Java_io_github_antoniomayk_jwhisper_jni_WhisperCpp_whisperFullParamsSetAudioCtx
+  (JNIEnv *, jclass, jobject, jint);
+
+/*
+ * Class:     io_github_antoniomayk_jwhisper_jni_WhisperCpp
+ * Method:    whisperFullParamsSetMaxLen
+ * Signature: (Lio/github/antoniomayk/jwhisper/jni/WhisperFullParams;I)V
+ */
+JNIEXPORT void JNICALL Java_io_github_antoniomayk_jwhisper_jni_WhisperCpp_whisperFullParamsSetMaxLen
+  (JNIEnv *, jclass, jobject, jint);
+
+/*
+ * Class:     io_github_antoniomayk_jwhisper_jni_WhisperCpp
+ * Method:    whisperFullParamsSetTokenTimestamps
+ * Signature: (Lio/github/antoniomayk/jwhisper/jni/WhisperFullParams;Z)V
+ */
+JNIEXPORT void JNICALL Java_io_github_antoniomayk_jwhisper_jni_WhisperCpp_whisperFullParamsSetTokenTimestamps
+  (JNIEnv *, jclass, jobject, jboolean);
+
+/*
+ * Class:     io_github_antoniomayk_jwhisper_jni_WhisperCpp
+ * Method:    whisperFullParamsSetTemperatureInc
+ * Signature: (Lio/github/antoniomayk/jwhisper/jni/WhisperFullParams;F)V
+ */
+JNIEXPORT void JNICALL Java_io_github_antoniomayk_jwhisper_jni_WhisperCpp_whisperFullParamsSetTemperatureInc
+  (JNIEnv *, jclass, jobject, jfloat);
+
+/*
+ * Class:     io_github_antoniomayk_jwhisper_jni_WhisperCpp
+ * Method:    whisperFullParamsSetLanguage
+ * Signature: (Lio/github/antoniomayk/jwhisper/jni/WhisperFullParams;Ljava/lang/String;)V
+ */
+JNIEXPORT void JNICALL Java_io_github_antoniomayk_jwhisper_jni_WhisperCpp_whisperFullParamsSetLanguage
+  (JNIEnv *, jclass, jobject, jstring);
+
+/*
+ * Class:     io_github_antoniomayk_jwhisper_jni_WhisperCpp
+ * Method:    whisperFullParamsSetPromptTokens
+ * Signature: (Lio/github/antoniomayk/jwhisper/jni/WhisperFullParams;[I)V
+ */
+JNIEXPORT void JNICALL Java_io_github_antoniomayk_jwhisper_jni_WhisperCpp_whisperFullParamsSetPromptTokens
+  (JNIEnv *, jclass, jobject, jintArray);
+
+/*
+ * Class:     io_github_antoniomayk_jwhisper_jni_WhisperCpp
+ * Method:    whisperFullParamsSetNewSegmentCallback
+ * Signature: (Lio/github/antoniomayk/jwhisper/jni/WhisperFullParams;Lio/github/antoniomayk/jwhisper/jni/WhisperNewSegmentCallback;)V
+ */
+JNIEXPORT void JNICALL Java_io_github_antoniomayk_jwhisper_jni_WhisperCpp_whisperFullParamsSetNewSegmentCallback
+  (JNIEnv *, jclass, jobject, jobject);
+
+/*
+ * Class:     io_github_antoniomayk_jwhisper_jni_WhisperCpp
+ * Method:    whisperFullParamsHasNewSegmentCallback
+ * Signature: (Lio/github/antoniomayk/jwhisper/jni/WhisperFullParams;)Z
+ */
+JNIEXPORT jboolean JNICALL Java_io_github_antoniomayk_jwhisper_jni_WhisperCpp_whisperFullParamsHasNewSegmentCallback
+  (JNIEnv *, jclass, jobject);
+
+/*
+ * Class:     io_github_antoniomayk_jwhisper_jni_WhisperCpp
+ * Method:    whisperAbortFlagInit
+ * Signature: ()Lio/github/antoniomayk/jwhisper/jni/WhisperAbortFlag;
+ */
+JNIEXPORT jobject JNICALL Java_io_github_antoniomayk_jwhisper_jni_WhisperCpp_whisperAbortFlagInit
+  (JNIEnv *, jclass);
+
+/*
+ * Class:     io_github_antoniomayk_jwhisper_jni_WhisperCpp
+ * Method:    whisperAbortFlagFree
+ * Signature: (Lio/github/antoniomayk/jwhisper/jni/WhisperAbortFlag;)V
+ */
+JNIEXPORT void JNICALL Java_io_github_antoniomayk_jwhisper_jni_WhisperCpp_whisperAbortFlagFree
+  (JNIEnv *, jclass, jobject);
+
+/*
+ * Class:     io_github_antoniomayk_jwhisper_jni_WhisperCpp
+ * Method:    whisperAbortFlagSet
+ * Signature: (Lio/github/antoniomayk/jwhisper/jni/WhisperAbortFlag;Z)V
+ */
+JNIEXPORT void JNICALL Java_io_github_antoniomayk_jwhisper_jni_WhisperCpp_whisperAbortFlagSet
+  (JNIEnv *, jclass, jobject, jboolean);
+
+/*
+ * Class:     io_github_antoniomayk_jwhisper_jni_WhisperCpp
+ * Method:    whisperFullParamsSetAbortFlag
+ * Signature: (Lio/github/antoniomayk/jwhisper/jni/WhisperFullParams;Lio/github/antoniomayk/jwhisper/jni/WhisperAbortFlag;)V
+ */
+JNIEXPORT void JNICALL Java_io_github_antoniomayk_jwhisper_jni_WhisperCpp_whisperFullParamsSetAbortFlag
+  (JNIEnv *, jclass, jobject, jobject);
+
+/*
+ * Class:     io_github_antoniomayk_jwhisper_jni_WhisperCpp
+ * Method:    whisperGetTimings
+ * Signature: (Lio/github/antoniomayk/jwhisper/jni/WhisperContext;[F)Z
+ */
+JNIEXPORT jboolean JNICALL Java_io_github_antoniomayk_jwhisper_jni_WhisperCpp_whisperGetTimings
+  (JNIEnv *, jclass, jobject, jfloatArray);
+
+/*
+ * Class:     io_github_antoniomayk_jwhisper_jni_WhisperCpp
+ * Method:    whisperResetTimings
+ * Signature: (Lio/github/antoniomayk/jwhisper/jni/WhisperContext;)V
+ */
+JNIEXPORT void JNICALL Java_io_github_antoniomayk_jwhisper_jni_WhisperCpp_whisperResetTimings
+  (JNIEnv *, jclass, jobject);
+
+/*
+ * Class:     io_github_antoniomayk_jwhisper_jni_WhisperCpp
+ * Method:    whisperPcmToMel
+ * Signature: (Lio/github/antoniomayk/jwhisper/jni/WhisperContext;[FII)V
+ */
+JNIEXPORT void JNICALL Java_io_github_antoniomayk_jwhisper_jni_WhisperCpp_whisperPcmToMel
+  (JNIEnv *, jclass, jobject, jfloatArray, jint, jint);
+
+/*
+ * Class:     io_github_antoniomayk_jwhisper_jni_WhisperCpp
+ * Method:    whisperPcmToMelWithState
+ * Signature: (Lio/github/antoniomayk/jwhisper/jni/WhisperContext;Lio/github/antoniomayk/jwhisper/jni/WhisperState;[FII)V
+ */
+JNIEXPORT void JNICALL Java_io_github_antoniomayk_jwhisper_jni_WhisperCpp_whisperPcmToMelWithState
+  (JNIEnv *, jclass, jobject, jobject, jfloatArray, jint, jint);
+
+/*
+ * Class:     io_github_antoniomayk_jwhisper_jni_WhisperCpp
+ * Method:    whisperEncode
+ * Signature: (Lio/github/antoniomayk/jwhisper/jni/WhisperContext;II)V
+ */
+JNIEXPORT void JNICALL Java_io_github_antoniomayk_jwhisper_jni_WhisperCpp_whisperEncode
+  (JNIEnv *, jclass, jobject, jint, jint);
+
+/*
+ * Class:     io_github_antoniomayk_jwhisper_jni_WhisperCpp
+ * Method:    whisperEncodeWithState
+ * Signature: (Lio/github/antoniomayk/jwhisper/jni/WhisperContext;Lio/github/antoniomayk/jwhisper/jni/WhisperState;II)V
+ */
+JNIEXPORT void JNICALL Java_io_github_antoniomayk_jwhisper_jni_WhisperCpp_whisperEncodeWithState
+  (JNIEnv *, jclass, jobject, jobject, jint, jint);
+
+/*
+ * Class:     io_github_antoniomayk_jwhisper_jni_WhisperCpp
+ * Method:    whisperLangAutoDetect
+ * Signature: (Lio/github/antoniomayk/jwhisper/jni/WhisperContext;II[F)I
+ */
+JNIEXPORT jint JNICALL Java_io_github_antoniomayk_jwhisper_jni_WhisperCpp_whisperLangAutoDetect
+  (JNIEnv *, jclass, jobject, jint, jint, jfloatArray);
+
+/*
+ * Class:     io_github_antoniomayk_jwhisper_jni_WhisperCpp
+ * Method:    whisperLangAutoDetectWithState
+ * Signature: (Lio/github/antoniomayk/jwhisper/jni/WhisperContext;Lio/github/antoniomayk/jwhisper/jni/WhisperState;II[F)I
+ */
+JNIEXPORT jint JNICALL Java_io_github_antoniomayk_jwhisper_jni_WhisperCpp_whisperLangAutoDetectWithState
+  (JNIEnv *, jclass, jobject, jobject, jint, jint, jfloatArray);
+
+/*
+ * Class:     io_github_antoniomayk_jwhisper_jni_WhisperCpp
+ * Method:    whisperLangMaxId
+ * Signature: ()I
+ */
+JNIEXPORT jint JNICALL Java_io_github_antoniomayk_jwhisper_jni_WhisperCpp_whisperLangMaxId
+  (JNIEnv *, jclass);
+
+/*
+ * Class:     io_github_antoniomayk_jwhisper_jni_WhisperCpp
+ * Method:    whisperLangStr
+ * Signature: (I)Ljava/lang/String;
+ */
+JNIEXPORT jstring JNICALL Java_io_github_antoniomayk_jwhisper_jni_WhisperCpp_whisperLangStr
+  (JNIEnv *, jclass, jint);
+
+/*
+ * Class:     io_github_antoniomayk_jwhisper_jni_WhisperCpp
+ * Method:    whisperLangStrFull
+ * Signature: (I)Ljava/lang/String;
+ */
+JNIEXPORT jstring JNICALL Java_io_github_antoniomayk_jwhisper_jni_WhisperCpp_whisperLangStrFull
+  (JNIEnv *, jclass, jint);
+
 #ifdef __cplusplus
 }
 #endif
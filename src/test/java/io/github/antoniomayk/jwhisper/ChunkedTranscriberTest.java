@@ -0,0 +1,81 @@
+package io.github.antoniomayk.jwhisper;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import io.github.antoniomayk.jwhisper.utils.AudioUtils;
+import io.github.antoniomayk.jwhisper.utils.ResourceLoaderUtils;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import javax.sound.sampled.AudioSystem;
+import javax.sound.sampled.UnsupportedAudioFileException;
+import org.junit.jupiter.api.Test;
+
+class ChunkedTranscriberTest {
+  @Test
+  void shouldThrowIllegalArgumentExceptionWhenOverlapIsTooLarge() {
+    assertThatThrownBy(() -> new ChunkedTranscriber.Options(1000, 250, 0))
+        .isInstanceOf(IllegalArgumentException.class)
+        .hasMessage("Invalid chunks: chunk 1000, overlap 250, search 0");
+  }
+
+  @Test
+  void shouldNotCutShortAudio() {
+    final var samples = new float[16000 * 5];
+    final var options = new ChunkedTranscriber.Options(4000, 200, 1000);
+
+    assertThat(ChunkedTranscriber.findCuts(samples, options)).containsExactly(0, samples.length);
+  }
+
+  @Test
+  void shouldCutAtSilenceNearChunkBoundary() {
+    final var samples = new float[16000 * 10];
+    Arrays.fill(samples, 0.5f);
+    Arrays.fill(samples, 16000 * 3, 16000 * 3 + 1600, 0);
+
+    final var options = new ChunkedTranscriber.Options(4000, 200, 1000);
+    final var cuts = ChunkedTranscriber.findCuts(samples, options);
+
+    assertThat(cuts).hasSize(4).startsWith(0).endsWith(samples.length);
+    assertThat(cuts[1]).isBetween(16000 * 3, 16000 * 3 + 1600);
+    assertThat(cuts[2]).isBetween(cuts[1] + 16000 * 3, cuts[1] + 16000 * 5);
+  }
+
+  @Test
+  void shouldTranscribeChunksOnGlobalTimeline() throws Exception {
+    final var clip = loadSamples();
+    final var samples = new float[clip.length * 3];
+
+    for (var i = 0; i < 3; i++) {
+      System.arraycopy(clip, 0, samples, i * clip.length, clip.length);
+    }
+
+    try (var pool =
+        JwhisperPool.newInstance(Paths.get(System.getenv("GGML_MODELS"), "ggml-tiny.en.bin"), 2)) {
+      final var transcriber =
+          ChunkedTranscriber.newInstance(pool, new ChunkedTranscriber.Options(11000, 1000, 2000));
+      final var result = transcriber.transcribe(samples);
+
+      assertThat(result.segmentCount()).isGreaterThanOrEqualTo(3);
+      assertThat(result.text()).contains("fellow Americans", "your country");
+
+      for (var i = 1; i < result.segmentCount(); i++) {
+        assertThat(result.segmentT0(i)).isGreaterThanOrEqualTo(result.segmentT0(i - 1));
+      }
+
+      assertThat(result.segmentT1(result.segmentCount() - 1))
+          .isGreaterThan(2 * clip.length / 160)
+          .isLessThanOrEqualTo(samples.length / 160 + 100);
+    }
+  }
+
+  private static float[] loadSamples() throws UnsupportedAudioFileException, IOException {
+    final var wavFile =
+        ResourceLoaderUtils.getResource(ChunkedTranscriberTest.class, "samples/jfk.wav");
+    final var wavInputStream = AudioSystem.getAudioInputStream(new File(wavFile));
+
+    return AudioUtils.convertPcmS16MonoToPcmF32Mono(wavInputStream);
+  }
+}
@@ -0,0 +1,67 @@
+package io.github.antoniomayk.jwhisper;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import org.junit.jupiter.api.Test;
+
+class JwhisperModelRegistryTest {
+  @Test
+  void shouldThrowIllegalArgumentExceptionWhenBudgetIsNegative() {
+    assertThatThrownBy(() -> JwhisperModelRegistry.newInstance(-1))
+        .isInstanceOf(IllegalArgumentException.class)
+        .hasMessage("Memory budget must not be negative: -1");
+  }
+
+  @Test
+  void shouldShareModelBetweenHandles() throws IOException {
+    final var model = Paths.get(System.getenv("GGML_MODELS"), "ggml-tiny.en.bin");
+
+    try (var registry = JwhisperModelRegistry.newInstance(Long.MAX_VALUE);
+        var first = registry.acquire(model);
+        var second = registry.acquire(model)) {
+      assertThat(second.model()).isSameAs(first.model());
+      assertThat(registry.residentModels()).isOne();
+      assertThat(registry.usedMemory()).isEqualTo(Files.size(model));
+    }
+  }
+
+  @Test
+  void shouldEvictLeastRecentlyUsedModelWhenBudgetIsExceeded() throws IOException {
+    final var model = Paths.get(System.getenv("GGML_MODELS"), "ggml-tiny.en.bin");
+    final var mapped = JwhisperContextParams.builder().memoryMapped(true).build();
+
+    try (var registry = JwhisperModelRegistry.newInstance(Files.size(model))) {
+      registry.warmUp(model);
+
+      final JwhisperModel evicted;
+
+      try (var handle = registry.acquire(model)) {
+        evicted = handle.model();
+      }
+
+      try (var handle = registry.acquire(model, mapped)) {
+        assertThat(handle.model().isClosed()).isFalse();
+        assertThat(evicted.isClosed()).isTrue();
+        assertThat(registry.residentModels()).isOne();
+      }
+    }
+  }
+
+  @Test
+  void shouldNotEvictModelsInUse() throws IOException {
+    final var model = Paths.get(System.getenv("GGML_MODELS"), "ggml-tiny.en.bin");
+    final var mapped = JwhisperContextParams.builder().memoryMapped(true).build();
+
+    try (var registry = JwhisperModelRegistry.newInstance(0);
+        var first = registry.acquire(model);
+        var second = registry.acquire(model, mapped)) {
+      assertThat(first.model().isClosed()).isFalse();
+      assertThat(second.model().isClosed()).isFalse();
+      assertThat(registry.residentModels()).isEqualTo(2);
+    }
+  }
+}
@@ -0,0 +1,114 @@
+package io.github.antoniomayk.jwhisper;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import io.github.antoniomayk.jwhisper.jni.WhisperCpp;
+import io.github.antoniomayk.jwhisper.utils.AudioUtils;
+import io.github.antoniomayk.jwhisper.utils.ResourceLoaderUtils;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import javax.sound.sampled.AudioSystem;
+import javax.sound.sampled.UnsupportedAudioFileException;
+import org.junit.jupiter.api.Test;
+
+class JwhisperModelTest {
+  @Test
+  void shouldThrowIoExceptionWhenModelFileDoesNotExist() {
+    final var nonExistentPath = Paths.get("/path/to/non/existent/model.bin");
+
+    assertThatThrownBy(() -> JwhisperModel.newInstance(nonExistentPath))
+        .isInstanceOf(IOException.class)
+        .hasMessage("Model file does not exist: %s", nonExistentPath);
+  }
+
+  @Test
+  void shouldTranscribeWithInstancesSharingTheSameModel()
+      throws UnsupportedAudioFileException, IOException {
+    final var wavFile = ResourceLoaderUtils.getResource(JwhisperModelTest.class, "samples/jfk.wav");
+    final var wavInputStream = AudioSystem.getAudioInputStream(new File(wavFile));
+    final var samples = AudioUtils.convertPcmS16MonoToPcmF32Mono(wavInputStream);
+
+    try (var model =
+            JwhisperModel.newInstance(Paths.get(System.getenv("GGML_MODELS"), "ggml-tiny.en.bin"));
+        var first = model.newJwhisper();
+        var second = model.newJwhisper()) {
+      assertThat(first.whisperFull(samples)).isEqualTo(2);
+      assertThat(second.whisperFull(samples)).isEqualTo(2);
+
+      assertThat(first.whisperFullGetSegmentText(1).trim())
+          .isEqualTo("ask what you can do for your country.");
+      assertThat(second.whisperFullGetSegmentT1(1)).isEqualTo(1100);
+    }
+  }
+
+  @Test
+  void shouldCloseInstancesWhenModelIsClosed() throws IOException {
+    final var model =
+        JwhisperModel.newInstance(Paths.get(System.getenv("GGML_MODELS"), "ggml-tiny.en.bin"));
+    final var jwhisper = model.newJwhisper();
+
+    model.close();
+
+    assertThat(jwhisper.isClosed()).isTrue();
+    assertThatThrownBy(model::newJwhisper)
+        .isInstanceOf(IllegalStateException.class)
+        .hasMessage("Resource is already closed.");
+  }
+
+  @Test
+  void shouldWaitForClosingInstancesWhenModelIsClosed()
+      throws UnsupportedAudioFileException,
+          IOException,
+          InterruptedException,
+          ExecutionException {
+    final var model =
+        JwhisperModel.newInstance(Paths.get(System.getenv("GGML_MODELS"), "ggml-tiny.en.bin"));
+    final var jwhisper = model.newJwhisper();
+    final var wavFile = ResourceLoaderUtils.getResource(JwhisperModelTest.class, "samples/jfk.wav");
+    final var wavInputStream = AudioSystem.getAudioInputStream(new File(wavFile));
+    final var samples = AudioUtils.convertPcmS16MonoToPcmF32Mono(wavInputStream);
+    final var started = new CountDownLatch(1);
+    final var resumed = new CountDownLatch(1);
+
+    WhisperCpp.whisperFullParamsSetNewSegmentCallback(
+        jwhisper.whisperFullParams(),
+        newSegments -> {
+          started.countDown();
+
+          try {
+            resumed.await();
+          } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+          }
+        });
+
+    final var unused = CompletableFuture.supplyAsync(() -> jwhisper.whisperFull(samples));
+
+    started.await();
+
+    final var instanceClosing = CompletableFuture.runAsync(jwhisper::close);
+
+    while (!jwhisper.isClosed()) {
+      Thread.onSpinWait();
+    }
+
+    final var modelClosing = CompletableFuture.runAsync(model::close);
+
+    assertThatThrownBy(() -> modelClosing.get(100, TimeUnit.MILLISECONDS))
+        .isInstanceOf(TimeoutException.class);
+
+    resumed.countDown();
+    modelClosing.get();
+    instanceClosing.get();
+
+    assertThat(jwhisper.isClosed()).isTrue();
+    assertThat(model.isClosed()).isTrue();
+  }
+}
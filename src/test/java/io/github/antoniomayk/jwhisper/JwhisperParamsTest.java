@@ -0,0 +1,54 @@
+package io.github.antoniomayk.jwhisper;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import org.junit.jupiter.api.Test;
+
+class JwhisperParamsTest {
+  @Test
+  void shouldLeaveEveryOverrideUnsetByDefault() {
+    final var params = JwhisperParams.defaults();
+
+    assertThat(params.strategy()).isEqualTo(JwhisperParams.Strategy.GREEDY);
+    assertThat(params.nThreads()).isNull();
+    assertThat(params.beamSize()).isNull();
+    assertThat(params.language()).isNull();
+  }
+
+  @Test
+  void shouldRebuildEqualParams() {
+    final var params =
+        JwhisperParams.builder()
+            .strategy(JwhisperParams.Strategy.BEAM_SEARCH)
+            .beamSize(5)
+            .nThreads(4)
+            .audioCtx(768)
+            .noContext(true)
+            .temperatureInc(0)
+            .language("en")
+            .tokenTimestamps(true)
+            .build();
+
+    assertThat(params.toBuilder().build()).isEqualTo(params);
+    assertThat(params.toBuilder().beamSize(2).build()).isNotEqualTo(params);
+  }
+
+  @Test
+  void shouldThrowIllegalArgumentExceptionWhenThreadsAreNotPositive() {
+    final var builder = JwhisperParams.builder().nThreads(0);
+
+    assertThatThrownBy(builder::build)
+        .isInstanceOf(IllegalArgumentException.class)
+        .hasMessage("Invalid nThreads: 0");
+  }
+
+  @Test
+  void shouldThrowIllegalArgumentExceptionWhenTemperatureIncIsNegative() {
+    final var builder = JwhisperParams.builder().temperatureInc(-0.2f);
+
+    assertThatThrownBy(builder::build)
+        .isInstanceOf(IllegalArgumentException.class)
+        .hasMessage("Invalid temperatureInc: -0.2");
+  }
+}
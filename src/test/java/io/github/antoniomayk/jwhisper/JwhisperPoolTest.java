@@ -0,0 +1,156 @@
+package io.github.antoniomayk.jwhisper;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import io.github.antoniomayk.jwhisper.utils.AudioUtils;
+import io.github.antoniomayk.jwhisper.utils.ResourceLoaderUtils;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import javax.sound.sampled.AudioSystem;
+import javax.sound.sampled.UnsupportedAudioFileException;
+import org.junit.jupiter.api.Test;
+
+class JwhisperPoolTest {
+  @Test
+  void shouldThrowIllegalArgumentExceptionWhenSizeIsNotPositive() {
+    final var model = Paths.get("/path/to/non/existent/model.bin");
+
+    assertThatThrownBy(() -> JwhisperPool.newInstance(model, 0))
+        .isInstanceOf(IllegalArgumentException.class)
+        .hasMessage("Pool size must be positive: 0");
+  }
+
+  @Test
+  void shouldThrowIoExceptionWhenModelFileDoesNotExist() {
+    final var nonExistentPath = Paths.get("/path/to/non/existent/model.bin");
+
+    assertThatThrownBy(() -> JwhisperPool.newInstance(nonExistentPath, 2))
+        .isInstanceOf(IOException.class)
+        .hasMessage("Model file does not exist: %s", nonExistentPath);
+  }
+
+  @Test
+  void shouldGiveInstanceBackWhenLeaseIsClosed() throws Exception {
+    try (var pool =
+        JwhisperPool.newInstance(Paths.get(System.getenv("GGML_MODELS"), "ggml-tiny.en.bin"), 2)) {
+      assertThat(pool.size()).isEqualTo(2);
+      assertThat(pool.available()).isEqualTo(2);
+
+      try (var lease = pool.acquire()) {
+        assertThat(lease.jwhisper().isClosed()).isFalse();
+        assertThat(pool.available()).isOne();
+      }
+
+      assertThat(pool.available()).isEqualTo(2);
+    }
+  }
+
+  @Test
+  void shouldThrowTimeoutExceptionWhenPoolIsExhausted() throws Exception {
+    try (var pool =
+            JwhisperPool.newInstance(
+                Paths.get(System.getenv("GGML_MODELS"), "ggml-tiny.en.bin"), 1);
+        var lease = pool.acquire()) {
+      assertThat(lease.jwhisper()).isNotNull();
+      assertThatThrownBy(() -> pool.acquire(Duration.ofMillis(10)))
+          .isInstanceOf(TimeoutException.class);
+    }
+  }
+
+  @Test
+  void shouldThrowIllegalStateExceptionWhenAcquiringAfterClose() throws IOException {
+    final var pool =
+        JwhisperPool.newInstance(Paths.get(System.getenv("GGML_MODELS"), "ggml-tiny.en.bin"), 1);
+    pool.close();
+
+    assertThatThrownBy(pool::acquire)
+        .isInstanceOf(IllegalStateException.class)
+        .hasMessage("Resource is already closed.");
+  }
+
+  @Test
+  void shouldFailWaitingThreadsWhenClosed() throws Exception {
+    final var pool =
+        JwhisperPool.newInstance(Paths.get(System.getenv("GGML_MODELS"), "ggml-tiny.en.bin"), 1);
+
+    try (var lease = pool.acquire()) {
+      final var waiting =
+          CompletableFuture.supplyAsync(
+              () -> {
+                try (var other = pool.acquire()) {
+                  return other.jwhisper();
+                } catch (InterruptedException e) {
+                  throw new IllegalStateException(e);
+                }
+              });
+      final var pending = pool.transcribeAsync(new float[16000]);
+
+      pool.close();
+
+      assertThatThrownBy(() -> waiting.get(10, TimeUnit.SECONDS))
+          .isInstanceOf(ExecutionException.class)
+          .hasCauseInstanceOf(IllegalStateException.class);
+      assertThatThrownBy(() -> pending.get(10, TimeUnit.SECONDS))
+          .isInstanceOf(ExecutionException.class)
+          .hasCauseInstanceOf(IllegalStateException.class);
+      assertThat(lease.jwhisper().isClosed()).isFalse();
+    }
+  }
+
+  @Test
+  void shouldTranscribeAsynchronously() throws Exception {
+    try (var pool =
+        JwhisperPool.newInstance(Paths.get(System.getenv("GGML_MODELS"), "ggml-tiny.en.bin"), 2)) {
+      final var result = pool.transcribeAsync(loadSamples()).get(1, TimeUnit.MINUTES);
+
+      assertThat(result.segmentCount()).isEqualTo(2);
+      assertThat(result.segmentText(1).trim()).isEqualTo("ask what you can do for your country.");
+      assertThat(pool.available()).isEqualTo(2);
+    }
+  }
+
+  @Test
+  void shouldAbortTranscriptionWhenFutureIsCancelled() throws Exception {
+    try (var pool =
+        JwhisperPool.newInstance(Paths.get(System.getenv("GGML_MODELS"), "ggml-tiny.en.bin"), 1)) {
+      final var samples = loadSamples();
+      final var future = pool.transcribeAsync(samples);
+
+      future.cancel(true);
+
+      assertThatThrownBy(future::join).isInstanceOf(CancellationException.class);
+      assertThat(pool.transcribe(samples, Duration.ofMinutes(1)).segmentCount()).isEqualTo(2);
+    }
+  }
+
+  @Test
+  void shouldThrowTimeoutExceptionWhenTranscriptionIsTooSlow() throws Exception {
+    try (var pool =
+        JwhisperPool.newInstance(Paths.get(System.getenv("GGML_MODELS"), "ggml-tiny.en.bin"), 1)) {
+      final var samples = loadSamples();
+
+      assertThatThrownBy(() -> pool.transcribe(samples, Duration.ofNanos(1)))
+          .isInstanceOf(TimeoutException.class);
+
+      try (var lease = pool.acquire(Duration.ofMinutes(1))) {
+        assertThat(lease.jwhisper().whisperFull(samples)).isEqualTo(2);
+      }
+    }
+  }
+
+  private static float[] loadSamples() throws UnsupportedAudioFileException, IOException {
+    final var wavFile =
+        ResourceLoaderUtils.getResource(JwhisperPoolTest.class, "samples/jfk.wav");
+    final var wavInputStream = AudioSystem.getAudioInputStream(new File(wavFile));
+
+    return AudioUtils.convertPcmS16MonoToPcmF32Mono(wavInputStream);
+  }
+}
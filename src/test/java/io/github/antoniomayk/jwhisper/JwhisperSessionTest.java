@@ -0,0 +1,69 @@
+package io.github.antoniomayk.jwhisper;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import io.github.antoniomayk.jwhisper.utils.AudioUtils;
+import io.github.antoniomayk.jwhisper.utils.ResourceLoaderUtils;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Paths;
+import javax.sound.sampled.AudioSystem;
+import javax.sound.sampled.UnsupportedAudioFileException;
+import org.junit.jupiter.api.Test;
+
+class JwhisperSessionTest {
+  @Test
+  void shouldFillSegmentBufferLikeTranscribe() throws UnsupportedAudioFileException, IOException {
+    final var samples = loadSamples();
+
+    try (var jwhisper =
+        Jwhisper.newInstance(Paths.get(System.getenv("GGML_MODELS"), "ggml-tiny.en.bin"))) {
+      final var expected = jwhisper.transcribe(samples);
+      final var session = JwhisperSession.newInstance(jwhisper, 16000);
+      final var segments = session.transcribe(samples, 0, samples.length);
+
+      assertThat(segments).isSameAs(session.segments());
+      assertThat(segments.toResult()).isEqualTo(expected);
+      assertThat(segments.segmentCount()).isEqualTo(2);
+      assertThat(segments.segmentT1(0)).isEqualTo(800);
+
+      final var text = new byte[segments.segmentTextLength(1)];
+
+      assertThat(segments.copySegmentText(1, text, 0)).isEqualTo(text.length);
+      assertThat(new String(text, StandardCharsets.UTF_8).trim())
+          .isEqualTo("ask what you can do for your country.");
+    }
+  }
+
+  @Test
+  void shouldReuseSegmentBufferAcrossTranscriptions()
+      throws UnsupportedAudioFileException, IOException {
+    final var samples = loadSamples();
+
+    try (var jwhisper =
+        Jwhisper.newInstance(Paths.get(System.getenv("GGML_MODELS"), "ggml-tiny.en.bin"))) {
+      final var session = JwhisperSession.newInstance(jwhisper);
+
+      session.input(samples.length).put(samples);
+
+      final var first = session.transcribe().toResult();
+      final var second = session.transcribe(samples, 0, samples.length);
+
+      assertThat(second.toResult()).isEqualTo(first);
+      assertThat(session.transcribe(new float[16000], 0, 16000).segmentCount()).isLessThan(2);
+      assertThatThrownBy(() -> session.segments().segmentT0(2))
+          .isInstanceOf(IndexOutOfBoundsException.class)
+          .hasMessage("Segment index out of range: 2");
+    }
+  }
+
+  private static float[] loadSamples() throws UnsupportedAudioFileException, IOException {
+    final var wavFile =
+        ResourceLoaderUtils.getResource(JwhisperSessionTest.class, "samples/jfk.wav");
+    final var wavInputStream = AudioSystem.getAudioInputStream(new File(wavFile));
+
+    return AudioUtils.convertPcmS16MonoToPcmF32Mono(wavInputStream);
+  }
+}
@@ -0,0 +1,110 @@
+package io.github.antoniomayk.jwhisper;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import io.github.antoniomayk.jwhisper.utils.AudioUtils;
+import io.github.antoniomayk.jwhisper.utils.ResourceLoaderUtils;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Flow;
+import java.util.stream.Collectors;
+import javax.sound.sampled.AudioSystem;
+import javax.sound.sampled.UnsupportedAudioFileException;
+import org.junit.jupiter.api.Test;
+
+class JwhisperStreamTest {
+  @Test
+  void shouldThrowIllegalArgumentExceptionWhenWindowIsInconsistent() {
+    assertThatThrownBy(() -> new JwhisperStream.Options(3000, 1000, 200, true, true))
+        .isInstanceOf(IllegalArgumentException.class)
+        .hasMessage("Invalid stream window: step 3000, length 1000, keep 200");
+  }
+
+  @Test
+  void shouldPublishFinalSegmentsOfPushedChunks()
+      throws UnsupportedAudioFileException, IOException {
+    final var wavFile =
+        ResourceLoaderUtils.getResource(JwhisperStreamTest.class, "samples/jfk.wav");
+    final var wavInputStream = AudioSystem.getAudioInputStream(new File(wavFile));
+    final var samples = AudioUtils.convertPcmS16MonoToPcmF32Mono(wavInputStream);
+    final var segments = new CopyOnWriteArrayList<JwhisperStream.Segment>();
+
+    final var options = new JwhisperStream.Options(2000, 12000, 200, true, true);
+
+    try (var jwhisper =
+            Jwhisper.newInstance(Paths.get(System.getenv("GGML_MODELS"), "ggml-tiny.en.bin"));
+        var stream = JwhisperStream.newInstance(jwhisper, options, Runnable::run)) {
+      stream.segments().subscribe(new CollectingSubscriber(segments));
+
+      for (var offset = 0; offset < samples.length; offset += 1600) {
+        stream.push(samples, offset, Math.min(1600, samples.length - offset));
+      }
+
+      stream.flush();
+    }
+
+    final var finalSegments =
+        segments.stream().filter(JwhisperStream.Segment::isFinal).collect(Collectors.toList());
+
+    assertThat(segments).isNotEmpty();
+    assertThat(finalSegments).isNotEmpty();
+    assertThat(text(finalSegments)).contains("country");
+    assertThat(finalSegments).allSatisfy(segment -> assertThat(segment.t1()).isLessThan(1200));
+  }
+
+  @Test
+  void shouldRestoreFullParamsWhenClosed() throws UnsupportedAudioFileException, IOException {
+    final var wavFile =
+        ResourceLoaderUtils.getResource(JwhisperStreamTest.class, "samples/jfk.wav");
+    final var wavInputStream = AudioSystem.getAudioInputStream(new File(wavFile));
+    final var samples = AudioUtils.convertPcmS16MonoToPcmF32Mono(wavInputStream);
+    final var options = new JwhisperStream.Options(2000, 12000, 200, true, true);
+
+    try (var jwhisper =
+        Jwhisper.newInstance(Paths.get(System.getenv("GGML_MODELS"), "ggml-tiny.en.bin"))) {
+      try (var stream = JwhisperStream.newInstance(jwhisper, options, Runnable::run)) {
+        stream.push(samples);
+        stream.flush();
+      }
+
+      assertThat(jwhisper.whisperFull(samples)).isEqualTo(2);
+    }
+  }
+
+  private static String text(final List<JwhisperStream.Segment> segments) {
+    return segments.stream().map(JwhisperStream.Segment::text).collect(Collectors.joining());
+  }
+
+  private static final class CollectingSubscriber
+      implements Flow.Subscriber<JwhisperStream.Segment> {
+    private final List<JwhisperStream.Segment> segments;
+
+    private CollectingSubscriber(final List<JwhisperStream.Segment> segments) {
+      this.segments = segments;
+    }
+
+    @Override
+    public void onSubscribe(final Flow.Subscription subscription) {
+      subscription.request(Long.MAX_VALUE);
+    }
+
+    @Override
+    public void onNext(final JwhisperStream.Segment segment) {
+      segments.add(segment);
+    }
+
+    @Override
+    public void onError(final Throwable throwable) {
+      throw new AssertionError(throwable);
+    }
+
+    @Override
+    public void onComplete() {
+      // Nothing to release
+    }
+  }
+}
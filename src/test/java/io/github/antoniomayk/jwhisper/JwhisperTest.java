@@ -4,12 +4,20 @@ import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatCode;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
+import io.github.antoniomayk.jwhisper.audio.VoiceActivityDetector;
+import io.github.antoniomayk.jwhisper.jni.WhisperCpp;
 import io.github.antoniomayk.jwhisper.utils.AudioUtils;
 import io.github.antoniomayk.jwhisper.utils.ResourceLoaderUtils;
 import java.io.File;
 import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.FloatBuffer;
 import java.nio.file.Files;
 import java.nio.file.Paths;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
 import javax.sound.sampled.AudioSystem;
 import javax.sound.sampled.UnsupportedAudioFileException;
 import org.junit.jupiter.api.Test;
@@ -83,4 +91,271 @@ class JwhisperTest {
         .isInstanceOf(IllegalStateException.class)
         .hasMessage("Resource is already closed.");
   }
+
+  @Test
+  void shouldTranscribeSamplesFromDirectBuffer() throws UnsupportedAudioFileException, IOException {
+    final var wavFile = ResourceLoaderUtils.getResource(JwhisperTest.class, "samples/jfk.wav");
+    final var wavInputStream = AudioSystem.getAudioInputStream(new File(wavFile));
+    final var samples = AudioUtils.convertPcmS16MonoToPcmF32Mono(wavInputStream);
+    final var directSamples =
+        ByteBuffer.allocateDirect(samples.length * Float.BYTES)
+            .order(ByteOrder.nativeOrder())
+            .asFloatBuffer()
+            .put(samples)
+            .flip();
+
+    try (var jwhisper =
+        Jwhisper.newInstance(Paths.get(System.getenv("GGML_MODELS"), "ggml-tiny.en.bin"))) {
+      assertThat(jwhisper.whisperFull(directSamples)).isEqualTo(2);
+      assertThat(directSamples.remaining()).isEqualTo(samples.length);
+      assertThat(jwhisper.whisperFullGetSegmentText(1).trim())
+          .isEqualTo("ask what you can do for your country.");
+    }
+  }
+
+  @Test
+  void shouldThrowIllegalArgumentExceptionWhenBufferIsNotDirect() throws IOException {
+    try (var jwhisper =
+        Jwhisper.newInstance(Paths.get(System.getenv("GGML_MODELS"), "ggml-tiny.en.bin"))) {
+      assertThatThrownBy(() -> jwhisper.whisperFull(FloatBuffer.allocate(16)))
+          .isInstanceOf(IllegalArgumentException.class)
+          .hasMessage("Samples buffer must be direct.");
+    }
+  }
+
+  @Test
+  void shouldExtractEverySegmentAtOnce() throws UnsupportedAudioFileException, IOException {
+    final var wavFile = ResourceLoaderUtils.getResource(JwhisperTest.class, "samples/jfk.wav");
+    final var wavInputStream = AudioSystem.getAudioInputStream(new File(wavFile));
+    final var samples = AudioUtils.convertPcmS16MonoToPcmF32Mono(wavInputStream);
+
+    try (var jwhisper =
+        Jwhisper.newInstance(Paths.get(System.getenv("GGML_MODELS"), "ggml-tiny.en.bin"))) {
+      final var result = jwhisper.transcribe(samples);
+
+      assertThat(result.segmentCount()).isEqualTo(2);
+      assertThat(result.segmentT0(1)).isEqualTo(800);
+      assertThat(result.segmentT1(1)).isEqualTo(1100);
+      assertThat(result.segmentText(0)).isEqualTo(jwhisper.whisperFullGetSegmentText(0));
+      assertThat(result.segmentText(1).trim()).isEqualTo("ask what you can do for your country.");
+    }
+  }
+
+  @Test
+  void shouldThrowCancellationExceptionWhenAborted()
+      throws UnsupportedAudioFileException, IOException {
+    try (var jwhisper =
+        Jwhisper.newInstance(Paths.get(System.getenv("GGML_MODELS"), "ggml-tiny.en.bin"))) {
+      final var wavFile = ResourceLoaderUtils.getResource(JwhisperTest.class, "samples/jfk.wav");
+      final var wavInputStream = AudioSystem.getAudioInputStream(new File(wavFile));
+      final var samples = AudioUtils.convertPcmS16MonoToPcmF32Mono(wavInputStream);
+
+      jwhisper.abort();
+
+      assertThatThrownBy(() -> jwhisper.whisperFull(samples))
+          .isInstanceOf(CancellationException.class)
+          .hasMessage("Processing was aborted.");
+      assertThat(jwhisper.whisperFull(samples)).isEqualTo(2);
+    }
+  }
+
+  @Test
+  void shouldWaitForRunningProcessingWhenClosed()
+      throws UnsupportedAudioFileException, IOException, InterruptedException {
+    final var jwhisper =
+        Jwhisper.newInstance(Paths.get(System.getenv("GGML_MODELS"), "ggml-tiny.en.bin"));
+    final var wavFile = ResourceLoaderUtils.getResource(JwhisperTest.class, "samples/jfk.wav");
+    final var wavInputStream = AudioSystem.getAudioInputStream(new File(wavFile));
+    final var samples = AudioUtils.convertPcmS16MonoToPcmF32Mono(wavInputStream);
+    final var started = new CountDownLatch(1);
+
+    WhisperCpp.whisperFullParamsSetNewSegmentCallback(
+        jwhisper.whisperFullParams(), newSegments -> started.countDown());
+
+    final var processing = CompletableFuture.supplyAsync(() -> jwhisper.whisperFull(samples));
+
+    started.await();
+    jwhisper.close();
+
+    assertThat(processing).isDone();
+    assertThat(jwhisper.isClosed()).isTrue();
+  }
+
+  @Test
+  void shouldStopProcessingWhenNewSegmentCallbackThrows()
+      throws UnsupportedAudioFileException, IOException {
+    try (var jwhisper =
+        Jwhisper.newInstance(Paths.get(System.getenv("GGML_MODELS"), "ggml-tiny.en.bin"))) {
+      final var wavFile = ResourceLoaderUtils.getResource(JwhisperTest.class, "samples/jfk.wav");
+      final var wavInputStream = AudioSystem.getAudioInputStream(new File(wavFile));
+      final var samples = AudioUtils.convertPcmS16MonoToPcmF32Mono(wavInputStream);
+
+      WhisperCpp.whisperFullParamsSetNewSegmentCallback(
+          jwhisper.whisperFullParams(),
+          newSegments -> {
+            throw new IllegalStateException("Callback failed.");
+          });
+
+      assertThatThrownBy(() -> jwhisper.whisperFull(samples))
+          .isInstanceOf(IllegalStateException.class)
+          .hasMessage("Callback failed.");
+
+      WhisperCpp.whisperFullParamsSetNewSegmentCallback(jwhisper.whisperFullParams(), null);
+
+      assertThat(jwhisper.whisperFull(samples)).isEqualTo(2);
+    }
+  }
+
+  @Test
+  void shouldTranscribeWithTypedParams() throws UnsupportedAudioFileException, IOException {
+    try (var jwhisper =
+        Jwhisper.newInstance(Paths.get(System.getenv("GGML_MODELS"), "ggml-tiny.en.bin"))) {
+      final var wavFile = ResourceLoaderUtils.getResource(JwhisperTest.class, "samples/jfk.wav");
+      final var wavInputStream = AudioSystem.getAudioInputStream(new File(wavFile));
+      final var samples = AudioUtils.convertPcmS16MonoToPcmF32Mono(wavInputStream);
+
+      jwhisper.setFullParams(
+          JwhisperParams.builder()
+              .strategy(JwhisperParams.Strategy.BEAM_SEARCH)
+              .beamSize(2)
+              .nThreads(2)
+              .singleSegment(true)
+              .language("english")
+              .build());
+
+      assertThat(jwhisper.whisperFull(samples)).isOne();
+    }
+  }
+
+  @Test
+  void shouldThrowIllegalArgumentExceptionWhenLanguageIsUnknown() throws IOException {
+    try (var jwhisper =
+        Jwhisper.newInstance(Paths.get(System.getenv("GGML_MODELS"), "ggml-tiny.en.bin"))) {
+      final var params = JwhisperParams.builder().language("klingon").build();
+
+      assertThatThrownBy(() -> jwhisper.setFullParams(params))
+          .isInstanceOf(IllegalArgumentException.class)
+          .hasMessage("Unknown language: klingon");
+    }
+  }
+
+  @Test
+  void shouldTranscribeWithMemoryMappedModel() throws UnsupportedAudioFileException, IOException {
+    final var contextParams =
+        JwhisperContextParams.builder().useGpu(false).memoryMapped(true).build();
+
+    try (var jwhisper =
+        Jwhisper.newInstance(
+            Paths.get(System.getenv("GGML_MODELS"), "ggml-tiny.en.bin"), contextParams)) {
+      final var wavFile = ResourceLoaderUtils.getResource(JwhisperTest.class, "samples/jfk.wav");
+      final var wavInputStream = AudioSystem.getAudioInputStream(new File(wavFile));
+      final var samples = AudioUtils.convertPcmS16MonoToPcmF32Mono(wavInputStream);
+
+      assertThat(jwhisper.loadTime()).isPositive();
+      assertThat(jwhisper.whisperFull(samples)).isEqualTo(2);
+    }
+  }
+
+  @Test
+  void shouldThrowIoExceptionWhenModelCannotBeLoaded() throws IOException {
+    final var invalidModel = Files.createTempFile("jwhisper", ".bin");
+    Files.writeString(invalidModel, "not a ggml model");
+
+    try {
+      final var contextParams = JwhisperContextParams.builder().memoryMapped(true).build();
+
+      assertThatThrownBy(() -> Jwhisper.newInstance(invalidModel, contextParams))
+          .isInstanceOf(IOException.class)
+          .hasMessage("Failed to load model: %s", invalidModel);
+    } finally {
+      Files.delete(invalidModel);
+    }
+  }
+
+  @Test
+  void shouldTranscribeSpeechRegionsOnOriginalTimeline()
+      throws UnsupportedAudioFileException, IOException {
+    try (var jwhisper =
+        Jwhisper.newInstance(Paths.get(System.getenv("GGML_MODELS"), "ggml-tiny.en.bin"))) {
+      final var wavFile = ResourceLoaderUtils.getResource(JwhisperTest.class, "samples/jfk.wav");
+      final var wavInputStream = AudioSystem.getAudioInputStream(new File(wavFile));
+      final var speech = AudioUtils.convertPcmS16MonoToPcmF32Mono(wavInputStream);
+      final var samples = new float[16000 * 5 + speech.length];
+
+      System.arraycopy(speech, 0, samples, 16000 * 5, speech.length);
+
+      final var result = jwhisper.transcribe(samples, VoiceActivityDetector.newInstance());
+
+      assertThat(result.segmentCount()).isPositive();
+      assertThat(result.segmentT0(0)).isGreaterThanOrEqualTo(450);
+      assertThat(result.text()).contains("fellow Americans");
+    }
+  }
+
+  @Test
+  void shouldExtractTokenTimestampsInSameDecodingPass()
+      throws UnsupportedAudioFileException, IOException {
+    final var contextParams =
+        JwhisperContextParams.builder()
+            .dtwAlignmentHeads(JwhisperContextParams.AlignmentHeads.TINY_EN)
+            .build();
+
+    try (var jwhisper =
+        Jwhisper.newInstance(
+            Paths.get(System.getenv("GGML_MODELS"), "ggml-tiny.en.bin"), contextParams)) {
+      final var wavFile = ResourceLoaderUtils.getResource(JwhisperTest.class, "samples/jfk.wav");
+      final var wavInputStream = AudioSystem.getAudioInputStream(new File(wavFile));
+      final var samples = AudioUtils.convertPcmS16MonoToPcmF32Mono(wavInputStream);
+
+      jwhisper.setFullParams(JwhisperParams.builder().tokenTimestamps(true).build());
+
+      final var segments = jwhisper.transcribe(samples);
+      final var tokens = jwhisper.whisperFullGetTokens();
+
+      assertThat(tokens.segmentCount()).isEqualTo(segments.segmentCount());
+      assertThat(tokens.tokenCount(0)).isEqualTo(jwhisper.whisperFullNumberOfTokens(0));
+      assertThat(tokens.firstToken(1)).isEqualTo(tokens.tokenCount(0));
+      assertThat(tokens.tokenId(0)).isEqualTo(jwhisper.whisperFullGetTokenId(0, 0));
+
+      for (var token = 0; token < tokens.tokenCount(); token++) {
+        assertThat(tokens.tokenProbability(token)).isBetween(0.0f, 1.0f);
+        assertThat(tokens.tokenT1(token)).isGreaterThanOrEqualTo(tokens.tokenT0(token));
+        assertThat(tokens.tokenDtw(token)).isNotNegative();
+      }
+    }
+  }
+
+  @Test
+  void shouldDetectLanguageWithoutDiscardingSegments()
+      throws UnsupportedAudioFileException, IOException {
+    try (var jwhisper =
+        Jwhisper.newInstance(Paths.get(System.getenv("GGML_MODELS"), "ggml-tiny.en.bin"))) {
+      final var wavFile = ResourceLoaderUtils.getResource(JwhisperTest.class, "samples/jfk.wav");
+      final var wavInputStream = AudioSystem.getAudioInputStream(new File(wavFile));
+      final var samples = AudioUtils.convertPcmS16MonoToPcmF32Mono(wavInputStream);
+
+      assertThat(jwhisper.whisperFull(samples)).isEqualTo(2);
+
+      final var detection = jwhisper.detectLanguage(samples);
+      final var probabilities = detection.probabilities();
+
+      assertThat(probabilities).containsKeys("en", "de", detection.language());
+      assertThat(probabilities.get(detection.language())).isEqualTo(detection.probability());
+      assertThat(probabilities.values())
+          .allSatisfy(probability -> assertThat(probability).isBetween(0.0f, 1.0f));
+      assertThat(probabilities.values().stream().max(Float::compare))
+          .contains(detection.probability());
+      assertThat(jwhisper.whisperFullNumberOfSegments()).isEqualTo(2);
+    }
+  }
+
+  @Test
+  void shouldThrowExceptionWhenDetectingLanguageOfEmptySamples() throws IOException {
+    try (var jwhisper =
+        Jwhisper.newInstance(Paths.get(System.getenv("GGML_MODELS"), "ggml-tiny.en.bin"))) {
+      assertThatThrownBy(() -> jwhisper.detectLanguage(new float[0]))
+          .isInstanceOf(IllegalArgumentException.class)
+          .hasMessage("Samples must not be empty.");
+    }
+  }
 }
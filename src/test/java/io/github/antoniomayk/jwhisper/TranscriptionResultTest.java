@@ -0,0 +1,53 @@
+package io.github.antoniomayk.jwhisper;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.nio.charset.StandardCharsets;
+import org.junit.jupiter.api.Test;
+
+class TranscriptionResultTest {
+  @Test
+  void shouldDecodeSegmentsFromBlob() {
+    final var text = " Olá mundo. Hello.".getBytes(StandardCharsets.UTF_8);
+    final var timestamps = new long[] {0, 150, 150, 300};
+    final var result = new TranscriptionResult(timestamps, text, new int[] {0, 12, text.length});
+
+    assertThat(result.segmentCount()).isEqualTo(2);
+    assertThat(result.segmentText(0)).isEqualTo(" Olá mundo.");
+    assertThat(result.segmentText(1)).isEqualTo(" Hello.");
+    assertThat(result.segmentT0(1)).isEqualTo(150);
+    assertThat(result.segmentT1(1)).isEqualTo(300);
+    assertThat(result.text()).isEqualTo(" Olá mundo. Hello.");
+  }
+
+  @Test
+  void shouldThrowIndexOutOfBoundsExceptionForMissingSegment() {
+    final var result = new TranscriptionResult(new long[0], new byte[0], new int[] {0});
+
+    assertThat(result.segmentCount()).isZero();
+    assertThatThrownBy(() -> result.segmentT0(0))
+        .isInstanceOf(IndexOutOfBoundsException.class)
+        .hasMessage("Segment index out of range: 0");
+  }
+
+  @Test
+  void shouldThrowIllegalArgumentExceptionWhenArraysAreInconsistent() {
+    assertThatThrownBy(() -> new TranscriptionResult(new long[] {0}, new byte[0], new int[] {0}))
+        .isInstanceOf(IllegalArgumentException.class)
+        .hasMessage("Inconsistent transcription result arrays.");
+  }
+
+  @Test
+  void shouldMapTimestampsAndKeepTexts() {
+    final var text = " Hello.".getBytes(StandardCharsets.UTF_8);
+    final var result =
+        new TranscriptionResult(new long[] {0, 150}, text, new int[] {0, text.length});
+    final var mapped = result.mapTimestamps(t0 -> t0 + 100, t1 -> t1 + 200);
+
+    assertThat(mapped.segmentT0(0)).isEqualTo(100);
+    assertThat(mapped.segmentT1(0)).isEqualTo(350);
+    assertThat(mapped.segmentText(0)).isEqualTo(" Hello.");
+    assertThat(TranscriptionResult.empty().segmentCount()).isZero();
+  }
+}
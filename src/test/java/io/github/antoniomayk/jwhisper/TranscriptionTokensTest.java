@@ -0,0 +1,69 @@
+package io.github.antoniomayk.jwhisper;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.nio.charset.StandardCharsets;
+import org.junit.jupiter.api.Test;
+
+class TranscriptionTokensTest {
+  @Test
+  void shouldLocateTokensOfEverySegment() {
+    final var text = " Hello world.".getBytes(StandardCharsets.UTF_8);
+    final var tokens =
+        new TranscriptionTokens(
+            new int[] {0, 2, 3},
+            new int[] {15496, 995, 13},
+            new float[] {0.9f, 0.8f, 0.7f},
+            new long[] {0, 50, 50, 100, 100, 110},
+            new long[] {-1, -1, -1},
+            text,
+            new int[] {0, 6, 12, text.length});
+
+    assertThat(tokens.segmentCount()).isEqualTo(2);
+    assertThat(tokens.tokenCount()).isEqualTo(3);
+    assertThat(tokens.tokenCount(0)).isEqualTo(2);
+    assertThat(tokens.firstToken(1)).isEqualTo(2);
+    assertThat(tokens.tokenId(1)).isEqualTo(995);
+    assertThat(tokens.tokenProbability(2)).isEqualTo(0.7f);
+    assertThat(tokens.tokenT0(1)).isEqualTo(50);
+    assertThat(tokens.tokenT1(1)).isEqualTo(100);
+    assertThat(tokens.tokenDtw(0)).isEqualTo(-1);
+    assertThat(tokens.tokenText(1)).isEqualTo(" world");
+    assertThat(tokens.tokenText(2)).isEqualTo(".");
+  }
+
+  @Test
+  void shouldThrowIndexOutOfBoundsExceptionForMissingToken() {
+    final var tokens =
+        new TranscriptionTokens(
+            new int[] {0},
+            new int[0],
+            new float[0],
+            new long[0],
+            new long[0],
+            new byte[0],
+            new int[] {0});
+
+    assertThat(tokens.segmentCount()).isZero();
+    assertThatThrownBy(() -> tokens.tokenId(0))
+        .isInstanceOf(IndexOutOfBoundsException.class)
+        .hasMessage("Token index out of range: 0");
+  }
+
+  @Test
+  void shouldThrowIllegalArgumentExceptionWhenArraysAreInconsistent() {
+    assertThatThrownBy(
+            () ->
+                new TranscriptionTokens(
+                    new int[] {0, 1},
+                    new int[] {1},
+                    new float[] {1},
+                    new long[] {0},
+                    new long[] {0},
+                    new byte[0],
+                    new int[] {0, 0}))
+        .isInstanceOf(IllegalArgumentException.class)
+        .hasMessage("Inconsistent transcription tokens arrays.");
+  }
+}
@@ -0,0 +1,61 @@
+package io.github.antoniomayk.jwhisper.audio;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import javax.sound.sampled.AudioFormat;
+import javax.sound.sampled.UnsupportedAudioFileException;
+import org.junit.jupiter.api.Test;
+
+class PcmDecoderTest {
+  @Test
+  void shouldDownmixSigned24BitStereo() throws UnsupportedAudioFileException {
+    final var decoder = PcmDecoder.of(new AudioFormat(48000, 24, 2, true, false));
+    final var source =
+        ByteBuffer.wrap(new byte[] {0, 0, (byte) 0x80, 0, 0, (byte) 0xC0, 0, 0, 0x40, 0, 0});
+    final var pcmF32 = new float[2];
+
+    assertThat(decoder.frameSize()).isEqualTo(6);
+    assertThat(decoder.sampleRate()).isEqualTo(48000);
+    assertThat(decoder.decode(source, pcmF32, 0, 2)).isOne();
+    assertThat(pcmF32[0]).isEqualTo(-0.75f);
+    assertThat(source.remaining()).isEqualTo(5);
+  }
+
+  @Test
+  void shouldDecodeUnsigned8BitAndBigEndianSamples() throws UnsupportedAudioFileException {
+    final var unsignedFormat =
+        new AudioFormat(AudioFormat.Encoding.PCM_UNSIGNED, 8000, 8, 1, 1, 8000, false);
+    final var unsigned = PcmDecoder.of(unsignedFormat);
+    final var bigEndian = PcmDecoder.of(new AudioFormat(44100, 16, 1, true, true));
+    final var pcmF32 = new float[2];
+
+    unsigned.decode(ByteBuffer.wrap(new byte[] {(byte) 0xC0}), pcmF32, 0, 1);
+    bigEndian.decode(ByteBuffer.wrap(new byte[] {(byte) 0x80, 0}), pcmF32, 1, 1);
+
+    assertThat(pcmF32).containsExactly(0.5f, -1.0f);
+  }
+
+  @Test
+  void shouldDecodeFloatSamples() throws UnsupportedAudioFileException {
+    final var floatFormat =
+        new AudioFormat(AudioFormat.Encoding.PCM_FLOAT, 44100, 32, 2, 8, 44100, false);
+    final var decoder = PcmDecoder.of(floatFormat);
+    final var source = ByteBuffer.allocate(8).order(ByteOrder.LITTLE_ENDIAN);
+    final var pcmF32 = new float[1];
+
+    source.putFloat(0.25f).putFloat(0.75f).flip();
+    decoder.decode(source, pcmF32, 0, 1);
+
+    assertThat(pcmF32[0]).isEqualTo(0.5f);
+  }
+
+  @Test
+  void shouldThrowUnsupportedAudioFileExceptionWhenSampleSizeIsNotSupported() {
+    assertThatThrownBy(() -> PcmDecoder.of(new AudioFormat(16000, 12, 1, true, false)))
+        .isInstanceOf(UnsupportedAudioFileException.class)
+        .hasMessage("Unsupported sample size: 12 bits");
+  }
+}
@@ -0,0 +1,83 @@
+package io.github.antoniomayk.jwhisper.audio;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+
+class PcmKernelsTest {
+  private static final int[] LENGTHS = {0, 1, 7, 8, 15, 16, 17, 1000};
+
+  @Test
+  void shouldConvertPcmS16LikeScalarKernel() {
+    final var random = new Random(42);
+    final var scalar = new ScalarPcmKernel();
+
+    for (final var length : LENGTHS) {
+      final var pcmS16 = new short[length + 1];
+      final var expected = new float[length + 2];
+      final var actual = new float[length + 2];
+
+      for (var i = 0; i < pcmS16.length; i++) {
+        pcmS16[i] = (short) random.nextInt();
+      }
+
+      pcmS16[0] = Short.MIN_VALUE;
+      pcmS16[length] = Short.MAX_VALUE;
+
+      scalar.convertPcmS16ToPcmF32(pcmS16, 1, expected, 2, length);
+      PcmKernels.convertPcmS16ToPcmF32(pcmS16, 1, actual, 2, length);
+
+      assertThat(actual).containsExactly(expected);
+    }
+  }
+
+  @Test
+  void shouldConvertPcmS32LikeScalarKernel() {
+    final var random = new Random(42);
+    final var scalar = new ScalarPcmKernel();
+
+    for (final var length : LENGTHS) {
+      final var pcmS32 = random.ints(length + 1).toArray();
+      final var expected = new float[length];
+      final var actual = new float[length];
+
+      scalar.convertPcmS32ToPcmF32(pcmS32, 1, expected, 0, length);
+      PcmKernels.convertPcmS32ToPcmF32(pcmS32, 1, actual, 0, length);
+
+      assertThat(actual).containsExactly(expected);
+    }
+
+    assertThat(PcmKernels.convertPcmS32ToPcmF32(Integer.MIN_VALUE)).isEqualTo(-1.0f);
+    assertThat(PcmKernels.convertPcmS32ToPcmF32(Integer.MAX_VALUE)).isEqualTo(1.0f);
+  }
+
+  @Test
+  void shouldDownmixStereoLikeScalarKernel() {
+    final var random = new Random(42);
+    final var scalar = new ScalarPcmKernel();
+
+    for (final var length : LENGTHS) {
+      final var stereo = new float[2 * length + 1];
+      final var expected = new float[length];
+      final var actual = new float[length];
+
+      for (var i = 0; i < stereo.length; i++) {
+        stereo[i] = random.nextFloat() * 2 - 1;
+      }
+
+      scalar.downmixStereo(stereo, 1, expected, 0, length);
+      PcmKernels.downmixStereo(stereo, 1, actual, 0, length);
+
+      assertThat(actual).containsExactly(expected);
+    }
+  }
+
+  @Test
+  void shouldThrowIndexOutOfBoundsExceptionWhenRangeIsInvalid() {
+    assertThatThrownBy(() -> PcmKernels.downmixStereo(new float[4], 1, new float[2], 0, 2))
+        .isInstanceOf(IndexOutOfBoundsException.class)
+        .hasMessage("Invalid range: 1, 4");
+  }
+}
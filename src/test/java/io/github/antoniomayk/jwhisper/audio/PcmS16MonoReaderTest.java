@@ -0,0 +1,88 @@
+package io.github.antoniomayk.jwhisper.audio;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.withPrecision;
+
+import io.github.antoniomayk.jwhisper.utils.AudioUtils;
+import io.github.antoniomayk.jwhisper.utils.ResourceLoaderUtils;
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.FloatBuffer;
+import java.nio.channels.Channels;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import javax.sound.sampled.AudioSystem;
+import javax.sound.sampled.UnsupportedAudioFileException;
+import org.junit.jupiter.api.Test;
+
+class PcmS16MonoReaderTest {
+  @Test
+  void shouldConvertChannelChunkByChunk() throws IOException {
+    final var audioData = new byte[] {2, 3, 4, 3, 5};
+    final var channel = Channels.newChannel(new ByteArrayInputStream(audioData));
+    final var pcmF32 = FloatBuffer.allocate(4);
+
+    try (var reader = PcmS16MonoReader.of(channel, 1)) {
+      assertThat(reader.frameLength()).isEqualTo(-1);
+      assertThat(reader.read(pcmF32)).isEqualTo(2);
+      assertThat(reader.read(pcmF32)).isEqualTo(-1);
+    }
+
+    assertThat(pcmF32.get(0)).isEqualTo(0.023499252f);
+    assertThat(pcmF32.get(1)).isEqualTo(0.02356029f);
+  }
+
+  @Test
+  void shouldReadMappedWavFileLikeAudioUtils() throws IOException, UnsupportedAudioFileException {
+    final var wavFile =
+        ResourceLoaderUtils.getResource(PcmS16MonoReaderTest.class, "samples/jfk.wav");
+    final var wavInputStream = AudioSystem.getAudioInputStream(new File(wavFile));
+    final var expected = AudioUtils.convertPcmS16MonoToPcmF32Mono(wavInputStream);
+    final var actual = new float[expected.length];
+
+    try (var reader = PcmS16MonoReader.open(Paths.get(wavFile))) {
+      assertThat(reader.frameLength()).isEqualTo(expected.length);
+
+      var frames = 0;
+      int read;
+
+      while ((read = reader.read(actual, frames, Math.min(1000, actual.length - frames))) > 0) {
+        frames += read;
+      }
+
+      assertThat(frames).isEqualTo(expected.length);
+    }
+
+    assertThat(actual).containsExactly(expected, withPrecision(0.0f));
+  }
+
+  @Test
+  void shouldThrowWhenWavFileIsNotPcmS16Mono() throws IOException {
+    final var wavFile = Files.createTempFile("stereo", ".wav");
+    final var header =
+        new byte[] {
+          'R', 'I', 'F', 'F', 36, 0, 0, 0, 'W', 'A', 'V', 'E', //
+          'f', 'm', 't', ' ', 16, 0, 0, 0, 1, 0, 2, 0, //
+          (byte) 0x80, 0x3E, 0, 0, 0, (byte) 0xFA, 0, 0, 4, 0, 16, 0, //
+          'd', 'a', 't', 'a', 0, 0, 0, 0
+        };
+    Files.write(wavFile, header);
+
+    assertThatThrownBy(() -> PcmS16MonoReader.open(wavFile))
+        .isInstanceOf(UnsupportedAudioFileException.class)
+        .hasMessage("The file should consist of PCMS16 wav format.");
+
+    Files.deleteIfExists(wavFile);
+  }
+
+  @Test
+  void shouldThrowWhenChunkFramesIsNotPositive() {
+    final var channel = Channels.newChannel(new ByteArrayInputStream(new byte[0]));
+
+    assertThatThrownBy(() -> PcmS16MonoReader.of(channel, 0))
+        .isInstanceOf(IllegalArgumentException.class)
+        .hasMessage("Chunk frames must be positive: 0");
+  }
+}
@@ -0,0 +1,71 @@
+package io.github.antoniomayk.jwhisper.audio;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.within;
+
+import java.util.Arrays;
+import org.junit.jupiter.api.Test;
+
+class ResamplerTest {
+  @Test
+  void shouldThrowIllegalArgumentExceptionWhenRateIsNotPositive() {
+    assertThatThrownBy(() -> Resampler.newInstance(0, 16000))
+        .isInstanceOf(IllegalArgumentException.class)
+        .hasMessage("Invalid resampler: 0 Hz to 16000 Hz, 32 taps");
+  }
+
+  @Test
+  void shouldKeepToneAlignedWhenResampling() {
+    for (final var inputRate : new int[] {8000, 22050, 44100, 48000}) {
+      final var output = resample(inputRate, 1000, 4096);
+
+      assertThat(output).hasSize(32000);
+
+      for (var i = 100; i < output.length - 100; i++) {
+        assertThat(output[i]).isCloseTo(tone(1000, i, 16000), within(0.001f));
+      }
+    }
+  }
+
+  @Test
+  void shouldRemoveFrequenciesAboveOutputNyquist() {
+    final var output = resample(44100, 10000, 4096);
+
+    for (var i = 100; i < output.length - 100; i++) {
+      assertThat(Math.abs(output[i])).isLessThan(0.001f);
+    }
+  }
+
+  @Test
+  void shouldResampleChunkByChunkLikeAtOnce() {
+    assertThat(resample(44100, 440, 333)).containsExactly(resample(44100, 440, 88200));
+  }
+
+  private static float[] resample(final int inputRate, final double frequency, final int chunk) {
+    final var input = new float[inputRate * 2];
+
+    for (var i = 0; i < input.length; i++) {
+      input[i] = tone(frequency, i, inputRate);
+    }
+
+    final var resampler = Resampler.newInstance(inputRate, 16000);
+    final var capacity =
+        resampler.maxOutputFrames(input.length) + resampler.maxOutputFrames(resampler.taps());
+    final var output = new float[capacity];
+    var frames = 0;
+
+    for (var offset = 0; offset < input.length; offset += chunk) {
+      final var length = Math.min(chunk, input.length - offset);
+      frames += resampler.process(input, offset, length, output, frames);
+    }
+
+    frames += resampler.flush(output, frames);
+
+    return Arrays.copyOf(output, frames);
+  }
+
+  private static float tone(final double frequency, final int index, final int sampleRate) {
+    return (float) (0.5 * Math.sin(2 * Math.PI * frequency * index / sampleRate));
+  }
+}
@@ -0,0 +1,43 @@
+package io.github.antoniomayk.jwhisper.audio;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class SpeechTimelineTest {
+  @Test
+  void shouldConcatenateRegions() {
+    final var samples = new float[] {0, 1, 2, 3, 4, 5, 6, 7};
+    final var timeline =
+        SpeechTimeline.of(samples, List.of(new SpeechRegion(1, 3), new SpeechRegion(5, 7)));
+
+    assertThat(timeline.samples()).containsExactly(1, 2, 5, 6);
+  }
+
+  @Test
+  void shouldMapTimestampsOntoOriginalTimeline() {
+    final var samples = new float[16000 * 10];
+    final var timeline =
+        SpeechTimeline.of(
+            samples, List.of(new SpeechRegion(16000, 32000), new SpeechRegion(80000, 96000)));
+
+    assertThat(timeline.toOriginalStart(0)).isEqualTo(100);
+    assertThat(timeline.toOriginalStart(50)).isEqualTo(150);
+    assertThat(timeline.toOriginalStart(100)).isEqualTo(500);
+    assertThat(timeline.toOriginalEnd(100)).isEqualTo(200);
+    assertThat(timeline.toOriginalEnd(150)).isEqualTo(550);
+    assertThat(timeline.toOriginalEnd(200)).isEqualTo(600);
+  }
+
+  @Test
+  void shouldThrowIllegalArgumentExceptionWhenRegionsOverlap() {
+    final var samples = new float[16];
+    final var regions = List.of(new SpeechRegion(2, 8), new SpeechRegion(4, 10));
+
+    assertThatThrownBy(() -> SpeechTimeline.of(samples, regions))
+        .isInstanceOf(IllegalArgumentException.class)
+        .hasMessageStartingWith("Invalid speech region");
+  }
+}
@@ -0,0 +1,46 @@
+package io.github.antoniomayk.jwhisper.audio;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import org.junit.jupiter.api.Test;
+
+class VoiceActivityDetectorTest {
+  @Test
+  void shouldFindNothingInSilence() {
+    assertThat(VoiceActivityDetector.newInstance().detect(new float[48000])).isEmpty();
+  }
+
+  @Test
+  void shouldFindPaddedToneBetweenSilences() {
+    final var samples = new float[48000];
+
+    for (var i = 16000; i < 32000; i++) {
+      samples[i] = (float) (0.3 * Math.sin(i * 2 * Math.PI * 220 / 16000));
+    }
+
+    final var regions = VoiceActivityDetector.newInstance().detect(samples);
+
+    assertThat(regions).containsExactly(new SpeechRegion(16000 - 3200, 32000 + 3200));
+  }
+
+  @Test
+  void shouldMergeRegionsSplitByShortPauses() {
+    final var samples = new float[64000];
+
+    for (var i = 16000; i < 48000; i++) {
+      if (i < 30000 || i > 34000) {
+        samples[i] = (float) (0.3 * Math.sin(i * 2 * Math.PI * 220 / 16000));
+      }
+    }
+
+    assertThat(VoiceActivityDetector.newInstance().detect(samples)).hasSize(1);
+  }
+
+  @Test
+  void shouldThrowIllegalArgumentExceptionWhenOptionsAreInvalid() {
+    assertThatThrownBy(() -> new VoiceActivityDetector.Options(0, 3, 0, 0, 0, 0, 0))
+        .isInstanceOf(IllegalArgumentException.class)
+        .hasMessage("Invalid voice activity detector options.");
+  }
+}
@@ -0,0 +1,53 @@
+package io.github.antoniomayk.jwhisper.batch;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import io.github.antoniomayk.jwhisper.JwhisperPool;
+import io.github.antoniomayk.jwhisper.utils.ResourceLoaderUtils;
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.Test;
+
+class BatchRunnerTest {
+  @Test
+  void shouldThrowIllegalArgumentExceptionWhenOptionsAreInvalid() {
+    assertThatThrownBy(() -> new BatchRunner.Options(0, 16, BatchRunner.Order.PRIORITY))
+        .isInstanceOf(IllegalArgumentException.class)
+        .hasMessage("Invalid batch options: decoder threads 0, queue capacity 16");
+  }
+
+  @Test
+  void shouldTranscribeEveryJobAndReportFailures() throws Exception {
+    final var wavFile =
+        Paths.get(ResourceLoaderUtils.getResource(BatchRunnerTest.class, "samples/jfk.wav"));
+    final var missingFile = Paths.get("/path/to/non/existent/audio.wav");
+    final var results = new ArrayList<BatchResult>();
+
+    try (var pool =
+        JwhisperPool.newInstance(Paths.get(System.getenv("GGML_MODELS"), "ggml-tiny.en.bin"), 2)) {
+      final var runner =
+          BatchRunner.newInstance(pool, new BatchRunner.Options(1, 2, BatchRunner.Order.PRIORITY));
+      final var stats =
+          runner.run(
+              Stream.of(BatchJob.of(wavFile), new BatchJob(wavFile, 1), BatchJob.of(missingFile)),
+              results::add);
+
+      assertThat(stats.files()).isEqualTo(2);
+      assertThat(stats.failures()).isOne();
+      assertThat(stats.audioSeconds()).isEqualTo(22.0);
+      assertThat(stats.audioSecondsPerSecond()).isPositive();
+      assertThat(pool.available()).isEqualTo(2);
+    }
+
+    assertThat(results).hasSize(3);
+    assertThat(results.stream().filter(BatchResult::isSuccess))
+        .hasSize(2)
+        .allSatisfy(result -> assertThat(result.frames()).isEqualTo(176000));
+    assertThat(results.stream().filter(result -> !result.isSuccess()))
+        .singleElement()
+        .satisfies(result -> assertThat(result.failure()).isInstanceOf(IOException.class));
+  }
+}
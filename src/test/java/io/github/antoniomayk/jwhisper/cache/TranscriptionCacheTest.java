@@ -0,0 +1,200 @@
+package io.github.antoniomayk.jwhisper.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import io.github.antoniomayk.jwhisper.JwhisperParams;
+import io.github.antoniomayk.jwhisper.TranscriptionResult;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class TranscriptionCacheTest {
+  private static final JwhisperParams PARAMS = JwhisperParams.defaults();
+
+  @Test
+  void shouldHashSamplesAsXxh64OfTheirBytes() {
+    assertThat(Xxh64.hash(new float[0], 0, 0, 0)).isEqualTo(0xEF46DB3751D8E999L);
+
+    final var samples = new float[100];
+
+    for (var i = 0; i < samples.length; i++) {
+      samples[i] = (float) (i * 0.37 - 1.5);
+    }
+
+    assertThat(Xxh64.hash(samples, 0, 17, 42)).isEqualTo(-8516895202516330233L);
+    assertThat(Xxh64.hash(samples, 0, 100, 42)).isEqualTo(-651506173606404332L);
+  }
+
+  @Test
+  void shouldKeyBySamplesModelAndParams() {
+    final var key = TranscriptionKey.of(new float[] {1, 2, 3}, "model", PARAMS);
+
+    assertThat(TranscriptionKey.of(new float[] {0, 1, 2, 3}, 1, 3, "model", PARAMS))
+        .isEqualTo(key);
+    assertThat(TranscriptionKey.of(new float[] {1, 2, 4}, "model", PARAMS)).isNotEqualTo(key);
+    assertThat(TranscriptionKey.of(new float[] {1, 2, 3}, "other", PARAMS)).isNotEqualTo(key);
+    assertThat(
+            TranscriptionKey.of(
+                new float[] {1, 2, 3}, "model", JwhisperParams.builder().beamSize(2).build()))
+        .isNotEqualTo(key);
+    assertThat(
+            TranscriptionKey.of(
+                new float[] {1, 2, 3}, "model", JwhisperParams.builder().nThreads(2).build()))
+        .isEqualTo(key);
+  }
+
+  @Test
+  void shouldEvictLeastRecentlyUsedResultsFromMemory() {
+    try (final var cache = TranscriptionCache.newInstance(2)) {
+      cache.put(key(1), result("one"));
+      cache.put(key(2), result("two"));
+      assertThat(cache.get(key(1))).isEqualTo(result("one"));
+
+      cache.put(key(3), result("three"));
+
+      assertThat(cache.get(key(2))).isNull();
+      assertThat(cache.get(key(1))).isEqualTo(result("one"));
+      assertThat(cache.get(key(3))).isEqualTo(result("three"));
+      assertThat(cache.hits()).isEqualTo(3);
+      assertThat(cache.misses()).isEqualTo(1);
+    }
+  }
+
+  @Test
+  void shouldTranscribeOnlyOnMiss() {
+    final var transcriptions = new AtomicInteger();
+
+    try (final var cache = TranscriptionCache.newInstance(8)) {
+      for (var i = 0; i < 3; i++) {
+        final var result =
+            cache.transcribe(
+                key(1),
+                () -> {
+                  transcriptions.incrementAndGet();
+                  return result("one");
+                });
+
+        assertThat(result).isEqualTo(result("one"));
+      }
+    }
+
+    assertThat(transcriptions).hasValue(1);
+  }
+
+  @Test
+  void shouldKeepResultsOnDiskAcrossInstances(@TempDir final Path tempDir) throws Exception {
+    try (final var cache = TranscriptionCache.newInstance(0, tempDir, 1024 * 1024)) {
+      cache.put(key(1), result("héllo"));
+      cache.put(key(2), TranscriptionResult.empty());
+    }
+
+    try (final var cache = TranscriptionCache.newInstance(0, tempDir, 1024 * 1024)) {
+      assertThat(cache.get(key(1))).isEqualTo(result("héllo"));
+      assertThat(cache.get(key(2))).isEqualTo(TranscriptionResult.empty());
+      assertThat(cache.get(key(3))).isNull();
+    }
+  }
+
+  @Test
+  void shouldEvictOldestSegmentFilesFromDisk(@TempDir final Path tempDir) throws Exception {
+    final var text = "x".repeat(10000);
+
+    try (final var cache = TranscriptionCache.newInstance(0, tempDir, 128 * 1024)) {
+      for (var i = 0; i < 40; i++) {
+        cache.put(key(i), result(text));
+      }
+
+      assertThat(cache.get(key(0))).isNull();
+      assertThat(cache.get(key(39))).isEqualTo(result(text));
+    }
+
+    try (final var files = Files.list(tempDir)) {
+      assertThat(files.filter(file -> file.toString().endsWith(".seg"))).hasSize(2);
+    }
+  }
+
+  @Test
+  void shouldFailWhenDirectoryIsAlreadyInUse(@TempDir final Path tempDir) throws Exception {
+    try (final var cache = TranscriptionCache.newInstance(0, tempDir, 1024 * 1024)) {
+      assertThatThrownBy(() -> TranscriptionCache.newInstance(0, tempDir, 1024 * 1024))
+          .isInstanceOf(IOException.class)
+          .hasMessage("Cache directory is already in use: " + tempDir);
+    }
+
+    try (final var cache = TranscriptionCache.newInstance(0, tempDir, 1024 * 1024)) {
+      assertThat(cache.get(key(1))).isNull();
+    }
+  }
+
+  @Test
+  void shouldIgnoreCorruptedRecordsAndUnknownFiles(@TempDir final Path tempDir) throws Exception {
+    try (final var cache = TranscriptionCache.newInstance(0, tempDir, 1024 * 1024)) {
+      cache.put(key(1), result("one"));
+      cache.put(key(2), result("two"));
+    }
+
+    final var segmentFile = tempDir.resolve("0000000000000000.seg");
+
+    try (final var channel = FileChannel.open(segmentFile, StandardOpenOption.WRITE)) {
+      channel.write(ByteBuffer.allocate(Integer.BYTES).putInt(Integer.MAX_VALUE).flip(), 20);
+    }
+
+    Files.createFile(tempDir.resolve("unknown.seg"));
+
+    try (final var cache = TranscriptionCache.newInstance(0, tempDir, 1024 * 1024)) {
+      assertThat(cache.get(key(1))).isNull();
+      assertThat(cache.get(key(2))).isNull();
+
+      cache.put(key(3), result("three"));
+
+      assertThat(cache.get(key(3))).isEqualTo(result("three"));
+    }
+  }
+
+  @Test
+  void shouldIgnoreRecordsWhoseChecksumDoesNotMatch(@TempDir final Path tempDir)
+      throws Exception {
+    try (final var cache = TranscriptionCache.newInstance(0, tempDir, 1024 * 1024)) {
+      cache.put(key(1), result("one"));
+    }
+
+    final var segmentFile = tempDir.resolve("0000000000000000.seg");
+
+    // Last byte of the text of the first record, which keeps its length and counts valid.
+    try (final var channel = FileChannel.open(segmentFile, StandardOpenOption.WRITE)) {
+      channel.write(ByteBuffer.wrap("x".getBytes(StandardCharsets.UTF_8)), 58);
+    }
+
+    try (final var cache = TranscriptionCache.newInstance(0, tempDir, 1024 * 1024)) {
+      assertThat(cache.get(key(1))).isNull();
+    }
+  }
+
+  @Test
+  void shouldThrowExceptionWhenClosed() {
+    final var cache = TranscriptionCache.newInstance(1);
+    cache.close();
+
+    assertThatThrownBy(() -> cache.get(key(1)))
+        .isInstanceOf(IllegalStateException.class)
+        .hasMessage("Resource is already closed.");
+  }
+
+  private static TranscriptionKey key(final int sample) {
+    return TranscriptionKey.of(new float[] {sample}, "model", PARAMS);
+  }
+
+  private static TranscriptionResult result(final String text) {
+    final var bytes = text.getBytes(StandardCharsets.UTF_8);
+
+    return new TranscriptionResult(new long[] {0, 100}, bytes, new int[] {0, bytes.length});
+  }
+}
@@ -0,0 +1,122 @@
+package io.github.antoniomayk.jwhisper.jni;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+import io.github.antoniomayk.jwhisper.utils.AudioUtils;
+import io.github.antoniomayk.jwhisper.utils.ResourceLoaderUtils;
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.file.Paths;
+import javax.sound.sampled.AudioSystem;
+import javax.sound.sampled.UnsupportedAudioFileException;
+import org.junit.jupiter.api.Test;
+
+class WhisperBackendsTest {
+  @Test
+  void shouldUseJniBackendByDefault() {
+    assertThat(WhisperBackends.load("jni").name()).isEqualTo("jni");
+  }
+
+  @Test
+  void shouldFallBackToJniBackendBeforeJdk22() {
+    assumeTrue(Runtime.version().feature() < 22);
+
+    assertThat(WhisperBackends.load("ffm").name()).isEqualTo("jni");
+  }
+
+  @Test
+  void shouldThrowIllegalArgumentExceptionWhenBackendIsUnknown() {
+    assertThatThrownBy(() -> WhisperBackends.load("jna"))
+        .isInstanceOf(IllegalArgumentException.class)
+        .hasMessage("Unknown backend: jna");
+  }
+
+  @Test
+  void shouldTranscribeIdenticallyWithFfmBackend()
+      throws UnsupportedAudioFileException, IOException {
+    assumeTrue(Runtime.version().feature() >= 22);
+
+    final var wavFile =
+        ResourceLoaderUtils.getResource(WhisperBackendsTest.class, "samples/jfk.wav");
+    final var wavInputStream = AudioSystem.getAudioInputStream(new File(wavFile));
+    final var samples = AudioUtils.convertPcmS16MonoToPcmF32Mono(wavInputStream);
+    final var direct =
+        ByteBuffer.allocateDirect(samples.length * Float.BYTES)
+            .order(ByteOrder.nativeOrder())
+            .asFloatBuffer()
+            .put(samples)
+            .flip();
+    final var ffm = WhisperBackends.load("ffm");
+    final var jni = WhisperBackends.load("jni");
+    final var contextParams = WhisperCpp.whisperContextDefaultParamsByRef();
+    final var context =
+        WhisperCpp.whisperInitFromFileWithParams(
+            Paths.get(System.getenv("GGML_MODELS"), "ggml-tiny.en.bin").toString(),
+            contextParams);
+    final var params = WhisperCpp.whisperFullDefaultParamsByRef(0);
+
+    try {
+      assertThat(ffm.name()).isEqualTo("ffm");
+
+      jni.whisperFull(context, params, samples, samples.length);
+      final var expected = jni.whisperFullGetSegments(context, null);
+
+      ffm.whisperFull(context, params, samples, samples.length);
+      assertThat(ffm.whisperFullNumberOfSegments(context)).isEqualTo(expected.segmentCount());
+      assertThat(ffm.whisperFullGetSegments(context, null)).isEqualTo(expected);
+
+      ffm.whisperFullDirect(context, params, direct, 0, samples.length);
+      assertThat(ffm.whisperFullGetSegments(context, null)).isEqualTo(expected);
+    } finally {
+      WhisperCpp.whisperFreeParams(params);
+      WhisperCpp.whisperFreeContextParams(contextParams);
+      WhisperCpp.whisperFree(context);
+    }
+  }
+
+  @Test
+  void shouldRethrowNewSegmentCallbackExceptionWithFfmBackend()
+      throws UnsupportedAudioFileException, IOException {
+    assumeTrue(Runtime.version().feature() >= 22);
+
+    final var wavFile =
+        ResourceLoaderUtils.getResource(WhisperBackendsTest.class, "samples/jfk.wav");
+    final var wavInputStream = AudioSystem.getAudioInputStream(new File(wavFile));
+    final var samples = AudioUtils.convertPcmS16MonoToPcmF32Mono(wavInputStream);
+    final var ffm = WhisperBackends.load("ffm");
+    final var contextParams = WhisperCpp.whisperContextDefaultParamsByRef();
+    final var context =
+        WhisperCpp.whisperInitFromFileWithParams(
+            Paths.get(System.getenv("GGML_MODELS"), "ggml-tiny.en.bin").toString(),
+            contextParams);
+    final var params = WhisperCpp.whisperFullDefaultParamsByRef(0);
+
+    try {
+      WhisperCpp.whisperFullParamsSetNewSegmentCallback(
+          params,
+          newSegments -> {
+            throw new IllegalStateException("Callback failed.");
+          });
+
+      assertThat(WhisperCpp.whisperFullParamsHasNewSegmentCallback(params)).isTrue();
+      assertThatThrownBy(() -> ffm.whisperFull(context, params, samples, samples.length))
+          .isInstanceOf(IllegalStateException.class)
+          .hasMessage("Callback failed.");
+
+      WhisperCpp.whisperFullParamsSetNewSegmentCallback(params, null);
+
+      assertThat(WhisperCpp.whisperFullParamsHasNewSegmentCallback(params)).isFalse();
+      assertThatCode(() -> ffm.whisperFull(context, params, samples, samples.length))
+          .doesNotThrowAnyException();
+    } finally {
+      WhisperCpp.whisperFreeParams(params);
+      WhisperCpp.whisperFreeContextParams(contextParams);
+      WhisperCpp.whisperFree(context);
+    }
+  }
+}
@@ -0,0 +1,107 @@
+package io.github.antoniomayk.jwhisper.metrics;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.github.antoniomayk.jwhisper.Jwhisper;
+import io.github.antoniomayk.jwhisper.JwhisperModel;
+import io.github.antoniomayk.jwhisper.utils.AudioUtils;
+import io.github.antoniomayk.jwhisper.utils.ResourceLoaderUtils;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import javax.sound.sampled.AudioSystem;
+import javax.sound.sampled.UnsupportedAudioFileException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+class JwhisperMetricsTest {
+  private final RecordingMetrics metrics = new RecordingMetrics();
+
+  @AfterEach
+  void uninstallMetrics() {
+    JwhisperMetrics.install(JwhisperMetrics.noop());
+  }
+
+  @Test
+  void shouldComputeRealTimeFactor() {
+    final var transcription =
+        new TranscriptionMetrics(Duration.ofSeconds(10), Duration.ofSeconds(2), 3, null);
+
+    assertThat(transcription.realTimeFactor()).isEqualTo(0.2);
+    assertThat(new TranscriptionMetrics(Duration.ZERO, Duration.ofSeconds(1), 0, null))
+        .extracting(TranscriptionMetrics::realTimeFactor)
+        .isEqualTo(0.0);
+  }
+
+  @Test
+  void shouldRecordModelLoadAndTranscription()
+      throws UnsupportedAudioFileException, IOException {
+    JwhisperMetrics.install(metrics);
+
+    final var samples = loadSamples();
+
+    try (var jwhisper =
+        Jwhisper.newInstance(Paths.get(System.getenv("GGML_MODELS"), "ggml-tiny.en.bin"))) {
+      jwhisper.whisperFull(samples);
+    }
+
+    assertThat(metrics.modelLoads).hasSize(1);
+    assertThat(metrics.transcriptions).hasSize(1);
+
+    final var transcription = metrics.transcriptions.get(0);
+
+    assertThat(transcription.audioDuration()).isEqualTo(Duration.ofMillis(11000));
+    assertThat(transcription.segments()).isEqualTo(2);
+    assertThat(transcription.realTimeFactor()).isPositive();
+    assertThat(transcription.timings()).isNotNull();
+  }
+
+  @Test
+  void shouldRecordStateInitWithoutTimings() throws UnsupportedAudioFileException, IOException {
+    JwhisperMetrics.install(metrics);
+
+    final var samples = loadSamples();
+
+    try (var model =
+            JwhisperModel.newInstance(Paths.get(System.getenv("GGML_MODELS"), "ggml-tiny.en.bin"));
+        var jwhisper = model.newJwhisper()) {
+      jwhisper.whisperFull(samples);
+    }
+
+    assertThat(metrics.modelLoads).hasSize(1);
+    assertThat(metrics.stateInits).hasSize(1);
+    assertThat(metrics.transcriptions).singleElement().extracting("timings").isNull();
+  }
+
+  private static float[] loadSamples() throws UnsupportedAudioFileException, IOException {
+    final var wavFile =
+        ResourceLoaderUtils.getResource(JwhisperMetricsTest.class, "samples/jfk.wav");
+    final var wavInputStream = AudioSystem.getAudioInputStream(new File(wavFile));
+
+    return AudioUtils.convertPcmS16MonoToPcmF32Mono(wavInputStream);
+  }
+
+  private static final class RecordingMetrics implements JwhisperMetrics {
+    private final List<Duration> modelLoads = new CopyOnWriteArrayList<>();
+    private final List<Duration> stateInits = new CopyOnWriteArrayList<>();
+    private final List<TranscriptionMetrics> transcriptions = new CopyOnWriteArrayList<>();
+
+    @Override
+    public void recordModelLoad(final Duration loadTime) {
+      modelLoads.add(loadTime);
+    }
+
+    @Override
+    public void recordStateInit(final Duration initTime) {
+      stateInits.add(initTime);
+    }
+
+    @Override
+    public void recordTranscription(final TranscriptionMetrics transcription) {
+      transcriptions.add(transcription);
+    }
+  }
+}
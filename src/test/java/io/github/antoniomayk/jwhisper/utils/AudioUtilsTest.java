@@ -6,10 +6,17 @@ import static org.assertj.core.api.Assertions.withPrecision;
 
 import java.io.ByteArrayInputStream;
 import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import javax.sound.sampled.AudioFileFormat;
 import javax.sound.sampled.AudioFormat;
 import javax.sound.sampled.AudioInputStream;
+import javax.sound.sampled.AudioSystem;
 import javax.sound.sampled.UnsupportedAudioFileException;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 
 class AudioUtilsTest {
   @Test
@@ -75,4 +82,37 @@ class AudioUtilsTest {
         .isInstanceOf(UnsupportedAudioFileException.class)
         .hasMessage("The file should consist of PCMS16 wav format.");
   }
+
+  @Test
+  void shouldConvertStereoStreamTo16kHzMono() throws IOException, UnsupportedAudioFileException {
+    final var data = AudioUtils.convertToPcmF32Mono(newStereoStream(48000));
+
+    assertThat(data).hasSize(16000);
+    assertThat(data[8000]).isCloseTo(0.5f, withPrecision(0.001f));
+  }
+
+  @Test
+  void shouldConvertStereoWavFileTo16kHzMono(@TempDir final Path directory)
+      throws IOException, UnsupportedAudioFileException {
+    final var wavFile = directory.resolve("stereo.wav");
+    AudioSystem.write(newStereoStream(44100), AudioFileFormat.Type.WAVE, wavFile.toFile());
+
+    final var data = AudioUtils.convertToPcmF32Mono(wavFile);
+
+    assertThat(Files.size(wavFile)).isGreaterThan(44100 * 4);
+    assertThat(data).hasSize(16000);
+    assertThat(data[8000]).isCloseTo(0.5f, withPrecision(0.001f));
+  }
+
+  private static AudioInputStream newStereoStream(final int sampleRate) {
+    final var audioFormat = new AudioFormat(sampleRate, 16, 2, true, false);
+    final var audioData = ByteBuffer.allocate(sampleRate * 4).order(ByteOrder.LITTLE_ENDIAN);
+
+    while (audioData.hasRemaining()) {
+      audioData.putShort((short) 0x7FFF).putShort((short) 0);
+    }
+
+    return new AudioInputStream(
+        new ByteArrayInputStream(audioData.array()), audioFormat, sampleRate);
+  }
 }
@@ -6,6 +6,9 @@ import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.io.File;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
 import org.junit.jupiter.api.Test;
 
 class LibraryUtilsTest {
@@ -134,4 +137,74 @@ class LibraryUtilsTest {
         () -> LibraryUtils.getLibraryResourcePath(null),
         "IllegalArgumentException should be thrown when library name is null");
   }
+
+  @Test
+  void shouldParseFlagsOfFirstProcessor() {
+    final var cpuInfo =
+        List.of(
+            "processor\t: 0",
+            "model name\t: Test CPU",
+            "flags\t\t: fpu sse2 avx avx2",
+            "processor\t: 1",
+            "flags\t\t: fpu");
+
+    assertEquals(Set.of("fpu", "sse2", "avx", "avx2"), LibraryUtils.parseCpuFlags(cpuInfo));
+    assertEquals(Set.of(), LibraryUtils.parseCpuFlags(List.of("processor\t: 0")));
+  }
+
+  @Test
+  void shouldOrderVariantsFromBestToGeneric() {
+    final var avx2 = Set.of("sse2", "avx", "avx2", "fma", "f16c");
+    final var avx512 = new HashSet<>(avx2);
+    avx512.addAll(Set.of("avx512f", "avx512cd", "avx512vl", "avx512dq", "avx512bw"));
+
+    System.clearProperty(LibraryUtils.VARIANT_PROPERTY);
+    System.setProperty("os.name", "Linux");
+    System.setProperty("os.arch", "amd64");
+
+    assertEquals(List.of("generic"), LibraryUtils.getLibraryVariants(Set.of("sse2", "avx")));
+    assertEquals(List.of("avx2", "generic"), LibraryUtils.getLibraryVariants(avx2));
+    assertEquals(List.of("avx512", "avx2", "generic"), LibraryUtils.getLibraryVariants(avx512));
+
+    System.setProperty("os.arch", "aarch64");
+
+    assertEquals(List.of(), LibraryUtils.getLibraryVariants(avx512));
+  }
+
+  @Test
+  void shouldFallBackToLibraryWithoutVariant() {
+    System.clearProperty(LibraryUtils.VARIANT_PROPERTY);
+    System.setProperty("os.name", "Linux");
+    System.setProperty("os.arch", "amd64");
+
+    final var result =
+        LibraryUtils.getLibraryResourcePaths("testlib", Set.of("avx", "avx2", "fma", "f16c"));
+
+    assertEquals(
+        List.of(
+            "linux_amd64" + File.separator + "libtestlib-avx2.so",
+            "linux_amd64" + File.separator + "libtestlib-generic.so",
+            "linux_amd64" + File.separator + "libtestlib.so"),
+        result);
+  }
+
+  @Test
+  void shouldUseForcedVariant() {
+    System.setProperty(LibraryUtils.VARIANT_PROPERTY, "generic");
+    System.setProperty("os.name", "Linux");
+    System.setProperty("os.arch", "amd64");
+
+    try {
+      final var result =
+          LibraryUtils.getLibraryResourcePaths("testlib", Set.of("avx", "avx2", "fma", "f16c"));
+
+      assertEquals(
+          List.of(
+              "linux_amd64" + File.separator + "libtestlib-generic.so",
+              "linux_amd64" + File.separator + "libtestlib.so"),
+          result);
+    } finally {
+      System.clearProperty(LibraryUtils.VARIANT_PROPERTY);
+    }
+  }
 }
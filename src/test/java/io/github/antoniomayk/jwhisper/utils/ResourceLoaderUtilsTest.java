@@ -3,8 +3,20 @@ package io.github.antoniomayk.jwhisper.utils;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
+import java.io.IOException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.MissingResourceException;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Executors;
+import java.util.jar.JarEntry;
+import java.util.jar.JarOutputStream;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 
 class ResourceLoaderUtilsTest {
   @Test
@@ -24,4 +36,106 @@ class ResourceLoaderUtilsTest {
         .isInstanceOf(MissingResourceException.class)
         .hasMessage("Resource not found '" + file + "'.");
   }
+
+  @Test
+  void shouldThrowExceptionWhenNoLibraryIsFound() {
+    final var clazz = ResourceLoaderUtilsTest.class;
+    final var libPaths = List.of("lib-not-found-avx2.so", "lib-not-found.so");
+
+    assertThatThrownBy(() -> ResourceLoaderUtils.loadLibrary(clazz, libPaths))
+        .isInstanceOf(MissingResourceException.class)
+        .hasMessage("Resources not found " + libPaths + ".");
+  }
+
+  @Test
+  void shouldTryNextLibraryWhenLibraryCannotBeLinked() {
+    final var clazz = ResourceLoaderUtilsTest.class;
+    final var libPaths = List.of("linux_amd64/.gitkeep", "samples/jfk.wav");
+
+    assertThatThrownBy(() -> ResourceLoaderUtils.loadLibrary(clazz, libPaths))
+        .isInstanceOf(UnsatisfiedLinkError.class)
+        .satisfies(error -> assertThat(error.getSuppressed()).hasSize(1));
+  }
+
+  @Test
+  void shouldExtractLibraryFromJarToChecksumNamedDirectory(@TempDir final Path tempDir)
+      throws Exception {
+    final var content = new byte[] {1, 2, 3, 4};
+    final var jar = createJar(tempDir.resolve("lib.jar"), "linux_amd64/libtest.so", content);
+    final var cache = tempDir.resolve("cache");
+
+    try (final var classLoader = new URLClassLoader(new URL[] {jar.toUri().toURL()}, null)) {
+      final var resourceUrl = classLoader.getResource("linux_amd64/libtest.so");
+      final var library = ResourceLoaderUtils.extractLibrary(resourceUrl, cache);
+
+      assertThat(library.getFileName()).hasToString("libtest.so");
+      assertThat(library.getParent().getParent()).isEqualTo(cache);
+      assertThat(library.getParent().getFileName()).hasToString("b63cfbcd-4");
+      assertThat(Files.readAllBytes(library)).isEqualTo(content);
+      assertThat(ResourceLoaderUtils.extractLibrary(resourceUrl, cache)).isEqualTo(library);
+    }
+  }
+
+  @Test
+  void shouldExtractLibraryAgainWhenExtractedFileIsModified(@TempDir final Path tempDir)
+      throws Exception {
+    final var content = new byte[] {1, 2, 3, 4};
+    final var jar = createJar(tempDir.resolve("lib.jar"), "libtest.so", content);
+    final var cache = tempDir.resolve("cache");
+
+    try (final var classLoader = new URLClassLoader(new URL[] {jar.toUri().toURL()}, null)) {
+      final var resourceUrl = classLoader.getResource("libtest.so");
+      final var library = ResourceLoaderUtils.extractLibrary(resourceUrl, cache);
+
+      Files.write(library, new byte[] {4, 3, 2, 1});
+
+      assertThat(ResourceLoaderUtils.extractLibrary(resourceUrl, cache)).isEqualTo(library);
+      assertThat(Files.readAllBytes(library)).isEqualTo(content);
+    }
+  }
+
+  @Test
+  void shouldExtractLibraryOnceWhenExtractedConcurrently(@TempDir final Path tempDir)
+      throws Exception {
+    final var content = new byte[1 << 20];
+    final var jar = createJar(tempDir.resolve("lib.jar"), "libtest.so", content);
+    final var cache = tempDir.resolve("cache");
+    final var executor = Executors.newFixedThreadPool(4);
+
+    try (final var classLoader = new URLClassLoader(new URL[] {jar.toUri().toURL()}, null)) {
+      final var resourceUrl = classLoader.getResource("libtest.so");
+      final var extractions = new ArrayList<Callable<Path>>();
+
+      for (var i = 0; i < 8; i++) {
+        extractions.add(() -> ResourceLoaderUtils.extractLibrary(resourceUrl, cache));
+      }
+
+      final var libraries = new ArrayList<Path>();
+
+      for (final var future : executor.invokeAll(extractions)) {
+        libraries.add(future.get());
+      }
+
+      assertThat(libraries).containsOnly(libraries.get(0));
+      assertThat(Files.readAllBytes(libraries.get(0))).isEqualTo(content);
+
+      try (final var files = Files.list(libraries.get(0).getParent())) {
+        assertThat(files.map(file -> file.getFileName().toString()))
+            .containsExactlyInAnyOrder("libtest.so", ".lock");
+      }
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  private static Path createJar(final Path jar, final String entry, final byte[] content)
+      throws IOException {
+    try (final var jarStream = new JarOutputStream(Files.newOutputStream(jar))) {
+      jarStream.putNextEntry(new JarEntry(entry));
+      jarStream.write(content);
+      jarStream.closeEntry();
+    }
+
+    return jar;
+  }
 }